@@ -1,3 +1,7 @@
+plugins {
+    id("me.champeau.jmh")
+}
+
 dependencies {
     implementation(project(":common-lib"))
     implementation(platform("io.projectreactor:reactor-bom:2023.0.0"))
@@ -6,3 +10,7 @@ dependencies {
     // Redis for caching (mentioned in README)
     implementation("io.lettuce:lettuce-core:6.3.0.RELEASE")
 }
+
+jmh {
+    jmhVersion.set("1.37")
+}
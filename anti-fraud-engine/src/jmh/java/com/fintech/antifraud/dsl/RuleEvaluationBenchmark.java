@@ -0,0 +1,128 @@
+package com.fintech.antifraud.dsl;
+
+import com.fintech.antifraud.features.FeatureAggregate;
+import com.fintech.antifraud.features.FeatureStore;
+import com.fintech.antifraud.rules.FraudRule;
+import com.fintech.antifraud.rules.RuleResult;
+import com.fintech.common.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the compiled DSL rules against the same logic written as hand-coded
+ * {@link FraudRule} classes. Run with {@code -prof gc} to confirm the compiled
+ * path evaluates without allocating.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RuleEvaluationBenchmark {
+
+    private static final String RULES = """
+            amount > 10000 AND velocity_1h > 5 -> REJECTED_VELOCITY
+            amount_zscore > 4 AND user_age_hours < 24 -> REJECTED_OTHER
+            payee_distinct_senders > 500 AND amount > 1000 -> REJECTED_OTHER
+            """;
+
+    private FeatureStore store;
+    private DslRuleEngine compiled;
+    private List<FraudRule> handWritten;
+    private FraudRule.TransactionContext[] contexts;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = new FeatureStore();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            store.ingest(context("user-" + random.nextInt(5_000), random.nextInt(20_000), "acct-" + random.nextInt(2_000)));
+        }
+        contexts = new FraudRule.TransactionContext[1024];
+        for (int i = 0; i < contexts.length; i++) {
+            contexts[i] = context("user-" + random.nextInt(5_000), random.nextInt(20_000), "acct-" + random.nextInt(2_000));
+        }
+        compiled = new DslRuleEngine(store, RULES);
+        handWritten = List.of(new LargeFastRule(store), new OutlierNewUserRule(store), new MuleAccountRule(store));
+    }
+
+    @Benchmark
+    public RuleResult compiledSync() {
+        return compiled.evaluateNow(nextContext());
+    }
+
+    @Benchmark
+    public RuleResult compiledMono() {
+        return compiled.evaluate(nextContext()).block();
+    }
+
+    @Benchmark
+    public RuleResult handWritten() {
+        FraudRule.TransactionContext context = nextContext();
+        for (FraudRule rule : handWritten) {
+            RuleResult result = rule.evaluate(context).block();
+            if (result != RuleResult.PASSED) {
+                return result;
+            }
+        }
+        return RuleResult.PASSED;
+    }
+
+    private FraudRule.TransactionContext nextContext() {
+        return contexts[next++ & (contexts.length - 1)];
+    }
+
+    private static FraudRule.TransactionContext context(String userId, int amount, String target) {
+        return new FraudRule.TransactionContext(userId, Money.of(BigDecimal.valueOf(amount), "USD"), target);
+    }
+
+    private record LargeFastRule(FeatureStore store) implements FraudRule {
+        @Override
+        public Mono<RuleResult> evaluate(TransactionContext context) {
+            double amount = context.amount().getAmount().doubleValue();
+            FeatureAggregate user = store.user(context.userId());
+            long velocity = user == null ? 0 : user.countLastHour(store.nowMillis());
+            return Mono.just(amount > 10_000 && velocity > 5 ? RuleResult.REJECTED_VELOCITY : RuleResult.PASSED);
+        }
+    }
+
+    private record OutlierNewUserRule(FeatureStore store) implements FraudRule {
+        @Override
+        public Mono<RuleResult> evaluate(TransactionContext context) {
+            double amount = context.amount().getAmount().doubleValue();
+            FeatureAggregate user = store.user(context.userId());
+            if (user == null) {
+                return Mono.just(RuleResult.PASSED);
+            }
+            double ageHours = (store.nowMillis() - user.firstSeenMillis()) / 3_600_000.0;
+            return Mono.just(user.zScore(amount) > 4 && ageHours < 24 ? RuleResult.REJECTED_OTHER : RuleResult.PASSED);
+        }
+    }
+
+    private record MuleAccountRule(FeatureStore store) implements FraudRule {
+        @Override
+        public Mono<RuleResult> evaluate(TransactionContext context) {
+            double amount = context.amount().getAmount().doubleValue();
+            FeatureAggregate payee = store.targetAccount(context.targetAccount());
+            long senders = payee == null ? 0 : payee.distinctCounterparties();
+            return Mono.just(senders > 500 && amount > 1_000 ? RuleResult.REJECTED_OTHER : RuleResult.PASSED);
+        }
+    }
+}
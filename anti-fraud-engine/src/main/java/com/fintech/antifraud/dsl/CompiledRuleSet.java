@@ -0,0 +1,74 @@
+package com.fintech.antifraud.dsl;
+
+import com.fintech.antifraud.features.FeatureAggregate;
+import com.fintech.antifraud.features.FeatureStore;
+import com.fintech.antifraud.rules.FraudRule;
+import com.fintech.antifraud.rules.RuleResult;
+
+/**
+ * Immutable, compiled form of a rule file. Rules are evaluated in source order
+ * and the first match decides the outcome; if none match the result is
+ * {@link RuleResult#PASSED}.
+ * <p>
+ * Only the features referenced by at least one rule are computed per transaction.
+ */
+public final class CompiledRuleSet {
+
+    record Rule(String source, Condition condition, RuleResult result) {
+    }
+
+    private final String source;
+    private final Rule[] rules;
+    private final long featureMask;
+
+    CompiledRuleSet(String source, Rule[] rules, long featureMask) {
+        this.source = source;
+        this.rules = rules;
+        this.featureMask = featureMask;
+    }
+
+    public String source() {
+        return source;
+    }
+
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * Allocates a frame large enough for every feature. Frames are reusable across
+     * evaluations and rule-set versions.
+     */
+    public static double[] newFrame() {
+        return new double[Feature.count()];
+    }
+
+    /**
+     * Fills {@code frame} with the features this rule set needs and evaluates it.
+     */
+    public RuleResult evaluate(FraudRule.TransactionContext context, FeatureStore store, double[] frame) {
+        if (featureMask != 0) {
+            double amount = context.amount().getAmount().doubleValue();
+            FeatureAggregate user = context.userId() == null ? null : store.user(context.userId());
+            FeatureAggregate payee = context.targetAccount() == null ? null : store.targetAccount(context.targetAccount());
+            long now = store.nowMillis();
+            for (long remaining = featureMask; remaining != 0; remaining &= remaining - 1) {
+                int ordinal = Long.numberOfTrailingZeros(remaining);
+                frame[ordinal] = Feature.at(ordinal).resolve(amount, user, payee, now);
+            }
+        }
+        return evaluate(frame);
+    }
+
+    /**
+     * Evaluates against a pre-filled frame.
+     */
+    public RuleResult evaluate(double[] frame) {
+        for (Rule rule : rules) {
+            if (rule.condition().test(frame)) {
+                return rule.result();
+            }
+        }
+        return RuleResult.PASSED;
+    }
+}
@@ -0,0 +1,75 @@
+package com.fintech.antifraud.dsl;
+
+/**
+ * Compiled predicate over a feature frame (feature values indexed by
+ * {@link Feature#ordinal()}). Nodes are immutable and evaluate without allocating.
+ */
+interface Condition {
+
+    boolean test(double[] features);
+
+    enum Operator {
+        GT(">"), GE(">="), LT("<"), LE("<="), EQ("=="), NE("!=");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        static Operator bySymbol(String symbol) {
+            for (Operator operator : values()) {
+                if (operator.symbol.equals(symbol)) {
+                    return operator;
+                }
+            }
+            return null;
+        }
+    }
+
+    record Compare(int feature, Operator operator, double constant) implements Condition {
+        @Override
+        public boolean test(double[] features) {
+            double value = features[feature];
+            return switch (operator) {
+                case GT -> value > constant;
+                case GE -> value >= constant;
+                case LT -> value < constant;
+                case LE -> value <= constant;
+                case EQ -> value == constant;
+                case NE -> value != constant;
+            };
+        }
+    }
+
+    record And(Condition[] terms) implements Condition {
+        @Override
+        public boolean test(double[] features) {
+            for (Condition term : terms) {
+                if (!term.test(features)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    record Or(Condition[] terms) implements Condition {
+        @Override
+        public boolean test(double[] features) {
+            for (Condition term : terms) {
+                if (term.test(features)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    record Not(Condition term) implements Condition {
+        @Override
+        public boolean test(double[] features) {
+            return !term.test(features);
+        }
+    }
+}
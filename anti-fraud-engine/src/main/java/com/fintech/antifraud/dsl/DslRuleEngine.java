@@ -0,0 +1,66 @@
+package com.fintech.antifraud.dsl;
+
+import com.fintech.antifraud.features.FeatureStore;
+import com.fintech.antifraud.rules.FraudRule;
+import com.fintech.antifraud.rules.RuleResult;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link FraudRule} backed by declaratively written, precompiled rules.
+ * <p>
+ * Rules are compiled once by {@link RuleCompiler}; evaluation walks the compiled
+ * condition tree against a thread-local feature frame and does not allocate.
+ * {@link #reload} compiles the new source fully before atomically swapping it in,
+ * so a syntax error leaves the active rules untouched and in-flight evaluations
+ * always see one consistent version.
+ */
+public class DslRuleEngine implements FraudRule {
+
+    private final FeatureStore featureStore;
+    private final AtomicReference<CompiledRuleSet> active;
+    private final ThreadLocal<double[]> frames = ThreadLocal.withInitial(CompiledRuleSet::newFrame);
+
+    public DslRuleEngine(FeatureStore featureStore, String source) {
+        this.featureStore = featureStore;
+        this.active = new AtomicReference<>(RuleCompiler.compile(source));
+    }
+
+    public static DslRuleEngine fromFile(FeatureStore featureStore, Path rulesFile) throws IOException {
+        return new DslRuleEngine(featureStore, Files.readString(rulesFile));
+    }
+
+    @Override
+    public Mono<RuleResult> evaluate(TransactionContext context) {
+        return Mono.just(evaluateNow(context));
+    }
+
+    /**
+     * Synchronous evaluation for callers that do not need a publisher.
+     */
+    public RuleResult evaluateNow(TransactionContext context) {
+        return active.get().evaluate(context, featureStore, frames.get());
+    }
+
+    /**
+     * Compiles {@code source} and swaps it in.
+     *
+     * @return the previously active rule set
+     * @throws RuleSyntaxException if the source does not compile (active rules are kept)
+     */
+    public CompiledRuleSet reload(String source) {
+        return active.getAndSet(RuleCompiler.compile(source));
+    }
+
+    public CompiledRuleSet reload(Path rulesFile) throws IOException {
+        return reload(Files.readString(rulesFile));
+    }
+
+    public CompiledRuleSet activeRules() {
+        return active.get();
+    }
+}
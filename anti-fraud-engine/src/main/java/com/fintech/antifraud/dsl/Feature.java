@@ -0,0 +1,73 @@
+package com.fintech.antifraud.dsl;
+
+import com.fintech.antifraud.features.FeatureAggregate;
+
+import java.util.Locale;
+
+/**
+ * Features addressable from the rule DSL. Each maps a DSL identifier to a value
+ * computed from the transaction and the sender's / payee's feature-store aggregates.
+ * Unknown senders or payees read as zero history.
+ */
+public enum Feature {
+    AMOUNT("amount"),
+    VELOCITY_1H("velocity_1h"),
+    AMOUNT_1H("amount_1h"),
+    TXN_COUNT("txn_count"),
+    DISTINCT_PAYEES("distinct_payees"),
+    USER_AGE_HOURS("user_age_hours"),
+    AMOUNT_ZSCORE("amount_zscore"),
+    PAYEE_VELOCITY_1H("payee_velocity_1h"),
+    PAYEE_DISTINCT_SENDERS("payee_distinct_senders"),
+    PAYEE_AGE_HOURS("payee_age_hours");
+
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+    private static final Feature[] VALUES = values();
+
+    private final String dslName;
+
+    Feature(String dslName) {
+        this.dslName = dslName;
+    }
+
+    public String dslName() {
+        return dslName;
+    }
+
+    long bit() {
+        return 1L << ordinal();
+    }
+
+    double resolve(double amount, FeatureAggregate user, FeatureAggregate payee, long nowMillis) {
+        return switch (this) {
+            case AMOUNT -> amount;
+            case VELOCITY_1H -> user == null ? 0 : user.countLastHour(nowMillis);
+            case AMOUNT_1H -> user == null ? 0 : user.sumLastHour(nowMillis);
+            case TXN_COUNT -> user == null ? 0 : user.count();
+            case DISTINCT_PAYEES -> user == null ? 0 : user.distinctCounterparties();
+            case USER_AGE_HOURS -> user == null ? 0 : (nowMillis - user.firstSeenMillis()) / MILLIS_PER_HOUR;
+            case AMOUNT_ZSCORE -> user == null ? 0 : user.zScore(amount);
+            case PAYEE_VELOCITY_1H -> payee == null ? 0 : payee.countLastHour(nowMillis);
+            case PAYEE_DISTINCT_SENDERS -> payee == null ? 0 : payee.distinctCounterparties();
+            case PAYEE_AGE_HOURS -> payee == null ? 0 : (nowMillis - payee.firstSeenMillis()) / MILLIS_PER_HOUR;
+        };
+    }
+
+    static Feature byDslName(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        for (Feature feature : VALUES) {
+            if (feature.dslName.equals(lower)) {
+                return feature;
+            }
+        }
+        return null;
+    }
+
+    static int count() {
+        return VALUES.length;
+    }
+
+    static Feature at(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,211 @@
+package com.fintech.antifraud.dsl;
+
+import com.fintech.antifraud.rules.RuleResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses fraud rule source text and compiles it into a {@link CompiledRuleSet}.
+ * <p>
+ * One rule per line, {@code #} starts a comment:
+ * <pre>
+ * amount &gt; 10000 AND velocity_1h &gt; 5 -&gt; REJECTED_VELOCITY
+ * NOT (user_age_hours &gt;= 24) AND amount_zscore &gt; 4 -&gt; REJECTED_OTHER
+ * </pre>
+ * Grammar:
+ * <pre>
+ * rule       := or '-&gt;' RESULT
+ * or         := and ('OR' and)*
+ * and        := unary ('AND' unary)*
+ * unary      := 'NOT' unary | '(' or ')' | comparison
+ * comparison := FEATURE ('&gt;' | '&gt;=' | '&lt;' | '&lt;=' | '==' | '!=') NUMBER
+ * </pre>
+ * Parsing happens once; the result is a tree of immutable {@link Condition} nodes
+ * evaluated directly against a feature frame.
+ */
+public final class RuleCompiler {
+
+    private RuleCompiler() {
+    }
+
+    public static CompiledRuleSet compile(String source) {
+        List<CompiledRuleSet.Rule> rules = new ArrayList<>();
+        long featureMask = 0;
+        String[] lines = source.split("\\R", -1);
+        for (int i = 0; i < lines.length; i++) {
+            LineParser parser = new LineParser(lines[i], i + 1);
+            if (parser.isBlank()) {
+                continue;
+            }
+            CompiledRuleSet.Rule rule = parser.parseRule();
+            rules.add(rule);
+            featureMask |= parser.featureMask;
+        }
+        return new CompiledRuleSet(source, rules.toArray(CompiledRuleSet.Rule[]::new), featureMask);
+    }
+
+    private enum TokenType { IDENT, NUMBER, OPERATOR, LPAREN, RPAREN, ARROW, END }
+
+    private record Token(TokenType type, String text, int column) {
+    }
+
+    private static final class LineParser {
+
+        private final String line;
+        private final int lineNumber;
+        private final List<Token> tokens;
+        private int position;
+        private long featureMask;
+
+        LineParser(String line, int lineNumber) {
+            this.line = line;
+            this.lineNumber = lineNumber;
+            this.tokens = tokenize();
+        }
+
+        boolean isBlank() {
+            return tokens.get(0).type() == TokenType.END;
+        }
+
+        CompiledRuleSet.Rule parseRule() {
+            Condition condition = parseOr();
+            expect(TokenType.ARROW, "'->'");
+            Token outcome = expect(TokenType.IDENT, "a rule result");
+            RuleResult result;
+            try {
+                result = RuleResult.valueOf(outcome.text().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw error(outcome, "unknown rule result '" + outcome.text() + "'");
+            }
+            expect(TokenType.END, "end of rule");
+            return new CompiledRuleSet.Rule(line.strip(), condition, result);
+        }
+
+        private Condition parseOr() {
+            List<Condition> terms = new ArrayList<>();
+            terms.add(parseAnd());
+            while (acceptKeyword("OR")) {
+                terms.add(parseAnd());
+            }
+            return terms.size() == 1 ? terms.get(0) : new Condition.Or(terms.toArray(Condition[]::new));
+        }
+
+        private Condition parseAnd() {
+            List<Condition> terms = new ArrayList<>();
+            terms.add(parseUnary());
+            while (acceptKeyword("AND")) {
+                terms.add(parseUnary());
+            }
+            return terms.size() == 1 ? terms.get(0) : new Condition.And(terms.toArray(Condition[]::new));
+        }
+
+        private Condition parseUnary() {
+            if (acceptKeyword("NOT")) {
+                return new Condition.Not(parseUnary());
+            }
+            if (peek().type() == TokenType.LPAREN) {
+                position++;
+                Condition inner = parseOr();
+                expect(TokenType.RPAREN, "')'");
+                return inner;
+            }
+            return parseComparison();
+        }
+
+        private Condition parseComparison() {
+            Token name = expect(TokenType.IDENT, "a feature name");
+            Feature feature = Feature.byDslName(name.text());
+            if (feature == null) {
+                throw error(name, "unknown feature '" + name.text() + "'");
+            }
+            Token operatorToken = expect(TokenType.OPERATOR, "a comparison operator");
+            Condition.Operator operator = Condition.Operator.bySymbol(operatorToken.text());
+            if (operator == null) {
+                throw error(operatorToken, "unknown operator '" + operatorToken.text() + "'");
+            }
+            Token number = expect(TokenType.NUMBER, "a number");
+            featureMask |= feature.bit();
+            return new Condition.Compare(feature.ordinal(), operator, Double.parseDouble(number.text()));
+        }
+
+        private boolean acceptKeyword(String keyword) {
+            Token token = peek();
+            if (token.type() == TokenType.IDENT && token.text().equalsIgnoreCase(keyword)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private Token expect(TokenType type, String description) {
+            Token token = peek();
+            if (token.type() != type) {
+                String found = token.type() == TokenType.END ? "end of line" : "'" + token.text() + "'";
+                throw error(token, "expected " + description + " but found " + found);
+            }
+            position++;
+            return token;
+        }
+
+        private Token peek() {
+            return tokens.get(position);
+        }
+
+        private RuleSyntaxException error(Token token, String message) {
+            return new RuleSyntaxException(lineNumber, token.column() + 1, message);
+        }
+
+        private List<Token> tokenize() {
+            List<Token> result = new ArrayList<>();
+            int i = 0;
+            int length = line.length();
+            while (i < length) {
+                char c = line.charAt(i);
+                if (c == '#') {
+                    break;
+                }
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '(') {
+                    result.add(new Token(TokenType.LPAREN, "(", i++));
+                } else if (c == ')') {
+                    result.add(new Token(TokenType.RPAREN, ")", i++));
+                } else if (c == '-' && i + 1 < length && line.charAt(i + 1) == '>') {
+                    result.add(new Token(TokenType.ARROW, "->", i));
+                    i += 2;
+                } else if (Character.isDigit(c) || c == '-' || c == '.') {
+                    int start = i++;
+                    while (i < length && (Character.isDigit(line.charAt(i))
+                            || line.charAt(i) == '.' || line.charAt(i) == '_')) {
+                        i++;
+                    }
+                    String text = line.substring(start, i).replace("_", "");
+                    try {
+                        Double.parseDouble(text);
+                    } catch (NumberFormatException e) {
+                        throw new RuleSyntaxException(lineNumber, start + 1, "malformed number '" + text + "'");
+                    }
+                    result.add(new Token(TokenType.NUMBER, text, start));
+                } else if (Character.isLetter(c) || c == '_') {
+                    int start = i;
+                    while (i < length && (Character.isLetterOrDigit(line.charAt(i)) || line.charAt(i) == '_')) {
+                        i++;
+                    }
+                    result.add(new Token(TokenType.IDENT, line.substring(start, i), start));
+                } else if (c == '>' || c == '<' || c == '=' || c == '!') {
+                    int start = i++;
+                    if (i < length && line.charAt(i) == '=') {
+                        i++;
+                    }
+                    result.add(new Token(TokenType.OPERATOR, line.substring(start, i), start));
+                } else {
+                    throw new RuleSyntaxException(lineNumber, i + 1, "unexpected character '" + c + "'");
+                }
+            }
+            result.add(new Token(TokenType.END, "", i));
+            return result;
+        }
+    }
+}
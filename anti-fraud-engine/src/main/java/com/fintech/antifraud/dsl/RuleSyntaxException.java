@@ -0,0 +1,12 @@
+package com.fintech.antifraud.dsl;
+
+/**
+ * Thrown when rule source text cannot be parsed. The message carries the
+ * 1-based line and column of the offending token.
+ */
+public class RuleSyntaxException extends IllegalArgumentException {
+
+    public RuleSyntaxException(int line, int column, String message) {
+        super(String.format("Rule syntax error at line %d, column %d: %s", line, column, message));
+    }
+}
@@ -0,0 +1,182 @@
+package com.fintech.antifraud.features;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Behavioural aggregate for a single key (a user or a target account).
+ * <p>
+ * Every field is fixed-size: lifetime count/sum, first/last seen timestamps,
+ * Welford running mean/variance of amounts, a one-hour window of per-minute
+ * buckets and a HyperLogLog of distinct counterparties. Memory per key is
+ * therefore bounded (~2.5 KB) no matter how much traffic the key sees.
+ * <p>
+ * Updates and reads are synchronized on the aggregate itself; contention is
+ * per key, never store-wide.
+ */
+public final class FeatureAggregate {
+
+    static final int WINDOW_MINUTES = 60;
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+
+    private long count;
+    private double sum;
+    private long firstSeenMillis;
+    private long lastSeenMillis;
+
+    // Welford's online algorithm
+    private double mean;
+    private double m2;
+
+    // Sliding one-hour window: ring of per-minute buckets plus running totals
+    private final long[] bucketCount = new long[WINDOW_MINUTES];
+    private final double[] bucketSum = new double[WINDOW_MINUTES];
+    private long windowCount;
+    private double windowSum;
+    private long windowMinute;
+
+    private final HyperLogLog counterparties = new HyperLogLog();
+
+    synchronized void record(double amount, String counterparty, long timestampMillis) {
+        if (count == 0) {
+            firstSeenMillis = timestampMillis;
+            windowMinute = timestampMillis / MILLIS_PER_MINUTE;
+        }
+        lastSeenMillis = Math.max(lastSeenMillis, timestampMillis);
+
+        count++;
+        sum += amount;
+        double delta = amount - mean;
+        mean += delta / count;
+        m2 += delta * (amount - mean);
+
+        advance(timestampMillis / MILLIS_PER_MINUTE);
+        int slot = (int) (windowMinute % WINDOW_MINUTES);
+        bucketCount[slot]++;
+        bucketSum[slot] += amount;
+        windowCount++;
+        windowSum += amount;
+
+        if (counterparty != null) {
+            counterparties.offer(counterparty);
+        }
+    }
+
+    public synchronized long count() {
+        return count;
+    }
+
+    public synchronized double sum() {
+        return sum;
+    }
+
+    public synchronized long firstSeenMillis() {
+        return firstSeenMillis;
+    }
+
+    public synchronized long lastSeenMillis() {
+        return lastSeenMillis;
+    }
+
+    public synchronized double mean() {
+        return mean;
+    }
+
+    /**
+     * Sample variance of observed amounts (0 until at least two observations).
+     */
+    public synchronized double variance() {
+        return count < 2 ? 0.0 : m2 / (count - 1);
+    }
+
+    public double standardDeviation() {
+        return Math.sqrt(variance());
+    }
+
+    /**
+     * Number of standard deviations {@code amount} lies from this key's mean.
+     * Returns 0 while there is not enough history to have a spread.
+     */
+    public synchronized double zScore(double amount) {
+        if (count < 2 || m2 == 0.0) {
+            return 0.0;
+        }
+        return (amount - mean) / Math.sqrt(m2 / (count - 1));
+    }
+
+    public synchronized long countLastHour(long nowMillis) {
+        advance(nowMillis / MILLIS_PER_MINUTE);
+        return windowCount;
+    }
+
+    public synchronized double sumLastHour(long nowMillis) {
+        advance(nowMillis / MILLIS_PER_MINUTE);
+        return windowSum;
+    }
+
+    public synchronized long distinctCounterparties() {
+        return counterparties.estimate();
+    }
+
+    /**
+     * Expires buckets that fell out of the window. Amortized O(1): each bucket is
+     * cleared at most once per minute of wall-clock time. Clock regressions are
+     * folded into the current minute.
+     */
+    private void advance(long nowMinute) {
+        if (nowMinute <= windowMinute) {
+            return;
+        }
+        if (nowMinute - windowMinute >= WINDOW_MINUTES) {
+            Arrays.fill(bucketCount, 0L);
+            Arrays.fill(bucketSum, 0.0);
+            windowCount = 0;
+            windowSum = 0.0;
+        } else {
+            for (long minute = windowMinute + 1; minute <= nowMinute; minute++) {
+                int slot = (int) (minute % WINDOW_MINUTES);
+                windowCount -= bucketCount[slot];
+                windowSum -= bucketSum[slot];
+                bucketCount[slot] = 0;
+                bucketSum[slot] = 0.0;
+            }
+        }
+        windowMinute = nowMinute;
+    }
+
+    synchronized void writeTo(DataOutput out) throws IOException {
+        out.writeLong(count);
+        out.writeDouble(sum);
+        out.writeLong(firstSeenMillis);
+        out.writeLong(lastSeenMillis);
+        out.writeDouble(mean);
+        out.writeDouble(m2);
+        out.writeLong(windowMinute);
+        for (int i = 0; i < WINDOW_MINUTES; i++) {
+            out.writeLong(bucketCount[i]);
+            out.writeDouble(bucketSum[i]);
+        }
+        counterparties.writeTo(out);
+    }
+
+    synchronized void readFrom(DataInput in) throws IOException {
+        count = in.readLong();
+        sum = in.readDouble();
+        firstSeenMillis = in.readLong();
+        lastSeenMillis = in.readLong();
+        mean = in.readDouble();
+        m2 = in.readDouble();
+        windowMinute = in.readLong();
+        windowCount = 0;
+        windowSum = 0.0;
+        for (int i = 0; i < WINDOW_MINUTES; i++) {
+            bucketCount[i] = in.readLong();
+            bucketSum[i] = in.readDouble();
+            windowCount += bucketCount[i];
+            windowSum += bucketSum[i];
+        }
+        counterparties.readFrom(in);
+    }
+}
@@ -0,0 +1,167 @@
+package com.fintech.antifraud.features;
+
+import com.fintech.antifraud.rules.FraudRule;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Embedded streaming feature store for fraud rules.
+ * <p>
+ * Keeps one {@link FeatureAggregate} per user and one per target account, updated
+ * incrementally by {@link #ingest}. Rules read aggregates with a single map lookup,
+ * so every feature is available in O(1) without touching an external store.
+ * <p>
+ * State can be written to a local snapshot file and restored on startup so a
+ * restarted engine does not begin with empty history.
+ */
+public class FeatureStore {
+
+    private static final int SNAPSHOT_MAGIC = 0x46534e50; // "FSNP"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final Clock clock;
+    private final Map<String, FeatureAggregate> userAggregates = new ConcurrentHashMap<>();
+    private final Map<String, FeatureAggregate> targetAggregates = new ConcurrentHashMap<>();
+
+    public FeatureStore() {
+        this(Clock.systemUTC());
+    }
+
+    public FeatureStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Folds a transaction into the sender's and the target account's aggregates.
+     */
+    public void ingest(FraudRule.TransactionContext context) {
+        ingest(context, clock.millis());
+    }
+
+    public void ingest(FraudRule.TransactionContext context, long timestampMillis) {
+        double amount = context.amount().getAmount().doubleValue();
+        if (context.userId() != null) {
+            aggregateFor(userAggregates, context.userId())
+                    .record(amount, context.targetAccount(), timestampMillis);
+        }
+        if (context.targetAccount() != null) {
+            aggregateFor(targetAggregates, context.targetAccount())
+                    .record(amount, context.userId(), timestampMillis);
+        }
+    }
+
+    /**
+     * @return the user's aggregate, or {@code null} if the user has never been seen
+     */
+    public FeatureAggregate user(String userId) {
+        return userAggregates.get(userId);
+    }
+
+    /**
+     * @return the target account's aggregate, or {@code null} if it has never received funds
+     */
+    public FeatureAggregate targetAccount(String accountId) {
+        return targetAggregates.get(accountId);
+    }
+
+    public long nowMillis() {
+        return clock.millis();
+    }
+
+    public int size() {
+        return userAggregates.size() + targetAggregates.size();
+    }
+
+    /**
+     * Drops keys with no activity for {@code idle}, bounding the total key count
+     * for populations with long-tail one-off users.
+     *
+     * @return number of keys removed
+     */
+    public int evictIdle(Duration idle) {
+        long cutoff = clock.millis() - idle.toMillis();
+        int before = size();
+        userAggregates.values().removeIf(aggregate -> aggregate.lastSeenMillis() < cutoff);
+        targetAggregates.values().removeIf(aggregate -> aggregate.lastSeenMillis() < cutoff);
+        return before - size();
+    }
+
+    /**
+     * Writes all aggregates to {@code file}. The snapshot is written to a sibling
+     * temp file and atomically moved into place, so a crash mid-write never leaves
+     * a truncated snapshot behind.
+     */
+    public void snapshotTo(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            writeAggregates(out, userAggregates);
+            writeAggregates(out, targetAggregates);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Replaces the current state with the contents of a snapshot written by
+     * {@link #snapshotTo}. A missing file leaves the store empty.
+     */
+    public void restoreFrom(Path file) throws IOException {
+        userAggregates.clear();
+        targetAggregates.clear();
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a feature store snapshot: " + file);
+            }
+            int version = in.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported feature store snapshot version " + version);
+            }
+            readAggregates(in, userAggregates);
+            readAggregates(in, targetAggregates);
+        }
+    }
+
+    private static FeatureAggregate aggregateFor(Map<String, FeatureAggregate> aggregates, String key) {
+        FeatureAggregate aggregate = aggregates.get(key);
+        return aggregate != null ? aggregate : aggregates.computeIfAbsent(key, k -> new FeatureAggregate());
+    }
+
+    private static void writeAggregates(DataOutputStream out, Map<String, FeatureAggregate> aggregates)
+            throws IOException {
+        // Copy first: the live map may change while we serialize
+        Map<String, FeatureAggregate> copy = Map.copyOf(aggregates);
+        out.writeInt(copy.size());
+        for (Map.Entry<String, FeatureAggregate> entry : copy.entrySet()) {
+            out.writeUTF(entry.getKey());
+            entry.getValue().writeTo(out);
+        }
+    }
+
+    private static void readAggregates(DataInputStream in, Map<String, FeatureAggregate> aggregates)
+            throws IOException {
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String key = in.readUTF();
+            FeatureAggregate aggregate = new FeatureAggregate();
+            aggregate.readFrom(in);
+            aggregates.put(key, aggregate);
+        }
+    }
+}
@@ -1,15 +1,27 @@
 package com.fintech.antifraud.rules;
 
+import com.fintech.antifraud.features.FeatureAggregate;
+import com.fintech.antifraud.features.FeatureStore;
+import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
-
+/**
+ * Rejects users who already made {@code maxTransactionsPerHour} transfers in the
+ * trailing hour. Reads the sliding-window count from the embedded {@link FeatureStore},
+ * so the check is an in-memory lookup rather than a remote call.
+ */
+@RequiredArgsConstructor
 public class VelocityCheckRule implements FraudRule {
+
+    private final FeatureStore featureStore;
+    private final long maxTransactionsPerHour;
+
     @Override
     public Mono<RuleResult> evaluate(TransactionContext context) {
-        // Simulating a fast check (e.g., Redis lookup)
-        // In reality, this would query a state store
-        return Mono.just(RuleResult.PASSED)
-                .delayElement(Duration.ofMillis(5)); // Simulate ~5ms latency
+        FeatureAggregate user = featureStore.user(context.userId());
+        if (user != null && user.countLastHour(featureStore.nowMillis()) >= maxTransactionsPerHour) {
+            return Mono.just(RuleResult.REJECTED_VELOCITY);
+        }
+        return Mono.just(RuleResult.PASSED);
     }
 }
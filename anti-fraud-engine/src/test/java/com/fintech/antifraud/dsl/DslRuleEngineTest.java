@@ -0,0 +1,74 @@
+package com.fintech.antifraud.dsl;
+
+import com.fintech.antifraud.features.FeatureStore;
+import com.fintech.antifraud.rules.FraudRule;
+import com.fintech.antifraud.rules.RuleResult;
+import com.fintech.common.domain.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DslRuleEngineTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+    private final FeatureStore store = new FeatureStore(Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void testFirstMatchingRuleWins() {
+        DslRuleEngine engine = new DslRuleEngine(store, """
+                # large and fast
+                amount > 10_000 AND velocity_1h > 5 -> REJECTED_VELOCITY
+                amount > 50000 -> REJECTED_OTHER
+                """);
+        for (int i = 0; i < 6; i++) {
+            store.ingest(context("alice", "10.00"));
+        }
+
+        assertEquals(RuleResult.REJECTED_VELOCITY, engine.evaluateNow(context("alice", "20000")));
+        assertEquals(RuleResult.REJECTED_OTHER, engine.evaluateNow(context("bob", "60000")));
+        assertEquals(RuleResult.PASSED, engine.evaluateNow(context("bob", "20000")));
+    }
+
+    @Test
+    void testPrecedenceAndNegation() {
+        DslRuleEngine engine = new DslRuleEngine(store,
+                "amount < 1 OR amount > 100 AND NOT (txn_count >= 1) -> REJECTED_OTHER");
+
+        assertEquals(RuleResult.REJECTED_OTHER, engine.evaluateNow(context("new-user", "0.50")));
+        assertEquals(RuleResult.REJECTED_OTHER, engine.evaluateNow(context("new-user", "500")));
+        store.ingest(context("new-user", "10"));
+        assertEquals(RuleResult.PASSED, engine.evaluateNow(context("new-user", "500")));
+    }
+
+    @Test
+    void testSyntaxErrorsReportLineAndColumn() {
+        RuleSyntaxException unknownFeature = assertThrows(RuleSyntaxException.class,
+                () -> RuleCompiler.compile("amount > 1 -> PASSED\nbogus > 1 -> REJECTED_OTHER"));
+        assertTrue(unknownFeature.getMessage().contains("line 2, column 1"));
+
+        assertThrows(RuleSyntaxException.class, () -> RuleCompiler.compile("amount > -> REJECTED_OTHER"));
+        assertThrows(RuleSyntaxException.class, () -> RuleCompiler.compile("amount > 1 -> MAYBE"));
+        assertThrows(RuleSyntaxException.class, () -> RuleCompiler.compile("(amount > 1 -> PASSED"));
+    }
+
+    @Test
+    void testReloadSwapsAtomicallyAndKeepsRulesOnError() {
+        DslRuleEngine engine = new DslRuleEngine(store, "amount > 100 -> REJECTED_OTHER");
+
+        engine.reload("amount > 10 -> REJECTED_VELOCITY");
+        assertEquals(RuleResult.REJECTED_VELOCITY, engine.evaluateNow(context("alice", "50")));
+
+        assertThrows(RuleSyntaxException.class, () -> engine.reload("amount >>> 10 -> PASSED"));
+        assertEquals(RuleResult.REJECTED_VELOCITY, engine.evaluateNow(context("alice", "50")));
+    }
+
+    private static FraudRule.TransactionContext context(String userId, String amount) {
+        return new FraudRule.TransactionContext(userId, Money.of(new BigDecimal(amount), "USD"), "acct-1");
+    }
+}
@@ -0,0 +1,93 @@
+package com.fintech.antifraud.features;
+
+import com.fintech.antifraud.rules.FraudRule;
+import com.fintech.common.domain.Money;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeatureStoreTest {
+
+    private static final long T0 = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final long MINUTE = 60_000L;
+
+    private final FeatureStore store = new FeatureStore(Clock.fixed(Instant.ofEpochMilli(T0), ZoneOffset.UTC));
+
+    @Test
+    void testCountsSumsAndFirstSeen() {
+        store.ingest(context("alice", "100.00", "acct-1"), T0);
+        store.ingest(context("alice", "300.00", "acct-2"), T0 + MINUTE);
+
+        FeatureAggregate alice = store.user("alice");
+        assertEquals(2, alice.count());
+        assertEquals(400.0, alice.sum(), 1e-9);
+        assertEquals(T0, alice.firstSeenMillis());
+        assertEquals(1, store.targetAccount("acct-1").count());
+        assertNull(store.user("bob"));
+    }
+
+    @Test
+    void testWelfordMeanAndVariance() {
+        double[] amounts = {2, 4, 4, 4, 5, 5, 7, 9};
+        for (double amount : amounts) {
+            store.ingest(context("alice", String.valueOf(amount), "acct-1"), T0);
+        }
+
+        FeatureAggregate alice = store.user("alice");
+        assertEquals(5.0, alice.mean(), 1e-9);
+        assertEquals(32.0 / 7.0, alice.variance(), 1e-9);
+        assertTrue(alice.zScore(20.0) > 3.0);
+    }
+
+    @Test
+    void testSlidingHourWindowExpiresOldBuckets() {
+        store.ingest(context("alice", "10.00", "acct-1"), T0);
+        store.ingest(context("alice", "20.00", "acct-1"), T0 + 30 * MINUTE);
+
+        FeatureAggregate alice = store.user("alice");
+        assertEquals(2, alice.countLastHour(T0 + 59 * MINUTE));
+        assertEquals(1, alice.countLastHour(T0 + 61 * MINUTE));
+        assertEquals(20.0, alice.sumLastHour(T0 + 61 * MINUTE), 1e-9);
+        assertEquals(0, alice.countLastHour(T0 + 120 * MINUTE));
+        assertEquals(2, alice.count()); // lifetime counters are unaffected
+    }
+
+    @Test
+    void testDistinctCounterpartiesEstimate() {
+        for (int i = 0; i < 5_000; i++) {
+            store.ingest(context("alice", "1.00", "acct-" + (i % 1_000)), T0);
+        }
+
+        long estimate = store.user("alice").distinctCounterparties();
+        assertTrue(Math.abs(estimate - 1_000) < 100, "estimate was " + estimate);
+    }
+
+    @Test
+    void testSnapshotRoundTrip(@TempDir Path dir) throws Exception {
+        store.ingest(context("alice", "100.00", "acct-1"), T0);
+        store.ingest(context("alice", "50.00", "acct-2"), T0 + MINUTE);
+        Path snapshot = dir.resolve("features.snapshot");
+        store.snapshotTo(snapshot);
+
+        FeatureStore restored = new FeatureStore();
+        restored.restoreFrom(snapshot);
+
+        FeatureAggregate alice = restored.user("alice");
+        assertEquals(2, alice.count());
+        assertEquals(75.0, alice.mean(), 1e-9);
+        assertEquals(2, alice.countLastHour(T0 + 2 * MINUTE));
+        assertEquals(2, alice.distinctCounterparties());
+        assertEquals(1, restored.targetAccount("acct-2").count());
+    }
+
+    private static FraudRule.TransactionContext context(String userId, String amount, String target) {
+        return new FraudRule.TransactionContext(userId, Money.of(new BigDecimal(amount), "USD"), target);
+    }
+}
@@ -0,0 +1,41 @@
+plugins {
+    id("me.champeau.jmh")
+}
+
+// Cross-module JMH suites for the ledger hot paths. Results are written as JSON so runs can
+// be diffed between releases: ./gradlew :benchmarks:jmh
+
+// Same logging backend as ledger-core (Log4j2, not Logback)
+configurations.matching { it.name.startsWith("jmh") }.configureEach {
+    exclude(group = "org.springframework.boot", module = "spring-boot-starter-logging")
+}
+
+dependencies {
+    jmhImplementation(project(":common-lib"))
+    jmhImplementation(project(":ledger-core"))
+    jmhImplementation(project(":anti-fraud-engine"))
+
+    jmhImplementation(platform("org.springframework.boot:spring-boot-dependencies:3.2.1"))
+    jmhImplementation("jakarta.persistence:jakarta.persistence-api")
+    jmhImplementation("jakarta.servlet:jakarta.servlet-api")
+    jmhImplementation("org.springframework:spring-web")
+    jmhImplementation("io.micrometer:micrometer-core")
+    // Shard databases for ShardedPostingBenchmark
+    jmhImplementation("org.springframework.boot:spring-boot-starter-data-jpa")
+    jmhRuntimeOnly("com.h2database:h2")
+    jmhImplementation(platform("io.projectreactor:reactor-bom:2023.0.0"))
+    jmhImplementation("io.projectreactor:reactor-core")
+    // PostingLogBenchmark
+    jmhImplementation("org.springframework.boot:spring-boot-starter-log4j2")
+    jmhImplementation("org.apache.logging.log4j:log4j-layout-template-json")
+    jmhRuntimeOnly("com.lmax:disruptor:3.4.4")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    // Allocation per operation (gc.alloc.rate.norm) alongside every result
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    humanOutputFile.set(layout.buildDirectory.file("results/jmh/human.txt"))
+}
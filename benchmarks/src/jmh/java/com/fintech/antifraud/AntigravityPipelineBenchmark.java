@@ -0,0 +1,73 @@
+package com.fintech.antifraud;
+
+import com.fintech.antifraud.dsl.DslRuleEngine;
+import com.fintech.antifraud.features.FeatureStore;
+import com.fintech.antifraud.rules.FraudRule;
+import com.fintech.antifraud.rules.RuleResult;
+import com.fintech.antifraud.rules.VelocityCheckRule;
+import com.fintech.common.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link AntigravityPipeline#checkTransaction} with the in-memory rules (velocity
+ * and compiled DSL). The sanction rule is left out: its simulated 10 ms delay would swamp
+ * everything else.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AntigravityPipelineBenchmark {
+
+    private static final String RULES = """
+            amount > 10000 AND velocity_1h > 5 -> REJECTED_VELOCITY
+            amount_zscore > 4 AND user_age_hours < 24 -> REJECTED_OTHER
+            """;
+
+    private AntigravityPipeline pipeline;
+    private FraudRule.TransactionContext[] contexts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        FeatureStore store = new FeatureStore();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            store.ingest(context(random));
+        }
+        contexts = new FraudRule.TransactionContext[1024];
+        for (int i = 0; i < contexts.length; i++) {
+            contexts[i] = context(random);
+        }
+        pipeline = new AntigravityPipeline(List.of(
+                new VelocityCheckRule(store, 50),
+                new DslRuleEngine(store, RULES)));
+    }
+
+    @Benchmark
+    public RuleResult checkTransaction() {
+        FraudRule.TransactionContext context = contexts[next++ & (contexts.length - 1)];
+        return pipeline.checkTransaction(context).block();
+    }
+
+    private static FraudRule.TransactionContext context(Random random) {
+        return new FraudRule.TransactionContext("user-" + random.nextInt(5_000),
+                Money.of(BigDecimal.valueOf(random.nextInt(20_000)), "USD"), "acct-" + random.nextInt(2_000));
+    }
+}
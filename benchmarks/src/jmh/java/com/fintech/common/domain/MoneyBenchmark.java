@@ -0,0 +1,72 @@
+package com.fintech.common.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building and combining {@link Money} values: every construction rescales to 18
+ * decimals, so each operation allocates a new {@code BigDecimal}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    private BigDecimal amount;
+    private Currency usd;
+    private Money left;
+    private Money right;
+
+    @Setup
+    public void setUp() {
+        amount = new BigDecimal("1234.56");
+        usd = Currency.getInstance("USD");
+        left = Money.of(amount, "USD");
+        right = Money.of(new BigDecimal("0.01"), "USD");
+    }
+
+    @Benchmark
+    public Money ofCode() {
+        return Money.of(amount, "USD");
+    }
+
+    @Benchmark
+    public Money ofCurrency() {
+        return new Money(amount, usd);
+    }
+
+    @Benchmark
+    public Money add() {
+        return left.add(right);
+    }
+
+    @Benchmark
+    public Money subtract() {
+        return left.subtract(right);
+    }
+
+    @Benchmark
+    public boolean isPositive() {
+        return left.isPositive();
+    }
+
+    @Benchmark
+    public FixedMoney toFixedMoney() {
+        return FixedMoney.of(left);
+    }
+}
@@ -0,0 +1,64 @@
+package com.fintech.common.validation;
+
+import com.fintech.common.domain.FixedMoney;
+import com.fintech.common.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request validation done before every posting.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TransactionValidatorBenchmark {
+
+    private Money amount;
+    private FixedMoney fixedAmount;
+    private String description;
+
+    @Setup
+    public void setUp() {
+        amount = Money.of(new BigDecimal("250.75"), "USD");
+        fixedAmount = FixedMoney.of(amount);
+        description = "Invoice 2024-0042 settlement for merchant payout batch";
+    }
+
+    @Benchmark
+    public Money validateAmount() {
+        TransactionValidator.validateAmount(amount);
+        return amount;
+    }
+
+    @Benchmark
+    public FixedMoney validateFixedAmount() {
+        TransactionValidator.validateAmount(fixedAmount);
+        return fixedAmount;
+    }
+
+    @Benchmark
+    public String validateDescription() {
+        TransactionValidator.validateDescription(description);
+        return description;
+    }
+
+    @Benchmark
+    public int validateLegCount() {
+        TransactionValidator.validateLegCount(10);
+        return 10;
+    }
+}
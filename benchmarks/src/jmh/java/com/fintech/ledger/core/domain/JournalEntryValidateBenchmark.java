@@ -0,0 +1,53 @@
+package com.fintech.ledger.core.domain;
+
+import com.fintech.common.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Double-entry balance check run on every persist of a {@link JournalEntry}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JournalEntryValidateBenchmark {
+
+    @Param({"2", "10", "100"})
+    public int legs;
+
+    private JournalEntry entry;
+
+    @Setup
+    public void setUp() {
+        entry = new JournalEntry();
+        Money amount = Money.of(new BigDecimal("19.99"), "USD");
+        for (int i = 0; i < legs; i++) {
+            TransactionLine line = new TransactionLine();
+            line.setType(i % 2 == 0 ? TransactionLine.Type.DEBIT : TransactionLine.Type.CREDIT);
+            line.setAmount(amount);
+            line.setAccount(new Account());
+            entry.addLine(line);
+        }
+    }
+
+    @Benchmark
+    public JournalEntry validate() {
+        entry.validate();
+        return entry;
+    }
+}
@@ -0,0 +1,56 @@
+package com.fintech.ledger.core.filter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate-limit bookkeeping under contention: with one client every thread increments the
+ * same counter; with many clients the threads mostly hit different map entries.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class RateLimitingFilterBenchmark {
+
+    @Param({"1", "1024"})
+    public int clients;
+
+    private RateLimitingFilter filter;
+    private Map<String, RateLimitingFilter.RequestCounter> counts;
+    private String[] identifiers;
+
+    @Setup
+    public void setUp() {
+        filter = new RateLimitingFilter();
+        counts = new ConcurrentHashMap<>();
+        identifiers = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            identifiers[i] = "10.0." + (i >> 8) + "." + (i & 0xFF);
+        }
+    }
+
+    @Benchmark
+    public boolean isRateLimited() {
+        String identifier = identifiers[ThreadLocalRandom.current().nextInt(identifiers.length)];
+        return filter.isRateLimited(identifier, counts, 100);
+    }
+}
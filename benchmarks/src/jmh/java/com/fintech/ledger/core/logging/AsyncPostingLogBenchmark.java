@@ -0,0 +1,11 @@
+package com.fintech.ledger.core.logging;
+
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * {@link PostingLogBenchmark} with ledger-core's setting: every logger async
+ * (log4j2.component.properties).
+ */
+@Fork(1)
+public class AsyncPostingLogBenchmark extends PostingLogBenchmark {
+}
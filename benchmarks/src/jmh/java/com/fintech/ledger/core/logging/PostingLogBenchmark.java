@@ -0,0 +1,78 @@
+package com.fintech.ledger.core.logging;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-posting logging cost before and after success sampling and the audit log change, through
+ * the JSON layout into /dev/null. {@link AsyncPostingLogBenchmark} and
+ * {@link SyncPostingLogBenchmark} run the same methods with and without async loggers. Compare
+ * {@code gc.alloc.rate.norm} (bytes per posting, from the gc profiler) and time between each
+ * {@code ...Before} and {@code ...After} pair, and between the two classes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Benchmark)
+public abstract class PostingLogBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(PostingLogBenchmark.class);
+
+    private final SuccessLogSampler sampler = new SuccessLogSampler(100);
+    /** Shaped like postTransaction's arguments as the audit aspect sees them. */
+    private final Object[] auditArgs = {"key-7f3a", "Benchmark transfer", List.of(
+            "LegRequest[accountId=1, type=DEBIT, amount=10.00 USD]",
+            "LegRequest[accountId=2, type=CREDIT, amount=10.00 USD]"), null};
+    private final BigDecimal amount = new BigDecimal("10.00");
+    private long journalEntryId = 1_000_000;
+
+    @Benchmark
+    public void commitLogBefore() {
+        log.info("Transaction Committed: {} (Journal Entry: {}, Idempotency Key: {})",
+                "Benchmark transfer", ++journalEntryId, "key-7f3a");
+    }
+
+    @Benchmark
+    public void commitLogAfter() {
+        if (sampler.sample(log)) {
+            log.info("Transaction Committed: {} (Journal Entry: {}, Idempotency Key: {})",
+                    "Benchmark transfer", ++journalEntryId, "key-7f3a");
+        }
+    }
+
+    /**
+     * The audit aspect's old INFO line, which formatted the arguments once for the log and
+     * again for the audit row.
+     */
+    @Benchmark
+    public String auditBefore() {
+        log.info("AUDIT LOG -> Action: [{}], User: [{}], IP: [{}], Args: [{}], Result: [{}], Error: [{}], "
+                        + "Duration: [{}ms], TraceId: [{}]",
+                "POST_TRANSACTION", "ANONYMOUS", "10.0.0.1", Arrays.toString(auditArgs), amount, "SUCCESS",
+                3L, "6f1c2b4e-0d7a-4c4e-9a55-1f7e2d3c4b5a");
+        return Arrays.toString(auditArgs);
+    }
+
+    @Benchmark
+    public String auditAfter() {
+        if (log.isDebugEnabled()) {
+            log.debug("Audit {} by {} from {}: {} in {}ms, trace {}", "POST_TRANSACTION", "ANONYMOUS",
+                    "10.0.0.1", "SUCCESS", 3L, "6f1c2b4e-0d7a-4c4e-9a55-1f7e2d3c4b5a");
+        }
+        return Arrays.toString(auditArgs);
+    }
+}
@@ -0,0 +1,12 @@
+package com.fintech.ledger.core.logging;
+
+import org.openjdk.jmh.annotations.Fork;
+
+/**
+ * {@link PostingLogBenchmark} with synchronous loggers: the calling thread encodes and writes
+ * each event, as before the switch to async loggers.
+ */
+@Fork(value = 1, jvmArgsAppend =
+        "-Dlog4j2.contextSelector=org.apache.logging.log4j.core.selector.ClassLoaderContextSelector")
+public class SyncPostingLogBenchmark extends PostingLogBenchmark {
+}
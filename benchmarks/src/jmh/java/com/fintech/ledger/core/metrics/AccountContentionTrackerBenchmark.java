@@ -0,0 +1,57 @@
+package com.fintech.ledger.core.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reporting one lock wait, next to the two {@code System.nanoTime()} calls that
+ * measure it. With 16 accounts every report hits a held slot, mostly on the same few stripes;
+ * with a million almost every report evicts a slot.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class AccountContentionTrackerBenchmark {
+
+    @Param({"16", "1000000"})
+    public int accounts;
+
+    private AccountContentionTracker tracker;
+
+    @Setup
+    public void setUp() {
+        tracker = new AccountContentionTracker(new SimpleMeterRegistry(), 20, 16);
+    }
+
+    @Benchmark
+    public long measureOnly() {
+        long accountId = ThreadLocalRandom.current().nextLong(accounts);
+        long start = System.nanoTime();
+        return accountId + System.nanoTime() - start;
+    }
+
+    @Benchmark
+    public void measureAndRecord() {
+        long accountId = ThreadLocalRandom.current().nextLong(accounts);
+        long start = System.nanoTime();
+        tracker.record(accountId, System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,84 @@
+package com.fintech.ledger.core.service;
+
+import com.fintech.common.domain.FixedMoney;
+import com.fintech.common.domain.Money;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.TransactionLine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TransactionEngine}'s pre-flight simulation against in-memory accounts, so only the
+ * CPU cost is measured. Legs alternate debit/credit over {@code legs / 2} account pairs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PreFlightCheckBenchmark {
+
+    @Param({"2", "10", "100"})
+    public int legs;
+
+    private final Map<Long, Account> accounts = new HashMap<>();
+    private List<TransactionEngine.LegRequest> legRequests;
+    private FixedMoney[] amounts;
+
+    @Setup
+    public void setUp() {
+        legRequests = new ArrayList<>(legs);
+        for (int i = 0; i < legs; i++) {
+            long accountId = i;
+            Account account = new Account();
+            account.setId(accountId);
+            account.setBalance(Money.of(new BigDecimal("100000.00"), "USD"));
+            accounts.put(accountId, account);
+            TransactionLine.Type type = i % 2 == 0 ? TransactionLine.Type.DEBIT : TransactionLine.Type.CREDIT;
+            Money amount = Money.of(new BigDecimal("42.50"), "USD");
+            legRequests.add(new TransactionEngine.LegRequest(accountId, type, amount));
+        }
+        amounts = toFixed(legRequests);
+    }
+
+    @Benchmark
+    public int simulate() {
+        TransactionEngine.preFlightCheck(legRequests, amounts, accounts::get);
+        return amounts.length;
+    }
+
+    /**
+     * Includes the per-leg conversion to {@link FixedMoney} that the engine does first.
+     */
+    @Benchmark
+    public int convertAndSimulate() {
+        FixedMoney[] converted = toFixed(legRequests);
+        TransactionEngine.preFlightCheck(legRequests, converted, accounts::get);
+        return converted.length;
+    }
+
+    private static FixedMoney[] toFixed(List<TransactionEngine.LegRequest> legRequests) {
+        FixedMoney[] converted = new FixedMoney[legRequests.size()];
+        for (int i = 0; i < converted.length; i++) {
+            converted[i] = FixedMoney.of(legRequests.get(i).amount());
+        }
+        return converted;
+    }
+}
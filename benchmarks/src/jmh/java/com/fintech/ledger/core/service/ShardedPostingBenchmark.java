@@ -0,0 +1,137 @@
+package com.fintech.ledger.core.service;
+
+import com.fintech.common.domain.FixedMoney;
+import com.fintech.common.domain.Money;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.TransactionLine;
+import com.fintech.ledger.core.sharding.GlobalIdGenerator;
+import com.fintech.ledger.core.sharding.LedgerShard;
+import com.fintech.ledger.core.sharding.ShardRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Postings per second through {@link ShardedLedger} as the shard count grows.
+ * <p>
+ * Each shard holds only {@value #ACCOUNTS_PER_SHARD} accounts, so its row locks are what
+ * limits it, as for a shard of hot accounts; more shards spread the same threads over more
+ * independent databases. Shards are in-process H2 databases, so scaling flattens once the
+ * machine's cores are busy rather than at the shard count.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class ShardedPostingBenchmark {
+
+    private static final int ACCOUNTS_PER_SHARD = 4;
+    private static final Money AMOUNT = Money.of(new BigDecimal("1.00"), "USD");
+    private static final FixedMoney[] AMOUNTS = {FixedMoney.of(AMOUNT), FixedMoney.of(AMOUNT)};
+
+    @Param({"1", "2", "4", "8"})
+    public int shards;
+
+    private final AtomicLong keys = new AtomicLong();
+    private ShardRouter router;
+    private ShardedLedger ledger;
+    /** Account ids by shard index. */
+    private long[][] accounts;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<LedgerShard> shardList = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:bench-shard-" + i + "-" + System.nanoTime()
+                    + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+            dataSource.setMaximumPoolSize(16);
+            shardList.add(LedgerShard.open("shard-" + i, dataSource, Map.of("hibernate.hbm2ddl.auto", "create")));
+        }
+        router = new ShardRouter(shardList, 128);
+        ledger = new ShardedLedger(router, new GlobalIdGenerator(0), Files.createTempDirectory("coordinator-log"),
+                DataSize.ofMegabytes(4), Duration.ofMillis(2));
+        ledger.start();
+
+        // Placement is by hash, so create accounts until every shard has enough
+        Map<String, Integer> shardIndex = new HashMap<>();
+        for (int i = 0; i < shards; i++) {
+            shardIndex.put("shard-" + i, i);
+        }
+        accounts = new long[shards][ACCOUNTS_PER_SHARD];
+        int[] filled = new int[shards];
+        for (int created = 0, full = 0; full < shards; created++) {
+            Account account = ledger.createAccount("bench-" + created, Money.of(new BigDecimal("1000000000"), "USD"));
+            int shard = shardIndex.get(router.shardFor(account.getId()).name());
+            if (filled[shard] < ACCOUNTS_PER_SHARD) {
+                accounts[shard][filled[shard]++] = account.getId();
+                if (filled[shard] == ACCOUNTS_PER_SHARD) {
+                    full++;
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ledger.stop();
+        router.close();
+    }
+
+    @Benchmark
+    public long singleShardPosting() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[] shardAccounts = accounts[random.nextInt(shards)];
+        int from = random.nextInt(ACCOUNTS_PER_SHARD);
+        int to = (from + 1 + random.nextInt(ACCOUNTS_PER_SHARD - 1)) % ACCOUNTS_PER_SHARD;
+        return post(shardAccounts[from], shardAccounts[to]);
+    }
+
+    /**
+     * Between neighbouring shards, through two-phase commit; local with one shard.
+     */
+    @Benchmark
+    public long crossShardPosting() {
+        if (shards == 1) {
+            return singleShardPosting();
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int shard = random.nextInt(shards);
+        return post(accounts[shard][random.nextInt(ACCOUNTS_PER_SHARD)],
+                accounts[(shard + 1) % shards][random.nextInt(ACCOUNTS_PER_SHARD)]);
+    }
+
+    private long post(long from, long to) {
+        return ledger.post("bench-" + keys.incrementAndGet(), "Benchmark transfer", List.of(
+                new TransactionEngine.LegRequest(from, TransactionLine.Type.DEBIT, AMOUNT),
+                new TransactionEngine.LegRequest(to, TransactionLine.Type.CREDIT, AMOUNT)), AMOUNTS);
+    }
+}
@@ -3,6 +3,7 @@ plugins {
     `java-library`
     id("io.freefair.lombok") version "8.4" apply false
     id("net.ltgt.errorprone") version "3.1.0" apply false
+    id("me.champeau.jmh") version "0.7.2" apply false
 }
 
 subprojects {
@@ -1,3 +1,13 @@
+plugins {
+    id("me.champeau.jmh")
+}
+
 dependencies {
     implementation(project(":common-lib"))
+    implementation("org.slf4j:slf4j-api:2.0.9")
+    implementation("com.fasterxml.jackson.core:jackson-databind:2.15.3")
+}
+
+jmh {
+    jmhVersion.set("1.37")
 }
@@ -0,0 +1,106 @@
+package com.fintech.clearing.saga;
+
+import com.fintech.clearing.interfaces.FraudClient;
+import com.fintech.clearing.interfaces.LedgerClient;
+import com.fintech.clearing.interfaces.WalletClient;
+import com.fintech.common.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Saga throughput with no-op clients, so the difference between the journal modes is
+ * the cost of recording five transitions per saga. With several threads the SYNC mode
+ * shows how well concurrent sagas share each fsync.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class SagaThroughputBenchmark {
+
+    private static final Money AMOUNT = Money.of(new BigDecimal("10.00"), "USD");
+
+    @Param({"DISABLED", "ASYNC", "SYNC"})
+    public String journalMode;
+
+    private Path directory;
+    private MappedSagaJournal journal;
+    private TransferSagaCoordinator coordinator;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        WalletClient wallet = new WalletClient() {
+            @Override
+            public boolean reserveFunds(String accountId, Money amount) {
+                return true;
+            }
+
+            @Override
+            public void releaseFunds(String accountId, Money amount) {
+            }
+        };
+        FraudClient fraud = (userId, amount, target) -> true;
+        LedgerClient ledger = new LedgerClient() {
+            @Override
+            public void commitTransaction(String fromAccount, String toAccount, Money amount) {
+            }
+
+            @Override
+            public void commitTransaction(String idempotencyKey, String fromAccount, String toAccount, Money amount) {
+            }
+
+            @Override
+            public void commitJournalEntry(String idempotencyKey, String description, List<Leg> legs) {
+            }
+        };
+
+        SagaJournal sagaJournal = SagaJournal.DISABLED;
+        if (!"DISABLED".equals(journalMode)) {
+            directory = Files.createTempDirectory("saga-journal");
+            journal = MappedSagaJournal.open(directory, MappedSagaJournal.Durability.valueOf(journalMode));
+            sagaJournal = journal;
+        }
+        coordinator = new TransferSagaCoordinator(wallet, fraud, ledger, sagaJournal);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (journal != null) {
+            journal.close();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void transfer() {
+        coordinator.executeTransfer("ACC-1", "ACC-2", AMOUNT, "user-1");
+    }
+}
@@ -2,9 +2,17 @@ package com.fintech.clearing.interfaces;
 
 import com.fintech.common.domain.Money;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 public interface FraudClient {
     boolean verifyTransaction(String userId, Money amount, String targetAccount);
-}
-
-
 
+    /**
+     * Non-blocking variant. The default runs the blocking call on {@code executor}.
+     */
+    default CompletableFuture<Boolean> verifyTransactionAsync(String userId, Money amount, String targetAccount,
+            Executor executor) {
+        return CompletableFuture.supplyAsync(() -> verifyTransaction(userId, amount, targetAccount), executor);
+    }
+}
@@ -2,9 +2,44 @@ package com.fintech.clearing.interfaces;
 
 import com.fintech.common.domain.Money;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 public interface LedgerClient {
     void commitTransaction(String fromAccount, String toAccount, Money amount);
-}
 
+    /**
+     * Idempotent commit used by the saga coordinators and {@code SagaRecovery}, which pass the
+     * saga id as {@code idempotencyKey}. A commit already applied under the same key must be
+     * treated as success, so that recovery can retry an in-flight commit without posting twice.
+     */
+    void commitTransaction(String idempotencyKey, String fromAccount, String toAccount, Money amount);
+
+    /**
+     * Non-blocking variant. The default runs the blocking call on {@code executor}.
+     */
+    default CompletableFuture<Void> commitTransactionAsync(String fromAccount, String toAccount, Money amount,
+            Executor executor) {
+        return CompletableFuture.runAsync(() -> commitTransaction(fromAccount, toAccount, amount), executor);
+    }
 
+    default CompletableFuture<Void> commitTransactionAsync(String idempotencyKey, String fromAccount,
+            String toAccount, Money amount, Executor executor) {
+        return CompletableFuture.runAsync(
+                () -> commitTransaction(idempotencyKey, fromAccount, toAccount, amount), executor);
+    }
 
+    /**
+     * Posts one balanced multi-leg journal entry, e.g. the net positions of a settlement
+     * window. As with {@link #commitTransaction(String, String, String, Money)}, an entry
+     * already applied under {@code idempotencyKey} must be treated as success.
+     * {@code HttpLedgerClient} posts it to ledger-core.
+     */
+    void commitJournalEntry(String idempotencyKey, String description, List<Leg> legs);
+
+    enum Side { DEBIT, CREDIT }
+
+    record Leg(String accountId, Side side, Money amount) {
+    }
+}
@@ -2,8 +2,61 @@ package com.fintech.clearing.interfaces;
 
 import com.fintech.common.domain.Money;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 public interface WalletClient {
     boolean reserveFunds(String accountId, Money amount);
 
     void releaseFunds(String accountId, Money amount);
+
+    /**
+     * Reserves funds under a caller-chosen id (the saga id), so the hold can later be
+     * released or captured exactly once. The default ignores the id.
+     */
+    default boolean reserveFunds(String reservationId, String accountId, Money amount) {
+        return reserveFunds(accountId, amount);
+    }
+
+    /**
+     * Releases the hold made under {@code reservationId}; releasing an unknown or already
+     * settled reservation should be a no-op. The default ignores the id.
+     *
+     * @return {@code false} if there was no open hold to release (it expired, was already
+     *         settled or was never made)
+     */
+    default boolean releaseFunds(String reservationId, String accountId, Money amount) {
+        releaseFunds(accountId, amount);
+        return true;
+    }
+
+    /**
+     * Settles the hold after the ledger commit: the reserved amount leaves the wallet
+     * instead of returning to the available balance. The default does nothing.
+     *
+     * @return {@code false} if there was no open hold to capture; if it expired, the
+     *         amount went back to the available balance although the ledger was debited
+     */
+    default boolean captureFunds(String reservationId, String accountId, Money amount) {
+        return true;
+    }
+
+    /**
+     * Non-blocking variant. The default runs the blocking call on {@code executor};
+     * clients with a native async transport should override it.
+     */
+    default CompletableFuture<Boolean> reserveFundsAsync(String reservationId, String accountId, Money amount,
+            Executor executor) {
+        return CompletableFuture.supplyAsync(() -> reserveFunds(reservationId, accountId, amount), executor);
+    }
+
+    default CompletableFuture<Boolean> releaseFundsAsync(String reservationId, String accountId, Money amount,
+            Executor executor) {
+        return CompletableFuture.supplyAsync(() -> releaseFunds(reservationId, accountId, amount), executor);
+    }
+
+    default CompletableFuture<Boolean> captureFundsAsync(String reservationId, String accountId, Money amount,
+            Executor executor) {
+        return CompletableFuture.supplyAsync(() -> captureFunds(reservationId, accountId, amount), executor);
+    }
 }
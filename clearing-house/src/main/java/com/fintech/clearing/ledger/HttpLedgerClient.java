@@ -0,0 +1,136 @@
+package com.fintech.clearing.ledger;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fintech.clearing.interfaces.LedgerClient;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.DuplicateTransactionException;
+import com.fintech.common.exception.LedgerException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * {@link LedgerClient} over the ledger-core REST API: every commit is one
+ * {@code POST /api/v1/transactions} carrying the idempotency key.
+ * <p>
+ * Ledger-core answers 409 for a key it has already applied. The idempotent two-leg
+ * commit treats that as success; {@link #commitJournalEntry} reports it as a
+ * {@link DuplicateTransactionException}, which the netting engine expects on a re-post.
+ * Account ids are ledger-core's numeric account ids.
+ */
+public class HttpLedgerClient implements LedgerClient {
+
+    private static final String TRANSACTIONS_PATH = "/api/v1/transactions";
+    private static final ObjectMapper JSON = JsonMapper.builder()
+            .enable(StreamWriteFeature.WRITE_BIGDECIMAL_AS_PLAIN)
+            .build();
+
+    private final HttpClient httpClient;
+    private final URI transactionsUri;
+    private final Supplier<String> accessToken;
+    private final Duration timeout;
+
+    /**
+     * @param baseUri     ledger-core base URI, e.g. {@code https://ledger.internal:8080}
+     * @param accessToken supplies the bearer token for each request
+     */
+    public HttpLedgerClient(URI baseUri, Supplier<String> accessToken, Duration timeout) {
+        this(HttpClient.newBuilder().connectTimeout(timeout).build(), baseUri, accessToken, timeout);
+    }
+
+    public HttpLedgerClient(HttpClient httpClient, URI baseUri, Supplier<String> accessToken, Duration timeout) {
+        this.httpClient = httpClient;
+        this.transactionsUri = baseUri.resolve(TRANSACTIONS_PATH);
+        this.accessToken = accessToken;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Posts under a fresh idempotency key, so a retry of this call can post twice.
+     */
+    @Override
+    public void commitTransaction(String fromAccount, String toAccount, Money amount) {
+        commitTransaction(UUID.randomUUID().toString(), fromAccount, toAccount, amount);
+    }
+
+    @Override
+    public void commitTransaction(String idempotencyKey, String fromAccount, String toAccount, Money amount) {
+        try {
+            commitJournalEntry(idempotencyKey, "Transfer " + fromAccount + " -> " + toAccount, List.of(
+                    new Leg(fromAccount, Side.DEBIT, amount),
+                    new Leg(toAccount, Side.CREDIT, amount)));
+        } catch (DuplicateTransactionException e) {
+            // Applied by an earlier attempt
+        }
+    }
+
+    @Override
+    public void commitJournalEntry(String idempotencyKey, String description, List<Leg> legs) {
+        HttpRequest request = HttpRequest.newBuilder(transactionsUri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + accessToken.get())
+                .POST(HttpRequest.BodyPublishers.ofString(body(idempotencyKey, description, legs)))
+                .build();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ledger request failed for " + idempotencyKey, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LedgerException("Interrupted while posting " + idempotencyKey, e);
+        }
+        int status = response.statusCode();
+        if (status == 409) {
+            throw new DuplicateTransactionException(idempotencyKey);
+        }
+        if (status / 100 != 2) {
+            throw new LedgerException("LEDGER_REJECTED",
+                    String.format("Ledger rejected %s with HTTP %d: %s", idempotencyKey, status, response.body()));
+        }
+    }
+
+    static String body(String idempotencyKey, String description, List<Leg> legs) {
+        List<LegBody> legBodies = new ArrayList<>(legs.size());
+        for (Leg leg : legs) {
+            legBodies.add(new LegBody(accountId(leg.accountId()), leg.side().name(), leg.amount().getAmount(),
+                    leg.amount().getCurrency().getCurrencyCode()));
+        }
+        try {
+            return JSON.writeValueAsString(new TransactionBody(idempotencyKey, description, legBodies));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Could not serialize " + idempotencyKey, e);
+        }
+    }
+
+    private static long accountId(String accountId) {
+        try {
+            return Long.parseLong(accountId);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ledger account ids are numeric: " + accountId, e);
+        }
+    }
+
+    /**
+     * Request body of {@code POST /api/v1/transactions}.
+     */
+    private record TransactionBody(String idempotencyKey, String description, List<LegBody> legs) {
+    }
+
+    private record LegBody(long accountId, String type, BigDecimal amount, String currencyCode) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.fintech.clearing.netting;
+
+import com.fintech.common.domain.Money;
+
+/**
+ * Gross flow from {@code payer} to {@code payee} in one currency over a settlement window.
+ */
+public record BilateralPosition(String payer, String payee, Money gross, int transferCount) {
+}
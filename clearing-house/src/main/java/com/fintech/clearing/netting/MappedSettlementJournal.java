@@ -0,0 +1,178 @@
+package com.fintech.clearing.netting;
+
+import com.fintech.common.domain.Money;
+import com.fintech.common.journal.AppendOnlyLog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link SettlementJournal} on a local memory-mapped {@link AppendOnlyLog}.
+ * <p>
+ * A window is written as one or more records of transfers followed by a CLOSED record
+ * with the transfer count, which is forced to disk before {@link #windowClosed} returns.
+ * A window without its CLOSED record was never posted and is ignored on replay. POSTED
+ * records are not forced: losing one only means the batch is posted again, and the
+ * ledger rejects its entries as duplicates.
+ * <p>
+ * Segments are kept, since they are the record of which entries settled which transfers;
+ * archiving old segment files is left to operations.
+ */
+public class MappedSettlementJournal implements SettlementJournal, Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(10);
+
+    private static final byte TRANSFERS = 0;
+    private static final byte CLOSED = 1;
+    private static final byte POSTED = 2;
+
+    private final AppendOnlyLog log;
+    private final int maxRecord;
+
+    private MappedSettlementJournal(AppendOnlyLog log, int segmentSize) {
+        this.log = log;
+        this.maxRecord = segmentSize - AppendOnlyLog.HEADER_SIZE;
+    }
+
+    public static MappedSettlementJournal open(Path directory) {
+        return open(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    public static MappedSettlementJournal open(Path directory, int segmentSize, Duration flushInterval) {
+        return new MappedSettlementJournal(AppendOnlyLog.open(directory, segmentSize, flushInterval), segmentSize);
+    }
+
+    @Override
+    public void windowClosed(String batchId, List<PendingTransfer> transfers) {
+        byte[] batch = utf8(batchId);
+        int prefix = 1 + 2 + batch.length + 4;
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+        int count = 0;
+        for (PendingTransfer transfer : transfers) {
+            byte[] encoded = encode(transfer);
+            if (prefix + encoded.length > maxRecord) {
+                throw new IllegalArgumentException("Transfer too large for the journal: " + transfer.transferId());
+            }
+            if (prefix + chunk.size() + encoded.length > maxRecord) {
+                appendTransfers(batch, count, chunk);
+                chunk.reset();
+                count = 0;
+            }
+            chunk.writeBytes(encoded);
+            count++;
+        }
+        if (count > 0) {
+            appendTransfers(batch, count, chunk);
+        }
+        long end = log.append(ByteBuffer.allocate(1 + 2 + batch.length + 4)
+                .put(CLOSED).putShort((short) batch.length).put(batch).putInt(transfers.size()).flip());
+        log.awaitDurable(end);
+    }
+
+    @Override
+    public void batchPosted(String batchId) {
+        byte[] batch = utf8(batchId);
+        log.append(ByteBuffer.allocate(1 + 2 + batch.length)
+                .put(POSTED).putShort((short) batch.length).put(batch).flip());
+    }
+
+    @Override
+    public List<ClosedWindow> unpostedWindows() {
+        return windows().stream().filter(window -> !window.posted()).toList();
+    }
+
+    /**
+     * Every closed window in the journal, oldest first. Reads the whole log.
+     */
+    @Override
+    public List<ClosedWindow> windows() {
+        Map<String, List<PendingTransfer>> open = new LinkedHashMap<>();
+        Map<String, ClosedWindow> closed = new LinkedHashMap<>();
+        log.replay((position, record) -> {
+            byte type = record.get();
+            String batchId = readUtf8(record);
+            switch (type) {
+                case TRANSFERS -> {
+                    List<PendingTransfer> transfers = open.computeIfAbsent(batchId, id -> new ArrayList<>());
+                    for (int i = record.getInt(); i > 0; i--) {
+                        transfers.add(decode(record));
+                    }
+                }
+                case CLOSED -> {
+                    List<PendingTransfer> transfers = open.remove(batchId);
+                    transfers = transfers == null ? List.of() : transfers;
+                    if (transfers.size() != record.getInt()) {
+                        throw new IllegalStateException("Settlement window " + batchId + " is incomplete");
+                    }
+                    closed.put(batchId, new ClosedWindow(batchId, List.copyOf(transfers), false));
+                }
+                case POSTED -> closed.computeIfPresent(batchId,
+                        (id, window) -> new ClosedWindow(id, window.transfers(), true));
+                default -> throw new IllegalStateException("Unknown settlement record type " + type);
+            }
+        });
+        return List.copyOf(closed.values());
+    }
+
+    @Override
+    public void close() {
+        log.close();
+    }
+
+    private void appendTransfers(byte[] batch, int count, ByteArrayOutputStream chunk) {
+        log.append(ByteBuffer.allocate(1 + 2 + batch.length + 4 + chunk.size())
+                .put(TRANSFERS).putShort((short) batch.length).put(batch).putInt(count)
+                .put(chunk.toByteArray()).flip());
+    }
+
+    private static byte[] encode(PendingTransfer transfer) {
+        byte[][] fields = {
+                utf8(transfer.transferId()),
+                utf8(transfer.payer()),
+                utf8(transfer.payee()),
+                utf8(transfer.amount().getAmount().toPlainString()),
+                utf8(transfer.amount().getCurrency().getCurrencyCode())
+        };
+        int size = 0;
+        for (byte[] field : fields) {
+            size += 2 + field.length;
+        }
+        ByteBuffer encoded = ByteBuffer.allocate(size);
+        for (byte[] field : fields) {
+            encoded.putShort((short) field.length).put(field);
+        }
+        return encoded.array();
+    }
+
+    private static PendingTransfer decode(ByteBuffer record) {
+        String transferId = readUtf8(record);
+        String payer = readUtf8(record);
+        String payee = readUtf8(record);
+        BigDecimal value = new BigDecimal(readUtf8(record));
+        return new PendingTransfer(transferId, payer, payee, Money.of(value, readUtf8(record)));
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Value too long for the journal: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static String readUtf8(ByteBuffer record) {
+        byte[] bytes = new byte[record.getShort()];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,303 @@
+package com.fintech.clearing.netting;
+
+import com.fintech.clearing.interfaces.LedgerClient;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.DuplicateTransactionException;
+import com.fintech.common.validation.TransactionValidator;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Collects transfers over a settlement window and posts only net positions to the ledger.
+ * <p>
+ * Closing a window aggregates transfers per (payer, payee, currency), then nets them
+ * multilaterally: each participant ends up with a single debit or credit per currency.
+ * A window of N transfers between P participants costs at most one leg per participant
+ * and currency instead of 2N. Every transfer stays traceable through
+ * {@link SettlementBatch#entriesFor(String)}.
+ * <p>
+ * Entries are limited to {@value #MAX_LEGS_PER_ENTRY} legs. Larger currencies are split
+ * into several entries, each balanced against the clearing house's settlement account,
+ * whose legs sum to zero across the batch.
+ * <p>
+ * With a {@link SettlementJournal}, each closed window is made durable before it is posted.
+ * {@link #recover()} re-posts windows a crash interrupted, and {@link #rebuild} recomputes
+ * the batch of any recorded window, so transfers stay traceable after a restart.
+ * <p>
+ * A transfer id is accepted once for the life of the engine, not once per window: a
+ * client retrying a transfer that has already been netted would otherwise be settled
+ * twice, since the ledger only sees the batch's own idempotency keys. The ids of every
+ * journaled window are loaded at construction, so this holds across restarts; they are
+ * kept in memory, which bounds how long a journal can run before it is archived.
+ */
+public class NettingEngine {
+
+    public static final int MAX_LEGS_PER_ENTRY = 100;
+
+    private final LedgerClient ledgerClient;
+    private final String settlementAccount;
+    private final SettlementJournal journal;
+    private final Set<String> transferIds = ConcurrentHashMap.newKeySet();
+    private final ReadWriteLock windowLock = new ReentrantReadWriteLock();
+    private Window window = new Window();
+
+    public NettingEngine(LedgerClient ledgerClient, String settlementAccount) {
+        this(ledgerClient, settlementAccount, SettlementJournal.DISABLED);
+    }
+
+    public NettingEngine(LedgerClient ledgerClient, String settlementAccount, SettlementJournal journal) {
+        this.ledgerClient = ledgerClient;
+        this.settlementAccount = settlementAccount;
+        this.journal = journal;
+        for (SettlementJournal.ClosedWindow closed : journal.windows()) {
+            for (PendingTransfer transfer : closed.transfers()) {
+                transferIds.add(transfer.transferId());
+            }
+        }
+    }
+
+    /**
+     * Accepts a transfer into the current window. Nothing is posted until the window is settled.
+     *
+     * @throws DuplicateTransactionException if {@code transferId} was submitted before, in this
+     *                                       or any earlier window
+     */
+    public void submit(String transferId, String payer, String payee, Money amount) {
+        TransactionValidator.validateAmount(amount);
+        if (payer.equals(payee)) {
+            throw new IllegalArgumentException("Payer and payee must differ: " + payer);
+        }
+        windowLock.readLock().lock();
+        try {
+            if (!transferIds.add(transferId)) {
+                throw new DuplicateTransactionException(transferId);
+            }
+            window.transferIds.add(transferId);
+            window.transfers.add(new PendingTransfer(transferId, payer, payee, amount));
+        } finally {
+            windowLock.readLock().unlock();
+        }
+    }
+
+    public int pendingCount() {
+        windowLock.readLock().lock();
+        try {
+            return window.transferIds.size();
+        } finally {
+            windowLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Closes the current window and posts its net positions.
+     */
+    public SettlementBatch settle() {
+        SettlementBatch batch = closeWindow();
+        post(batch);
+        return batch;
+    }
+
+    /**
+     * Starts a new window, records the closed one in the journal and computes its settlement
+     * without posting it. If the journal fails, the transfers return to the current window.
+     */
+    public SettlementBatch closeWindow() {
+        Window closed;
+        windowLock.writeLock().lock();
+        try {
+            closed = window;
+            window = new Window();
+        } finally {
+            windowLock.writeLock().unlock();
+        }
+        String batchId = UUID.randomUUID().toString();
+        List<PendingTransfer> transfers = List.copyOf(closed.transfers);
+        if (!transfers.isEmpty()) {
+            try {
+                journal.windowClosed(batchId, transfers);
+            } catch (RuntimeException e) {
+                requeue(transfers);
+                throw e;
+            }
+        }
+        return net(batchId, transfers);
+    }
+
+    /**
+     * Posts the entries of {@code batch}. Idempotency keys are fixed per batch, so a batch
+     * that failed part-way can be posted again.
+     */
+    public void post(SettlementBatch batch) {
+        for (SettlementEntry entry : batch.entries()) {
+            try {
+                ledgerClient.commitJournalEntry(entry.idempotencyKey(), entry.description(), entry.legs());
+            } catch (DuplicateTransactionException e) {
+                // Already applied by an earlier attempt
+            }
+        }
+        if (!batch.transfers().isEmpty()) {
+            journal.batchPosted(batch.batchId());
+        }
+    }
+
+    /**
+     * Posts every journaled window that was closed but not fully posted, oldest first.
+     */
+    public List<SettlementBatch> recover() {
+        List<SettlementBatch> recovered = new ArrayList<>();
+        for (SettlementJournal.ClosedWindow closed : journal.unpostedWindows()) {
+            SettlementBatch batch = rebuild(closed);
+            post(batch);
+            recovered.add(batch);
+        }
+        return recovered;
+    }
+
+    /**
+     * Recomputes the batch of a recorded window: the same entries, idempotency keys and
+     * transfer-to-entry mapping as when it was closed.
+     */
+    public SettlementBatch rebuild(SettlementJournal.ClosedWindow closed) {
+        return net(closed.batchId(), closed.transfers());
+    }
+
+    private void requeue(List<PendingTransfer> transfers) {
+        windowLock.readLock().lock();
+        try {
+            for (PendingTransfer transfer : transfers) {
+                if (window.transferIds.add(transfer.transferId())) {
+                    window.transfers.add(transfer);
+                }
+            }
+        } finally {
+            windowLock.readLock().unlock();
+        }
+    }
+
+    private SettlementBatch net(String batchId, List<PendingTransfer> transfers) {
+        Map<PairKey, BilateralAccumulator> bilateral = new HashMap<>();
+        Map<Currency, Map<String, BigDecimal>> net = new TreeMap<>(
+                (a, b) -> a.getCurrencyCode().compareTo(b.getCurrencyCode()));
+        for (PendingTransfer transfer : transfers) {
+            Currency currency = transfer.amount().getCurrency();
+            BigDecimal value = transfer.amount().getAmount();
+            bilateral.computeIfAbsent(new PairKey(transfer.payer(), transfer.payee(), currency),
+                    key -> new BilateralAccumulator()).add(value);
+            Map<String, BigDecimal> positions = net.computeIfAbsent(currency, c -> new TreeMap<>());
+            positions.merge(transfer.payer(), value.negate(), BigDecimal::add);
+            positions.merge(transfer.payee(), value, BigDecimal::add);
+        }
+
+        List<BilateralPosition> bilateralPositions = new ArrayList<>(bilateral.size());
+        bilateral.forEach((key, sum) -> bilateralPositions.add(new BilateralPosition(key.payer(), key.payee(),
+                new Money(sum.gross, key.currency()), sum.count)));
+
+        List<SettlementEntry> entries = new ArrayList<>();
+        Map<String, Map<String, Money>> netPositions = new TreeMap<>();
+        Map<Currency, Map<String, String>> entryByParticipant = new HashMap<>();
+        for (Map.Entry<Currency, Map<String, BigDecimal>> byCurrency : net.entrySet()) {
+            Currency currency = byCurrency.getKey();
+            Map<String, Money> positions = new TreeMap<>();
+            List<LedgerClient.Leg> legs = new ArrayList<>();
+            for (Map.Entry<String, BigDecimal> position : byCurrency.getValue().entrySet()) {
+                BigDecimal value = position.getValue();
+                positions.put(position.getKey(), new Money(value, currency));
+                if (value.signum() != 0) {
+                    legs.add(new LedgerClient.Leg(position.getKey(),
+                            value.signum() > 0 ? LedgerClient.Side.CREDIT : LedgerClient.Side.DEBIT,
+                            new Money(value.abs(), currency)));
+                }
+            }
+            netPositions.put(currency.getCurrencyCode(), positions);
+            entryByParticipant.put(currency, split(batchId, currency, legs, entries));
+        }
+
+        Map<String, List<String>> entriesByTransfer = new HashMap<>();
+        for (PendingTransfer transfer : transfers) {
+            Map<String, String> participants = entryByParticipant.get(transfer.amount().getCurrency());
+            Set<String> keys = new LinkedHashSet<>();
+            addIfPresent(keys, participants.get(transfer.payer()));
+            addIfPresent(keys, participants.get(transfer.payee()));
+            entriesByTransfer.put(transfer.transferId(), List.copyOf(keys));
+        }
+        return new SettlementBatch(batchId, transfers, List.copyOf(bilateralPositions), netPositions,
+                List.copyOf(entries), entriesByTransfer);
+    }
+
+    /**
+     * Appends the entries for one currency to {@code entries} and returns which entry
+     * carries each participant's leg.
+     */
+    private Map<String, String> split(String batchId, Currency currency, List<LedgerClient.Leg> legs,
+            List<SettlementEntry> entries) {
+        Map<String, String> entryByParticipant = new HashMap<>();
+        if (legs.isEmpty()) {
+            return entryByParticipant;
+        }
+        int perEntry = legs.size() <= MAX_LEGS_PER_ENTRY ? MAX_LEGS_PER_ENTRY : MAX_LEGS_PER_ENTRY - 1;
+        int parts = (legs.size() + perEntry - 1) / perEntry;
+        for (int part = 0; part < parts; part++) {
+            List<LedgerClient.Leg> chunk = new ArrayList<>(legs.subList(part * perEntry,
+                    Math.min(legs.size(), (part + 1) * perEntry)));
+            if (parts > 1) {
+                BigDecimal imbalance = BigDecimal.ZERO;
+                for (LedgerClient.Leg leg : chunk) {
+                    BigDecimal value = leg.amount().getAmount();
+                    imbalance = leg.side() == LedgerClient.Side.CREDIT
+                            ? imbalance.add(value)
+                            : imbalance.subtract(value);
+                }
+                if (imbalance.signum() != 0) {
+                    chunk.add(new LedgerClient.Leg(settlementAccount,
+                            imbalance.signum() > 0 ? LedgerClient.Side.DEBIT : LedgerClient.Side.CREDIT,
+                            new Money(imbalance.abs(), currency)));
+                }
+            }
+            String key = batchId + ":" + currency.getCurrencyCode() + ":" + (part + 1);
+            String description = String.format("Net settlement %s %s (part %d of %d)",
+                    batchId, currency.getCurrencyCode(), part + 1, parts);
+            entries.add(new SettlementEntry(key, currency.getCurrencyCode(), description, List.copyOf(chunk)));
+            for (LedgerClient.Leg leg : chunk) {
+                entryByParticipant.putIfAbsent(leg.accountId(), key);
+            }
+        }
+        return entryByParticipant;
+    }
+
+    private static void addIfPresent(Set<String> keys, String key) {
+        if (key != null) {
+            keys.add(key);
+        }
+    }
+
+    private record PairKey(String payer, String payee, Currency currency) {
+    }
+
+    private static final class BilateralAccumulator {
+        private BigDecimal gross = BigDecimal.ZERO;
+        private int count;
+
+        void add(BigDecimal value) {
+            gross = gross.add(value);
+            count++;
+        }
+    }
+
+    private static final class Window {
+        private final Set<String> transferIds = ConcurrentHashMap.newKeySet();
+        private final ConcurrentLinkedQueue<PendingTransfer> transfers = new ConcurrentLinkedQueue<>();
+    }
+}
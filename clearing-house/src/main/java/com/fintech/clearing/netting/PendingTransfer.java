@@ -0,0 +1,9 @@
+package com.fintech.clearing.netting;
+
+import com.fintech.common.domain.Money;
+
+/**
+ * A transfer accepted into a settlement window but not yet posted to the ledger.
+ */
+public record PendingTransfer(String transferId, String payer, String payee, Money amount) {
+}
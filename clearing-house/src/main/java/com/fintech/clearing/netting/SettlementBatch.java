@@ -0,0 +1,31 @@
+package com.fintech.clearing.netting;
+
+import com.fintech.common.domain.Money;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of closing a settlement window: the original transfers, their bilateral and
+ * multilateral aggregation, and the journal entries that settle the net positions.
+ *
+ * @param netPositions      per currency code, each participant's received minus paid amount
+ * @param entriesByTransfer for every transfer, the idempotency keys of the entries carrying the
+ *                        net position of its payer or payee; empty when both netted to zero
+ */
+public record SettlementBatch(String batchId, List<PendingTransfer> transfers,
+        List<BilateralPosition> bilateralPositions, Map<String, Map<String, Money>> netPositions,
+        List<SettlementEntry> entries, Map<String, List<String>> entriesByTransfer) {
+
+    public List<String> entriesFor(String transferId) {
+        return entriesByTransfer.getOrDefault(transferId, List.of());
+    }
+
+    public int transferCount() {
+        return transfers.size();
+    }
+
+    public int legCount() {
+        return entries.stream().mapToInt(entry -> entry.legs().size()).sum();
+    }
+}
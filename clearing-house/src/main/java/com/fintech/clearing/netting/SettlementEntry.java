@@ -0,0 +1,12 @@
+package com.fintech.clearing.netting;
+
+import com.fintech.clearing.interfaces.LedgerClient;
+
+import java.util.List;
+
+/**
+ * One balanced journal entry carrying net positions for a single currency.
+ */
+public record SettlementEntry(String idempotencyKey, String currencyCode, String description,
+        List<LedgerClient.Leg> legs) {
+}
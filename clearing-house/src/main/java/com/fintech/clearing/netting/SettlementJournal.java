@@ -0,0 +1,53 @@
+package com.fintech.clearing.netting;
+
+import java.util.List;
+
+/**
+ * Durable record of closed settlement windows, written before their entries are posted.
+ * <p>
+ * A batch is fully determined by its id and transfers, so a recorded window is enough to
+ * re-post a batch interrupted by a crash and to trace any transfer to the entries that
+ * settled it ({@link NettingEngine#rebuild(ClosedWindow)}).
+ */
+public interface SettlementJournal {
+
+    SettlementJournal DISABLED = new SettlementJournal() {
+        @Override
+        public void windowClosed(String batchId, List<PendingTransfer> transfers) {
+        }
+
+        @Override
+        public void batchPosted(String batchId) {
+        }
+
+        @Override
+        public List<ClosedWindow> unpostedWindows() {
+            return List.of();
+        }
+
+        @Override
+        public List<ClosedWindow> windows() {
+            return List.of();
+        }
+    };
+
+    /**
+     * Returns once the window is durable.
+     */
+    void windowClosed(String batchId, List<PendingTransfer> transfers);
+
+    void batchPosted(String batchId);
+
+    /**
+     * Windows recorded but not yet fully posted, oldest first.
+     */
+    List<ClosedWindow> unpostedWindows();
+
+    /**
+     * Every window recorded, oldest first.
+     */
+    List<ClosedWindow> windows();
+
+    record ClosedWindow(String batchId, List<PendingTransfer> transfers, boolean posted) {
+    }
+}
@@ -0,0 +1,189 @@
+package com.fintech.clearing.saga;
+
+import com.fintech.clearing.interfaces.FraudClient;
+import com.fintech.clearing.interfaces.LedgerClient;
+import com.fintech.clearing.interfaces.WalletClient;
+import com.fintech.common.domain.Money;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Non-blocking variant of {@link TransferSagaCoordinator}.
+ * <p>
+ * Fraud verification does not depend on the wallet reservation, so both steps are
+ * started together and the ledger commit runs once both have succeeded. End-to-end
+ * latency becomes roughly max(reserve, verify) + commit instead of their sum.
+ * <p>
+ * Compensation rules are the same as the sequential coordinator: funds are released
+ * only if the reservation actually succeeded. A reservation failure fails the saga
+ * immediately without waiting for verification; a verification failure waits for the
+ * reservation outcome so that a successful hold is always released.
+ * <p>
+ * Only a reservation the wallet explicitly declined fails the saga. When the call itself
+ * fails, the hold may still have been made, so it is released by id; if that fails too,
+ * the saga is left {@link SagaState#STARTED} for {@link SagaRecovery}. A hold that is
+ * already gone when captured or released is logged, not retried.
+ */
+@Slf4j
+public class AsyncTransferSagaCoordinator {
+
+    private static final Executor VIRTUAL_THREADS = Thread::startVirtualThread;
+
+    private final WalletClient walletClient;
+    private final FraudClient fraudClient;
+    private final LedgerClient ledgerClient;
+    private final Executor executor;
+    private final SagaJournal journal;
+
+    /**
+     * Runs blocking client calls on virtual threads.
+     */
+    public AsyncTransferSagaCoordinator(WalletClient walletClient, FraudClient fraudClient,
+            LedgerClient ledgerClient) {
+        this(walletClient, fraudClient, ledgerClient, VIRTUAL_THREADS);
+    }
+
+    public AsyncTransferSagaCoordinator(WalletClient walletClient, FraudClient fraudClient,
+            LedgerClient ledgerClient, Executor executor) {
+        this(walletClient, fraudClient, ledgerClient, executor, SagaJournal.DISABLED);
+    }
+
+    /**
+     * @param journal records every step transition so {@link SagaRecovery} can finish or
+     *                compensate sagas interrupted by a crash
+     */
+    public AsyncTransferSagaCoordinator(WalletClient walletClient, FraudClient fraudClient,
+            LedgerClient ledgerClient, Executor executor, SagaJournal journal) {
+        this.walletClient = walletClient;
+        this.fraudClient = fraudClient;
+        this.ledgerClient = ledgerClient;
+        this.executor = executor;
+        this.journal = journal;
+    }
+
+    /**
+     * Orchestrates the transfer saga:
+     * 1. Reserve funds (Wallet) and verify fraud (Anti-Fraud), concurrently
+     * 2. Commit transaction (Ledger) once both succeeded
+     *
+     * @return a future completing when the saga (including any compensation) has finished;
+     *         it fails with a {@link CompletionException} wrapping the saga failure
+     */
+    public CompletableFuture<Void> executeTransferAsync(String fromAccount, String toAccount, Money amount,
+            String userId) {
+        UUID sagaId = UUID.randomUUID();
+        try {
+            journal.started(sagaId, fromAccount, toAccount, amount, userId);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        String reservationId = sagaId.toString();
+        CompletableFuture<StepOutcome> reservation = walletClient
+                .reserveFundsAsync(reservationId, fromAccount, amount, executor)
+                .thenApply(reserved -> recordIf(reserved, sagaId, SagaState.RESERVED))
+                .handle(StepOutcome::of);
+        CompletableFuture<StepOutcome> verification = fraudClient
+                .verifyTransactionAsync(userId, amount, toAccount, executor)
+                .thenApply(verified -> recordIf(verified, sagaId, SagaState.VERIFIED))
+                .handle(StepOutcome::of);
+
+        return reservation.thenCompose(reserved -> {
+            if (reserved.error() != null) {
+                // The hold may exist anyway; release it by id, or leave the saga STARTED for recovery
+                return compensate(sagaId, fromAccount, amount, "Transfer Failed: Could not reserve funds",
+                        reserved.error());
+            }
+            if (!reserved.succeeded()) {
+                journal.record(sagaId, SagaState.FAILED);
+                return CompletableFuture.failedFuture(
+                        new RuntimeException("Transfer Failed: Could not reserve funds"));
+            }
+            return verification.thenCompose(verified -> {
+                if (verified.error() != null) {
+                    return compensate(sagaId, fromAccount, amount, "Transfer Failed: Fraud check error",
+                            verified.error());
+                }
+                if (!verified.succeeded()) {
+                    return compensate(sagaId, fromAccount, amount, "Transfer Failed: Fraud detected", null);
+                }
+                journal.record(sagaId, SagaState.COMMIT_STARTED);
+                return ledgerClient.commitTransactionAsync(reservationId, fromAccount, toAccount, amount, executor)
+                        .handle((ignored, error) -> error)
+                        .thenCompose(error -> {
+                            if (error != null) {
+                                return compensate(sagaId, fromAccount, amount, "Transfer Failed: Ledger commit error",
+                                        error);
+                            }
+                            // Committed: a capture failure must not release the funds; recovery retries it
+                            return walletClient.captureFundsAsync(reservationId, fromAccount, amount, executor)
+                                    .thenAccept(captured -> {
+                                        if (!Boolean.TRUE.equals(captured)) {
+                                            log.error("Saga {}: no open hold on {} to capture after committing {}; "
+                                                    + "reconcile the wallet", sagaId, fromAccount, amount);
+                                        }
+                                        journal.record(sagaId, SagaState.COMMITTED);
+                                    });
+                        });
+            });
+        });
+    }
+
+    /**
+     * Blocking convenience wrapper with the same contract as
+     * {@link TransferSagaCoordinator#executeTransfer}.
+     */
+    public void executeTransfer(String fromAccount, String toAccount, Money amount, String userId) {
+        try {
+            executeTransferAsync(fromAccount, toAccount, amount, userId).join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Void> compensate(UUID sagaId, String fromAccount, Money amount, String message,
+            Throwable cause) {
+        return walletClient.releaseFundsAsync(sagaId.toString(), fromAccount, amount, executor)
+                .handle((released, releaseError) -> {
+                    RuntimeException failure = new RuntimeException(message, cause == null ? null : unwrap(cause));
+                    if (releaseError != null) {
+                        failure.addSuppressed(unwrap(releaseError));
+                    } else {
+                        if (!Boolean.TRUE.equals(released)) {
+                            log.warn("Saga {}: no open hold on {} to release; it expired or was never made",
+                                    sagaId, fromAccount);
+                        }
+                        journal.record(sagaId, SagaState.COMPENSATED);
+                    }
+                    throw failure;
+                });
+    }
+
+    private Boolean recordIf(Boolean succeeded, UUID sagaId, SagaState state) {
+        if (Boolean.TRUE.equals(succeeded)) {
+            journal.record(sagaId, state);
+        }
+        return succeeded;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private record StepOutcome(Boolean value, Throwable error) {
+        static StepOutcome of(Boolean value, Throwable error) {
+            return new StepOutcome(value, error == null ? null : unwrap(error));
+        }
+
+        boolean succeeded() {
+            return error == null && Boolean.TRUE.equals(value);
+        }
+    }
+}
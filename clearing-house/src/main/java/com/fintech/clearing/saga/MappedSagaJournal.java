@@ -0,0 +1,194 @@
+package com.fintech.clearing.saga;
+
+import com.fintech.common.domain.Money;
+import com.fintech.common.journal.AppendOnlyLog;
+
+import java.io.Closeable;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link SagaJournal} on a local memory-mapped {@link AppendOnlyLog}.
+ * <p>
+ * A transition costs one small copy into the mapping. Because the mapping lives in the
+ * page cache, that alone survives a crash of the process. {@link Durability#SYNC}
+ * also waits for the batched fsync, so the record survives power loss; concurrent sagas
+ * share each fsync.
+ * <p>
+ * Segments older than the oldest saga still in flight are deleted as the log grows.
+ */
+public class MappedSagaJournal implements SagaJournal, Closeable {
+
+    public enum Durability {
+        /** Return once the record is in the page cache; flushed within the flush interval. */
+        ASYNC,
+        /** Return once the record has been forced to disk. */
+        SYNC
+    }
+
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(2);
+
+    private static final SagaState[] STATES = SagaState.values();
+
+    private final AppendOnlyLog log;
+    private final Durability durability;
+    private final int segmentSize;
+    private final Map<UUID, Long> openSagas = new ConcurrentHashMap<>();
+    private final List<PendingSaga> pendingAtOpen;
+    private volatile long lastCompaction;
+
+    private MappedSagaJournal(AppendOnlyLog log, Durability durability, int segmentSize) {
+        this.log = log;
+        this.durability = durability;
+        this.segmentSize = segmentSize;
+        this.pendingAtOpen = replay();
+    }
+
+    public static MappedSagaJournal open(Path directory, Durability durability) {
+        return open(directory, durability, DEFAULT_SEGMENT_SIZE, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    public static MappedSagaJournal open(Path directory, Durability durability, int segmentSize,
+            Duration flushInterval) {
+        return new MappedSagaJournal(AppendOnlyLog.open(directory, segmentSize, flushInterval), durability,
+                segmentSize);
+    }
+
+    @Override
+    public void started(UUID sagaId, String fromAccount, String toAccount, Money amount, String userId) {
+        byte[] from = utf8(fromAccount);
+        byte[] to = utf8(toAccount);
+        byte[] user = utf8(userId);
+        byte[] value = utf8(amount.getAmount().toPlainString());
+        byte[] currency = utf8(amount.getCurrency().getCurrencyCode());
+        ByteBuffer record = ByteBuffer.allocate(17 + 5 * 2 + from.length + to.length + user.length
+                + value.length + currency.length);
+        writeHeader(record, sagaId, SagaState.STARTED);
+        for (byte[] field : new byte[][] {from, to, user, value, currency}) {
+            record.putShort((short) field.length).put(field);
+        }
+        record.flip();
+        int length = record.remaining();
+        long end;
+        synchronized (openSagas) {
+            // Registered before compaction can see a write position past the record
+            end = log.append(record);
+            openSagas.put(sagaId, end - AppendOnlyLog.HEADER_SIZE - length);
+        }
+        awaitIfSync(end);
+    }
+
+    @Override
+    public void record(UUID sagaId, SagaState state) {
+        if (state == SagaState.STARTED) {
+            throw new IllegalArgumentException("Use started() to record the start of a saga");
+        }
+        append(writeHeader(ByteBuffer.allocate(17), sagaId, state).flip());
+        if (state.isTerminal()) {
+            openSagas.remove(sagaId);
+            compactIfGrown();
+        }
+    }
+
+    /**
+     * Sagas that had no terminal transition when the journal was opened, in start order.
+     * Sagas resolved since then are excluded.
+     */
+    public List<PendingSaga> pendingSagas() {
+        return pendingAtOpen.stream().filter(saga -> openSagas.containsKey(saga.sagaId())).toList();
+    }
+
+    public int inFlightCount() {
+        return openSagas.size();
+    }
+
+    @Override
+    public void close() {
+        log.close();
+    }
+
+    private void append(ByteBuffer record) {
+        awaitIfSync(log.append(record));
+    }
+
+    private void awaitIfSync(long position) {
+        if (durability == Durability.SYNC) {
+            log.awaitDurable(position);
+        }
+    }
+
+    private void compactIfGrown() {
+        long written = log.writePosition();
+        if (written - lastCompaction < segmentSize) {
+            return;
+        }
+        lastCompaction = written;
+        synchronized (openSagas) {
+            long oldest = log.writePosition();
+            for (long start : openSagas.values()) {
+                oldest = Math.min(oldest, start);
+            }
+            log.deleteSegmentsBefore(oldest);
+        }
+    }
+
+    private List<PendingSaga> replay() {
+        Map<UUID, PendingSaga> pending = new LinkedHashMap<>();
+        log.replay((position, record) -> {
+            SagaState state = STATES[record.get()];
+            UUID sagaId = new UUID(record.getLong(), record.getLong());
+            if (state == SagaState.STARTED) {
+                String from = readUtf8(record);
+                String to = readUtf8(record);
+                String user = readUtf8(record);
+                BigDecimal value = new BigDecimal(readUtf8(record));
+                Money amount = Money.of(value, readUtf8(record));
+                pending.put(sagaId, new PendingSaga(sagaId, from, to, amount, user, EnumSet.of(state)));
+                openSagas.put(sagaId, position);
+            } else if (state.isTerminal()) {
+                pending.remove(sagaId);
+                openSagas.remove(sagaId);
+            } else {
+                PendingSaga saga = pending.get(sagaId);
+                if (saga != null) {
+                    saga.states().add(state);
+                }
+            }
+        });
+        List<PendingSaga> result = new ArrayList<>(pending.size());
+        for (PendingSaga saga : pending.values()) {
+            result.add(new PendingSaga(saga.sagaId(), saga.fromAccount(), saga.toAccount(), saga.amount(),
+                    saga.userId(), Collections.unmodifiableSet(saga.states())));
+        }
+        lastCompaction = log.writePosition();
+        return List.copyOf(result);
+    }
+
+    private static ByteBuffer writeHeader(ByteBuffer record, UUID sagaId, SagaState state) {
+        return record.put((byte) state.ordinal())
+                .putLong(sagaId.getMostSignificantBits())
+                .putLong(sagaId.getLeastSignificantBits());
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String readUtf8(ByteBuffer record) {
+        byte[] bytes = new byte[record.getShort()];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,19 @@
+package com.fintech.clearing.saga;
+
+import com.fintech.common.domain.Money;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A saga found in the journal without a terminal transition.
+ *
+ * @param states every transition recorded for the saga
+ */
+public record PendingSaga(UUID sagaId, String fromAccount, String toAccount, Money amount, String userId,
+        Set<SagaState> states) {
+
+    public boolean reached(SagaState state) {
+        return states.contains(state);
+    }
+}
@@ -0,0 +1,30 @@
+package com.fintech.clearing.saga;
+
+import com.fintech.common.domain.Money;
+
+import java.util.UUID;
+
+/**
+ * Write-ahead record of saga step transitions, consulted by {@link SagaRecovery} after a
+ * crash. Each call returns once the transition is as durable as the implementation
+ * promises; coordinators record a transition before performing the step it guards.
+ */
+public interface SagaJournal {
+
+    /**
+     * Journal that records nothing; sagas are not recoverable.
+     */
+    SagaJournal DISABLED = new SagaJournal() {
+        @Override
+        public void started(UUID sagaId, String fromAccount, String toAccount, Money amount, String userId) {
+        }
+
+        @Override
+        public void record(UUID sagaId, SagaState state) {
+        }
+    };
+
+    void started(UUID sagaId, String fromAccount, String toAccount, Money amount, String userId);
+
+    void record(UUID sagaId, SagaState state);
+}
@@ -0,0 +1,69 @@
+package com.fintech.clearing.saga;
+
+import com.fintech.clearing.interfaces.LedgerClient;
+import com.fintech.clearing.interfaces.WalletClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Resolves sagas left in flight by a crash. Run once on startup, before the coordinator
+ * accepts new transfers.
+ * <ul>
+ *   <li>{@link SagaState#COMMIT_STARTED}: the commit may or may not have been applied, so it
+ *       is retried with the saga id as idempotency key and the reservation is captured.</li>
+ *   <li>{@link SagaState#RESERVED} or {@link SagaState#STARTED} without a commit: the
+ *       reservation is released by saga id. Whether or not the reservation call succeeded,
+ *       this is safe, since releasing an unknown reservation id is a no-op.</li>
+ * </ul>
+ * A saga whose recovery step fails stays pending and is retried on the next run. A capture
+ * or release that finds no open hold is logged: the crash may have come after the wallet
+ * call, or the hold may have expired.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class SagaRecovery {
+
+    private final MappedSagaJournal journal;
+    private final WalletClient walletClient;
+    private final LedgerClient ledgerClient;
+
+    public RecoveryReport recover() {
+        List<UUID> committed = new ArrayList<>();
+        List<UUID> compensated = new ArrayList<>();
+        List<PendingSaga> inDoubt = new ArrayList<>();
+        for (PendingSaga saga : journal.pendingSagas()) {
+            try {
+                if (saga.reached(SagaState.COMMIT_STARTED)) {
+                    ledgerClient.commitTransaction(saga.sagaId().toString(), saga.fromAccount(),
+                            saga.toAccount(), saga.amount());
+                    if (!walletClient.captureFunds(saga.sagaId().toString(), saga.fromAccount(), saga.amount())) {
+                        log.warn("Saga {}: no open hold on {} to capture; it was captured before the crash "
+                                + "or expired", saga.sagaId(), saga.fromAccount());
+                    }
+                    journal.record(saga.sagaId(), SagaState.COMMITTED);
+                    committed.add(saga.sagaId());
+                } else {
+                    if (!walletClient.releaseFunds(saga.sagaId().toString(), saga.fromAccount(), saga.amount())) {
+                        log.info("Saga {}: no open hold on {} to release; it was never made, was released "
+                                + "before the crash or expired", saga.sagaId(), saga.fromAccount());
+                    }
+                    journal.record(saga.sagaId(), SagaState.COMPENSATED);
+                    compensated.add(saga.sagaId());
+                }
+            } catch (RuntimeException e) {
+                inDoubt.add(saga);
+            }
+        }
+        return new RecoveryReport(committed, compensated, inDoubt);
+    }
+
+    /**
+     * @param inDoubt sagas that need manual reconciliation or a later recovery run
+     */
+    public record RecoveryReport(List<UUID> committed, List<UUID> compensated, List<PendingSaga> inDoubt) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.fintech.clearing.saga;
+
+/**
+ * Step transitions recorded in the {@link SagaJournal}.
+ * <p>
+ * With the async coordinator {@link #RESERVED} and {@link #VERIFIED} may be recorded in
+ * either order; {@link #COMMIT_STARTED} is only recorded once both are.
+ */
+public enum SagaState {
+    STARTED,
+    RESERVED,
+    VERIFIED,
+    COMMIT_STARTED,
+    COMMITTED,
+    COMPENSATED,
+    FAILED;
+
+    public boolean isTerminal() {
+        return this == COMMITTED || this == COMPENSATED || this == FAILED;
+    }
+}
@@ -4,15 +4,33 @@ import com.fintech.clearing.interfaces.WalletClient;
 import com.fintech.clearing.interfaces.FraudClient;
 import com.fintech.clearing.interfaces.LedgerClient;
 import com.fintech.common.domain.Money;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j; // Lombok Slf4j needs dependency or manual logger
+import lombok.extern.slf4j.Slf4j;
 
-@RequiredArgsConstructor
+import java.util.UUID;
+
+@Slf4j
 public class TransferSagaCoordinator {
 
     private final WalletClient walletClient;
     private final FraudClient fraudClient;
     private final LedgerClient ledgerClient;
+    private final SagaJournal journal;
+
+    public TransferSagaCoordinator(WalletClient walletClient, FraudClient fraudClient, LedgerClient ledgerClient) {
+        this(walletClient, fraudClient, ledgerClient, SagaJournal.DISABLED);
+    }
+
+    /**
+     * @param journal records every step transition so {@link SagaRecovery} can finish or
+     *                compensate sagas interrupted by a crash
+     */
+    public TransferSagaCoordinator(WalletClient walletClient, FraudClient fraudClient, LedgerClient ledgerClient,
+            SagaJournal journal) {
+        this.walletClient = walletClient;
+        this.fraudClient = fraudClient;
+        this.ledgerClient = ledgerClient;
+        this.journal = journal;
+    }
 
     /**
      * Orchestrates the transfer saga:
@@ -20,14 +38,23 @@ public class TransferSagaCoordinator {
      * 2. Verify fraud (Anti-Fraud)
      * 3. Commit transaction (Ledger)
      * 
-     * If any step fails, roll back previous steps.
+     * If any step fails, roll back previous steps. Once the ledger commit succeeded the
+     * reservation is captured rather than released; a capture failure propagates without
+     * compensation and is completed by {@link SagaRecovery}. A hold that is already gone
+     * when captured or released is logged, not retried: retrying cannot bring it back.
      */
     public void executeTransfer(String fromAccount, String toAccount, Money amount, String userId) {
+        UUID sagaId = UUID.randomUUID();
+        String reservationId = sagaId.toString();
+        journal.started(sagaId, fromAccount, toAccount, amount, userId);
+
         // Step 1: Reserve Funds
-        boolean reserved = walletClient.reserveFunds(fromAccount, amount);
+        boolean reserved = walletClient.reserveFunds(reservationId, fromAccount, amount);
         if (!reserved) {
+            journal.record(sagaId, SagaState.FAILED);
             throw new RuntimeException("Transfer Failed: Could not reserve funds");
         }
+        journal.record(sagaId, SagaState.RESERVED);
 
         // Step 2: Verify Fraud
         boolean verified;
@@ -35,26 +62,40 @@ public class TransferSagaCoordinator {
             verified = fraudClient.verifyTransaction(userId, amount, toAccount);
         } catch (Exception e) {
             // Unexpected error during verification -> Compensate Step 1
-            walletClient.releaseFunds(fromAccount, amount);
+            compensate(sagaId, fromAccount, amount);
             throw new RuntimeException("Transfer Failed: Fraud check error", e);
         }
 
         if (!verified) {
             // Fraud detected -> Compensate Step 1
-            walletClient.releaseFunds(fromAccount, amount);
+            compensate(sagaId, fromAccount, amount);
             throw new RuntimeException("Transfer Failed: Fraud detected");
         }
+        journal.record(sagaId, SagaState.VERIFIED);
 
         // Step 3: Commit to Ledger
+        journal.record(sagaId, SagaState.COMMIT_STARTED);
         try {
-            ledgerClient.commitTransaction(fromAccount, toAccount, amount);
+            ledgerClient.commitTransaction(reservationId, fromAccount, toAccount, amount);
         } catch (Exception e) {
             // Ledger commit failed -> Compensate Step 1 (Funds released, transaction
             // aborted)
-            walletClient.releaseFunds(fromAccount, amount);
+            compensate(sagaId, fromAccount, amount);
             throw new RuntimeException("Transfer Failed: Ledger commit error", e);
         }
 
         // Success
+        if (!walletClient.captureFunds(reservationId, fromAccount, amount)) {
+            log.error("Saga {}: no open hold on {} to capture after committing {}; reconcile the wallet",
+                    sagaId, fromAccount, amount);
+        }
+        journal.record(sagaId, SagaState.COMMITTED);
+    }
+
+    private void compensate(UUID sagaId, String fromAccount, Money amount) {
+        if (!walletClient.releaseFunds(sagaId.toString(), fromAccount, amount)) {
+            log.warn("Saga {}: no open hold on {} to release; it expired or was never made", sagaId, fromAccount);
+        }
+        journal.record(sagaId, SagaState.COMPENSATED);
     }
 }
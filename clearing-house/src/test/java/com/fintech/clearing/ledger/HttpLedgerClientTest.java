@@ -0,0 +1,119 @@
+package com.fintech.clearing.ledger;
+
+import com.fintech.clearing.interfaces.LedgerClient;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.DuplicateTransactionException;
+import com.fintech.common.exception.LedgerException;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpLedgerClientTest {
+
+    private static final Pattern KEY = Pattern.compile("\"idempotencyKey\":\"([^\"]+)\"");
+
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+    private final Set<String> appliedKeys = new HashSet<>();
+    private volatile int failureStatus;
+    private HttpServer server;
+    private HttpLedgerClient client;
+
+    @BeforeEach
+    void startLedger() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/transactions", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            bodies.add(body);
+            authorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+            Matcher key = KEY.matcher(body);
+            int status;
+            if (failureStatus != 0) {
+                status = failureStatus;
+            } else {
+                synchronized (appliedKeys) {
+                    status = key.find() && appliedKeys.add(key.group(1)) ? 201 : 409;
+                }
+            }
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+        URI base = URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+        client = new HttpLedgerClient(base, () -> "token", Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void stopLedger() {
+        server.stop(0);
+    }
+
+    @Test
+    void testJournalEntryPostsEveryLeg() {
+        client.commitJournalEntry("batch-1:USD:1", "Net settlement \"batch-1\"", List.of(
+                new LedgerClient.Leg("1", LedgerClient.Side.DEBIT, usd("80")),
+                new LedgerClient.Leg("2", LedgerClient.Side.CREDIT, usd("50")),
+                new LedgerClient.Leg("3", LedgerClient.Side.CREDIT, usd("30"))));
+
+        assertEquals(1, bodies.size());
+        String body = bodies.get(0);
+        assertTrue(body.startsWith("{\"idempotencyKey\":\"batch-1:USD:1\",\"description\":\"Net settlement \\\"batch-1\\\"\""));
+        assertTrue(body.contains("{\"accountId\":1,\"type\":\"DEBIT\",\"amount\":80"));
+        assertTrue(body.contains("{\"accountId\":3,\"type\":\"CREDIT\",\"amount\":30"));
+        assertEquals("Bearer token", authorizations.get(0));
+    }
+
+    @Test
+    void testReplayedJournalEntryIsReportedAsDuplicate() {
+        List<LedgerClient.Leg> legs = List.of(
+                new LedgerClient.Leg("1", LedgerClient.Side.DEBIT, usd("10")),
+                new LedgerClient.Leg("2", LedgerClient.Side.CREDIT, usd("10")));
+        client.commitJournalEntry("k", "entry", legs);
+
+        assertThrows(DuplicateTransactionException.class, () -> client.commitJournalEntry("k", "entry", legs));
+    }
+
+    @Test
+    void testReplayedTransferIsSuccess() {
+        client.commitTransaction("saga-1", "1", "2", usd("10"));
+        client.commitTransaction("saga-1", "1", "2", usd("10"));
+
+        assertEquals(2, bodies.size());
+        assertEquals(Set.of("saga-1"), appliedKeys);
+    }
+
+    @Test
+    void testRejectionFailsTheCommit() {
+        failureStatus = 400;
+
+        LedgerException ex = assertThrows(LedgerException.class,
+                () -> client.commitTransaction("saga-2", "1", "2", usd("10")));
+        assertEquals("LEDGER_REJECTED", ex.getErrorCode());
+    }
+
+    @Test
+    void testNonNumericAccountIsRejectedBeforeSending() {
+        assertThrows(IllegalArgumentException.class, () -> client.commitTransaction("saga-3", "A", "2", usd("10")));
+        assertTrue(bodies.isEmpty());
+    }
+
+    private static Money usd(String amount) {
+        return Money.of(new BigDecimal(amount), "USD");
+    }
+}
@@ -0,0 +1,231 @@
+package com.fintech.clearing.netting;
+
+import com.fintech.clearing.interfaces.LedgerClient;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.DuplicateTransactionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NettingEngineTest {
+
+    private final RecordingLedger ledger = new RecordingLedger();
+    private final NettingEngine engine = new NettingEngine(ledger, "CH-SETTLEMENT");
+
+    @Test
+    void testMultilateralNettingPostsOneLegPerParticipant() {
+        engine.submit("t1", "A", "B", usd("100"));
+        engine.submit("t2", "B", "C", usd("60"));
+        engine.submit("t3", "C", "A", usd("30"));
+        engine.submit("t4", "A", "B", usd("10"));
+        engine.submit("t5", "A", "B", Money.of(new BigDecimal("5"), "EUR"));
+
+        SettlementBatch batch = engine.settle();
+
+        assertEquals(2, ledger.entries.size());
+        assertEquals(usd("-80"), batch.netPositions().get("USD").get("A"));
+        assertEquals(usd("50"), batch.netPositions().get("USD").get("B"));
+        assertEquals(usd("30"), batch.netPositions().get("USD").get("C"));
+
+        SettlementEntry usdEntry = batch.entries().stream()
+                .filter(entry -> entry.currencyCode().equals("USD")).findFirst().orElseThrow();
+        assertEquals(3, usdEntry.legs().size());
+        assertTrue(usdEntry.legs().contains(new LedgerClient.Leg("A", LedgerClient.Side.DEBIT, usd("80"))));
+        assertBalanced(usdEntry.legs());
+
+        BilateralPosition ab = batch.bilateralPositions().stream()
+                .filter(p -> p.payer().equals("A") && p.payee().equals("B")
+                        && p.gross().getCurrency().getCurrencyCode().equals("USD"))
+                .findFirst().orElseThrow();
+        assertEquals(usd("110"), ab.gross());
+        assertEquals(2, ab.transferCount());
+
+        assertEquals(List.of(usdEntry.idempotencyKey()), batch.entriesFor("t1"));
+        assertEquals(0, engine.pendingCount());
+    }
+
+    @Test
+    void testHighFrequencyCorridorCollapsesToTwoLegs() {
+        for (int i = 0; i < 10_000; i++) {
+            engine.submit("t" + i, "BANK-1", "BANK-2", usd("1.25"));
+        }
+
+        SettlementBatch batch = engine.settle();
+
+        assertEquals(10_000, batch.transferCount());
+        assertEquals(1, ledger.entries.size());
+        assertEquals(2, batch.legCount());
+        assertEquals(usd("12500"), batch.netPositions().get("USD").get("BANK-2"));
+    }
+
+    @Test
+    void testOffsettingTransfersPostNothing() {
+        engine.submit("t1", "A", "B", usd("50"));
+        engine.submit("t2", "B", "A", usd("50"));
+
+        SettlementBatch batch = engine.settle();
+
+        assertTrue(batch.entries().isEmpty());
+        assertTrue(ledger.entries.isEmpty());
+        assertEquals(List.of(), batch.entriesFor("t1"));
+    }
+
+    @Test
+    void testLargeCurrencyIsSplitAgainstSettlementAccount() {
+        for (int i = 0; i < 250; i++) {
+            engine.submit("t" + i, "P" + i, "HUB", usd("1"));
+        }
+
+        SettlementBatch batch = engine.settle();
+
+        assertEquals(3, batch.entries().size());
+        BigDecimal settlementTotal = BigDecimal.ZERO;
+        for (SettlementEntry entry : batch.entries()) {
+            assertTrue(entry.legs().size() <= NettingEngine.MAX_LEGS_PER_ENTRY);
+            assertBalanced(entry.legs());
+            for (LedgerClient.Leg leg : entry.legs()) {
+                if (leg.accountId().equals("CH-SETTLEMENT")) {
+                    settlementTotal = settlementTotal.add(signed(leg));
+                }
+            }
+        }
+        assertEquals(0, settlementTotal.signum());
+        List<String> keys = batch.entriesFor("t0");
+        assertFalse(keys.isEmpty());
+        assertTrue(batch.entries().stream()
+                .filter(entry -> keys.contains(entry.idempotencyKey()))
+                .anyMatch(entry -> entry.legs().stream().anyMatch(leg -> leg.accountId().equals("P0"))));
+    }
+
+    @Test
+    void testDuplicateTransferIdIsRejectedWithinWindow() {
+        engine.submit("t1", "A", "B", usd("1"));
+
+        assertThrows(DuplicateTransactionException.class, () -> engine.submit("t1", "A", "B", usd("1")));
+        assertThrows(IllegalArgumentException.class, () -> engine.submit("t2", "A", "A", usd("1")));
+    }
+
+    @Test
+    void testTransferIdIsRejectedInLaterWindowsAndAfterRestart(@TempDir Path directory) {
+        engine.submit("t1", "A", "B", usd("1"));
+        engine.settle();
+
+        assertThrows(DuplicateTransactionException.class, () -> engine.submit("t1", "A", "B", usd("1")));
+        assertEquals(0, engine.pendingCount());
+
+        try (MappedSettlementJournal journal = MappedSettlementJournal.open(directory)) {
+            NettingEngine journaled = new NettingEngine(ledger, "CH-SETTLEMENT", journal);
+            journaled.submit("t2", "A", "B", usd("1"));
+            journaled.settle();
+        }
+        try (MappedSettlementJournal journal = MappedSettlementJournal.open(directory)) {
+            NettingEngine restarted = new NettingEngine(ledger, "CH-SETTLEMENT", journal);
+            assertThrows(DuplicateTransactionException.class, () -> restarted.submit("t2", "A", "B", usd("1")));
+        }
+    }
+
+    @Test
+    void testRepostingBatchReusesIdempotencyKeys() {
+        engine.submit("t1", "A", "B", usd("10"));
+        SettlementBatch batch = engine.closeWindow();
+
+        engine.post(batch);
+        engine.post(batch);
+
+        assertEquals(1, ledger.appliedKeys.size());
+    }
+
+    @Test
+    void testJournaledWindowIsPostedAndTraceableAfterRestart(@TempDir Path directory) {
+        SettlementBatch closed;
+        try (MappedSettlementJournal journal = MappedSettlementJournal.open(directory)) {
+            NettingEngine crashed = new NettingEngine(ledger, "CH-SETTLEMENT", journal);
+            crashed.submit("t1", "A", "B", usd("100"));
+            crashed.submit("t2", "B", "C", usd("60"));
+            // Closed but never posted
+            closed = crashed.closeWindow();
+        }
+        assertTrue(ledger.entries.isEmpty());
+
+        try (MappedSettlementJournal journal = MappedSettlementJournal.open(directory)) {
+            List<SettlementBatch> recovered = new NettingEngine(ledger, "CH-SETTLEMENT", journal).recover();
+
+            assertEquals(1, recovered.size());
+            assertEquals(closed.entries(), recovered.get(0).entries());
+            assertEquals(1, ledger.entries.size());
+            assertTrue(journal.unpostedWindows().isEmpty());
+        }
+
+        try (MappedSettlementJournal journal = MappedSettlementJournal.open(directory)) {
+            NettingEngine restarted = new NettingEngine(ledger, "CH-SETTLEMENT", journal);
+            assertTrue(restarted.recover().isEmpty());
+            SettlementJournal.ClosedWindow window = journal.windows().get(0);
+            assertEquals(closed.batchId(), window.batchId());
+            assertEquals(closed.entriesFor("t2"), restarted.rebuild(window).entriesFor("t2"));
+        }
+    }
+
+    @Test
+    void testLargeWindowIsJournaledAcrossRecords(@TempDir Path directory) {
+        try (MappedSettlementJournal journal = MappedSettlementJournal.open(directory, 4096,
+                MappedSettlementJournal.DEFAULT_FLUSH_INTERVAL)) {
+            NettingEngine journaled = new NettingEngine(ledger, "CH-SETTLEMENT", journal);
+            for (int i = 0; i < 1_000; i++) {
+                journaled.submit("t" + i, "P" + (i % 7), "P" + ((i + 1) % 7), usd("1.25"));
+            }
+            SettlementBatch batch = journaled.closeWindow();
+
+            List<SettlementJournal.ClosedWindow> windows = journal.unpostedWindows();
+            assertEquals(1, windows.size());
+            assertEquals(batch.transfers(), windows.get(0).transfers());
+        }
+    }
+
+    private static void assertBalanced(List<LedgerClient.Leg> legs) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (LedgerClient.Leg leg : legs) {
+            sum = sum.add(signed(leg));
+        }
+        assertEquals(0, sum.signum());
+    }
+
+    private static BigDecimal signed(LedgerClient.Leg leg) {
+        BigDecimal value = leg.amount().getAmount();
+        return leg.side() == LedgerClient.Side.CREDIT ? value : value.negate();
+    }
+
+    private static Money usd(String amount) {
+        return Money.of(new BigDecimal(amount), "USD");
+    }
+
+    private static class RecordingLedger implements LedgerClient {
+        final List<List<Leg>> entries = new ArrayList<>();
+        final Set<String> appliedKeys = new HashSet<>();
+
+        @Override
+        public void commitTransaction(String fromAccount, String toAccount, Money amount) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void commitTransaction(String idempotencyKey, String fromAccount, String toAccount, Money amount) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void commitJournalEntry(String idempotencyKey, String description, List<Leg> legs) {
+            if (!appliedKeys.add(idempotencyKey)) {
+                throw new DuplicateTransactionException(idempotencyKey);
+            }
+            entries.add(legs);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.fintech.clearing.saga;
+
+import com.fintech.clearing.interfaces.FraudClient;
+import com.fintech.clearing.interfaces.LedgerClient;
+import com.fintech.clearing.interfaces.WalletClient;
+import com.fintech.common.domain.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncTransferSagaCoordinatorTest {
+
+    private static final Money AMOUNT = Money.of(new BigDecimal("25.00"), "USD");
+
+    private final FakeWallet wallet = new FakeWallet();
+    private final FakeLedger ledger = new FakeLedger();
+
+    @Test
+    void testReserveAndVerifyRunConcurrently() {
+        // Each step waits for the other to start: a sequential coordinator would time out
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        wallet.onReserve = () -> awaitOther(bothStarted);
+        FraudClient fraud = (userId, amount, target) -> awaitOther(bothStarted);
+
+        new AsyncTransferSagaCoordinator(wallet, fraud, ledger).executeTransfer("A", "B", AMOUNT, "user");
+
+        assertEquals(1, ledger.commits.get());
+        assertEquals(0, wallet.releases.get());
+    }
+
+    @Test
+    void testFraudRejectionReleasesReservation() {
+        FraudClient fraud = (userId, amount, target) -> false;
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () ->
+                new AsyncTransferSagaCoordinator(wallet, fraud, ledger).executeTransfer("A", "B", AMOUNT, "user"));
+
+        assertEquals("Transfer Failed: Fraud detected", ex.getMessage());
+        assertEquals(1, wallet.releases.get());
+        assertEquals(0, ledger.commits.get());
+    }
+
+    @Test
+    void testFailedReservationIsNotCompensated() {
+        wallet.reserveResult = false;
+        FraudClient fraud = (userId, amount, target) -> false;
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () ->
+                new AsyncTransferSagaCoordinator(wallet, fraud, ledger).executeTransfer("A", "B", AMOUNT, "user"));
+
+        assertEquals("Transfer Failed: Could not reserve funds", ex.getMessage());
+        assertEquals(0, wallet.releases.get());
+        assertEquals(0, ledger.commits.get());
+    }
+
+    @Test
+    void testReservationErrorReleasesInsteadOfFailing() {
+        wallet.onReserve = () -> {
+            throw new IllegalStateException("wallet timeout");
+        };
+        FraudClient fraud = (userId, amount, target) -> true;
+        List<SagaState> states = new CopyOnWriteArrayList<>();
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () ->
+                new AsyncTransferSagaCoordinator(wallet, fraud, ledger, Runnable::run, recording(states))
+                        .executeTransfer("A", "B", AMOUNT, "user"));
+
+        assertEquals("Transfer Failed: Could not reserve funds", ex.getMessage());
+        assertEquals(1, wallet.releases.get());
+        assertFalse(states.contains(SagaState.FAILED));
+        assertEquals(SagaState.COMPENSATED, states.get(states.size() - 1));
+    }
+
+    @Test
+    void testReservationErrorWithFailedReleaseStaysStarted() {
+        wallet.onReserve = () -> {
+            throw new IllegalStateException("wallet timeout");
+        };
+        wallet.releaseFailure = new IllegalStateException("wallet down");
+        FraudClient fraud = (userId, amount, target) -> true;
+        List<SagaState> states = new CopyOnWriteArrayList<>();
+
+        assertThrows(RuntimeException.class, () ->
+                new AsyncTransferSagaCoordinator(wallet, fraud, ledger, Runnable::run, recording(states))
+                        .executeTransfer("A", "B", AMOUNT, "user"));
+
+        assertTrue(states.stream().noneMatch(SagaState::isTerminal));
+        assertEquals(0, ledger.commits.get());
+    }
+
+    @Test
+    void testLedgerFailureReleasesReservation() {
+        ledger.failure = new IllegalStateException("ledger down");
+        FraudClient fraud = (userId, amount, target) -> true;
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () ->
+                new AsyncTransferSagaCoordinator(wallet, fraud, ledger).executeTransfer("A", "B", AMOUNT, "user"));
+
+        assertEquals("Transfer Failed: Ledger commit error", ex.getMessage());
+        assertSame(ledger.failure, ex.getCause());
+        assertEquals(1, wallet.releases.get());
+    }
+
+    @Test
+    void testMissedCaptureStillCompletesCommittedSaga() {
+        wallet.captureResult = false;
+        FraudClient fraud = (userId, amount, target) -> true;
+        List<SagaState> states = new CopyOnWriteArrayList<>();
+
+        new AsyncTransferSagaCoordinator(wallet, fraud, ledger, Runnable::run, recording(states))
+                .executeTransfer("A", "B", AMOUNT, "user");
+
+        assertEquals(1, wallet.captures.get());
+        assertEquals(1, ledger.commits.get());
+        assertEquals(SagaState.COMMITTED, states.get(states.size() - 1));
+    }
+
+    private static SagaJournal recording(List<SagaState> states) {
+        return new SagaJournal() {
+            @Override
+            public void started(UUID sagaId, String fromAccount, String toAccount, Money amount, String userId) {
+            }
+
+            @Override
+            public void record(UUID sagaId, SagaState state) {
+                states.add(state);
+            }
+        };
+    }
+
+    private static boolean awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static class FakeWallet implements WalletClient {
+        volatile boolean reserveResult = true;
+        volatile BooleanSupplier onReserve = () -> true;
+        volatile boolean captureResult = true;
+        volatile RuntimeException releaseFailure;
+        final AtomicInteger releases = new AtomicInteger();
+        final AtomicInteger captures = new AtomicInteger();
+
+        @Override
+        public boolean reserveFunds(String accountId, Money amount) {
+            return onReserve.getAsBoolean() && reserveResult;
+        }
+
+        @Override
+        public void releaseFunds(String accountId, Money amount) {
+            if (releaseFailure != null) {
+                throw releaseFailure;
+            }
+            releases.incrementAndGet();
+        }
+
+        @Override
+        public boolean captureFunds(String reservationId, String accountId, Money amount) {
+            captures.incrementAndGet();
+            return captureResult;
+        }
+    }
+
+    private static class FakeLedger implements LedgerClient {
+        volatile RuntimeException failure;
+        final AtomicInteger commits = new AtomicInteger();
+
+        @Override
+        public void commitTransaction(String fromAccount, String toAccount, Money amount) {
+            throw new UnsupportedOperationException("Saga commits must carry an idempotency key");
+        }
+
+        @Override
+        public void commitTransaction(String idempotencyKey, String fromAccount, String toAccount, Money amount) {
+            if (failure != null) {
+                throw failure;
+            }
+            commits.incrementAndGet();
+        }
+
+        @Override
+        public void commitJournalEntry(String idempotencyKey, String description, List<Leg> legs) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
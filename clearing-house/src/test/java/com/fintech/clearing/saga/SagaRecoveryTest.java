@@ -0,0 +1,187 @@
+package com.fintech.clearing.saga;
+
+import com.fintech.clearing.interfaces.FraudClient;
+import com.fintech.clearing.interfaces.LedgerClient;
+import com.fintech.clearing.interfaces.WalletClient;
+import com.fintech.common.domain.Money;
+import com.fintech.common.journal.AppendOnlyLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SagaRecoveryTest {
+
+    private static final Money AMOUNT = Money.of(new BigDecimal("42.50"), "EUR");
+
+    @TempDir
+    Path directory;
+
+    private final RecordingWallet wallet = new RecordingWallet();
+    private final RecordingLedger ledger = new RecordingLedger();
+
+    @Test
+    void testCompletedSagasAreNotPending() {
+        FraudClient fraud = (userId, amount, target) -> true;
+        try (MappedSagaJournal journal = MappedSagaJournal.open(directory, MappedSagaJournal.Durability.SYNC)) {
+            TransferSagaCoordinator coordinator = new TransferSagaCoordinator(wallet, fraud, ledger, journal);
+            coordinator.executeTransfer("A", "B", AMOUNT, "user");
+            assertEquals(0, journal.inFlightCount());
+        }
+
+        try (MappedSagaJournal journal = MappedSagaJournal.open(directory, MappedSagaJournal.Durability.SYNC)) {
+            assertTrue(journal.pendingSagas().isEmpty());
+        }
+        assertEquals(1, ledger.idempotencyKeys.size());
+    }
+
+    @Test
+    void testRecoveryResumesCommitAndCompensatesReservations() {
+        UUID committing = UUID.randomUUID();
+        UUID reserved = UUID.randomUUID();
+        UUID justStarted = UUID.randomUUID();
+        // Simulate a crash: transitions are recorded but the sagas never finish
+        try (MappedSagaJournal journal = MappedSagaJournal.open(directory, MappedSagaJournal.Durability.ASYNC)) {
+            journal.started(committing, "A", "B", AMOUNT, "user-1");
+            journal.record(committing, SagaState.RESERVED);
+            journal.record(committing, SagaState.VERIFIED);
+            journal.record(committing, SagaState.COMMIT_STARTED);
+
+            journal.started(reserved, "C", "D", AMOUNT, "user-2");
+            journal.record(reserved, SagaState.RESERVED);
+
+            journal.started(justStarted, "E", "F", AMOUNT, "user-3");
+        }
+
+        SagaRecovery.RecoveryReport report;
+        try (MappedSagaJournal journal = MappedSagaJournal.open(directory, MappedSagaJournal.Durability.SYNC)) {
+            assertEquals(3, journal.pendingSagas().size());
+            report = new SagaRecovery(journal, wallet, ledger).recover();
+        }
+
+        assertEquals(List.of(committing), report.committed());
+        assertEquals(List.of(committing.toString()), ledger.idempotencyKeys);
+        assertEquals(List.of(reserved, justStarted), report.compensated());
+        assertEquals(List.of(reserved.toString(), justStarted.toString()), wallet.releasedIds);
+        assertTrue(report.inDoubt().isEmpty());
+
+        try (MappedSagaJournal journal = MappedSagaJournal.open(directory, MappedSagaJournal.Durability.SYNC)) {
+            assertTrue(journal.pendingSagas().isEmpty());
+        }
+    }
+
+    @Test
+    void testFailedRecoveryStepLeavesSagaPending() {
+        UUID committing = UUID.randomUUID();
+        try (MappedSagaJournal journal = MappedSagaJournal.open(directory, MappedSagaJournal.Durability.SYNC)) {
+            journal.started(committing, "A", "B", AMOUNT, "user");
+            journal.record(committing, SagaState.RESERVED);
+            journal.record(committing, SagaState.VERIFIED);
+            journal.record(committing, SagaState.COMMIT_STARTED);
+        }
+        ledger.failure = new IllegalStateException("ledger unavailable");
+
+        try (MappedSagaJournal journal = MappedSagaJournal.open(directory, MappedSagaJournal.Durability.SYNC)) {
+            SagaRecovery.RecoveryReport report = new SagaRecovery(journal, wallet, ledger).recover();
+            assertEquals(1, report.inDoubt().size());
+            assertTrue(wallet.releasedIds.isEmpty());
+        }
+
+        ledger.failure = null;
+        try (MappedSagaJournal journal = MappedSagaJournal.open(directory, MappedSagaJournal.Durability.SYNC)) {
+            assertEquals(List.of(committing), new SagaRecovery(journal, wallet, ledger).recover().committed());
+        }
+    }
+
+    @Test
+    void testOldSegmentsAreDeletedOnceSagasComplete() throws IOException {
+        FraudClient fraud = (userId, amount, target) -> true;
+        try (MappedSagaJournal journal = MappedSagaJournal.open(directory, MappedSagaJournal.Durability.ASYNC,
+                4096, MappedSagaJournal.DEFAULT_FLUSH_INTERVAL)) {
+            TransferSagaCoordinator coordinator = new TransferSagaCoordinator(wallet, fraud, ledger, journal);
+            for (int i = 0; i < 1_000; i++) {
+                coordinator.executeTransfer("A", "B", AMOUNT, "user");
+            }
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.count() <= 2);
+        }
+    }
+
+    @Test
+    void testCompactionKeepsStartedRecordEndingOnSegmentBoundary() {
+        UUID open = UUID.randomUUID();
+        try (MappedSagaJournal journal = MappedSagaJournal.open(directory, MappedSagaJournal.Durability.ASYNC,
+                4096, MappedSagaJournal.DEFAULT_FLUSH_INTERVAL)) {
+            // Transitions take 8 + 17 bytes; pad the user id so the STARTED record ends at exactly 4096
+            int transition = AppendOnlyLog.HEADER_SIZE + 17;
+            int started = AppendOnlyLog.HEADER_SIZE + 27 + "A".length() + "B".length()
+                    + AMOUNT.getAmount().toPlainString().length() + AMOUNT.getCurrency().getCurrencyCode().length();
+            String user = "u".repeat(Math.floorMod(4096 - started, transition));
+            for (int i = 0; i < (4096 - started - user.length()) / transition; i++) {
+                journal.record(UUID.randomUUID(), SagaState.RESERVED);
+            }
+            journal.started(open, "A", "B", AMOUNT, user);
+            // The next record rolls into a new segment; a terminal one triggers compaction
+            journal.record(UUID.randomUUID(), SagaState.FAILED);
+        }
+
+        try (MappedSagaJournal journal = MappedSagaJournal.open(directory, MappedSagaJournal.Durability.SYNC)) {
+            assertEquals(List.of(open), journal.pendingSagas().stream().map(PendingSaga::sagaId).toList());
+        }
+    }
+
+    private static class RecordingWallet implements WalletClient {
+        final List<String> releasedIds = new ArrayList<>();
+
+        @Override
+        public boolean reserveFunds(String accountId, Money amount) {
+            return true;
+        }
+
+        @Override
+        public void releaseFunds(String accountId, Money amount) {
+            throw new UnsupportedOperationException("Recovery releases holds by reservation id");
+        }
+
+        @Override
+        public boolean releaseFunds(String reservationId, String accountId, Money amount) {
+            // As the real wallets: an id never reserved is not an open hold
+            releasedIds.add(reservationId);
+            return false;
+        }
+    }
+
+    private static class RecordingLedger implements LedgerClient {
+        final List<String> idempotencyKeys = new ArrayList<>();
+        RuntimeException failure;
+
+        @Override
+        public void commitTransaction(String fromAccount, String toAccount, Money amount) {
+            throw new UnsupportedOperationException("Saga commits must carry an idempotency key");
+        }
+
+        @Override
+        public void commitTransaction(String idempotencyKey, String fromAccount, String toAccount, Money amount) {
+            if (failure != null) {
+                throw failure;
+            }
+            idempotencyKeys.add(idempotencyKey);
+        }
+
+        @Override
+        public void commitJournalEntry(String idempotencyKey, String description, List<Leg> legs) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
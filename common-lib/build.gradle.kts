@@ -1,7 +1,12 @@
 plugins {
     `java-library`
+    id("me.champeau.jmh")
 }
 
 dependencies {
     // Shared libraries can be added here
 }
+
+jmh {
+    jmhVersion.set("1.37")
+}
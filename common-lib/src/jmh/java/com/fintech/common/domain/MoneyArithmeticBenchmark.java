@@ -0,0 +1,91 @@
+package com.fintech.common.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sums a transaction's legs the way the pre-flight check does: with {@link Money},
+ * immutable {@link FixedMoney}, a {@link FixedMoney.Accumulator}, and an accumulator fed
+ * straight from {@code BigDecimal} columns (which includes the conversion cost).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyArithmeticBenchmark {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    @Param({"2", "100"})
+    public int legs;
+
+    private Money[] money;
+    private FixedMoney[] fixed;
+    private BigDecimal[] decimals;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        money = new Money[legs];
+        fixed = new FixedMoney[legs];
+        decimals = new BigDecimal[legs];
+        for (int i = 0; i < legs; i++) {
+            BigDecimal amount = BigDecimal.valueOf(random.nextLong(1, 10_000_000), 2);
+            money[i] = new Money(amount, USD);
+            fixed[i] = FixedMoney.of(money[i]);
+            decimals[i] = money[i].getAmount();
+        }
+    }
+
+    @Benchmark
+    public Money money() {
+        Money total = Money.zero(USD);
+        for (Money amount : money) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public FixedMoney fixedMoney() {
+        FixedMoney total = FixedMoney.zero(USD);
+        for (FixedMoney amount : fixed) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int accumulator() {
+        FixedMoney.Accumulator total = new FixedMoney.Accumulator();
+        for (FixedMoney amount : fixed) {
+            total.add(amount);
+        }
+        return total.signum();
+    }
+
+    @Benchmark
+    public int accumulatorFromDecimals() {
+        FixedMoney.Accumulator total = new FixedMoney.Accumulator();
+        for (BigDecimal amount : decimals) {
+            total.add(amount);
+        }
+        return total.signum();
+    }
+}
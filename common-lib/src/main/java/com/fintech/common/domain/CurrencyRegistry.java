@@ -0,0 +1,144 @@
+package com.fintech.common.domain;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Currency;
+
+/**
+ * Interned ISO 4217 currencies with small dense integer ids.
+ * <p>
+ * Looking up a code is an array access on its three letters, with no hashing and no
+ * allocation. Hot paths can carry and compare ids instead of code strings or
+ * {@link Currency} instances. Ids are assigned in code order from the JDK currency data,
+ * so they are only stable within one process: persist and send the code, either as
+ * text or in the 3-byte form of {@link #write(ByteBuffer, int)} / {@link #pack(int)}.
+ */
+public final class CurrencyRegistry {
+
+    /** Marks an unused slot in the lookup table. */
+    private static final short UNKNOWN = -1;
+    private static final int LETTERS = 26;
+
+    private static final Currency[] CURRENCIES;
+    private static final String[] CODES;
+    private static final int[] MINOR_UNITS;
+    private static final short[] IDS_BY_CODE = new short[LETTERS * LETTERS * LETTERS];
+
+    static {
+        CURRENCIES = Currency.getAvailableCurrencies().stream()
+                .filter(currency -> isCode(currency.getCurrencyCode()))
+                .sorted(Comparator.comparing(Currency::getCurrencyCode))
+                .toArray(Currency[]::new);
+        CODES = new String[CURRENCIES.length];
+        MINOR_UNITS = new int[CURRENCIES.length];
+        Arrays.fill(IDS_BY_CODE, UNKNOWN);
+        for (int id = 0; id < CURRENCIES.length; id++) {
+            CODES[id] = CURRENCIES[id].getCurrencyCode();
+            MINOR_UNITS[id] = Math.max(0, CURRENCIES[id].getDefaultFractionDigits());
+            IDS_BY_CODE[slot(CODES[id].charAt(0), CODES[id].charAt(1), CODES[id].charAt(2))] = (short) id;
+        }
+    }
+
+    private CurrencyRegistry() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code code} is not a known ISO 4217 code
+     */
+    public static int idOf(String code) {
+        if (code == null || code.length() != 3) {
+            throw unknown(code);
+        }
+        return idOf(code.charAt(0), code.charAt(1), code.charAt(2), code);
+    }
+
+    public static int idOf(Currency currency) {
+        return idOf(currency.getCurrencyCode());
+    }
+
+    /**
+     * The cached {@link Currency} for {@code code}; a cheaper {@code Currency.getInstance}.
+     */
+    public static Currency currency(String code) {
+        return CURRENCIES[idOf(code)];
+    }
+
+    public static Currency currency(int id) {
+        return CURRENCIES[checkId(id)];
+    }
+
+    public static String code(int id) {
+        return CODES[checkId(id)];
+    }
+
+    /**
+     * Number of decimal places of the currency's minor unit (2 for USD, 0 for JPY and for
+     * pseudo-currencies such as XAU).
+     */
+    public static int minorUnits(int id) {
+        return MINOR_UNITS[checkId(id)];
+    }
+
+    public static int size() {
+        return CURRENCIES.length;
+    }
+
+    /**
+     * The three ASCII letters of the code in the low 24 bits of an int.
+     */
+    public static int pack(int id) {
+        String code = code(id);
+        return code.charAt(0) << 16 | code.charAt(1) << 8 | code.charAt(2);
+    }
+
+    public static int unpack(int packed) {
+        return idOf((char) (packed >>> 16 & 0xFF), (char) (packed >>> 8 & 0xFF), (char) (packed & 0xFF), null);
+    }
+
+    /**
+     * Writes the code as three ASCII bytes.
+     */
+    public static ByteBuffer write(ByteBuffer buffer, int id) {
+        String code = code(id);
+        return buffer.put((byte) code.charAt(0)).put((byte) code.charAt(1)).put((byte) code.charAt(2));
+    }
+
+    public static int read(ByteBuffer buffer) {
+        return idOf((char) buffer.get(), (char) buffer.get(), (char) buffer.get(), null);
+    }
+
+    private static int idOf(char first, char second, char third, String code) {
+        if (!isLetter(first) || !isLetter(second) || !isLetter(third)) {
+            throw unknown(code != null ? code : new String(new char[] {first, second, third}));
+        }
+        short id = IDS_BY_CODE[slot(first, second, third)];
+        if (id == UNKNOWN) {
+            throw unknown(code != null ? code : new String(new char[] {first, second, third}));
+        }
+        return id;
+    }
+
+    private static int slot(char first, char second, char third) {
+        return ((first - 'A') * LETTERS + (second - 'A')) * LETTERS + (third - 'A');
+    }
+
+    private static boolean isCode(String code) {
+        return code.length() == 3 && isLetter(code.charAt(0)) && isLetter(code.charAt(1)) && isLetter(code.charAt(2));
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static int checkId(int id) {
+        if (id < 0 || id >= CURRENCIES.length) {
+            throw new IllegalArgumentException("Unknown currency id: " + id);
+        }
+        return id;
+    }
+
+    private static IllegalArgumentException unknown(String code) {
+        return new IllegalArgumentException("Unknown currency code: " + code);
+    }
+}
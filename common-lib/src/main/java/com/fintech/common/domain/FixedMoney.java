@@ -0,0 +1,308 @@
+package com.fintech.common.domain;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * Compact fixed-point counterpart of {@link Money} for hot paths.
+ * <p>
+ * The amount is held as a signed 128-bit integer of units of 10^-18 (the same scale as
+ * {@code Money}, so every {@code Money} value converts losslessly) split into two longs,
+ * plus the {@link CurrencyRegistry} id of the currency. Arithmetic never allocates a
+ * {@code BigDecimal} and throws {@link ArithmeticException} on overflow instead of
+ * wrapping. The range is about +/-1.7 * 10^20, well beyond {@code NUMERIC(30, 18)}.
+ * <p>
+ * Convert at API edges with {@link #of(Money)} / {@link #toMoney()}; use an
+ * {@link Accumulator} to sum many amounts without creating intermediate instances.
+ */
+public final class FixedMoney implements Comparable<FixedMoney>, Serializable {
+
+    public static final int SCALE = 18;
+    private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_EVEN;
+
+    private final long hi;
+    private final long lo;
+    private final int currencyId;
+
+    private FixedMoney(long hi, long lo, int currencyId) {
+        this.hi = hi;
+        this.lo = lo;
+        this.currencyId = currencyId;
+    }
+
+    public static FixedMoney of(Money money) {
+        return of(money.getAmount(), money.getCurrency());
+    }
+
+    /**
+     * Rounds {@code amount} to 18 decimals with HALF_EVEN, exactly like {@link Money}.
+     *
+     * @throws ArithmeticException if the amount does not fit in 128 bits
+     */
+    public static FixedMoney of(BigDecimal amount, Currency currency) {
+        Objects.requireNonNull(amount, "Amount must not be null");
+        BigInteger unscaled = amount.setScale(SCALE, ROUNDING_MODE).unscaledValue();
+        return new FixedMoney(highBits(unscaled), unscaled.longValue(), currencyId(currency));
+    }
+
+    /**
+     * @param units amount in units of 10^-18
+     */
+    public static FixedMoney ofUnits(long units, Currency currency) {
+        return new FixedMoney(units >> 63, units, currencyId(currency));
+    }
+
+    /**
+     * Rebuilds an amount from the words returned by {@link #unitsHigh()} and
+     * {@link #unitsLow()}.
+     */
+    public static FixedMoney ofUnits(long high, long low, Currency currency) {
+        return new FixedMoney(high, low, currencyId(currency));
+    }
+
+    public static FixedMoney zero(Currency currency) {
+        return new FixedMoney(0, 0, currencyId(currency));
+    }
+
+    public FixedMoney add(FixedMoney other) {
+        checkCurrency(other);
+        long sumLo = lo + other.lo;
+        return new FixedMoney(addHigh(hi, lo, other.hi, sumLo), sumLo, currencyId);
+    }
+
+    public FixedMoney subtract(FixedMoney other) {
+        checkCurrency(other);
+        long diffLo = lo - other.lo;
+        return new FixedMoney(subtractHigh(hi, lo, other.hi, other.lo), diffLo, currencyId);
+    }
+
+    public FixedMoney negate() {
+        long negLo = -lo;
+        return new FixedMoney(subtractHigh(0, 0, hi, lo), negLo, currencyId);
+    }
+
+    public int signum() {
+        return signum(hi, lo);
+    }
+
+    public boolean isPositive() {
+        return signum() > 0;
+    }
+
+    public boolean isNonNegative() {
+        return hi >= 0;
+    }
+
+    /**
+     * Compares amounts only, for checks against limits that apply to every currency.
+     */
+    public int compareAmountTo(FixedMoney other) {
+        return compare(hi, lo, other.hi, other.lo);
+    }
+
+    public Currency getCurrency() {
+        return CurrencyRegistry.currency(currencyId);
+    }
+
+    /**
+     * High word of the amount in units of 10^-18, as a 128-bit two's-complement integer; for
+     * callers that keep amounts in primitive arrays.
+     */
+    public long unitsHigh() {
+        return hi;
+    }
+
+    public long unitsLow() {
+        return lo;
+    }
+
+    /**
+     * {@link CurrencyRegistry} id of the currency: a cheap int to compare on hot paths.
+     */
+    public int getCurrencyId() {
+        return currencyId;
+    }
+
+    public boolean isSameCurrency(FixedMoney other) {
+        return currencyId == other.currencyId;
+    }
+
+    /**
+     * @return the amount with scale 18
+     */
+    public BigDecimal toBigDecimal() {
+        return toBigDecimal(hi, lo);
+    }
+
+    public Money toMoney() {
+        return new Money(toBigDecimal(), getCurrency());
+    }
+
+    /**
+     * Orders by amount; amounts in different currencies are not comparable.
+     */
+    @Override
+    public int compareTo(FixedMoney other) {
+        checkCurrency(other);
+        return compare(hi, lo, other.hi, other.lo);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof FixedMoney other
+                && hi == other.hi && lo == other.lo && currencyId == other.currencyId;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hi) * 961 + Long.hashCode(lo) * 31 + currencyId;
+    }
+
+    @Override
+    public String toString() {
+        return "FixedMoney(amount=" + toBigDecimal() + ", currency=" + getCurrency() + ")";
+    }
+
+    private void checkCurrency(FixedMoney other) {
+        if (currencyId != other.currencyId) {
+            throw new IllegalArgumentException("Currency mismatch: " + getCurrency() + " vs " + other.getCurrency());
+        }
+    }
+
+    private static int currencyId(Currency currency) {
+        return CurrencyRegistry.idOf(Objects.requireNonNull(currency, "Currency must not be null"));
+    }
+
+    // 128-bit helpers: the low word is always the plain (wrapping) sum or difference of the low
+    // words; these compute the high word with carry/borrow and reject signed overflow.
+
+    private static long addHigh(long hi1, long lo1, long hi2, long sumLo) {
+        long carry = Long.compareUnsigned(sumLo, lo1) < 0 ? 1 : 0;
+        long sumHi = hi1 + hi2 + carry;
+        if (((hi1 ^ sumHi) & (hi2 ^ sumHi)) < 0) {
+            throw new ArithmeticException("FixedMoney overflow");
+        }
+        return sumHi;
+    }
+
+    private static long subtractHigh(long hi1, long lo1, long hi2, long lo2) {
+        long borrow = Long.compareUnsigned(lo1, lo2) < 0 ? 1 : 0;
+        long diffHi = hi1 - hi2 - borrow;
+        if (((hi1 ^ hi2) & (hi1 ^ diffHi)) < 0) {
+            throw new ArithmeticException("FixedMoney overflow");
+        }
+        return diffHi;
+    }
+
+    private static int signum(long hi, long lo) {
+        if (hi != 0) {
+            return hi < 0 ? -1 : 1;
+        }
+        return lo == 0 ? 0 : 1;
+    }
+
+    private static int compare(long hi1, long lo1, long hi2, long lo2) {
+        int byHigh = Long.compare(hi1, hi2);
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(lo1, lo2);
+    }
+
+    private static long highBits(BigInteger unscaled) {
+        if (unscaled.bitLength() > 127) {
+            throw new ArithmeticException("Amount out of FixedMoney range: " + unscaled);
+        }
+        return unscaled.shiftRight(64).longValue();
+    }
+
+    private static BigDecimal toBigDecimal(long hi, long lo) {
+        if (hi == lo >> 63) {
+            return BigDecimal.valueOf(lo, SCALE);
+        }
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (hi >>> (56 - 8 * i));
+            bytes[8 + i] = (byte) (lo >>> (56 - 8 * i));
+        }
+        return new BigDecimal(new BigInteger(bytes), SCALE);
+    }
+
+    /**
+     * Mutable running total in a single currency-free 128-bit register. Not thread-safe;
+     * intended for summing legs or lines inside one method.
+     */
+    public static final class Accumulator {
+
+        private long hi;
+        private long lo;
+
+        public Accumulator() {
+        }
+
+        public Accumulator(FixedMoney initial) {
+            this.hi = initial.hi;
+            this.lo = initial.lo;
+        }
+
+        public Accumulator add(FixedMoney amount) {
+            long sumLo = lo + amount.lo;
+            hi = addHigh(hi, lo, amount.hi, sumLo);
+            lo = sumLo;
+            return this;
+        }
+
+        public Accumulator subtract(FixedMoney amount) {
+            long diffLo = lo - amount.lo;
+            hi = subtractHigh(hi, lo, amount.hi, amount.lo);
+            lo = diffLo;
+            return this;
+        }
+
+        /**
+         * Adds a decimal amount (rounded to 18 decimals like {@link Money}); avoids creating a
+         * {@code FixedMoney} when the value comes straight from a column.
+         */
+        public Accumulator add(BigDecimal amount) {
+            BigInteger unscaled = amount.setScale(SCALE, ROUNDING_MODE).unscaledValue();
+            long otherLo = unscaled.longValue();
+            long sumLo = lo + otherLo;
+            hi = addHigh(hi, lo, highBits(unscaled), sumLo);
+            lo = sumLo;
+            return this;
+        }
+
+        public Accumulator subtract(BigDecimal amount) {
+            BigInteger unscaled = amount.setScale(SCALE, ROUNDING_MODE).unscaledValue();
+            long otherLo = unscaled.longValue();
+            long diffLo = lo - otherLo;
+            hi = subtractHigh(hi, lo, highBits(unscaled), otherLo);
+            lo = diffLo;
+            return this;
+        }
+
+        public int signum() {
+            return FixedMoney.signum(hi, lo);
+        }
+
+        /**
+         * Compares the running total with {@code other}'s amount, ignoring its currency.
+         */
+        public int compareTo(FixedMoney other) {
+            return compare(hi, lo, other.hi, other.lo);
+        }
+
+        public boolean isEqualTo(Accumulator other) {
+            return hi == other.hi && lo == other.lo;
+        }
+
+        public BigDecimal toBigDecimal() {
+            return FixedMoney.toBigDecimal(hi, lo);
+        }
+
+        public FixedMoney toFixedMoney(Currency currency) {
+            return new FixedMoney(hi, lo, currencyId(currency));
+        }
+    }
+}
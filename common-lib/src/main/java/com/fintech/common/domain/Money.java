@@ -28,7 +28,7 @@ public class Money implements Serializable {
     }
 
     public static Money of(BigDecimal amount, String currencyCode) {
-        return new Money(amount, Currency.getInstance(currencyCode));
+        return new Money(amount, CurrencyRegistry.currency(currencyCode));
     }
 
     public static Money zero(Currency currency) {
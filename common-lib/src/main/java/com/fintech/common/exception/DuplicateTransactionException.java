@@ -2,17 +2,25 @@ package com.fintech.common.exception;
 
 public class DuplicateTransactionException extends LedgerException {
 
+    private final Long journalEntryId;
+
     public DuplicateTransactionException(String idempotencyKey) {
         super("DUPLICATE_TRANSACTION", 
             String.format("Transaction with idempotency key '%s' has already been processed", idempotencyKey));
+        this.journalEntryId = null;
     }
 
     public DuplicateTransactionException(String idempotencyKey, Long journalEntryId) {
         super("DUPLICATE_TRANSACTION", 
             String.format("Transaction with idempotency key '%s' was already processed as journal entry %d", 
                 idempotencyKey, journalEntryId));
+        this.journalEntryId = journalEntryId;
     }
-}
-
-
 
+    /**
+     * The entry created by the original request, if known.
+     */
+    public Long getJournalEntryId() {
+        return journalEntryId;
+    }
+}
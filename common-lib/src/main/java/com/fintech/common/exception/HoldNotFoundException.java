@@ -0,0 +1,8 @@
+package com.fintech.common.exception;
+
+public class HoldNotFoundException extends LedgerException {
+
+    public HoldNotFoundException(Long holdId) {
+        super("HOLD_NOT_FOUND", String.format("Hold with ID %d not found", holdId));
+    }
+}
@@ -0,0 +1,418 @@
+package com.fintech.common.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only record log backed by memory-mapped, preallocated segment files.
+ * <p>
+ * Record layout: {@code [int length][int crc32c][payload]}. Segments are zero-filled on
+ * creation, so a zero length marks the end of the written part of a segment. On open the
+ * log is scanned and a torn tail (short or checksum-failing record left by a crash) is
+ * discarded; corruption anywhere before the last segment is reported as an error.
+ * <p>
+ * Appends only copy into the mapping. A background flusher forces dirty ranges to disk
+ * every {@code flushInterval}, or as soon as someone is waiting in
+ * {@link #awaitDurable(long)}; all records appended while a flush is in progress are
+ * covered by the next one (group commit).
+ * <p>
+ * Positions are global byte offsets: a segment named {@code 00000000000000004096.log}
+ * holds positions {@code 4096 .. 4096 + segmentSize}.
+ */
+public final class AppendOnlyLog implements Closeable {
+
+    /** Bytes before each payload: length and checksum. */
+    public static final int HEADER_SIZE = 8;
+    private static final String SUFFIX = ".log";
+
+    @FunctionalInterface
+    public interface RecordConsumer {
+        /**
+         * @param position start position of the record
+         * @param payload  read-only view of the payload
+         */
+        void accept(long position, ByteBuffer payload);
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long flushIntervalNanos;
+    private final List<Segment> segments = new ArrayList<>();
+    private final CRC32C crc = new CRC32C();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushNeeded = lock.newCondition();
+    private final Condition durableAdvanced = lock.newCondition();
+    private final Thread flusher;
+
+    private Segment active;
+    private long writePosition;
+    private long durablePosition;
+    private boolean flushRequested;
+    private boolean closed;
+    private RuntimeException flushFailure;
+
+    private AppendOnlyLog(Path directory, int segmentSize, Duration flushInterval) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        Files.createDirectories(directory);
+        recover();
+        this.durablePosition = writePosition;
+        this.flusher = new Thread(this::flushLoop, "log-flusher-" + directory.getFileName());
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Opens (or creates) the log in {@code directory}. Existing segments keep their size;
+     * new segments are created with {@code segmentSize} bytes.
+     */
+    public static AppendOnlyLog open(Path directory, int segmentSize, Duration flushInterval) {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        try {
+            return new AppendOnlyLog(directory, segmentSize, flushInterval);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open log in " + directory, e);
+        }
+    }
+
+    /**
+     * Appends the remaining bytes of {@code payload}.
+     *
+     * @return the position just after the record, to be passed to {@link #awaitDurable(long)}
+     */
+    public long append(ByteBuffer payload) {
+        int length = payload.remaining();
+        if (length == 0 || length > segmentSize - HEADER_SIZE) {
+            throw new IllegalArgumentException("Invalid record length: " + length);
+        }
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Log is closed");
+            }
+            if (writePosition + HEADER_SIZE + length > active.end()) {
+                roll();
+            }
+            int offset = (int) (writePosition - active.base);
+            crc.reset();
+            crc.update(payload.duplicate());
+            active.buffer.put(offset + HEADER_SIZE, payload, payload.position(), length);
+            active.buffer.putInt(offset + 4, (int) crc.getValue());
+            active.buffer.putInt(offset, length);
+            writePosition += HEADER_SIZE + length;
+            return writePosition;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until every record ending at or before {@code position} has been forced to disk.
+     */
+    public void awaitDurable(long position) {
+        lock.lock();
+        try {
+            while (durablePosition < position) {
+                if (flushFailure != null) {
+                    throw new IllegalStateException("Log flush failed", flushFailure);
+                }
+                if (closed) {
+                    throw new IllegalStateException("Log is closed");
+                }
+                flushRequested = true;
+                flushNeeded.signal();
+                durableAdvanced.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replays every record written so far, oldest first.
+     */
+    public void replay(RecordConsumer consumer) {
+        List<Segment> snapshot;
+        long end;
+        lock.lock();
+        try {
+            snapshot = List.copyOf(segments);
+            end = writePosition;
+        } finally {
+            lock.unlock();
+        }
+        for (Segment segment : snapshot) {
+            int offset = 0;
+            while (segment.base + offset < end && offset + HEADER_SIZE <= segment.size) {
+                int length = segment.buffer.getInt(offset);
+                if (length == 0) {
+                    break;
+                }
+                consumer.accept(segment.base + offset,
+                        segment.buffer.slice(offset + HEADER_SIZE, length).asReadOnlyBuffer());
+                offset += HEADER_SIZE + length;
+            }
+        }
+    }
+
+    /**
+     * Deletes whole segments that lie entirely before {@code position}. The active segment
+     * is never deleted.
+     *
+     * @return number of segments deleted
+     */
+    public int deleteSegmentsBefore(long position) {
+        lock.lock();
+        try {
+            int deleted = 0;
+            while (segments.size() > 1 && segments.get(0).end() <= position) {
+                segments.remove(0).delete();
+                deleted++;
+            }
+            return deleted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long writePosition() {
+        lock.lock();
+        try {
+            return writePosition;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long durablePosition() {
+        lock.lock();
+        try {
+            return durablePosition;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int segmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes everything appended so far and releases the segment files.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            flushNeeded.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            for (Segment segment : segments) {
+                segment.close();
+            }
+            durableAdvanced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            List<Segment> snapshot;
+            long from;
+            long to;
+            boolean stopping;
+            lock.lock();
+            try {
+                if (!closed && !flushRequested) {
+                    flushNeeded.awaitNanos(flushIntervalNanos);
+                }
+                flushRequested = false;
+                stopping = closed;
+                from = durablePosition;
+                to = writePosition;
+                snapshot = to > from ? List.copyOf(segments) : List.of();
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            RuntimeException failure = null;
+            try {
+                for (Segment segment : snapshot) {
+                    segment.force(from, to);
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            lock.lock();
+            try {
+                if (failure == null) {
+                    durablePosition = to;
+                } else {
+                    flushFailure = failure;
+                }
+                durableAdvanced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (stopping || failure != null) {
+                return;
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long base = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+            segments.add(Segment.map(file, base, (int) Files.size(file)));
+        }
+        if (segments.isEmpty()) {
+            segments.add(Segment.create(directory, 0, segmentSize));
+        }
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            int tail = scan(segment);
+            boolean last = i == segments.size() - 1;
+            if (!last && tail + HEADER_SIZE <= segment.size && segment.buffer.getInt(tail) != 0) {
+                throw new IllegalStateException("Corrupt record at position " + (segment.base + tail)
+                        + " in " + segment.path + " followed by later segments");
+            }
+            if (last) {
+                // Discard a torn tail so the next append starts from clean, zeroed space
+                byte[] zeros = new byte[4096];
+                for (int offset = tail; offset < segment.size; offset += zeros.length) {
+                    segment.buffer.put(offset, zeros, 0, Math.min(zeros.length, segment.size - offset));
+                }
+                active = segment;
+                writePosition = segment.base + tail;
+            }
+        }
+    }
+
+    private int scan(Segment segment) {
+        int offset = 0;
+        CRC32C check = new CRC32C();
+        while (offset + HEADER_SIZE <= segment.size) {
+            int length = segment.buffer.getInt(offset);
+            if (length <= 0 || length > segment.size - offset - HEADER_SIZE) {
+                break;
+            }
+            check.reset();
+            check.update(segment.buffer.slice(offset + HEADER_SIZE, length));
+            if ((int) check.getValue() != segment.buffer.getInt(offset + 4)) {
+                break;
+            }
+            offset += HEADER_SIZE + length;
+        }
+        return offset;
+    }
+
+    private void roll() {
+        try {
+            active = Segment.create(directory, active.end(), segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create log segment", e);
+        }
+        segments.add(active);
+        writePosition = active.base;
+    }
+
+    private static final class Segment {
+        final Path path;
+        final long base;
+        final int size;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+
+        private Segment(Path path, long base, int size, FileChannel channel, MappedByteBuffer buffer) {
+            this.path = path;
+            this.base = base;
+            this.size = size;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path directory, long base, int size) throws IOException {
+            Path path = directory.resolve(String.format("%020d%s", base, SUFFIX));
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[1]), size - 1L);
+            }
+            return map(path, base, size);
+        }
+
+        static Segment map(Path path, long base, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(path, base, size, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        long end() {
+            return base + size;
+        }
+
+        void force(long from, long to) {
+            long start = Math.max(from, base);
+            long stop = Math.min(to, end());
+            if (stop > start) {
+                buffer.force((int) (start - base), (int) (stop - start));
+            }
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void delete() {
+            close();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to delete log segment " + path, e);
+            }
+        }
+    }
+}
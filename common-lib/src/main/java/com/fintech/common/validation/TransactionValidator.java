@@ -1,9 +1,11 @@
 package com.fintech.common.validation;
 
+import com.fintech.common.domain.FixedMoney;
 import com.fintech.common.domain.Money;
 import com.fintech.common.exception.InvalidTransactionException;
 
 import java.math.BigDecimal;
+import java.util.Currency;
 
 /**
  * Validates transaction amounts and business rules.
@@ -12,6 +14,8 @@ public class TransactionValidator {
 
     private static final BigDecimal MIN_AMOUNT = BigDecimal.ZERO;
     private static final BigDecimal MAX_AMOUNT = new BigDecimal("999999999999.99"); // ~1 trillion
+    // XXX is the ISO 4217 code for "no currency": the limit applies to every currency
+    private static final FixedMoney MAX_FIXED_AMOUNT = FixedMoney.of(MAX_AMOUNT, Currency.getInstance("XXX"));
 
     /**
      * Validates transaction amount is within acceptable bounds.
@@ -43,6 +47,27 @@ public class TransactionValidator {
         }
     }
 
+    /**
+     * Same bounds as {@link #validateAmount(Money)} without touching {@code BigDecimal}
+     * unless the amount is rejected.
+     */
+    public static void validateAmount(FixedMoney amount) {
+        if (amount == null) {
+            throw new InvalidTransactionException("Transaction amount cannot be null");
+        }
+
+        if (!amount.isPositive()) {
+            throw new InvalidTransactionException(
+                String.format("Transaction amount must be greater than zero, got: %s", amount.toBigDecimal()));
+        }
+
+        if (amount.compareAmountTo(MAX_FIXED_AMOUNT) > 0) {
+            throw new InvalidTransactionException(
+                String.format("Transaction amount exceeds maximum allowed (%s), got: %s",
+                    MAX_AMOUNT, amount.toBigDecimal()));
+        }
+    }
+
     /**
      * Validates description is not empty or malicious.
      */
@@ -0,0 +1,48 @@
+package com.fintech.common.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurrencyRegistryTest {
+
+    @Test
+    void testIdsAreDenseAndRoundTrip() {
+        for (int id = 0; id < CurrencyRegistry.size(); id++) {
+            String code = CurrencyRegistry.code(id);
+            assertEquals(id, CurrencyRegistry.idOf(code));
+            assertSame(Currency.getInstance(code), CurrencyRegistry.currency(id));
+        }
+    }
+
+    @Test
+    void testMinorUnits() {
+        assertEquals(2, CurrencyRegistry.minorUnits(CurrencyRegistry.idOf("USD")));
+        assertEquals(0, CurrencyRegistry.minorUnits(CurrencyRegistry.idOf("JPY")));
+        assertEquals(3, CurrencyRegistry.minorUnits(CurrencyRegistry.idOf("BHD")));
+        assertEquals(0, CurrencyRegistry.minorUnits(CurrencyRegistry.idOf("XAU")));
+    }
+
+    @Test
+    void testThreeByteEncoding() {
+        int eur = CurrencyRegistry.idOf("EUR");
+        ByteBuffer buffer = CurrencyRegistry.write(ByteBuffer.allocate(3), eur).flip();
+
+        assertArrayEquals(new byte[] {'E', 'U', 'R'}, buffer.duplicate().array());
+        assertEquals(eur, CurrencyRegistry.read(buffer));
+        assertEquals(0x455552, CurrencyRegistry.pack(eur));
+        assertEquals(eur, CurrencyRegistry.unpack(0x455552));
+    }
+
+    @Test
+    void testUnknownCodesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> CurrencyRegistry.idOf("ZZZ"));
+        assertThrows(IllegalArgumentException.class, () -> CurrencyRegistry.idOf("usd"));
+        assertThrows(IllegalArgumentException.class, () -> CurrencyRegistry.idOf("US"));
+        assertThrows(IllegalArgumentException.class, () -> CurrencyRegistry.unpack(0));
+        assertThrows(IllegalArgumentException.class, () -> CurrencyRegistry.currency(-1));
+    }
+}
@@ -0,0 +1,81 @@
+package com.fintech.common.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FixedMoneyTest {
+
+    private final Currency USD = Currency.getInstance("USD");
+    private final Currency EUR = Currency.getInstance("EUR");
+
+    @Test
+    void testRoundTripMatchesMoney() {
+        for (String value : new String[]{"0", "100.1234567890123456789", "-0.000000000000000001",
+                "999999999999.999999999999999999", "123456789012345678901.5"}) {
+            Money money = new Money(new BigDecimal(value), USD);
+            FixedMoney fixed = FixedMoney.of(money);
+
+            assertEquals(money.getAmount(), fixed.toBigDecimal());
+            assertEquals(money, fixed.toMoney());
+        }
+    }
+
+    @Test
+    void testArithmeticCarriesAcrossWords() {
+        FixedMoney large = FixedMoney.of(new BigDecimal("50.000000000000000001"), USD); // > 2^64 units
+        FixedMoney small = FixedMoney.of(new BigDecimal("9.999999999999999999"), USD);
+
+        assertEquals(new BigDecimal("60.000000000000000000"), large.add(small).toBigDecimal());
+        assertEquals(new BigDecimal("40.000000000000000002"), large.subtract(small).toBigDecimal());
+        assertEquals(new BigDecimal("-40.000000000000000002"), small.subtract(large).toBigDecimal());
+        assertEquals(-1, small.subtract(large).signum());
+        assertTrue(large.compareTo(small) > 0);
+        assertEquals(large, small.add(large).subtract(small));
+    }
+
+    @Test
+    void testUnitWordsRoundTrip() {
+        FixedMoney amount = FixedMoney.of(new BigDecimal("-123456789012.000000000000000042"), USD);
+
+        FixedMoney rebuilt = FixedMoney.ofUnits(amount.unitsHigh(), amount.unitsLow(), USD);
+
+        assertEquals(amount, rebuilt);
+    }
+
+    @Test
+    void testOverflowIsRejected() {
+        BigDecimal max = new BigDecimal(BigInteger.ONE.shiftLeft(127).subtract(BigInteger.ONE), 18);
+        FixedMoney top = FixedMoney.of(max, USD);
+        FixedMoney unit = FixedMoney.ofUnits(1, USD);
+
+        assertThrows(ArithmeticException.class, () -> top.add(unit));
+        assertThrows(ArithmeticException.class, () -> top.negate().subtract(unit).subtract(unit));
+        assertThrows(ArithmeticException.class, () -> FixedMoney.of(max.add(max), USD));
+    }
+
+    @Test
+    void testCurrencyMismatch() {
+        FixedMoney dollars = FixedMoney.of(BigDecimal.TEN, USD);
+        FixedMoney euros = FixedMoney.of(BigDecimal.TEN, EUR);
+
+        assertFalse(dollars.isSameCurrency(euros));
+        assertNotEquals(dollars, euros);
+        assertThrows(IllegalArgumentException.class, () -> dollars.add(euros));
+        assertEquals(EUR, euros.getCurrency());
+    }
+
+    @Test
+    void testAccumulatorSumsWithoutCurrency() {
+        FixedMoney.Accumulator total = new FixedMoney.Accumulator(FixedMoney.of(new BigDecimal("10.50"), USD));
+        total.add(new BigDecimal("0.25")).subtract(FixedMoney.of(new BigDecimal("20"), USD));
+
+        assertEquals(-1, total.signum());
+        assertEquals(new BigDecimal("-9.250000000000000000"), total.toBigDecimal());
+        assertTrue(total.isEqualTo(new FixedMoney.Accumulator().subtract(new BigDecimal("9.25"))));
+    }
+}
@@ -0,0 +1,118 @@
+package com.fintech.common.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppendOnlyLogTest {
+
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecordsSurviveReopenAcrossSegments() {
+        try (AppendOnlyLog log = AppendOnlyLog.open(directory, 64, FLUSH_INTERVAL)) {
+            for (int i = 0; i < 20; i++) {
+                log.append(payload("record-" + i));
+            }
+            assertTrue(log.segmentCount() > 1);
+        }
+
+        try (AppendOnlyLog log = AppendOnlyLog.open(directory, 64, FLUSH_INTERVAL)) {
+            List<String> records = readAll(log);
+            assertEquals(20, records.size());
+            assertEquals("record-0", records.get(0));
+            assertEquals("record-19", records.get(19));
+        }
+    }
+
+    @Test
+    void testTornTailIsDiscardedAndOverwritten() throws IOException {
+        long lastRecordStart;
+        try (AppendOnlyLog log = AppendOnlyLog.open(directory, 4096, FLUSH_INTERVAL)) {
+            log.append(payload("first"));
+            lastRecordStart = log.append(payload("second"));
+            log.append(payload("third"));
+        }
+        // Flip a payload byte of the last record, as if the crash interrupted its write
+        try (FileChannel channel = FileChannel.open(singleSegment(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] {'X'}), lastRecordStart + 8);
+        }
+
+        try (AppendOnlyLog log = AppendOnlyLog.open(directory, 4096, FLUSH_INTERVAL)) {
+            assertEquals(List.of("first", "second"), readAll(log));
+            assertEquals(lastRecordStart, log.writePosition());
+            log.append(payload("fourth"));
+        }
+        try (AppendOnlyLog log = AppendOnlyLog.open(directory, 4096, FLUSH_INTERVAL)) {
+            assertEquals(List.of("first", "second", "fourth"), readAll(log));
+        }
+    }
+
+    @Test
+    void testAwaitDurableWaitsForFlush() {
+        try (AppendOnlyLog log = AppendOnlyLog.open(directory, 4096, Duration.ofHours(1))) {
+            long position = log.append(payload("durable"));
+            log.awaitDurable(position);
+            assertTrue(log.durablePosition() >= position);
+        }
+    }
+
+    @Test
+    void testDeleteSegmentsBeforeKeepsActiveSegment() {
+        try (AppendOnlyLog log = AppendOnlyLog.open(directory, 64, FLUSH_INTERVAL)) {
+            for (int i = 0; i < 20; i++) {
+                log.append(payload("record-" + i));
+            }
+            int segments = log.segmentCount();
+
+            assertEquals(segments - 1, log.deleteSegmentsBefore(Long.MAX_VALUE));
+            assertEquals(1, log.segmentCount());
+            List<String> remaining = readAll(log);
+            assertTrue(remaining.size() < 20);
+            assertEquals("record-19", remaining.get(remaining.size() - 1));
+        }
+    }
+
+    @Test
+    void testRejectsRecordLargerThanSegment() {
+        try (AppendOnlyLog log = AppendOnlyLog.open(directory, 64, FLUSH_INTERVAL)) {
+            assertThrows(IllegalArgumentException.class, () -> log.append(ByteBuffer.allocate(57)));
+        }
+    }
+
+    private Path singleSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.findFirst().orElseThrow();
+        }
+    }
+
+    private static ByteBuffer payload(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String> readAll(AppendOnlyLog log) {
+        List<String> records = new ArrayList<>();
+        log.replay((position, payload) -> {
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            records.add(new String(bytes, StandardCharsets.UTF_8));
+        });
+        return records;
+    }
+}
@@ -3,6 +3,11 @@ plugins {
     id("io.spring.dependency-management") version "1.1.4"
 }
 
+// Log4j2 instead of Logback: async loggers on a pre-allocated ring buffer, JSON template layout
+configurations.all {
+    exclude(group = "org.springframework.boot", module = "spring-boot-starter-logging")
+}
+
 dependencies {
     implementation(project(":common-lib"))
     implementation("jakarta.persistence:jakarta.persistence-api:3.1.0")
@@ -17,6 +22,9 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     implementation("org.springframework.boot:spring-boot-starter-data-redis")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-log4j2")
+    implementation("org.apache.logging.log4j:log4j-layout-template-json")
+    runtimeOnly("com.lmax:disruptor:3.4.4")
     
     // PostgreSQL Driver
     runtimeOnly("org.postgresql:postgresql")
@@ -1,6 +1,7 @@
 package com.fintech.ledger.core.audit;
 
 import com.fintech.common.audit.Auditable;
+import com.fintech.ledger.core.metrics.LedgerMetrics;
 import com.fintech.ledger.core.repository.AuditLogRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +26,7 @@ import java.util.UUID;
 public class AuditAspect {
 
     private final AuditLogRepository auditLogRepository;
+    private final LedgerMetrics metrics;
 
     @Around("@annotation(auditable)")
     public Object auditMethod(ProceedingJoinPoint joinPoint, Auditable auditable) throws Throwable {
@@ -41,7 +43,11 @@ public class AuditAspect {
             throw t;
         } finally {
             long duration = System.currentTimeMillis() - startTime;
+            long auditStart = System.nanoTime();
             logAudit(joinPoint, auditable, result, error, duration, traceId);
+            if ("POST_TRANSACTION".equals(auditable.action())) {
+                metrics.recordPhase(LedgerMetrics.Phase.AUDIT, System.nanoTime() - auditStart);
+            }
         }
     }
 
@@ -65,11 +71,12 @@ public class AuditAspect {
             ipAddress = request.getRemoteAddr();
         }
 
-        // Log to console
-        log.info(
-                "AUDIT LOG -> Action: [{}], User: [{}], IP: [{}], Args: [{}], Result: [{}], Error: [{}], Duration: [{}ms], TraceId: [{}]",
-                action, user, ipAddress, Arrays.toString(args), result, error != null ? error.getMessage() : "SUCCESS",
-                duration, traceId);
+        // The audit table is the record; the log line only points to it. Guarded: six
+        // arguments would otherwise allocate their array even with DEBUG off
+        if (log.isDebugEnabled()) {
+            log.debug("Audit {} by {} from {}: {} in {}ms, trace {}", action, user, ipAddress,
+                    error != null ? error.getClass().getSimpleName() : "SUCCESS", duration, traceId);
+        }
 
         // Persist to database
         try {
@@ -0,0 +1,202 @@
+package com.fintech.ledger.core.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps concurrent API requests at a limit that follows the posting latency, and rejects
+ * requests over it at once rather than letting them queue into the transaction timeout.
+ * <p>
+ * The limit is adjusted with a latency gradient: every {@code window-size} posting samples,
+ * their mean latency is compared with a long-running average. When the recent latency rises
+ * above the average (with some tolerance), requests are queueing in the database, and the
+ * limit shrinks in proportion; when it does not, the limit grows by about its square root.
+ * The limit stays between {@code min-limit} and the {@link ConnectionAdmissionLimiter}'s
+ * capacity plus {@code ledger.admission.max-queued}, and does not grow while the traffic
+ * uses less than half of it.
+ * <p>
+ * The two limiters split the work: this one sheds load, bounding the requests that are
+ * running or waiting for a connection slot, while the {@link ConnectionAdmissionLimiter}
+ * bounds the ones running and queues the rest fairly for up to its acquire timeout. Only
+ * while the limit is above the connection capacity can requests queue there; once latency
+ * has pushed it below, excess requests are rejected at once.
+ * <p>
+ * {@link Priority#NORMAL} requests only get {@code 1 - critical-reserve} of the limit, so
+ * {@link Priority#CRITICAL} ones (admin and reconciliation) still get in while postings
+ * saturate it.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority {
+        NORMAL,
+        /** Admin and reconciliation requests; may use the reserved part of the limit. */
+        CRITICAL
+    }
+
+    /** Recent latency may be this much above the long-run average before the limit shrinks. */
+    private static final double TOLERANCE = 1.5;
+    /** How far each adjustment moves the limit toward the computed one; a window is already a mean. */
+    private static final double SMOOTHING = 0.5;
+    /** Windows averaged into the long-run latency. */
+    private static final int LONG_WINDOW = 30;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int windowSize;
+    private final double criticalReserve;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Guarded by this
+    private long windowNanos;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private double longRttNanos;
+
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+    private final Counter limitIncreases;
+    private final Counter limitDecreases;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(
+            ConnectionAdmissionLimiter admissionLimiter,
+            @Value("${ledger.admission.max-queued:${spring.datasource.hikari.maximum-pool-size:10}}") int maxQueued,
+            @Value("${ledger.admission.adaptive.min-limit:2}") int minLimit,
+            @Value("${ledger.admission.adaptive.window-size:20}") int windowSize,
+            @Value("${ledger.admission.adaptive.critical-reserve:0.2}") double criticalReserve,
+            MeterRegistry meterRegistry) {
+        this(minLimit, admissionLimiter.getMaxConcurrent() + maxQueued, windowSize, criticalReserve, meterRegistry);
+    }
+
+    AdaptiveConcurrencyLimiter(int minLimit, int maxLimit, int windowSize, double criticalReserve,
+                               MeterRegistry meterRegistry) {
+        if (minLimit <= 0 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("minLimit must be in 1.." + maxLimit + ": " + minLimit);
+        }
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+        }
+        if (criticalReserve < 0 || criticalReserve >= 1) {
+            throw new IllegalArgumentException("criticalReserve must be in [0, 1): " + criticalReserve);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowSize = windowSize;
+        this.criticalReserve = criticalReserve;
+        this.limit = maxLimit;
+
+        Gauge.builder("ledger.admission.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("ledger.admission.in-flight", inFlight, AtomicInteger::get)
+                .description("API requests admitted and not yet finished")
+                .register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            rejected.put(priority, Counter.builder("ledger.admission.rejected")
+                    .description("API requests rejected over the concurrency limit")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.limitIncreases = Counter.builder("ledger.admission.limit.changes")
+                .description("Adjustments of the concurrency limit")
+                .tag("direction", "up")
+                .register(meterRegistry);
+        this.limitDecreases = Counter.builder("ledger.admission.limit.changes")
+                .description("Adjustments of the concurrency limit")
+                .tag("direction", "down")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits the request if the requests in flight are under the limit for its priority.
+     * Never waits. Every successful call must be paired with {@link #release(long)} or
+     * {@link #releaseUnmeasured()}.
+     */
+    public boolean tryAcquire(Priority priority) {
+        double cap = priority == Priority.CRITICAL ? limit : limit * (1 - criticalReserve);
+        int allowed = Math.max(1, (int) cap);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejected.get(priority).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Finishes a request and feeds its latency into the limit.
+     */
+    public void release(long latencyNanos) {
+        int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            windowNanos += latencyNanos;
+            windowMaxInFlight = Math.max(windowMaxInFlight, current);
+            if (++windowSamples >= windowSize) {
+                adjust(windowNanos / (double) windowSamples, windowMaxInFlight);
+                windowNanos = 0;
+                windowSamples = 0;
+                windowMaxInFlight = 0;
+            }
+        }
+    }
+
+    /**
+     * Finishes a request whose latency says nothing about load (not a posting, or a client
+     * error).
+     */
+    public void releaseUnmeasured() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    // Guarded by this
+    private void adjust(double shortRttNanos, int maxInFlight) {
+        if (longRttNanos == 0) {
+            longRttNanos = shortRttNanos;
+        } else {
+            longRttNanos += (shortRttNanos - longRttNanos) / LONG_WINDOW;
+            // After a slow period the average lags behind; let it come down quickly
+            if (longRttNanos > 2 * shortRttNanos) {
+                longRttNanos *= 0.95;
+            }
+        }
+
+        double current = limit;
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / shortRttNanos));
+        if (gradient == 1.0 && maxInFlight < current / 2) {
+            // Traffic is not using the limit, so a steady latency says nothing about raising it
+            return;
+        }
+        double target = gradient < 1.0 ? current * gradient : current + Math.sqrt(current);
+        double next = Math.max(minLimit, Math.min(maxLimit, current * (1 - SMOOTHING) + target * SMOOTHING));
+        if ((int) next != (int) current) {
+            (next > current ? limitIncreases : limitDecreases).increment();
+            log.debug("Concurrency limit {} -> {} (latency {}us, long-run {}us)",
+                    (int) current, (int) next, (long) shortRttNanos / 1_000, (long) longRttNanos / 1_000);
+        }
+        limit = next;
+    }
+}
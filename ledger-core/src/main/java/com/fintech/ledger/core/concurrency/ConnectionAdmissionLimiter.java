@@ -0,0 +1,63 @@
+package com.fintech.ledger.core.concurrency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many requests run against the database at once, sized to the connection pool.
+ * <p>
+ * With virtual threads every request gets its own thread, so nothing upstream bounds
+ * concurrency any more; thousands of requests would otherwise queue inside HikariCP and
+ * fail with connection timeouts all at once. Waiting here instead is cheap (a parked virtual
+ * thread), fair, and bounded by {@code acquireTimeout}, after which the caller should shed
+ * the request.
+ */
+@Component
+public class ConnectionAdmissionLimiter {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutNanos;
+
+    public ConnectionAdmissionLimiter(
+            @Value("${ledger.admission.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}")
+            int maxConcurrent,
+            @Value("${ledger.admission.acquire-timeout:PT1S}") Duration acquireTimeout) {
+        if (maxConcurrent <= 0) {
+            throw new IllegalArgumentException("maxConcurrent must be positive: " + maxConcurrent);
+        }
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    /**
+     * Waits up to the acquire timeout for a slot. Every successful call must be paired with
+     * {@link #release()}.
+     *
+     * @return {@code false} if no slot freed up in time
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        return permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getInFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getQueued() {
+        return permits.getQueueLength();
+    }
+}
@@ -0,0 +1,139 @@
+package com.fintech.ledger.core.concurrency;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded multi-producer, single-consumer ring of preallocated, reused slots.
+ * <p>
+ * A producer {@link #claim() claims} a sequence with one atomic increment, fills the slot
+ * for it and {@link #publish(long) publishes} it; the consumer processes published slots in
+ * sequence order without taking a lock. Slots are mutable objects created once, so a
+ * message costs no allocation in the ring itself. When the ring is full, producers wait
+ * for the consumer to free a slot.
+ *
+ * @param <E> slot type
+ */
+public final class RingBuffer<E> {
+
+    @FunctionalInterface
+    public interface Handler<E> {
+        /**
+         * @param endOfBatch whether this is the last slot currently published
+         */
+        void onSlot(E slot, long sequence, boolean endOfBatch);
+    }
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    private final Object[] slots;
+    private final int mask;
+    /** Sequence last published into each slot, so the consumer can tell a slot is ready. */
+    private final AtomicLongArray published;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private volatile long consumed = -1;
+
+    public RingBuffer(int capacity, Supplier<E> slotFactory) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new Object[capacity];
+        this.mask = capacity - 1;
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = slotFactory.get();
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * Claims the next sequence, waiting while the ring is full. The slot must then be
+     * filled through {@link #get(long)} and published, even if filling it fails.
+     */
+    public long claim() {
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - slots.length;
+        for (int attempt = 0; wrapPoint > consumed; attempt++) {
+            backOff(attempt);
+        }
+        return sequence;
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) slots[(int) sequence & mask];
+    }
+
+    public void publish(long sequence) {
+        published.setRelease((int) sequence & mask, sequence);
+    }
+
+    /**
+     * Hands every slot published so far, in sequence order, to {@code handler}; only the
+     * consumer thread may call this. A slot is reused as soon as the handler returns.
+     *
+     * @return number of slots processed
+     */
+    public int drain(Handler<E> handler) {
+        long next = consumed + 1;
+        long available = next;
+        while (published.getAcquire((int) available & mask) == available) {
+            available++;
+        }
+        for (long sequence = next; sequence < available; sequence++) {
+            try {
+                handler.onSlot(get(sequence), sequence, sequence == available - 1);
+            } finally {
+                consumed = sequence;
+            }
+        }
+        return (int) (available - next);
+    }
+
+    /**
+     * Waits for at least one published slot, then drains as {@link #drain(Handler)} does.
+     *
+     * @param running checked while waiting; the wait ends once it returns {@code false}
+     * @return number of slots processed; 0 only if {@code running} turned false
+     */
+    public int awaitAndDrain(Handler<E> handler, BooleanSupplier running) {
+        for (int attempt = 0; running.getAsBoolean(); attempt++) {
+            int drained = drain(handler);
+            if (drained > 0) {
+                return drained;
+            }
+            backOff(attempt);
+        }
+        return 0;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Published or claimed slots the consumer has not finished with.
+     */
+    public long backlog() {
+        return claimed.get() - consumed;
+    }
+
+    /**
+     * Spins briefly, then yields, then parks: cheap when the other side is about to catch up,
+     * without burning a core when the ring stays idle or full.
+     */
+    private static void backOff(int attempt) {
+        if (attempt < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else if (attempt < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+}
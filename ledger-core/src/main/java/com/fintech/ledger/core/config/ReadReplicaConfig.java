@@ -0,0 +1,67 @@
+package com.fintech.ledger.core.config;
+
+import com.fintech.ledger.core.replica.ReplicaRoutingDataSource;
+import com.fintech.ledger.core.replica.ReplicationLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read replica for {@code ledger.replica.enabled=true}. Replaces the auto-configured
+ * {@code DataSource} with one that routes between the {@code spring.datasource} primary and the
+ * {@code ledger.replica.datasource} pool; see {@link ReplicaRoutingDataSource}. Flyway and all
+ * writes keep using the primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ledger.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("ledger.replica.datasource")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicationLagMonitor replicationLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                                       @Qualifier("replicaDataSource") DataSource replica,
+                                                       MeterRegistry meterRegistry) {
+        return new ReplicationLagMonitor(primary, replica, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicationLagMonitor monitor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${ledger.replica.max-lag:PT5S}") Duration maxLag,
+                                 @Value("${ledger.replica.lag-check-interval-ms:1000}") long checkIntervalMs) {
+        // A few missed samples in a row and the replica is treated as gone
+        Duration maxSampleAge = Duration.ofMillis(checkIntervalMs * 3);
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, monitor, maxLag, maxSampleAge, meterRegistry));
+    }
+}
@@ -0,0 +1,97 @@
+package com.fintech.ledger.core.config;
+
+import com.fintech.ledger.core.sharding.GlobalIdGenerator;
+import com.fintech.ledger.core.sharding.LedgerShard;
+import com.fintech.ledger.core.sharding.ShardRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shard databases for {@code ledger.posting.mode=sharded}. Each shard gets its own pool and
+ * persistence unit, migrated with the same Flyway scripts as the primary database unless
+ * {@code ledger.sharding.flyway-enabled} is off.
+ */
+@Configuration
+@ConditionalOnProperty(name = "ledger.posting.mode", havingValue = "sharded")
+@EnableConfigurationProperties(ShardingConfig.ShardingProperties.class)
+@Slf4j
+public class ShardingConfig {
+
+    @ConfigurationProperties(prefix = "ledger.sharding")
+    @Getter
+    @Setter
+    public static class ShardingProperties {
+        /** Distinguishes ledger nodes in generated ids; unique per node. */
+        private int nodeId;
+        private int virtualNodes = 128;
+        private int poolSize = 10;
+        private boolean flywayEnabled = true;
+        /** {@code hibernate.hbm2ddl.auto} for the shard persistence units. */
+        private String ddlAuto = "validate";
+        private List<Shard> shards = new ArrayList<>();
+
+        @Getter
+        @Setter
+        public static class Shard {
+            private String name;
+            private String url;
+            private String username;
+            private String password;
+        }
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardRouter shardRouter(ShardingProperties properties, JpaProperties jpaProperties,
+                                   HibernateProperties hibernateProperties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException(
+                    "ledger.posting.mode=sharded needs at least one ledger.sharding.shards entry");
+        }
+        // Same settings (naming strategy, batching) as the primary persistence unit
+        Map<String, Object> shardJpaProperties = new HashMap<>(hibernateProperties.determineHibernateProperties(
+                jpaProperties.getProperties(), new HibernateSettings()));
+        shardJpaProperties.put("hibernate.hbm2ddl.auto", properties.getDdlAuto());
+
+        List<LedgerShard> shards = new ArrayList<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + shard.getName());
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setMaximumPoolSize(properties.getPoolSize());
+            if (properties.isFlywayEnabled()) {
+                Flyway.configure()
+                        .dataSource(dataSource)
+                        .locations("classpath:db/migration")
+                        .baselineOnMigrate(true)
+                        .load()
+                        .migrate();
+            }
+            shards.add(LedgerShard.open(shard.getName(), dataSource, shardJpaProperties));
+            log.info("Shard {} opened at {}", shard.getName(), shard.getUrl());
+        }
+        return new ShardRouter(shards, properties.getVirtualNodes());
+    }
+
+    @Bean
+    public GlobalIdGenerator globalIdGenerator(ShardingProperties properties) {
+        return new GlobalIdGenerator(properties.getNodeId());
+    }
+}
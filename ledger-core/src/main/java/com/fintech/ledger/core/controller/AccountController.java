@@ -4,11 +4,17 @@ import com.fintech.common.api.ApiResponse;
 import com.fintech.common.domain.Money;
 import com.fintech.ledger.core.domain.Account;
 import com.fintech.ledger.core.dto.request.CreateAccountRequest;
+import com.fintech.ledger.core.dto.response.AccountBalanceResponse;
+import com.fintech.ledger.core.dto.response.AccountHistoryResponse;
 import com.fintech.ledger.core.dto.response.AccountResponse;
+import com.fintech.ledger.core.replica.ReadFromReplica;
 import com.fintech.ledger.core.repository.AccountRepository;
+import com.fintech.ledger.core.service.AccountReadModel;
+import com.fintech.ledger.core.service.ShardedLedger;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
@@ -19,20 +25,31 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/v1/accounts")
 @RequiredArgsConstructor
 @Slf4j
+@ReadFromReplica
 public class AccountController {
 
     private final AccountRepository accountRepository;
+    /** Present only with {@code ledger.posting.mode=sharded}; accounts then live on the shards. */
+    private final ObjectProvider<ShardedLedger> shardedLedger;
+    /** Present only with {@code ledger.read-model.enabled}. */
+    private final ObjectProvider<AccountReadModel> readModel;
 
     @PostMapping
     public ResponseEntity<ApiResponse<AccountResponse>> createAccount(
             @Valid @RequestBody CreateAccountRequest request) {
         log.info("Creating account: {}", request.getName());
-        
-        Account account = new Account();
-        account.setName(request.getName());
-        account.setBalance(Money.of(request.getInitialBalance(), request.getCurrencyCode()));
-        
-        Account saved = accountRepository.save(account);
+        Money initialBalance = Money.of(request.getInitialBalance(), request.getCurrencyCode());
+
+        Account saved;
+        ShardedLedger sharded = shardedLedger.getIfAvailable();
+        if (sharded != null) {
+            saved = sharded.createAccount(request.getName(), initialBalance);
+        } else {
+            Account account = new Account();
+            account.setName(request.getName());
+            account.setBalance(initialBalance);
+            saved = accountRepository.save(account);
+        }
         AccountResponse response = AccountResponse.from(saved);
         
         return ResponseEntity.status(HttpStatus.CREATED)
@@ -41,7 +58,8 @@ public class AccountController {
 
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<AccountResponse>> getAccount(@PathVariable Long id) {
-        Account account = accountRepository.findById(id)
+        ShardedLedger sharded = shardedLedger.getIfAvailable();
+        Account account = sharded != null ? sharded.getAccount(id) : accountRepository.findById(id)
             .orElseThrow(() -> new com.fintech.common.exception.AccountNotFoundException(id));
         
         return ResponseEntity.ok(ApiResponse.success(AccountResponse.from(account)));
@@ -54,7 +72,28 @@ public class AccountController {
         
         return ResponseEntity.ok(ApiResponse.success(accounts));
     }
-}
 
+    @GetMapping("/{id}/balance")
+    public ResponseEntity<ApiResponse<AccountBalanceResponse>> getBalance(@PathVariable Long id) {
+        AccountBalanceResponse balance = AccountBalanceResponse.from(requireReadModel().getBalance(id));
+
+        return ResponseEntity.ok(ApiResponse.success(balance));
+    }
+
+    @GetMapping("/{id}/history")
+    public ResponseEntity<ApiResponse<Page<AccountHistoryResponse>>> getHistory(@PathVariable Long id,
+                                                                                Pageable pageable) {
+        Page<AccountHistoryResponse> history = requireReadModel().getHistory(id, pageable)
+            .map(AccountHistoryResponse::from);
 
+        return ResponseEntity.ok(ApiResponse.success(history));
+    }
 
+    private AccountReadModel requireReadModel() {
+        AccountReadModel model = readModel.getIfAvailable();
+        if (model == null) {
+            throw new IllegalStateException("Balance and history queries need ledger.read-model.enabled=true");
+        }
+        return model;
+    }
+}
@@ -0,0 +1,64 @@
+package com.fintech.ledger.core.controller;
+
+import com.fintech.common.api.ApiResponse;
+import com.fintech.common.domain.Money;
+import com.fintech.ledger.core.domain.AccountHold;
+import com.fintech.ledger.core.dto.request.AuthorizeHoldRequest;
+import com.fintech.ledger.core.dto.request.CaptureHoldRequest;
+import com.fintech.ledger.core.dto.response.HoldResponse;
+import com.fintech.ledger.core.service.HoldService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/v1/holds")
+@RequiredArgsConstructor
+@Slf4j
+public class HoldController {
+
+    private final HoldService holdService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<HoldResponse>> authorize(@Valid @RequestBody AuthorizeHoldRequest request) {
+        log.debug("Authorizing hold {} on account {}", request.getReference(), request.getAccountId());
+
+        Duration ttl = request.getTtlSeconds() != null ? Duration.ofSeconds(request.getTtlSeconds()) : null;
+        AccountHold hold = holdService.authorize(
+            request.getReference(),
+            request.getAccountId(),
+            Money.of(request.getAmount(), request.getCurrencyCode()),
+            ttl
+        );
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .body(ApiResponse.success(HoldResponse.from(hold)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<HoldResponse>> getHold(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(HoldResponse.from(holdService.getHold(id))));
+    }
+
+    @PostMapping("/{id}/capture")
+    public ResponseEntity<ApiResponse<HoldResponse>> capture(
+            @PathVariable Long id,
+            @Valid @RequestBody CaptureHoldRequest request) {
+        log.debug("Capturing hold {} to account {}", id, request.getDestinationAccountId());
+
+        AccountHold hold = holdService.capture(id, request.getDestinationAccountId(), request.getAmount());
+        return ResponseEntity.ok(ApiResponse.success(HoldResponse.from(hold)));
+    }
+
+    @PostMapping("/{id}/void")
+    public ResponseEntity<ApiResponse<HoldResponse>> voidHold(@PathVariable Long id) {
+        log.debug("Voiding hold {}", id);
+
+        return ResponseEntity.ok(ApiResponse.success(HoldResponse.from(holdService.voidHold(id))));
+    }
+}
@@ -6,15 +6,20 @@ import com.fintech.common.domain.Money;
 import com.fintech.ledger.core.domain.TransactionLine;
 import com.fintech.ledger.core.dto.request.PostTransactionRequest;
 import com.fintech.ledger.core.dto.response.TransactionResponse;
+import com.fintech.ledger.core.service.BatchPostingService;
 import com.fintech.ledger.core.service.TransactionEngine;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -26,13 +31,14 @@ import java.util.stream.Collectors;
 public class TransactionController {
 
     private final TransactionEngine transactionEngine;
+    private final BatchPostingService batchPostingService;
 
     @PostMapping
     public ResponseEntity<ApiResponse<TransactionResponse>> postTransaction(
             @Valid @RequestBody PostTransactionRequest request,
             Authentication authentication) {
         
-        log.info("Posting transaction: {}", request.getDescription());
+        log.debug("Posting transaction: {}", request.getDescription());
         
         // Use authenticated user ID if not provided
         String userId = request.getUserId();
@@ -68,7 +74,19 @@ public class TransactionController {
         return ResponseEntity.status(HttpStatus.CREATED)
             .body(ApiResponse.success(response));
     }
-}
-
-
 
+    /**
+     * Posts a JSON array of transactions (the same shape as the single-posting body). The body
+     * is read and applied incrementally, and the response is a JSON array with one result per
+     * item, streamed as chunks commit. Items fail individually; the status is 200 as long as
+     * the body is an array.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public void postBatch(HttpServletRequest request, HttpServletResponse response,
+                          Authentication authentication) throws IOException {
+        String userId = authentication != null ? authentication.getName() : null;
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        batchPostingService.process(request.getInputStream(), response.getOutputStream(), userId);
+    }
+}
@@ -1,5 +1,6 @@
 package com.fintech.ledger.core.domain;
 
+import com.fintech.common.domain.CurrencyRegistry;
 import com.fintech.common.domain.Money;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -8,7 +9,6 @@ import lombok.Setter;
 
 import java.time.Instant;
 import java.math.BigDecimal;
-import java.util.Currency;
 
 @Entity
 @Table(name = "accounts")
@@ -18,7 +18,8 @@ import java.util.Currency;
 public class Account {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "accounts_seq")
+    @SequenceGenerator(name = "accounts_seq", sequenceName = "accounts_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -34,6 +35,13 @@ public class Account {
     @Column(name = "balance_currency", length = 3, nullable = false)
     private String balanceCurrency;
 
+    /**
+     * Sum of open (authorized, not yet captured or voided) holds. Kept on the account row so
+     * the available balance is known as soon as the account is loaded.
+     */
+    @Column(name = "reserved_amount", precision = 30, scale = 18, nullable = false)
+    private BigDecimal reservedAmount = BigDecimal.ZERO;
+
     @Version
     private Long version;
 
@@ -54,11 +62,25 @@ public class Account {
     }
 
     public Money getBalance() {
-        return new Money(balanceAmount, Currency.getInstance(balanceCurrency));
+        return new Money(balanceAmount, CurrencyRegistry.currency(balanceCurrency));
     }
 
     public void setBalance(Money money) {
         this.balanceAmount = money.getAmount();
         this.balanceCurrency = money.getCurrency().getCurrencyCode();
     }
+
+    /**
+     * {@link CurrencyRegistry} id of the account currency, for int comparisons on hot paths.
+     */
+    public int getCurrencyId() {
+        return CurrencyRegistry.idOf(balanceCurrency);
+    }
+
+    /**
+     * Ledger balance minus open holds: what new debits may spend.
+     */
+    public BigDecimal getAvailableAmount() {
+        return balanceAmount.subtract(reservedAmount);
+    }
 }
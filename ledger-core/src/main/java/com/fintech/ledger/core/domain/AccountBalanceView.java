@@ -0,0 +1,65 @@
+package com.fintech.ledger.core.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Read model row for an account's balance, maintained by the outbox relay from the postings
+ * it has applied. Trails {@link Account} by the postings still in the outbox.
+ */
+@Entity
+@Table(name = "account_balance_view")
+@Getter
+@Setter
+@NoArgsConstructor
+public class AccountBalanceView {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "balance_amount", precision = 30, scale = 18, nullable = false)
+    private BigDecimal balanceAmount;
+
+    @Column(name = "balance_currency", length = 3, nullable = false)
+    private String balanceCurrency;
+
+    @Column(name = "posting_count", nullable = false)
+    private long postingCount;
+
+    @Column(name = "last_posted_at")
+    private Instant lastPostedAt;
+
+    /** When the relay last applied postings to this row. */
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        this.updatedAt = Instant.now();
+    }
+
+    public AccountBalanceView(Long accountId, BigDecimal balanceAmount, String balanceCurrency) {
+        this.accountId = accountId;
+        this.balanceAmount = balanceAmount;
+        this.balanceCurrency = balanceCurrency;
+    }
+
+    /**
+     * @param delta    net change, negative for a net debit
+     * @param postings number of postings behind {@code delta}
+     */
+    public void apply(BigDecimal delta, int postings, Instant postedAt) {
+        this.balanceAmount = balanceAmount.add(delta);
+        this.postingCount += postings;
+        if (lastPostedAt == null || postedAt.isAfter(lastPostedAt)) {
+            this.lastPostedAt = postedAt;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.fintech.ledger.core.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Read model row for one leg of a posting, denormalized for per-account history queries.
+ */
+@Entity
+@Table(name = "account_history_view")
+@Getter
+@Setter
+@NoArgsConstructor
+public class AccountHistoryEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_history_view_seq")
+    @SequenceGenerator(name = "account_history_view_seq", sequenceName = "account_history_view_id_seq",
+            allocationSize = 50)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "posting_id", nullable = false)
+    private Long postingId;
+
+    @Column(name = "posted_at", nullable = false)
+    private Instant postedAt;
+
+    @Column(nullable = false, length = 500)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TransactionLine.Type type;
+
+    @Column(precision = 30, scale = 18, nullable = false)
+    private BigDecimal amount;
+
+    @Column(length = 3, nullable = false)
+    private String currency;
+}
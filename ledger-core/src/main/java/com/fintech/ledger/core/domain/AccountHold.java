@@ -0,0 +1,88 @@
+package com.fintech.ledger.core.domain;
+
+import com.fintech.common.domain.CurrencyRegistry;
+import com.fintech.common.domain.Money;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Authorization hold on an account: the amount stays on the ledger balance but is no longer
+ * available until the hold is captured, voided or expires.
+ */
+@Entity
+@Table(name = "holds",
+       uniqueConstraints = @UniqueConstraint(columnNames = "reference"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class AccountHold {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "holds_seq")
+    @SequenceGenerator(name = "holds_seq", sequenceName = "holds_id_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Caller-chosen key (e.g. the saga id) making authorization idempotent.
+     */
+    @Column(name = "reference", nullable = false, unique = true, length = 255)
+    private String reference;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "amount_value", precision = 30, scale = 18, nullable = false)
+    private BigDecimal amountValue;
+
+    @Column(name = "currency_code", length = 3, nullable = false)
+    private String currencyCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status = Status.AUTHORIZED;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "settled_at")
+    private Instant settledAt;
+
+    /**
+     * Journal entry created by the capture, if any.
+     */
+    @Column(name = "journal_entry_id")
+    private Long journalEntryId;
+
+    public enum Status {
+        AUTHORIZED, CAPTURED, VOIDED, EXPIRED
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = Instant.now();
+    }
+
+    public AccountHold(String reference, Long accountId, Money amount, Instant expiresAt) {
+        this.reference = reference;
+        this.accountId = accountId;
+        this.amountValue = amount.getAmount();
+        this.currencyCode = amount.getCurrency().getCurrencyCode();
+        this.expiresAt = expiresAt;
+    }
+
+    public Money getAmount() {
+        return new Money(amountValue, CurrencyRegistry.currency(currencyCode));
+    }
+
+    public boolean isOpen() {
+        return status == Status.AUTHORIZED;
+    }
+}
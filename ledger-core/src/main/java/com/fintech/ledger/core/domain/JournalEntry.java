@@ -1,11 +1,11 @@
 package com.fintech.ledger.core.domain;
 
+import com.fintech.common.domain.FixedMoney;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -18,7 +18,8 @@ import java.util.List;
 public class JournalEntry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "journal_entries_seq")
+    @SequenceGenerator(name = "journal_entries_seq", sequenceName = "journal_entries_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -27,12 +28,36 @@ public class JournalEntry {
     @Column(nullable = false, updatable = false)
     private Instant timestamp;
 
+    /**
+     * Sequence number in the posting log, for entries projected from it; {@code null} for
+     * entries posted directly.
+     */
+    @Column(name = "log_sequence", unique = true, updatable = false)
+    private Long logSequence;
+
+    /**
+     * Id of the sharded posting this entry belongs to; {@code null} outside sharded mode.
+     * A cross-shard posting has one entry on each shard it touches.
+     */
+    @Column(name = "posting_id", unique = true, updatable = false)
+    private Long postingId;
+
+    /**
+     * Whether this entry holds only one shard's legs of a cross-shard posting. Such an entry
+     * need not balance on its own; the coordinator checked the whole posting before any shard
+     * prepared it.
+     */
+    @Column(name = "cross_shard", nullable = false, updatable = false)
+    private boolean crossShard;
+
     @OneToMany(mappedBy = "journalEntry", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<TransactionLine> lines = new ArrayList<>();
 
     @PrePersist
     protected void onCreate() {
-        this.timestamp = Instant.now();
+        if (this.timestamp == null) {
+            this.timestamp = Instant.now();
+        }
         validate();
     }
 
@@ -47,24 +72,30 @@ public class JournalEntry {
     }
 
     public void validate() {
+        if (crossShard) {
+            if (lines.isEmpty()) {
+                throw new IllegalStateException("Cross-shard JournalEntry must have at least 1 transaction line.");
+            }
+            return;
+        }
         if (lines.size() < 2) {
             throw new IllegalStateException("JournalEntry must have at least 2 transaction lines.");
         }
 
-        BigDecimal totalDebits = BigDecimal.ZERO;
-        BigDecimal totalCredits = BigDecimal.ZERO;
+        FixedMoney.Accumulator totalDebits = new FixedMoney.Accumulator();
+        FixedMoney.Accumulator totalCredits = new FixedMoney.Accumulator();
 
         for (TransactionLine line : lines) {
             if (line.getType() == TransactionLine.Type.DEBIT) {
-                totalDebits = totalDebits.add(line.getAmount().getAmount());
+                totalDebits.add(line.getAmountValue());
             } else {
-                totalCredits = totalCredits.add(line.getAmount().getAmount());
+                totalCredits.add(line.getAmountValue());
             }
         }
 
-        if (totalDebits.compareTo(totalCredits) != 0) {
-            throw new IllegalStateException(
-                    "JournalEntry is not balanced. Debits: " + totalDebits + ", Credits: " + totalCredits);
+        if (!totalDebits.isEqualTo(totalCredits)) {
+            throw new IllegalStateException("JournalEntry is not balanced. Debits: " + totalDebits.toBigDecimal()
+                    + ", Credits: " + totalCredits.toBigDecimal());
         }
     }
 }
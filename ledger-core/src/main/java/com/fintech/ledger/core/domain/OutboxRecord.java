@@ -0,0 +1,46 @@
+package com.fintech.ledger.core.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A posting waiting to be relayed to the read model. Written in the posting's own
+ * transaction and deleted in the transaction that applies it to the read model.
+ */
+@Entity
+@Table(name = "posting_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "posting_outbox_seq")
+    @SequenceGenerator(name = "posting_outbox_seq", sequenceName = "posting_outbox_id_seq", allocationSize = 50)
+    private Long id;
+
+    /** The posting id returned to the client. */
+    @Column(name = "posting_id", nullable = false, updatable = false)
+    private Long postingId;
+
+    /** The posting, encoded as a {@code PostingEvent}. */
+    @Column(name = "payload", nullable = false, updatable = false, length = 65536)
+    private byte[] payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = Instant.now();
+    }
+
+    public OutboxRecord(Long postingId, byte[] payload) {
+        this.postingId = postingId;
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,46 @@
+package com.fintech.ledger.core.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * One shard's legs of a cross-shard posting between prepare and commit or abort. While the
+ * row exists, the debited amounts are counted in {@link Account#getReservedAmount()}.
+ */
+@Entity
+@Table(name = "prepared_postings")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PreparedPosting {
+
+    @Id
+    @Column(name = "posting_id")
+    private Long postingId;
+
+    /** Set on the one shard that records the posting's idempotency key. */
+    @Column(name = "idempotency_key", unique = true, length = 255)
+    private String idempotencyKey;
+
+    /** The shard's legs, encoded as a {@code PostingEvent}. */
+    @Column(name = "payload", nullable = false, length = 65536)
+    private byte[] payload;
+
+    @Column(name = "prepared_at", nullable = false, updatable = false)
+    private Instant preparedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.preparedAt = Instant.now();
+    }
+
+    public PreparedPosting(Long postingId, String idempotencyKey, byte[] payload) {
+        this.postingId = postingId;
+        this.idempotencyKey = idempotencyKey;
+        this.payload = payload;
+    }
+}
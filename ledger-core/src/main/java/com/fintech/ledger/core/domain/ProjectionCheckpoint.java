@@ -0,0 +1,42 @@
+package com.fintech.ledger.core.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Last log sequence a projector has written to the database. Updated in the same
+ * transaction as the projected rows, so the tables always reflect exactly the log prefix
+ * up to {@code lastSequence}.
+ */
+@Entity
+@Table(name = "projection_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProjectionCheckpoint {
+
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        this.updatedAt = Instant.now();
+    }
+
+    public ProjectionCheckpoint(String name, long lastSequence) {
+        this.name = name;
+        this.lastSequence = lastSequence;
+    }
+}
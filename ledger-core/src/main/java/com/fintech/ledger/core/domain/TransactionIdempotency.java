@@ -20,7 +20,9 @@ import java.time.Instant;
 public class TransactionIdempotency {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_idempotency_seq")
+    @SequenceGenerator(name = "transaction_idempotency_seq", sequenceName = "transaction_idempotency_id_seq",
+            allocationSize = 50)
     private Long id;
 
     @Column(name = "idempotency_key", nullable = false, unique = true, length = 255)
@@ -1,5 +1,6 @@
 package com.fintech.ledger.core.domain;
 
+import com.fintech.common.domain.CurrencyRegistry;
 import com.fintech.common.domain.Money;
 import jakarta.persistence.*;
 import lombok.Getter;
@@ -7,7 +8,6 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
-import java.util.Currency;
 
 @Entity
 @Table(name = "transaction_lines")
@@ -21,7 +21,8 @@ public class TransactionLine {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_lines_seq")
+    @SequenceGenerator(name = "transaction_lines_seq", sequenceName = "transaction_lines_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false)
@@ -44,7 +45,7 @@ public class TransactionLine {
     private String currencyCode;
 
     public Money getAmount() {
-        return new Money(amountValue, Currency.getInstance(currencyCode));
+        return new Money(amountValue, CurrencyRegistry.currency(currencyCode));
     }
 
     public void setAmount(Money money) {
@@ -0,0 +1,28 @@
+package com.fintech.ledger.core.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class AuthorizeHoldRequest {
+
+    @NotBlank(message = "Reference is required")
+    private String reference;
+
+    @NotNull(message = "Account ID is required")
+    private Long accountId;
+
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
+
+    @NotBlank(message = "Currency code is required")
+    private String currencyCode;
+
+    @Positive(message = "TTL must be positive")
+    private Long ttlSeconds; // Optional, defaults to ledger.holds.default-ttl
+}
@@ -0,0 +1,17 @@
+package com.fintech.ledger.core.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class CaptureHoldRequest {
+
+    @NotNull(message = "Destination account ID is required")
+    private Long destinationAccountId;
+
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount; // Optional, defaults to the full hold amount
+}
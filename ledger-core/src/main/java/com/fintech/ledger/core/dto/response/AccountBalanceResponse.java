@@ -0,0 +1,31 @@
+package com.fintech.ledger.core.dto.response;
+
+import com.fintech.ledger.core.domain.AccountBalanceView;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@Builder
+public class AccountBalanceResponse {
+    private Long accountId;
+    private BigDecimal balanceAmount;
+    private String balanceCurrency;
+    private long postingCount;
+    private Instant lastPostedAt;
+    /** When the read model last applied a posting to this account; {@code null} if never. */
+    private Instant projectedAt;
+
+    public static AccountBalanceResponse from(AccountBalanceView view) {
+        return AccountBalanceResponse.builder()
+            .accountId(view.getAccountId())
+            .balanceAmount(view.getBalanceAmount())
+            .balanceCurrency(view.getBalanceCurrency())
+            .postingCount(view.getPostingCount())
+            .lastPostedAt(view.getLastPostedAt())
+            .projectedAt(view.getUpdatedAt())
+            .build();
+    }
+}
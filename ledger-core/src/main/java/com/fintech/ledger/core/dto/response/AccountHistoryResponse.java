@@ -0,0 +1,31 @@
+package com.fintech.ledger.core.dto.response;
+
+import com.fintech.ledger.core.domain.AccountHistoryEntry;
+import com.fintech.ledger.core.domain.TransactionLine;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@Builder
+public class AccountHistoryResponse {
+    private Long postingId;
+    private Instant postedAt;
+    private String description;
+    private TransactionLine.Type type;
+    private BigDecimal amount;
+    private String currency;
+
+    public static AccountHistoryResponse from(AccountHistoryEntry entry) {
+        return AccountHistoryResponse.builder()
+            .postingId(entry.getPostingId())
+            .postedAt(entry.getPostedAt())
+            .description(entry.getDescription())
+            .type(entry.getType())
+            .amount(entry.getAmount())
+            .currency(entry.getCurrency())
+            .build();
+    }
+}
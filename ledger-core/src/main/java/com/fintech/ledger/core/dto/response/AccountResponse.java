@@ -14,6 +14,8 @@ public class AccountResponse {
     private String name;
     private BigDecimal balanceAmount;
     private String balanceCurrency;
+    private BigDecimal reservedAmount;
+    private BigDecimal availableAmount;
     private Account.AccountStatus status;
     private Instant createdAt;
     
@@ -23,6 +25,8 @@ public class AccountResponse {
             .name(account.getName())
             .balanceAmount(account.getBalanceAmount())
             .balanceCurrency(account.getBalanceCurrency())
+            .reservedAmount(account.getReservedAmount())
+            .availableAmount(account.getAvailableAmount())
             .status(account.getStatus())
             .createdAt(account.getCreatedAt())
             .build();
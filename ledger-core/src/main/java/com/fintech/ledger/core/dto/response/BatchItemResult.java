@@ -0,0 +1,40 @@
+package com.fintech.ledger.core.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    public enum Status {
+        POSTED, DUPLICATE, REJECTED
+    }
+
+    /** Position of the item in the submitted array. */
+    private int index;
+    private String idempotencyKey;
+    private Status status;
+    private Long journalEntryId;
+    private String error;
+
+    public static BatchItemResult posted(int index, String idempotencyKey, Long journalEntryId) {
+        return BatchItemResult.builder()
+            .index(index)
+            .idempotencyKey(idempotencyKey)
+            .status(Status.POSTED)
+            .journalEntryId(journalEntryId)
+            .build();
+    }
+
+    public static BatchItemResult rejected(int index, String idempotencyKey, String error) {
+        return BatchItemResult.builder()
+            .index(index)
+            .idempotencyKey(idempotencyKey)
+            .status(Status.REJECTED)
+            .error(error)
+            .build();
+    }
+}
@@ -0,0 +1,36 @@
+package com.fintech.ledger.core.dto.response;
+
+import com.fintech.ledger.core.domain.AccountHold;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@Builder
+public class HoldResponse {
+    private Long id;
+    private String reference;
+    private Long accountId;
+    private BigDecimal amount;
+    private String currencyCode;
+    private AccountHold.Status status;
+    private Instant expiresAt;
+    private Instant createdAt;
+    private Long journalEntryId;
+
+    public static HoldResponse from(AccountHold hold) {
+        return HoldResponse.builder()
+            .id(hold.getId())
+            .reference(hold.getReference())
+            .accountId(hold.getAccountId())
+            .amount(hold.getAmountValue())
+            .currencyCode(hold.getCurrencyCode())
+            .status(hold.getStatus())
+            .expiresAt(hold.getExpiresAt())
+            .createdAt(hold.getCreatedAt())
+            .journalEntryId(hold.getJournalEntryId())
+            .build();
+    }
+}
@@ -0,0 +1,196 @@
+package com.fintech.ledger.core.eventlog;
+
+import com.fintech.common.domain.CurrencyRegistry;
+import com.fintech.common.domain.FixedMoney;
+import com.fintech.common.exception.AccountNotFoundException;
+import com.fintech.common.exception.CurrencyMismatchException;
+import com.fintech.common.exception.InsufficientFundsException;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.TransactionLine;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Available balances of accounts in primitive arrays, for a single owning thread.
+ * <p>
+ * Each account gets a dense slot found through an open-addressing index on its id; the
+ * available balance (balance minus reserved) is a 128-bit count of 10^-18 units split over
+ * two {@code long} arrays, like {@link FixedMoney}. Posting runs the balance rules of the
+ * database path (currency, no negative available balance after any leg) without
+ * allocating unless the posting is rejected. Account statuses are not kept: they change
+ * outside the posting log, so the owner checks them before a posting gets here.
+ */
+public final class AccountBook {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] index;
+    private int[] indexSlots;
+    private long[] accountIds;
+    private long[] availableHigh;
+    private long[] availableLow;
+    private int[] currencyIds;
+    private int size;
+
+    public AccountBook(int initialCapacity) {
+        int capacity = Math.max(16, Integer.highestOneBit(Math.max(1, initialCapacity) - 1) << 1);
+        allocateIndex(capacity * 2);
+        accountIds = new long[capacity];
+        availableHigh = new long[capacity];
+        availableLow = new long[capacity];
+        currencyIds = new int[capacity];
+    }
+
+    public boolean contains(long accountId) {
+        return slotOf(accountId) >= 0;
+    }
+
+    /**
+     * Adds the account unless it is already present; a present account keeps its state,
+     * which may already include postings the snapshot does not.
+     *
+     * @return whether the account was added
+     */
+    public boolean loadIfAbsent(Account account) {
+        if (contains(account.getId())) {
+            return false;
+        }
+        if (size == accountIds.length) {
+            grow();
+        }
+        int slot = size++;
+        FixedMoney available = FixedMoney.of(account.getAvailableAmount(), account.getBalance().getCurrency());
+        accountIds[slot] = account.getId();
+        availableHigh[slot] = available.unitsHigh();
+        availableLow[slot] = available.unitsLow();
+        currencyIds[slot] = available.getCurrencyId();
+        insertIndex(account.getId(), slot);
+        return true;
+    }
+
+    /**
+     * Applies every leg or none of them.
+     *
+     * @param amounts positive leg amounts, in leg order
+     * @throws AccountNotFoundException   if an account has not been loaded
+     * @throws InsufficientFundsException if an available balance would go negative
+     */
+    public void post(List<PostingEvent.Leg> legs, FixedMoney[] amounts) {
+        for (int i = 0; i < legs.size(); i++) {
+            PostingEvent.Leg leg = legs.get(i);
+            int slot = slotOf(leg.accountId());
+            if (slot < 0) {
+                undo(legs, amounts, i);
+                throw new AccountNotFoundException(leg.accountId());
+            }
+            RuntimeException rejection = checkAccount(slot, amounts[i]);
+            if (rejection != null) {
+                undo(legs, amounts, i);
+                throw rejection;
+            }
+            boolean credit = leg.type() == TransactionLine.Type.CREDIT;
+            add(slot, amounts[i], credit);
+            if (availableHigh[slot] < 0) {
+                FixedMoney after = FixedMoney.ofUnits(availableHigh[slot], availableLow[slot],
+                        CurrencyRegistry.currency(currencyIds[slot]));
+                undo(legs, amounts, i + 1);
+                throw new InsufficientFundsException(leg.accountId(),
+                        String.format("Available balance would be %s after transaction", after.toBigDecimal()));
+            }
+        }
+    }
+
+    /**
+     * @return the available balance, or {@code null} if the account has not been loaded
+     */
+    public FixedMoney available(long accountId) {
+        int slot = slotOf(accountId);
+        if (slot < 0) {
+            return null;
+        }
+        return FixedMoney.ofUnits(availableHigh[slot], availableLow[slot],
+                CurrencyRegistry.currency(currencyIds[slot]));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private RuntimeException checkAccount(int slot, FixedMoney amount) {
+        if (currencyIds[slot] != amount.getCurrencyId()) {
+            return new CurrencyMismatchException(CurrencyRegistry.code(currencyIds[slot]),
+                    CurrencyRegistry.code(amount.getCurrencyId()));
+        }
+        return null;
+    }
+
+    /**
+     * Reverts the first {@code count} legs, latest first.
+     */
+    private void undo(List<PostingEvent.Leg> legs, FixedMoney[] amounts, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            boolean credit = legs.get(i).type() == TransactionLine.Type.CREDIT;
+            add(slotOf(legs.get(i).accountId()), amounts[i], !credit);
+        }
+    }
+
+    private void add(int slot, FixedMoney amount, boolean positive) {
+        long high = availableHigh[slot];
+        long low = availableLow[slot];
+        if (positive) {
+            long sumLow = low + amount.unitsLow();
+            long carry = Long.compareUnsigned(sumLow, low) < 0 ? 1 : 0;
+            availableHigh[slot] = Math.addExact(Math.addExact(high, amount.unitsHigh()), carry);
+            availableLow[slot] = sumLow;
+        } else {
+            long borrow = Long.compareUnsigned(low, amount.unitsLow()) < 0 ? 1 : 0;
+            availableHigh[slot] = Math.subtractExact(Math.subtractExact(high, amount.unitsHigh()), borrow);
+            availableLow[slot] = low - amount.unitsLow();
+        }
+    }
+
+    private int slotOf(long accountId) {
+        int mask = index.length - 1;
+        for (int i = hash(accountId) & mask; index[i] != EMPTY; i = (i + 1) & mask) {
+            if (index[i] == accountId) {
+                return indexSlots[i];
+            }
+        }
+        return -1;
+    }
+
+    private void insertIndex(long accountId, int slot) {
+        int mask = index.length - 1;
+        int i = hash(accountId) & mask;
+        while (index[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        index[i] = accountId;
+        indexSlots[i] = slot;
+    }
+
+    private void grow() {
+        int capacity = accountIds.length * 2;
+        accountIds = Arrays.copyOf(accountIds, capacity);
+        availableHigh = Arrays.copyOf(availableHigh, capacity);
+        availableLow = Arrays.copyOf(availableLow, capacity);
+        currencyIds = Arrays.copyOf(currencyIds, capacity);
+        // Index stays at most half full
+        allocateIndex(capacity * 2);
+        for (int slot = 0; slot < size; slot++) {
+            insertIndex(accountIds[slot], slot);
+        }
+    }
+
+    private void allocateIndex(int length) {
+        index = new long[length];
+        indexSlots = new int[length];
+        Arrays.fill(index, EMPTY);
+    }
+
+    private static int hash(long accountId) {
+        long h = accountId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
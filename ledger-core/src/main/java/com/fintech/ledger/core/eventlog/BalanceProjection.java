@@ -0,0 +1,77 @@
+package com.fintech.ledger.core.eventlog;
+
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.TransactionLine;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory account state derived from a base snapshot plus the posting log.
+ * <p>
+ * Holds detached {@link Account} copies, so the same pre-flight rules that run against
+ * database rows can run against the projection. Applying an event never fails or checks
+ * anything: events are validated before they are logged, and replay must reproduce exactly
+ * what was decided at the time. Not thread-safe, except {@link #contains}; the owner
+ * serializes everything else.
+ */
+public final class BalanceProjection {
+
+    private final Map<Long, Account> accounts = new ConcurrentHashMap<>();
+
+    /**
+     * Adds (or replaces) the base state of an account, copied so later changes to
+     * {@code account} do not leak in.
+     */
+    public Account load(Account account) {
+        Account copy = new Account();
+        copy.setId(account.getId());
+        copy.setName(account.getName());
+        copy.setBalanceAmount(account.getBalanceAmount());
+        copy.setBalanceCurrency(account.getBalanceCurrency());
+        copy.setReservedAmount(account.getReservedAmount());
+        copy.setStatus(account.getStatus());
+        copy.setVersion(account.getVersion());
+        copy.setCreatedAt(account.getCreatedAt());
+        accounts.put(copy.getId(), copy);
+        return copy;
+    }
+
+    /**
+     * Safe to call without the owner's lock.
+     */
+    public boolean contains(Long accountId) {
+        return accounts.containsKey(accountId);
+    }
+
+    /**
+     * @return the projected account, or {@code null} if it has not been loaded
+     */
+    public Account get(Long accountId) {
+        return accounts.get(accountId);
+    }
+
+    public BigDecimal balance(Long accountId) {
+        Account account = accounts.get(accountId);
+        return account != null ? account.getBalanceAmount() : null;
+    }
+
+    public int size() {
+        return accounts.size();
+    }
+
+    public void apply(PostingEvent event) {
+        for (PostingEvent.Leg leg : event.legs()) {
+            Account account = accounts.get(leg.accountId());
+            if (account == null) {
+                throw new IllegalStateException("Posting " + event.sequence() + " references account "
+                        + leg.accountId() + " missing from the projection base");
+            }
+            BigDecimal balance = account.getBalanceAmount();
+            account.setBalanceAmount(leg.type() == TransactionLine.Type.CREDIT
+                    ? balance.add(leg.amount())
+                    : balance.subtract(leg.amount()));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.fintech.ledger.core.eventlog;
+
+import com.fintech.common.domain.CurrencyRegistry;
+import com.fintech.ledger.core.domain.TransactionLine;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One validated journal entry as recorded in the posting log.
+ * <p>
+ * Binary layout (big-endian): {@code [byte version][long sequence][long epochMillis]
+ * [short len][key][short len][description][short legCount]} then per leg
+ * {@code [long accountId][byte type][3 bytes currency][byte len][unscaled amount]}, the
+ * amount having the ledger's scale of 18. Currencies are written as their ASCII code, since
+ * registry ids are only stable within one process. The key, the description and the leg
+ * count must each fit in a {@code short}; {@link #encode()} rejects an event that does not,
+ * since the record could not be read back.
+ */
+public record PostingEvent(long sequence, Instant timestamp, String idempotencyKey, String description,
+                           List<Leg> legs) {
+
+    private static final byte VERSION = 1;
+    private static final int SCALE = 18;
+    private static final TransactionLine.Type[] TYPES = TransactionLine.Type.values();
+
+    public record Leg(long accountId, TransactionLine.Type type, int currencyId, BigDecimal amount) {
+    }
+
+    public ByteBuffer encode() {
+        byte[] key = idempotencyKey.getBytes(StandardCharsets.UTF_8);
+        byte[] text = description.getBytes(StandardCharsets.UTF_8);
+        checkLength("Idempotency key", key.length);
+        checkLength("Description", text.length);
+        checkLength("Leg count", legs.size());
+        byte[][] amounts = new byte[legs.size()][];
+        int size = 1 + 8 + 8 + 2 + key.length + 2 + text.length + 2;
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = legs.get(i).amount().setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().toByteArray();
+            size += 8 + 1 + 3 + 1 + amounts[i].length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size)
+                .put(VERSION)
+                .putLong(sequence)
+                .putLong(timestamp.toEpochMilli())
+                .putShort((short) key.length).put(key)
+                .putShort((short) text.length).put(text)
+                .putShort((short) legs.size());
+        for (int i = 0; i < amounts.length; i++) {
+            Leg leg = legs.get(i);
+            buffer.putLong(leg.accountId()).put((byte) leg.type().ordinal());
+            CurrencyRegistry.write(buffer, leg.currencyId());
+            buffer.put((byte) amounts[i].length).put(amounts[i]);
+        }
+        return buffer.flip();
+    }
+
+    public static PostingEvent decode(ByteBuffer buffer) {
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported posting event version " + version);
+        }
+        long sequence = buffer.getLong();
+        Instant timestamp = Instant.ofEpochMilli(buffer.getLong());
+        String key = readUtf8(buffer);
+        String description = readUtf8(buffer);
+        int legCount = buffer.getShort();
+        List<Leg> legs = new ArrayList<>(legCount);
+        for (int i = 0; i < legCount; i++) {
+            long accountId = buffer.getLong();
+            TransactionLine.Type type = TYPES[buffer.get()];
+            int currencyId = CurrencyRegistry.read(buffer);
+            byte[] unscaled = new byte[buffer.get()];
+            buffer.get(unscaled);
+            legs.add(new Leg(accountId, type, currencyId, new BigDecimal(new BigInteger(unscaled), SCALE)));
+        }
+        return new PostingEvent(sequence, timestamp, key, description, List.copyOf(legs));
+    }
+
+    private static void checkLength(String field, int length) {
+        if (length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException(field + " too long for the posting log: " + length);
+        }
+    }
+
+    private static String readUtf8(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -5,11 +5,16 @@ import com.fintech.common.exception.AccountClosedException;
 import com.fintech.common.exception.AccountFrozenException;
 import com.fintech.common.exception.AccountNotFoundException;
 import com.fintech.common.exception.CurrencyMismatchException;
+import com.fintech.common.exception.DuplicateTransactionException;
+import com.fintech.common.exception.HoldNotFoundException;
 import com.fintech.common.exception.InsufficientFundsException;
 import com.fintech.common.exception.InvalidTransactionException;
 import com.fintech.common.exception.LedgerException;
 import com.fintech.common.exception.ReconciliationFailureException;
 import com.fintech.common.exception.TransactionLimitExceededException;
+import com.fintech.ledger.core.health.ErrorRateTracker;
+import com.fintech.ledger.core.service.SingleWriterLedger;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -24,9 +29,13 @@ import java.util.Map;
 import java.util.UUID;
 
 @ControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
 public class GlobalExceptionHandler {
 
+    /** Fed with server-side failures; rejected postings are counted by the engine. */
+    private final ErrorRateTracker errorRateTracker;
+
     @ExceptionHandler(AccountNotFoundException.class)
     public ResponseEntity<ApiResponse<Void>> handleAccountNotFound(AccountNotFoundException ex, WebRequest request) {
         log.warn("Account not found: {}", ex.getMessage());
@@ -35,6 +44,14 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    @ExceptionHandler(HoldNotFoundException.class)
+    public ResponseEntity<ApiResponse<Void>> handleHoldNotFound(HoldNotFoundException ex, WebRequest request) {
+        log.warn("Hold not found: {}", ex.getMessage());
+        String traceId = UUID.randomUUID().toString();
+        ApiResponse<Void> response = ApiResponse.error(ex.getMessage(), traceId);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+    }
+
     @ExceptionHandler(AccountFrozenException.class)
     public ResponseEntity<ApiResponse<Void>> handleAccountFrozen(AccountFrozenException ex, WebRequest request) {
         log.warn("Account frozen: {}", ex.getMessage());
@@ -75,6 +92,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
 
+    /** A replay of an applied idempotency key; clients treat it as success. */
+    @ExceptionHandler(DuplicateTransactionException.class)
+    public ResponseEntity<ApiResponse<Void>> handleDuplicateTransaction(DuplicateTransactionException ex,
+                                                                        WebRequest request) {
+        log.debug("Duplicate transaction: {}", ex.getMessage());
+        String traceId = UUID.randomUUID().toString();
+        ApiResponse<Void> response = ApiResponse.error(ex.getMessage(), traceId);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+
     @ExceptionHandler(InvalidTransactionException.class)
     public ResponseEntity<ApiResponse<Void>> handleInvalidTransaction(InvalidTransactionException ex, WebRequest request) {
         log.warn("Invalid transaction: {}", ex.getMessage());
@@ -86,6 +113,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ReconciliationFailureException.class)
     public ResponseEntity<ApiResponse<Void>> handleReconciliationFailure(ReconciliationFailureException ex, WebRequest request) {
         log.error("Reconciliation failure: {}", ex.getMessage());
+        errorRateTracker.recordError();
         String traceId = UUID.randomUUID().toString();
         ApiResponse<Void> response = ApiResponse.error(ex.getMessage(), traceId);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
@@ -93,7 +121,14 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(LedgerException.class)
     public ResponseEntity<ApiResponse<Void>> handleLedgerException(LedgerException ex, WebRequest request) {
+        if (SingleWriterLedger.WRITER_TIMEOUT.equals(ex.getErrorCode())) {
+            // Overloaded rather than failed: the client retries with the same key
+            log.warn("Posting timed out: {}", ex.getMessage());
+            ApiResponse<Void> response = ApiResponse.error(ex.getMessage(), UUID.randomUUID().toString());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+        }
         log.error("Ledger exception: {}", ex.getMessage(), ex);
+        errorRateTracker.recordError();
         String traceId = UUID.randomUUID().toString();
         ApiResponse<Void> response = ApiResponse.error(ex.getMessage(), traceId);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
@@ -138,6 +173,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Void>> handleGenericException(Exception ex, WebRequest request) {
         log.error("Unexpected error: {}", ex.getMessage(), ex);
+        errorRateTracker.recordError();
         String traceId = UUID.randomUUID().toString();
         ApiResponse<Void> response = ApiResponse.error("An unexpected error occurred", traceId);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
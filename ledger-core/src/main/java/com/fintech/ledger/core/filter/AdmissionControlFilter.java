@@ -0,0 +1,124 @@
+package com.fintech.ledger.core.filter;
+
+import com.fintech.ledger.core.concurrency.AdaptiveConcurrencyLimiter;
+import com.fintech.ledger.core.concurrency.AdaptiveConcurrencyLimiter.Priority;
+import com.fintech.ledger.core.concurrency.ConnectionAdmissionLimiter;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Admits API requests through the {@link AdaptiveConcurrencyLimiter}, then the
+ * {@link ConnectionAdmissionLimiter}. Requests over the adaptive limit are rejected with 503 at
+ * once; the adaptive limit may exceed the connection capacity, and admitted requests beyond
+ * it wait for a slot, those that cannot get one in time being rejected with 503 instead of
+ * timing out inside the connection pool. A posting's latency includes that wait, so queueing
+ * lowers the adaptive limit as database slowness does. Admin and reconciliation requests are
+ * {@link Priority#CRITICAL}, and only single postings feed their latency into the adaptive
+ * limit: a batch takes time in proportion to its size, which would read as congestion.
+ * Actuator and documentation endpoints are not limited.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AdmissionControlFilter implements Filter {
+
+    private static final String[] POSTING_PATHS = {
+        "/api/v1/transactions", "/api/v1/holds", "/api/v1/cross-border"
+    };
+    private static final String BATCH_PATH = "/api/v1/transactions/batch";
+
+    private final AdaptiveConcurrencyLimiter adaptiveLimiter;
+    private final ConnectionAdmissionLimiter limiter;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        if (!httpRequest.getRequestURI().startsWith("/api/")) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        Priority priority = priorityOf(httpRequest);
+        if (!adaptiveLimiter.tryAcquire(priority)) {
+            reject(httpResponse);
+            log.warn("Admission rejected: {} {} requests in flight, limit {}", adaptiveLimiter.getInFlight(),
+                    priority, adaptiveLimiter.getLimit());
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean admitted;
+        try {
+            admitted = limiter.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            // A posting that timed out waiting is as slow as it gets, so it counts
+            if (isPosting(httpRequest)) {
+                adaptiveLimiter.release(System.nanoTime() - start);
+            } else {
+                adaptiveLimiter.releaseUnmeasured();
+            }
+            reject(httpResponse);
+            log.warn("Admission rejected: {} in flight, {} queued", limiter.getInFlight(), limiter.getQueued());
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release();
+            // Client errors are fast rejections, not a sign of load
+            int status = httpResponse.getStatus();
+            if (isPosting(httpRequest) && (status < 400 || status >= 500)) {
+                adaptiveLimiter.release(System.nanoTime() - start);
+            } else {
+                adaptiveLimiter.releaseUnmeasured();
+            }
+        }
+    }
+
+    private static void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", "1");
+        response.getWriter().write("Service Unavailable: too many requests in flight");
+    }
+
+    static Priority priorityOf(HttpServletRequest request) {
+        if (request.getRequestURI().startsWith("/api/v1/reconciliation") || request.isUserInRole("ADMIN")) {
+            return Priority.CRITICAL;
+        }
+        return Priority.NORMAL;
+    }
+
+    static boolean isPosting(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return false;
+        }
+        String uri = request.getRequestURI();
+        if (uri.startsWith(BATCH_PATH)) {
+            return false;
+        }
+        for (String path : POSTING_PATHS) {
+            if (uri.startsWith(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -71,7 +71,8 @@ public class RateLimitingFilter implements Filter {
         return null;
     }
 
-    private boolean isRateLimited(String identifier, Map<String, RequestCounter> requestCounts, int maxRequests) {
+    // Package-private for the benchmarks module
+    boolean isRateLimited(String identifier, Map<String, RequestCounter> requestCounts, int maxRequests) {
         long currentMinute = System.currentTimeMillis() / 60000;
         requestCounts.computeIfAbsent(identifier, k -> new RequestCounter(currentMinute));
 
@@ -113,7 +114,7 @@ public class RateLimitingFilter implements Filter {
             ipRequestCounts.size(), userRequestCounts.size());
     }
 
-    private static class RequestCounter {
+    static class RequestCounter {
         volatile long minute;
         final AtomicInteger count = new AtomicInteger(0);
 
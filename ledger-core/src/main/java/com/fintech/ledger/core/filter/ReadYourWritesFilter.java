@@ -0,0 +1,46 @@
+package com.fintech.ledger.core.filter;
+
+import com.fintech.ledger.core.replica.Lsn;
+import com.fintech.ledger.core.replica.ReplicaRouting;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Takes the commit position a client got back from an earlier write
+ * ({@link ReplicaRouting#COMMIT_LSN_HEADER}) so that this request only reads from the replica
+ * once it has replayed that write.
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.replica.enabled", havingValue = "true")
+@Slf4j
+public class ReadYourWritesFilter implements Filter {
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        String commitLsn = ((HttpServletRequest) request).getHeader(ReplicaRouting.COMMIT_LSN_HEADER);
+        if (commitLsn != null) {
+            try {
+                ReplicaRouting.requireLsn(Lsn.parse(commitLsn.trim()));
+            } catch (IllegalArgumentException e) {
+                log.debug("Ignoring {} header: {}", ReplicaRouting.COMMIT_LSN_HEADER, e.getMessage());
+            }
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRouting.clear();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.fintech.ledger.core.health;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Errors over the last hour, counted in memory in one-minute buckets.
+ * <p>
+ * Each bucket is one {@code long} holding its minute and its count, updated with a single
+ * compare-and-set, so recording never blocks and a bucket is reset by the first error of a
+ * new minute without losing concurrent increments.
+ * <p>
+ * Errors are recorded once each, where a request fails with a 500 in
+ * {@code GlobalExceptionHandler}.
+ */
+@Component
+public class ErrorRateTracker {
+
+    private static final int BUCKETS = 60;
+    private static final long BUCKET_MILLIS = 60_000;
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongSupplier clock;
+
+    public ErrorRateTracker() {
+        this(System::currentTimeMillis);
+    }
+
+    ErrorRateTracker(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    public void recordError() {
+        long minute = clock.getAsLong() / BUCKET_MILLIS;
+        int index = (int) (minute % BUCKETS);
+        while (true) {
+            long current = buckets.get(index);
+            long next;
+            if (current >>> COUNT_BITS != minute) {
+                next = minute << COUNT_BITS | 1;
+            } else if ((current & COUNT_MASK) == COUNT_MASK) {
+                return; // saturated
+            } else {
+                next = current + 1;
+            }
+            if (buckets.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return errors recorded in the current minute and the 59 before it
+     */
+    public long errorsInLastHour() {
+        long minute = clock.getAsLong() / BUCKET_MILLIS;
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucket = buckets.get(i);
+            if (minute - (bucket >>> COUNT_BITS) < BUCKETS) {
+                total += bucket & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+}
@@ -1,29 +1,37 @@
 package com.fintech.ledger.core.health;
 
 import com.fintech.ledger.core.jobs.ReconciliationJob;
-import com.fintech.ledger.core.repository.AuditLogRepository;
+import com.fintech.ledger.core.service.InMemoryLedger;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
-
 /**
  * Custom health indicator for ledger-specific health checks.
+ * The error-rate part is recomputed in the background from the {@link ErrorRateTracker} and
+ * served from the last result, so probes touch neither the database nor the tracker.
+ * In the log-backed posting modes, a stopped posting projector is reported as down and one
+ * that is retrying a failed batch as a warning.
  */
 @Component
 @RequiredArgsConstructor
 public class LedgerHealthIndicator implements HealthIndicator {
 
-    private final ReconciliationJob reconciliationJob;
-    private final AuditLogRepository auditLogRepository;
+    private final ErrorRateTracker errorRateTracker;
+    private final ObjectProvider<InMemoryLedger> inMemoryLedger;
+
+    private volatile Health errorRateHealth;
+
+    @Scheduled(fixedDelayString = "${ledger.health.refresh-interval-ms:1000}")
+    public void refresh() {
+        errorRateHealth = errorRateHealth(errorRateTracker.errorsInLastHour());
+    }
 
     @Override
     public Health health() {
-        Health.Builder builder = Health.up();
-
         // Check if system is halted
         if (ReconciliationJob.isSystemHalted()) {
             return Health.down()
@@ -32,27 +40,48 @@ public class LedgerHealthIndicator implements HealthIndicator {
                 .build();
         }
 
-        // Check recent error rate
-        Instant oneHourAgo = Instant.now().minus(1, ChronoUnit.HOURS);
-        long errorCount = auditLogRepository.countErrorsSince(oneHourAgo);
-        
+        InMemoryLedger ledger = inMemoryLedger.getIfAvailable();
+        if (ledger != null) {
+            InMemoryLedger.ProjectionStatus projection = ledger.projectionStatus();
+            if (!projection.running()) {
+                return Health.down()
+                    .withDetail("status", "PROJECTOR_STOPPED")
+                    .withDetail("unprojected", projection.unprojected())
+                    .withDetail("reason", "Posting projector stopped - postings refused until restart")
+                    .build();
+            }
+            if (projection.lastFailure() != null) {
+                return Health.status("WARNING")
+                    .withDetail("status", "PROJECTION_FAILING")
+                    .withDetail("unprojected", projection.unprojected())
+                    .withDetail("error", String.valueOf(projection.lastFailure().getMessage()))
+                    .build();
+            }
+        }
+
+        Health cached = errorRateHealth;
+        return cached != null ? cached : errorRateHealth(errorRateTracker.errorsInLastHour());
+    }
+
+    /**
+     * Health for the error count of the last hour.
+     */
+    private static Health errorRateHealth(long errorCount) {
         if (errorCount > 100) {
-            builder = Health.down()
+            return Health.down()
                 .withDetail("status", "HIGH_ERROR_RATE")
                 .withDetail("errors_last_hour", errorCount)
-                .withDetail("message", "High error rate detected in last hour");
+                .withDetail("message", "High error rate detected in last hour")
+                .build();
         } else if (errorCount > 50) {
-            builder = Health.status("WARNING")
+            return Health.status("WARNING")
                 .withDetail("status", "ELEVATED_ERROR_RATE")
                 .withDetail("errors_last_hour", errorCount)
-                .withDetail("message", "Elevated error rate - monitor closely");
-        } else {
-            builder.withDetail("errors_last_hour", errorCount);
+                .withDetail("message", "Elevated error rate - monitor closely")
+                .build();
         }
-
-        return builder.build();
+        return Health.up()
+            .withDetail("errors_last_hour", errorCount)
+            .build();
     }
 }
-
-
-
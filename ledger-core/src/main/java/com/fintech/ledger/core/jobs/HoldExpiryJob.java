@@ -0,0 +1,40 @@
+package com.fintech.ledger.core.jobs;
+
+import com.fintech.ledger.core.service.HoldService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class HoldExpiryJob {
+
+    private final HoldService holdService;
+
+    @Value("${ledger.holds.sweep.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Releases expired holds in batches, one transaction per batch, until a short batch
+     * shows the backlog is drained.
+     */
+    @Scheduled(fixedDelayString = "${ledger.holds.sweep.interval-ms:5000}")
+    public void sweep() {
+        Instant now = Instant.now();
+        int total = 0;
+        int released;
+        do {
+            released = holdService.releaseExpired(now, batchSize);
+            total += released;
+        } while (released == batchSize);
+
+        if (total > 0) {
+            log.info("Released {} expired holds", total);
+        }
+    }
+}
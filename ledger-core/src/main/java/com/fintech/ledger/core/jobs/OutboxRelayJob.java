@@ -0,0 +1,95 @@
+package com.fintech.ledger.core.jobs;
+
+import com.fintech.ledger.core.service.ReadModelProjector;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Streams the posting outbox into the read model and exports how far the read model trails
+ * the ledger: {@code ledger.read-model.backlog} postings, the oldest of them written
+ * {@code ledger.read-model.lag.seconds} ago.
+ * <p>
+ * On startup the read model is first caught up with postings made while it was disabled
+ * (see {@link ReadModelProjector#catchUp()}); until that succeeds, each run retries it.
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.read-model.enabled", havingValue = "true")
+@Slf4j
+public class OutboxRelayJob {
+
+    private final ReadModelProjector projector;
+    private final int batchSize;
+    private final Counter relayed;
+
+    private volatile ReadModelProjector.Backlog backlog = new ReadModelProjector.Backlog(0, null);
+    private volatile boolean caughtUp;
+
+    public OutboxRelayJob(ReadModelProjector projector,
+                          MeterRegistry meterRegistry,
+                          @Value("${ledger.read-model.relay-batch-size:500}") int batchSize) {
+        this.projector = projector;
+        this.batchSize = batchSize;
+        this.relayed = Counter.builder("ledger.read-model.relayed")
+                .description("Postings relayed from the outbox to the read model")
+                .register(meterRegistry);
+        Gauge.builder("ledger.read-model.backlog", this, job -> job.backlog.records())
+                .description("Postings in the outbox not yet in the read model")
+                .register(meterRegistry);
+        Gauge.builder("ledger.read-model.lag.seconds", this, OutboxRelayJob::lagSeconds)
+                .description("Age of the oldest posting not yet in the read model")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays in batches, one transaction per batch, until a short batch shows the outbox is
+     * drained.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnStartup() {
+        try {
+            catchUp();
+        } catch (RuntimeException e) {
+            log.warn("Read model catch-up failed; retrying with the next relay", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.read-model.relay-interval-ms:200}")
+    public void relay() {
+        if (!caughtUp) {
+            catchUp();
+        }
+        int total = 0;
+        int batch;
+        do {
+            batch = projector.relayBatch(batchSize);
+            total += batch;
+        } while (batch == batchSize);
+        relayed.increment(total);
+        backlog = projector.backlog();
+
+        if (total > 0) {
+            log.debug("Relayed {} postings to the read model", total);
+        }
+    }
+
+    private void catchUp() {
+        projector.catchUp();
+        caughtUp = true;
+    }
+
+    private double lagSeconds() {
+        Instant oldest = backlog.oldest();
+        return oldest == null ? 0 : Math.max(0, Duration.between(oldest, Instant.now()).toMillis() / 1000.0);
+    }
+}
@@ -1,20 +1,26 @@
 package com.fintech.ledger.core.jobs;
 
-import com.fintech.common.domain.Money;
+import com.fintech.common.domain.FixedMoney;
 import com.fintech.common.exception.ReconciliationFailureException;
 import com.fintech.ledger.core.domain.Account;
 import com.fintech.ledger.core.domain.TransactionLine;
 import com.fintech.ledger.core.metrics.LedgerMetrics;
+import com.fintech.ledger.core.replica.ReadFromReplica;
+import com.fintech.ledger.core.sharding.LedgerShard;
+import com.fintech.ledger.core.sharding.ShardRouter;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 @Slf4j
@@ -25,6 +31,8 @@ public class ReconciliationJob {
     private EntityManager entityManager;
     
     private final LedgerMetrics metrics;
+    /** Present only with {@code ledger.posting.mode=sharded}. */
+    private final ObjectProvider<ShardRouter> shardRouter;
 
     private static volatile boolean systemHalted = false;
 
@@ -36,10 +44,17 @@ public class ReconciliationJob {
      * Hourly Reconciliation:
      * Verifies that for every account, the current balance matches the sum of all
      * transaction lines.
+     * Line totals come from one grouped query and are netted with exact fixed-point
+     * arithmetic; an account without lines must have a zero balance.
      * If mismatch, HALT SYSTEM.
+     * In sharded mode every shard is reconciled on its own, in its own read-only transaction;
+     * the lines of an account always live on the account's shard.
+     * With a read replica the primary database is checked on the replica, whose snapshot is as
+     * consistent as the primary's.
      */
     @Scheduled(cron = "0 0 * * * *") // Hourly
     @Transactional(readOnly = true)
+    @ReadFromReplica
     public void reconcile() {
         if (systemHalted) {
             log.warn("System is HALTED. Skipping reconciliation.");
@@ -49,19 +64,43 @@ public class ReconciliationJob {
         log.info("Starting Hourly Reconciliation...");
         metrics.recordReconciliation();
 
-        List<Account> accounts = entityManager.createQuery("SELECT a FROM Account a", Account.class).getResultList();
+        verifyBalances("primary", entityManager);
+        ShardRouter router = shardRouter.getIfAvailable();
+        if (router != null) {
+            for (LedgerShard shard : router.shards()) {
+                shard.readOnly(em -> {
+                    verifyBalances(shard.name(), em);
+                    return null;
+                });
+            }
+        }
 
-        for (Account account : accounts) {
-            BigDecimal calculatedBalance = entityManager.createQuery(
-                    "SELECT SUM(CASE WHEN tl.type = 'DEBIT' THEN -tl.amountValue ELSE tl.amountValue END) " +
-                            "FROM TransactionLine tl WHERE tl.account.id = :accountId",
-                    BigDecimal.class)
-                    .setParameter("accountId", account.getId())
-                    .getSingleResult();
-
-            if (calculatedBalance == null) {
-                calculatedBalance = BigDecimal.ZERO;
+        log.info("Reconciliation Completed Successfully.");
+    }
+
+    private void verifyBalances(String scope, EntityManager em) {
+        Map<Long, FixedMoney.Accumulator> calculatedBalances = new HashMap<>();
+        List<Object[]> totals = em.createQuery(
+                "SELECT tl.account.id, tl.type, SUM(tl.amountValue) FROM TransactionLine tl " +
+                        "GROUP BY tl.account.id, tl.type",
+                Object[].class)
+                .getResultList();
+        for (Object[] row : totals) {
+            FixedMoney.Accumulator balance = calculatedBalances.computeIfAbsent(
+                    (Long) row[0], id -> new FixedMoney.Accumulator());
+            if (row[1] == TransactionLine.Type.DEBIT) {
+                balance.subtract((BigDecimal) row[2]);
+            } else {
+                balance.add((BigDecimal) row[2]);
             }
+        }
+
+        List<Account> accounts = em.createQuery("SELECT a FROM Account a", Account.class).getResultList();
+
+        for (Account account : accounts) {
+            FixedMoney.Accumulator calculatedBalance = calculatedBalances.getOrDefault(
+                    account.getId(), new FixedMoney.Accumulator());
+            FixedMoney.Accumulator storedBalance = new FixedMoney.Accumulator().add(account.getBalanceAmount());
 
             // Note: Debit decreases Asset account? Or Liability?
             // In Banking (Liability to user): Credit increases balance, Debit decreases
@@ -71,21 +110,20 @@ public class ReconciliationJob {
             // The query above assumes Credit is positive flow to account.
 
             // Compare with strict precision
-            if (account.getBalanceAmount().compareTo(calculatedBalance) != 0) {
-                haltSystem(account, calculatedBalance);
-                break;
+            if (!storedBalance.isEqualTo(calculatedBalance)) {
+                haltSystem(scope, account, calculatedBalance.toBigDecimal());
+                return;
             }
         }
-
-        log.info("Reconciliation Completed Successfully.");
+        log.debug("Reconciled {} accounts on {}", accounts.size(), scope);
     }
 
-    private void haltSystem(Account account, BigDecimal calculated) {
+    private void haltSystem(String scope, Account account, BigDecimal calculated) {
         systemHalted = true;
         metrics.recordReconciliationFailure();
         String msg = String.format(
-                "CRITICAL: Ledger Integrity Failure for Account %s. STORED: %s, CALCULATED: %s. SYSTEM HALTED.",
-                account.getId(), account.getBalanceAmount(), calculated);
+                "CRITICAL: Ledger Integrity Failure for Account %s on %s. STORED: %s, CALCULATED: %s. SYSTEM HALTED.",
+                account.getId(), scope, account.getBalanceAmount(), calculated);
         log.error(msg);
         // In real world: Send PagerDuty alert, Stop all writes.
         throw new ReconciliationFailureException(msg);
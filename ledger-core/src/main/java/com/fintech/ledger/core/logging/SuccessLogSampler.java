@@ -0,0 +1,33 @@
+package com.fintech.ledger.core.logging;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which routine successes on the posting paths are logged at INFO.
+ * <p>
+ * One in {@code ledger.logging.success-sample-rate} is logged, or every one when the logger
+ * is at DEBUG. Failures are not sampled; postings and audit records keep the full history.
+ */
+@Component
+public class SuccessLogSampler {
+
+    private final int rate;
+
+    public SuccessLogSampler(@Value("${ledger.logging.success-sample-rate:100}") int rate) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive: " + rate);
+        }
+        this.rate = rate;
+    }
+
+    public boolean sample(Logger log) {
+        if (log.isDebugEnabled()) {
+            return true;
+        }
+        return log.isInfoEnabled() && (rate == 1 || ThreadLocalRandom.current().nextInt(rate) == 0);
+    }
+}
@@ -0,0 +1,114 @@
+package com.fintech.ledger.core.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The accounts whose row locks are waited on the longest.
+ * <p>
+ * Every locking read of an account reports how long it took. Reports go to one of a fixed
+ * number of {@link SpaceSavingSketch}es chosen by account id, so an account's waits always
+ * add up in the same sketch and memory stays at {@code stripes * top-k} slots however many
+ * accounts there are. Weights are halved every decay interval, so the list follows the
+ * accounts that are hot now. Published through the {@code contention} actuator endpoint and
+ * as {@code ledger.accounts.contention.*} gauges tagged by account.
+ */
+@Component
+public class AccountContentionTracker {
+
+    /**
+     * One account's recent lock waits. {@code totalWaitNanos} may exceed the true figure by
+     * up to {@code overestimateNanos}.
+     */
+    public record ContendedAccount(long accountId, long acquisitions, long totalWaitNanos, long overestimateNanos) {
+    }
+
+    private final SpaceSavingSketch[] stripes;
+    private final int topK;
+    private final MultiGauge waitGauge;
+    private final MultiGauge acquisitionGauge;
+
+    public AccountContentionTracker(MeterRegistry meterRegistry,
+                                    @Value("${ledger.contention.top-k:20}") int topK,
+                                    @Value("${ledger.contention.stripes:16}") int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive: " + stripes);
+        }
+        this.topK = topK;
+        this.stripes = new SpaceSavingSketch[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new SpaceSavingSketch(topK);
+        }
+        this.waitGauge = MultiGauge.builder("ledger.accounts.contention.wait")
+                .description("Recent lock wait on the most contended accounts")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.acquisitionGauge = MultiGauge.builder("ledger.accounts.contention.acquisitions")
+                .description("Recent locking reads of the most contended accounts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records one locking read of an account and the time it took.
+     */
+    public void record(long accountId, long waitNanos) {
+        SpaceSavingSketch sketch = stripes[stripe(accountId)];
+        synchronized (sketch) {
+            sketch.add(accountId, waitNanos);
+        }
+    }
+
+    /**
+     * @return up to top-k accounts, longest total wait first
+     */
+    public List<ContendedAccount> topAccounts() {
+        List<ContendedAccount> accounts = new ArrayList<>(stripes.length * topK);
+        for (SpaceSavingSketch sketch : stripes) {
+            synchronized (sketch) {
+                sketch.copyTo(accounts);
+            }
+        }
+        accounts.sort(Comparator.comparingLong(ContendedAccount::totalWaitNanos).reversed());
+        return accounts.size() > topK ? List.copyOf(accounts.subList(0, topK)) : accounts;
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.contention.decay-interval-ms:60000}")
+    public void decay() {
+        for (SpaceSavingSketch sketch : stripes) {
+            synchronized (sketch) {
+                sketch.decay();
+            }
+        }
+    }
+
+    /**
+     * Replaces the per-account gauges, dropping accounts that left the top-k.
+     */
+    @Scheduled(fixedDelayString = "${ledger.contention.publish-interval-ms:15000}")
+    public void publish() {
+        List<ContendedAccount> accounts = topAccounts();
+        List<MultiGauge.Row<?>> waits = new ArrayList<>(accounts.size());
+        List<MultiGauge.Row<?>> acquisitions = new ArrayList<>(accounts.size());
+        for (ContendedAccount account : accounts) {
+            Tags tags = Tags.of("account", Long.toString(account.accountId()));
+            waits.add(MultiGauge.Row.of(tags, account.totalWaitNanos() / (double) TimeUnit.SECONDS.toNanos(1)));
+            acquisitions.add(MultiGauge.Row.of(tags, account.acquisitions()));
+        }
+        waitGauge.register(waits, true);
+        acquisitionGauge.register(acquisitions, true);
+    }
+
+    private int stripe(long accountId) {
+        // Fibonacci hashing: sequential ids spread over the stripes
+        return (int) ((accountId * 0x9E3779B97F4A7C15L) >>> 33) % stripes.length;
+    }
+}
@@ -0,0 +1,24 @@
+package com.fintech.ledger.core.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/contention}: the accounts whose locks were waited on the longest lately.
+ */
+@Component
+@Endpoint(id = "contention")
+@RequiredArgsConstructor
+public class ContentionEndpoint {
+
+    private final AccountContentionTracker contentionTracker;
+
+    @ReadOperation
+    public List<AccountContentionTracker.ContendedAccount> contendedAccounts() {
+        return contentionTracker.topAccounts();
+    }
+}
@@ -1,46 +1,99 @@
 package com.fintech.ledger.core.metrics;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Custom metrics for ledger operations.
+ * Meters are registered when the bean is created. Posting timers publish percentile
+ * histograms with SLO buckets; posting meters are tagged by leg count and currency, and each
+ * posting's time is also broken out by {@link Phase}.
  */
 @Component
-@RequiredArgsConstructor
 public class LedgerMetrics {
 
+    /**
+     * Parts of a posting timed on their own. Phases run inside the posting's transaction, so
+     * the commit, where the inserts are flushed, is in the total only.
+     */
+    public enum Phase {
+        /** Input checks and the pre-flight simulation. */
+        VALIDATION("validation"),
+        LIMIT_CHECK("limit_check"),
+        IDEMPOTENCY_LOOKUP("idempotency_lookup"),
+        /** Locking reads of the posting's accounts. */
+        LOCK_ACQUISITION("lock_acquisition"),
+        PERSIST("persist"),
+        /** Writing the audit record. */
+        AUDIT("audit");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final Duration[] POSTING_SLOS = {
+        Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50),
+        Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1)
+    };
+    private static final Duration[] PHASE_SLOS = {
+        Duration.ofNanos(100_000), Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10),
+        Duration.ofMillis(50), Duration.ofMillis(100)
+    };
+
     private final MeterRegistry meterRegistry;
+    private final Meter.MeterProvider<Counter> transactionCounter;
+    private final Meter.MeterProvider<Counter> transactionErrorCounter;
+    private final Meter.MeterProvider<Counter> duplicateTransactionCounter;
+    private final Meter.MeterProvider<Timer> transactionProcessingTime;
+    private final Map<Phase, Timer> phaseTimes = new EnumMap<>(Phase.class);
+    private final Counter reconciliationCounter;
+    private final Counter reconciliationFailureCounter;
 
-    private Counter transactionCounter;
-    private Counter transactionErrorCounter;
-    private Counter duplicateTransactionCounter;
-    private Timer transactionProcessingTime;
-    private Counter reconciliationCounter;
-    private Counter reconciliationFailureCounter;
+    public LedgerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
 
-    public void initialize() {
         this.transactionCounter = Counter.builder("ledger.transactions.total")
             .description("Total number of transactions processed")
-            .register(meterRegistry);
+            .withRegistry(meterRegistry);
 
         this.transactionErrorCounter = Counter.builder("ledger.transactions.errors")
             .description("Number of failed transactions")
             .tag("type", "error")
-            .register(meterRegistry);
+            .withRegistry(meterRegistry);
 
         this.duplicateTransactionCounter = Counter.builder("ledger.transactions.duplicates")
             .description("Number of duplicate transaction attempts")
-            .register(meterRegistry);
+            .withRegistry(meterRegistry);
 
         this.transactionProcessingTime = Timer.builder("ledger.transactions.processing.time")
-            .description("Transaction processing time")
-            .register(meterRegistry);
+            .description("Transaction processing time, by outcome")
+            .publishPercentileHistogram()
+            .serviceLevelObjectives(POSTING_SLOS)
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(30))
+            .withRegistry(meterRegistry);
+
+        for (Phase phase : Phase.values()) {
+            phaseTimes.put(phase, Timer.builder("ledger.transactions.phase.time")
+                .description("Time spent in one phase of a posting")
+                .tag("phase", phase.tag)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(PHASE_SLOS)
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry));
+        }
 
         this.reconciliationCounter = Counter.builder("ledger.reconciliation.total")
             .description("Total number of reconciliation runs")
@@ -51,20 +104,31 @@ public class LedgerMetrics {
             .register(meterRegistry);
     }
 
-    public void recordTransaction() {
-        transactionCounter.increment();
+    /**
+     * Starts timing a posting on the registry's monotonic clock.
+     */
+    public Timer.Sample startTimer() {
+        return Timer.start(meterRegistry);
     }
 
-    public void recordTransactionError() {
-        transactionErrorCounter.increment();
+    public void recordTransaction(Timer.Sample sample, int legs, String currency) {
+        transactionCounter.withTags("legs", legsTag(legs), "currency", currency).increment();
+        sample.stop(transactionProcessingTime.withTags("legs", legsTag(legs), "currency", currency,
+            "outcome", "success"));
     }
 
-    public void recordDuplicateTransaction() {
-        duplicateTransactionCounter.increment();
+    public void recordTransactionError(Timer.Sample sample, int legs, String currency) {
+        transactionErrorCounter.withTags("legs", legsTag(legs), "currency", currency).increment();
+        sample.stop(transactionProcessingTime.withTags("legs", legsTag(legs), "currency", currency,
+            "outcome", "error"));
     }
 
-    public void recordTransactionTime(long durationMs) {
-        transactionProcessingTime.record(durationMs, TimeUnit.MILLISECONDS);
+    public void recordDuplicateTransaction(int legs, String currency) {
+        duplicateTransactionCounter.withTags("legs", legsTag(legs), "currency", currency).increment();
+    }
+
+    public void recordPhase(Phase phase, long nanos) {
+        phaseTimes.get(phase).record(nanos, TimeUnit.NANOSECONDS);
     }
 
     public void recordReconciliation() {
@@ -74,7 +138,11 @@ public class LedgerMetrics {
     public void recordReconciliationFailure() {
         reconciliationFailureCounter.increment();
     }
-}
-
-
 
+    /**
+     * Leg counts above four share one tag value, to keep the number of series small.
+     */
+    static String legsTag(int legs) {
+        return legs <= 4 ? Integer.toString(legs) : "5+";
+    }
+}
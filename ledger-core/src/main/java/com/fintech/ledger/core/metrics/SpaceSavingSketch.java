@@ -0,0 +1,74 @@
+package com.fintech.ledger.core.metrics;
+
+import java.util.List;
+
+/**
+ * Space-Saving heavy-hitters summary of account ids, weighted by lock wait.
+ * <p>
+ * Holds at most {@code capacity} accounts in flat arrays. An account that is not held takes
+ * the slot of the one with the least wait and inherits that wait as its possible overestimate,
+ * so every account whose wait exceeds {@code total / capacity} is held. Lookups scan the
+ * arrays, which at a few dozen slots is cheaper than hashing. Not thread-safe.
+ */
+final class SpaceSavingSketch {
+
+    private final long[] accountIds;
+    private final long[] waitNanos;
+    private final long[] overestimateNanos;
+    private final long[] acquisitions;
+    private int size;
+
+    SpaceSavingSketch(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.accountIds = new long[capacity];
+        this.waitNanos = new long[capacity];
+        this.overestimateNanos = new long[capacity];
+        this.acquisitions = new long[capacity];
+    }
+
+    void add(long accountId, long nanos) {
+        int min = 0;
+        for (int i = 0; i < size; i++) {
+            if (accountIds[i] == accountId) {
+                waitNanos[i] += nanos;
+                acquisitions[i]++;
+                return;
+            }
+            if (waitNanos[i] < waitNanos[min]) {
+                min = i;
+            }
+        }
+        if (size < accountIds.length) {
+            min = size++;
+            overestimateNanos[min] = 0;
+        } else {
+            overestimateNanos[min] = waitNanos[min];
+        }
+        accountIds[min] = accountId;
+        waitNanos[min] += nanos;
+        // Only acquisitions seen since the account took the slot
+        acquisitions[min] = 1;
+    }
+
+    /**
+     * Halves every weight, so accounts that stopped being contended give way to new ones.
+     */
+    void decay() {
+        for (int i = 0; i < size; i++) {
+            waitNanos[i] >>>= 1;
+            overestimateNanos[i] >>>= 1;
+            acquisitions[i] >>>= 1;
+        }
+    }
+
+    void copyTo(List<AccountContentionTracker.ContendedAccount> into) {
+        for (int i = 0; i < size; i++) {
+            if (waitNanos[i] > 0) {
+                into.add(new AccountContentionTracker.ContendedAccount(accountIds[i], acquisitions[i],
+                        waitNanos[i], overestimateNanos[i]));
+            }
+        }
+    }
+}
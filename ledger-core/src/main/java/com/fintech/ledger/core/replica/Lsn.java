@@ -0,0 +1,42 @@
+package com.fintech.ledger.core.replica;
+
+/**
+ * PostgreSQL WAL positions ({@code pg_lsn}), written as two hexadecimal halves such as
+ * {@code 16/B374D848}, as unsigned 64-bit values that compare in WAL order.
+ */
+public final class Lsn {
+
+    private Lsn() {
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code text} is not a WAL position
+     */
+    public static long parse(String text) {
+        int slash = text.indexOf('/');
+        if (slash <= 0 || slash == text.length() - 1) {
+            throw new IllegalArgumentException("Not a WAL position: " + text);
+        }
+        try {
+            long high = Long.parseUnsignedLong(text, 0, slash, 16);
+            long low = Long.parseUnsignedLong(text, slash + 1, text.length(), 16);
+            if (high > 0xFFFF_FFFFL || low > 0xFFFF_FFFFL) {
+                throw new IllegalArgumentException("Not a WAL position: " + text);
+            }
+            return high << 32 | low;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a WAL position: " + text, e);
+        }
+    }
+
+    public static String format(long lsn) {
+        return Long.toHexString(lsn >>> 32).toUpperCase() + "/" + Long.toHexString(lsn & 0xFFFF_FFFFL).toUpperCase();
+    }
+
+    /**
+     * @return whether {@code lsn} is at or after {@code required} in WAL order
+     */
+    public static boolean reached(long lsn, long required) {
+        return Long.compareUnsigned(lsn, required) >= 0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.fintech.ledger.core.replica;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets {@code @Transactional(readOnly = true)} work started inside the annotated method (or any
+ * method of the annotated type) run on the read replica when {@code ledger.replica.enabled} is
+ * on. Read-only work elsewhere stays on the primary: the posting paths read balances and
+ * checkpoints that must not trail the writes they are about to make.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadFromReplica {
+}
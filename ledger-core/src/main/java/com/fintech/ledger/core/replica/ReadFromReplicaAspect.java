@@ -0,0 +1,28 @@
+package com.fintech.ledger.core.replica;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks the calling thread as allowed to read from the replica for the duration of a
+ * {@link ReadFromReplica} call.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "ledger.replica.enabled", havingValue = "true")
+public class ReadFromReplicaAspect {
+
+    @Around("@annotation(com.fintech.ledger.core.replica.ReadFromReplica) "
+            + "|| @within(com.fintech.ledger.core.replica.ReadFromReplica)")
+    public Object readFromReplica(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean previous = ReplicaRouting.enterEligible();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRouting.restoreEligible(previous);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.fintech.ledger.core.replica;
+
+/**
+ * Where a connection was routed and why, as exported in the {@code ledger.datasource.routes}
+ * metric.
+ */
+public enum ReadRoute {
+    REPLICA("replica", "read-only"),
+    /** Not a read-only transaction. */
+    PRIMARY_READ_WRITE("primary", "read-write"),
+    /** Read-only, but not inside a {@link ReadFromReplica} call. */
+    PRIMARY_PINNED("primary", "pinned"),
+    /** No recent successful lag sample. */
+    PRIMARY_UNAVAILABLE("primary", "replica-unavailable"),
+    PRIMARY_LAGGING("primary", "lag"),
+    /** The replica has not yet replayed this session's last commit. */
+    PRIMARY_READ_YOUR_WRITES("primary", "read-your-writes");
+
+    private final String target;
+    private final String reason;
+
+    ReadRoute(String target, String reason) {
+        this.target = target;
+        this.reason = reason;
+    }
+
+    public String target() {
+        return target;
+    }
+
+    public String reason() {
+        return reason;
+    }
+
+    public boolean toReplica() {
+        return this == REPLICA;
+    }
+}
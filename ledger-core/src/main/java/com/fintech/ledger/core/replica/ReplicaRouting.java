@@ -0,0 +1,63 @@
+package com.fintech.ledger.core.replica;
+
+/**
+ * Per-thread routing state: whether the current call may read from the replica, and the
+ * primary WAL position the replica must have replayed before this session reads from it.
+ */
+public final class ReplicaRouting {
+
+    /**
+     * Response header carrying the primary WAL position after a request's last commit; clients
+     * send it back on later requests to read their own writes.
+     */
+    public static final String COMMIT_LSN_HEADER = "X-Ledger-Commit-Lsn";
+
+    private static final ThreadLocal<Boolean> ELIGIBLE = new ThreadLocal<>();
+    private static final ThreadLocal<Long> REQUIRED_LSN = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    public static boolean isEligible() {
+        return Boolean.TRUE.equals(ELIGIBLE.get());
+    }
+
+    /**
+     * @return the previous value, to be passed back to {@link #restoreEligible(boolean)}
+     */
+    static boolean enterEligible() {
+        boolean previous = isEligible();
+        ELIGIBLE.set(Boolean.TRUE);
+        return previous;
+    }
+
+    static void restoreEligible(boolean previous) {
+        if (previous) {
+            ELIGIBLE.set(Boolean.TRUE);
+        } else {
+            ELIGIBLE.remove();
+        }
+    }
+
+    /**
+     * @return the WAL position the replica must have replayed, or 0 if any position will do
+     */
+    public static long requiredLsn() {
+        Long lsn = REQUIRED_LSN.get();
+        return lsn == null ? 0 : lsn;
+    }
+
+    /**
+     * Raises the required position to {@code lsn}; never lowers it.
+     */
+    public static void requireLsn(long lsn) {
+        if (!Lsn.reached(requiredLsn(), lsn)) {
+            REQUIRED_LSN.set(lsn);
+        }
+    }
+
+    public static void clear() {
+        ELIGIBLE.remove();
+        REQUIRED_LSN.remove();
+    }
+}
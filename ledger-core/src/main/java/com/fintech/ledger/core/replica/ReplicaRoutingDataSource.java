@@ -0,0 +1,136 @@
+package com.fintech.ledger.core.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions started inside {@link ReadFromReplica} calls to the replica
+ * while it is within {@code maxLag} of the primary and has replayed the session's last commit;
+ * everything else goes to the primary. Must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} so that the
+ * connection is chosen once the transaction's read-only flag is known.
+ * <p>
+ * After a write transaction in an HTTP request commits, the primary's WAL position is sent
+ * back in the {@link ReplicaRouting#COMMIT_LSN_HEADER} header and required for the rest of
+ * the request. It is read on the transaction's own connection, which is still checked out
+ * when the commit completes, so publishing never waits for a second pool connection. The replica's position comes from the last {@link ReplicationLagMonitor}
+ * sample, so reads right after a write go to the primary until the next sample shows the
+ * replica has caught up.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicationLagMonitor monitor;
+    private final Duration maxLag;
+    private final Duration maxSampleAge;
+    private final Map<ReadRoute, Counter> routes = new EnumMap<>(ReadRoute.class);
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicationLagMonitor monitor,
+                                    Duration maxLag, Duration maxSampleAge, MeterRegistry meterRegistry) {
+        this.monitor = monitor;
+        this.maxLag = maxLag;
+        this.maxSampleAge = maxSampleAge;
+        for (ReadRoute route : ReadRoute.values()) {
+            routes.put(route, Counter.builder("ledger.datasource.routes")
+                    .description("Connections handed out, by target database and reason")
+                    .tag("target", route.target())
+                    .tag("reason", route.reason())
+                    .register(meterRegistry));
+        }
+        setTargetDataSources(Map.of(
+                ReadRoute.REPLICA.target(), replica,
+                ReadRoute.PRIMARY_READ_WRITE.target(), primary));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+                if (sync instanceof CommitPositionPublisher publisher && publisher.connection == null) {
+                    publisher.connection = connection;
+                }
+            }
+        }
+        return connection;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        ReadRoute route = monitor.status().route(
+                TransactionSynchronizationManager.isCurrentTransactionReadOnly(),
+                ReplicaRouting.isEligible(),
+                ReplicaRouting.requiredLsn(),
+                maxLag, maxSampleAge, Instant.now());
+        routes.get(route).increment();
+        if (route == ReadRoute.PRIMARY_READ_WRITE) {
+            trackCommitPosition();
+        }
+        return route.target();
+    }
+
+    private void trackCommitPosition() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes request)) {
+            return;
+        }
+        boolean tracked = TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(CommitPositionPublisher.class::isInstance);
+        if (!tracked) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new CommitPositionPublisher(request.getResponse()));
+        }
+    }
+
+    private static final class CommitPositionPublisher implements TransactionSynchronization {
+
+        private final HttpServletResponse response;
+        /** The transaction's primary connection, set once it has been obtained. */
+        private Connection connection;
+
+        private CommitPositionPublisher(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        /**
+         * Runs before the connection is released. The position must be read after the
+         * commit: one read before it would precede the commit record.
+         */
+        @Override
+        public void afterCommit() {
+            if (connection == null) {
+                return;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery("SELECT pg_current_wal_lsn()::text")) {
+                result.next();
+                ReplicaRouting.requireLsn(Lsn.parse(result.getString(1)));
+            } catch (SQLException | RuntimeException e) {
+                log.debug("Could not read the commit position: {}", e.getMessage());
+                return;
+            }
+            if (response != null && !response.isCommitted()) {
+                response.setHeader(ReplicaRouting.COMMIT_LSN_HEADER, Lsn.format(ReplicaRouting.requiredLsn()));
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.fintech.ledger.core.replica;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * One replication lag sample.
+ *
+ * @param primaryLsn WAL position on the primary when the sample was taken
+ * @param replayLsn  WAL position the replica had replayed right after
+ * @param lag        how far behind the primary the replica's replayed data is; zero when it has
+ *                   replayed {@code primaryLsn}
+ */
+public record ReplicaStatus(boolean available, long primaryLsn, long replayLsn, Duration lag, Instant sampledAt) {
+
+    /** Before the first sample, and after a failed one. */
+    public static final ReplicaStatus UNAVAILABLE = new ReplicaStatus(false, 0, 0, Duration.ZERO, Instant.EPOCH);
+
+    public static ReplicaStatus sampled(long primaryLsn, long replayLsn, Duration lag, Instant sampledAt) {
+        return new ReplicaStatus(true, primaryLsn, replayLsn,
+                Lsn.reached(replayLsn, primaryLsn) ? Duration.ZERO : lag, sampledAt);
+    }
+
+    /**
+     * @return WAL bytes the replica had still to replay when sampled
+     */
+    public long lagBytes() {
+        return Lsn.reached(replayLsn, primaryLsn) ? 0 : primaryLsn - replayLsn;
+    }
+
+    /**
+     * Decides where a new connection goes.
+     *
+     * @param requiredLsn WAL position this session must see, or 0
+     * @param maxAge      samples older than this are not trusted
+     */
+    public ReadRoute route(boolean readOnly, boolean eligible, long requiredLsn, Duration maxLag, Duration maxAge,
+                           Instant now) {
+        if (!readOnly) {
+            return ReadRoute.PRIMARY_READ_WRITE;
+        }
+        if (!eligible) {
+            return ReadRoute.PRIMARY_PINNED;
+        }
+        if (!available || sampledAt.plus(maxAge).isBefore(now)) {
+            return ReadRoute.PRIMARY_UNAVAILABLE;
+        }
+        if (lag.compareTo(maxLag) > 0) {
+            return ReadRoute.PRIMARY_LAGGING;
+        }
+        if (requiredLsn != 0 && !Lsn.reached(replayLsn, requiredLsn)) {
+            return ReadRoute.PRIMARY_READ_YOUR_WRITES;
+        }
+        return ReadRoute.REPLICA;
+    }
+}
@@ -0,0 +1,79 @@
+package com.fintech.ledger.core.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Samples how far the replica trails the primary, from the primary's current WAL position and
+ * the replica's replayed position and replay timestamp. A failed sample marks the replica
+ * unavailable until the next one succeeds.
+ */
+@Slf4j
+public class ReplicationLagMonitor {
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+
+    private volatile ReplicaStatus status = ReplicaStatus.UNAVAILABLE;
+
+    public ReplicationLagMonitor(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.primary.setQueryTimeout(2);
+        this.replica.setQueryTimeout(2);
+
+        Gauge.builder("ledger.replica.lag.seconds", this, m -> m.status.lag().toMillis() / 1000.0)
+                .description("Replay lag of the read replica at the last sample")
+                .register(meterRegistry);
+        Gauge.builder("ledger.replica.lag.bytes", this, m -> m.status.lagBytes())
+                .description("WAL bytes the read replica had still to replay at the last sample")
+                .register(meterRegistry);
+        Gauge.builder("ledger.replica.available", this, m -> m.status.available() ? 1 : 0)
+                .description("Whether the last replica lag sample succeeded")
+                .register(meterRegistry);
+    }
+
+    public ReplicaStatus status() {
+        return status;
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.replica.lag-check-interval-ms:1000}")
+    public void sample() {
+        try {
+            // Primary first: a replica that has replayed this position has caught up
+            long primaryLsn = Lsn.parse(primary.queryForObject("SELECT pg_current_wal_lsn()::text", String.class));
+            Map<String, Object> row = replica.queryForMap(
+                    "SELECT pg_last_wal_replay_lsn()::text AS replay_lsn, "
+                            + "EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) AS lag_seconds");
+            String replayLsn = (String) row.get("replay_lsn");
+            if (replayLsn == null) {
+                throw new IllegalStateException("replica is not replaying WAL");
+            }
+            long replayed = Lsn.parse(replayLsn);
+            Number lagSeconds = (Number) row.get("lag_seconds");
+            if (lagSeconds == null && !Lsn.reached(replayed, primaryLsn)) {
+                throw new IllegalStateException("replica is behind but has not replayed a transaction yet");
+            }
+            Duration lag = lagSeconds == null ? Duration.ZERO
+                    : Duration.ofNanos(Math.max(0, (long) (lagSeconds.doubleValue() * 1e9)));
+            ReplicaStatus sampled = ReplicaStatus.sampled(primaryLsn, replayed, lag, Instant.now());
+            if (!status.available()) {
+                log.info("Read replica available; lag {}", sampled.lag());
+            }
+            status = sampled;
+        } catch (RuntimeException e) {
+            if (status.available()) {
+                log.warn("Read replica unavailable, reads go to the primary: {}", e.getMessage());
+            }
+            status = ReplicaStatus.UNAVAILABLE;
+        }
+    }
+}
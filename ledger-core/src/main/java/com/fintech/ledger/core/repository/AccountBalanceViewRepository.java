@@ -0,0 +1,9 @@
+package com.fintech.ledger.core.repository;
+
+import com.fintech.ledger.core.domain.AccountBalanceView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountBalanceViewRepository extends JpaRepository<AccountBalanceView, Long> {
+}
@@ -0,0 +1,13 @@
+package com.fintech.ledger.core.repository;
+
+import com.fintech.ledger.core.domain.AccountHistoryEntry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountHistoryEntryRepository extends JpaRepository<AccountHistoryEntry, Long> {
+
+    Page<AccountHistoryEntry> findByAccountIdOrderByPostedAtDescPostingIdDesc(Long accountId, Pageable pageable);
+}
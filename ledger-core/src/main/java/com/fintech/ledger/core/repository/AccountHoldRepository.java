@@ -0,0 +1,40 @@
+package com.fintech.ledger.core.repository;
+
+import com.fintech.ledger.core.domain.AccountHold;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountHoldRepository extends JpaRepository<AccountHold, Long> {
+
+    Optional<AccountHold> findByReference(String reference);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM AccountHold h WHERE h.id = :id")
+    Optional<AccountHold> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Oldest holds in {@code status} that expired by {@code now}, locked so a concurrent
+     * capture or void waits for the sweep.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM AccountHold h WHERE h.status = :status AND h.expiresAt <= :now ORDER BY h.id")
+    List<AccountHold> findByStatusExpiredForUpdate(@Param("status") AccountHold.Status status,
+                                                   @Param("now") Instant now, Pageable page);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AccountHold h SET h.status = :status, h.settledAt = :now WHERE h.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") AccountHold.Status status,
+                     @Param("now") Instant now);
+}
@@ -1,15 +1,79 @@
 package com.fintech.ledger.core.repository;
 
 import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.TransactionLine;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByName(String name);
-}
 
+    /**
+     * Releases {@code amount} of reserved funds in place. Bumps the version so a stale copy
+     * of the account cannot write back the old reserved total.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Account a SET a.reservedAmount = a.reservedAmount - :amount, a.version = a.version + 1 "
+            + "WHERE a.id = :accountId")
+    int releaseReserved(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Adds {@code delta} (negative for a net debit) to the balance in place, for projecting
+     * postings that were already validated elsewhere.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Account a SET a.balanceAmount = a.balanceAmount + :delta, a.version = a.version + 1 "
+            + "WHERE a.id = :accountId")
+    int applyBalanceDelta(@Param("accountId") Long accountId, @Param("delta") BigDecimal delta);
+
+    /**
+     * The part of the balance that no journal line accounts for, such as a balance the account
+     * was opened with. One statement, so the balance and the lines come from the same snapshot.
+     *
+     * @param credit {@link TransactionLine.Type#CREDIT}, the type that adds to the balance
+     */
+    @Query("SELECT a.balanceAmount - COALESCE((SELECT SUM(CASE WHEN tl.type = :credit THEN tl.amountValue "
+            + "ELSE -tl.amountValue END) FROM TransactionLine tl WHERE tl.account.id = a.id), 0) "
+            + "FROM Account a WHERE a.id = :accountId")
+    Optional<BigDecimal> findBalanceOutsideLines(@Param("accountId") Long accountId,
+                                                 @Param("credit") TransactionLine.Type credit);
 
+    /**
+     * Accounts after {@code afterId} in id order, each as {@code [id, balance amount, balance
+     * currency, number of postings, last posting time]}, for rebuilding the read model.
+     */
+    @Query("SELECT a.id, a.balanceAmount, a.balanceCurrency, COUNT(DISTINCT je.id), MAX(je.timestamp) "
+            + "FROM Account a LEFT JOIN TransactionLine tl ON tl.account = a LEFT JOIN tl.journalEntry je "
+            + "WHERE a.id > :afterId GROUP BY a.id, a.balanceAmount, a.balanceCurrency ORDER BY a.id")
+    List<Object[]> findPostingSummariesAfter(@Param("afterId") Long afterId, Pageable page);
 
+    /**
+     * Accounts whose status is one of {@code statuses}, each as {@code [id, status]}.
+     */
+    @Query("SELECT a.id, a.status FROM Account a WHERE a.status IN :statuses")
+    List<Object[]> findStatusesIn(@Param("statuses") Collection<Account.AccountStatus> statuses);
+
+    /**
+     * Statuses of the accounts that may not be posted to, by account id.
+     */
+    default Map<Long, Account.AccountStatus> findRestrictedStatuses() {
+        Map<Long, Account.AccountStatus> statuses = new HashMap<>();
+        for (Object[] row : findStatusesIn(EnumSet.of(Account.AccountStatus.FROZEN, Account.AccountStatus.CLOSED))) {
+            statuses.put((Long) row[0], (Account.AccountStatus) row[1]);
+        }
+        return statuses;
+    }
+}
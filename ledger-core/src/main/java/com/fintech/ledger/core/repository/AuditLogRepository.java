@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -27,6 +28,7 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
         @Param("end") Instant end
     );
     
+    @Transactional(readOnly = true)
     @Query("SELECT COUNT(a) FROM AuditLog a WHERE a.errorMessage IS NOT NULL AND a.timestamp >= :since")
     long countErrorsSince(@Param("since") Instant since);
 }
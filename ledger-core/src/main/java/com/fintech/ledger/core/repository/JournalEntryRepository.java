@@ -1,11 +1,29 @@
 package com.fintech.ledger.core.repository;
 
 import com.fintech.ledger.core.domain.JournalEntry;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface JournalEntryRepository
         extends JpaRepository<JournalEntry, Long>, JpaSpecificationExecutor<JournalEntry> {
+
+    Optional<JournalEntry> findByLogSequence(Long logSequence);
+
+    /**
+     * Transaction lines after {@code afterLineId} in id order, each as {@code [line id, account
+     * id, posting id, posted at, description, type, amount, currency]}, for rebuilding the read
+     * model. The posting id is the one {@code PostingOutbox} records.
+     */
+    @Query("SELECT tl.id, tl.account.id, COALESCE(je.logSequence, je.id), je.timestamp, je.description, "
+            + "tl.type, tl.amountValue, tl.currencyCode "
+            + "FROM TransactionLine tl JOIN tl.journalEntry je WHERE tl.id > :afterLineId ORDER BY tl.id")
+    List<Object[]> findLinesAfter(@Param("afterLineId") Long afterLineId, Pageable page);
 }
@@ -0,0 +1,22 @@
+package com.fintech.ledger.core.repository;
+
+import com.fintech.ledger.core.domain.OutboxRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboxRecordRepository extends JpaRepository<OutboxRecord, Long> {
+
+    List<OutboxRecord> findByOrderByIdAsc(Pageable page);
+
+    /**
+     * @return when the oldest record still waiting was written, or {@code null} if none is
+     */
+    @Query("SELECT MIN(o.createdAt) FROM OutboxRecord o")
+    Instant findOldestCreatedAt();
+}
@@ -0,0 +1,19 @@
+package com.fintech.ledger.core.repository;
+
+import com.fintech.ledger.core.domain.ProjectionCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+
+@Repository
+public interface ProjectionCheckpointRepository extends JpaRepository<ProjectionCheckpoint, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ProjectionCheckpoint c WHERE c.name = :name")
+    Optional<ProjectionCheckpoint> findByNameForUpdate(@Param("name") String name);
+}
@@ -1,15 +1,29 @@
 package com.fintech.ledger.core.repository;
 
 import com.fintech.ledger.core.domain.TransactionIdempotency;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TransactionIdempotencyRepository extends JpaRepository<TransactionIdempotency, Long> {
     Optional<TransactionIdempotency> findByIdempotencyKey(String idempotencyKey);
     boolean existsByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Idempotency records after {@code afterId} in id order, each as {@code [id, key, posting
+     * id]}; the posting id is the entry's log sequence, or its id if it was posted before the
+     * posting log was enabled.
+     */
+    @Query("SELECT ti.id, ti.idempotencyKey, COALESCE(je.logSequence, je.id) "
+            + "FROM TransactionIdempotency ti, JournalEntry je "
+            + "WHERE je.id = ti.journalEntryId AND ti.id > :afterId ORDER BY ti.id")
+    List<Object[]> findPostingIdsAfter(@Param("afterId") Long afterId, Pageable page);
 }
 
 
@@ -8,6 +8,11 @@ import org.springframework.data.jpa.domain.Specification;
 import java.math.BigDecimal;
 import java.time.Instant;
 
+/**
+ * Journal entry search criteria for {@link JournalEntryRepository}. Its specification queries
+ * run read-only, so they use the read replica when called from a
+ * {@link com.fintech.ledger.core.replica.ReadFromReplica} method.
+ */
 public class TransactionSpecs {
 
     public static Specification<JournalEntry> currencyEquals(String currencyCode) {
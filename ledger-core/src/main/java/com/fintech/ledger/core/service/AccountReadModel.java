@@ -0,0 +1,52 @@
+package com.fintech.ledger.core.service;
+
+import com.fintech.common.exception.AccountNotFoundException;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.AccountBalanceView;
+import com.fintech.ledger.core.domain.AccountHistoryEntry;
+import com.fintech.ledger.core.repository.AccountBalanceViewRepository;
+import com.fintech.ledger.core.repository.AccountHistoryEntryRepository;
+import com.fintech.ledger.core.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Balance and history queries served from the read model, away from the posting tables.
+ * Results trail postings by the outbox backlog.
+ */
+@Service
+@ConditionalOnProperty(name = "ledger.read-model.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class AccountReadModel {
+
+    private final AccountBalanceViewRepository balanceViewRepository;
+    private final AccountHistoryEntryRepository historyRepository;
+    private final AccountRepository accountRepository;
+
+    /**
+     * Falls back to the account row for an account none of whose postings has been relayed
+     * yet; {@link AccountBalanceView#getUpdatedAt()} is then {@code null}.
+     *
+     * @throws AccountNotFoundException if there is no such account
+     */
+    @Transactional(readOnly = true)
+    public AccountBalanceView getBalance(Long accountId) {
+        return balanceViewRepository.findById(accountId).orElseGet(() -> {
+            Account account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException(accountId));
+            return new AccountBalanceView(accountId, account.getBalanceAmount(), account.getBalanceCurrency());
+        });
+    }
+
+    /**
+     * @return the account's relayed posting legs, newest first
+     */
+    @Transactional(readOnly = true)
+    public Page<AccountHistoryEntry> getHistory(Long accountId, Pageable pageable) {
+        return historyRepository.findByAccountIdOrderByPostedAtDescPostingIdDesc(accountId, pageable);
+    }
+}
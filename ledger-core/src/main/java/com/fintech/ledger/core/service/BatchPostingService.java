@@ -0,0 +1,219 @@
+package com.fintech.ledger.core.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.common.domain.IdempotencyKey;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.DuplicateTransactionException;
+import com.fintech.common.exception.InvalidTransactionException;
+import com.fintech.common.exception.LedgerException;
+import com.fintech.ledger.core.dto.request.PostTransactionRequest;
+import com.fintech.ledger.core.dto.response.BatchItemResult;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Posts a JSON array of {@link PostTransactionRequest}s read from a stream, writing one
+ * {@link BatchItemResult} per item to the output as it goes.
+ * <p>
+ * Items are parsed one at a time and applied in chunks: each chunk is a single database
+ * transaction, so Hibernate can batch the account updates and the commit cost is shared.
+ * If any item in a chunk fails, the chunk is rolled back and its items are re-applied one
+ * transaction each, so a bad item only rejects itself. Idempotency keys are checked per item
+ * exactly as for single postings; a key seen before is reported as {@code DUPLICATE} with
+ * the original journal entry.
+ * <p>
+ * With a {@link PostingBackend} configured, items are posted one at a time instead: the
+ * backend appends outside the database transaction, so rolling back a chunk would not undo
+ * the items already posted, and re-applying them would report them as duplicates.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchPostingService {
+
+    private final TransactionEngine transactionEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    /** Present only when {@code ledger.posting.mode} is not {@code jpa}. */
+    private final ObjectProvider<PostingBackend> postingBackend;
+
+    @Value("${ledger.batch.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${ledger.batch.max-items:50000}")
+    private int maxItems;
+
+    private record Item(int index, PostTransactionRequest request) {
+    }
+
+    /**
+     * @param defaultUserId user for transaction limits when an item does not name one
+     * @throws InvalidTransactionException if the body is not a JSON array; nothing is written
+     *         to {@code out} in that case
+     */
+    public void process(InputStream in, OutputStream out, String defaultUserId) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (firstToken(parser) != JsonToken.START_ARRAY) {
+                throw new InvalidTransactionException("Batch body must be a JSON array of transactions");
+            }
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                int posted = process(parser, generator, defaultUserId);
+                generator.writeEndArray();
+                log.info("Batch processed: {} items posted", posted);
+            }
+        }
+    }
+
+    private int process(JsonParser parser, JsonGenerator generator, String defaultUserId) throws IOException {
+        List<Item> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        int posted = 0;
+        try {
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                if (index == maxItems) {
+                    write(generator, BatchItemResult.rejected(index, null,
+                            "Batch exceeds " + maxItems + " items; remaining items were not processed"));
+                    break;
+                }
+                PostTransactionRequest request = objectMapper.readValue(parser, PostTransactionRequest.class);
+                String violations = validate(request);
+                if (violations != null) {
+                    write(generator, BatchItemResult.rejected(index, request.getIdempotencyKey(), violations));
+                } else {
+                    chunk.add(new Item(index, request));
+                    if (chunk.size() == chunkSize) {
+                        posted += apply(chunk, generator, defaultUserId);
+                        chunk.clear();
+                    }
+                }
+                index++;
+            }
+        } catch (JsonProcessingException e) {
+            // Everything read so far is still applied; the stream cannot be resumed past a bad item
+            posted += apply(chunk, generator, defaultUserId);
+            chunk.clear();
+            write(generator, BatchItemResult.rejected(index, null, "Could not read item: " + e.getOriginalMessage()));
+        }
+        posted += apply(chunk, generator, defaultUserId);
+        return posted;
+    }
+
+    private static JsonToken firstToken(JsonParser parser) throws IOException {
+        try {
+            return parser.nextToken();
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private int apply(List<Item> chunk, JsonGenerator generator, String defaultUserId) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        List<BatchItemResult> results = postingBackend.getIfAvailable() != null
+            ? applyEach(chunk, defaultUserId)
+            : applyChunk(chunk, defaultUserId);
+
+        int posted = 0;
+        for (BatchItemResult result : results) {
+            write(generator, result);
+            if (result.getStatus() == BatchItemResult.Status.POSTED) {
+                posted++;
+            }
+        }
+        // Let the client see progress chunk by chunk
+        generator.flush();
+        return posted;
+    }
+
+    private List<BatchItemResult> applyChunk(List<Item> chunk, String defaultUserId) {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<BatchItemResult> posted = new ArrayList<>(chunk.size());
+                for (Item item : chunk) {
+                    posted.add(BatchItemResult.posted(item.index(), item.request().getIdempotencyKey(),
+                            post(item.request(), defaultUserId)));
+                }
+                return posted;
+            });
+        } catch (RuntimeException e) {
+            log.debug("Chunk of {} rolled back ({}); applying items individually", chunk.size(), e.getMessage());
+            return applyEach(chunk, defaultUserId);
+        }
+    }
+
+    private List<BatchItemResult> applyEach(List<Item> chunk, String defaultUserId) {
+        List<BatchItemResult> results = new ArrayList<>(chunk.size());
+        for (Item item : chunk) {
+            results.add(applyAlone(item, defaultUserId));
+        }
+        return results;
+    }
+
+    private BatchItemResult applyAlone(Item item, String defaultUserId) {
+        String key = item.request().getIdempotencyKey();
+        try {
+            return BatchItemResult.posted(item.index(), key, post(item.request(), defaultUserId));
+        } catch (DuplicateTransactionException e) {
+            return BatchItemResult.builder()
+                .index(item.index())
+                .idempotencyKey(key)
+                .status(BatchItemResult.Status.DUPLICATE)
+                .journalEntryId(e.getJournalEntryId())
+                .build();
+        } catch (LedgerException | IllegalArgumentException | IllegalStateException e) {
+            return BatchItemResult.rejected(item.index(), key, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Batch item {} ({}) failed", item.index(), key, e);
+            return BatchItemResult.rejected(item.index(), key, "Internal error");
+        }
+    }
+
+    private Long post(PostTransactionRequest request, String defaultUserId) {
+        List<TransactionEngine.LegRequest> legs = request.getLegs().stream()
+            .map(leg -> new TransactionEngine.LegRequest(
+                leg.getAccountId(),
+                leg.getType(),
+                Money.of(leg.getAmount(), leg.getCurrencyCode())
+            ))
+            .collect(Collectors.toList());
+        String userId = request.getUserId() != null ? request.getUserId() : defaultUserId;
+        return transactionEngine.postTransaction(
+            IdempotencyKey.of(request.getIdempotencyKey()), request.getDescription(), legs, userId);
+    }
+
+    private String validate(PostTransactionRequest request) {
+        Set<ConstraintViolation<PostTransactionRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+
+    private void write(JsonGenerator generator, BatchItemResult result) throws IOException {
+        objectMapper.writeValue(generator, result);
+    }
+}
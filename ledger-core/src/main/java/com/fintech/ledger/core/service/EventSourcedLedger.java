@@ -0,0 +1,237 @@
+package com.fintech.ledger.core.service;
+
+import com.fintech.common.domain.FixedMoney;
+import com.fintech.common.exception.AccountNotFoundException;
+import com.fintech.common.exception.DuplicateTransactionException;
+import com.fintech.common.journal.AppendOnlyLog;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.Account.AccountStatus;
+import com.fintech.ledger.core.eventlog.BalanceProjection;
+import com.fintech.ledger.core.eventlog.PostingEvent;
+import com.fintech.ledger.core.repository.AccountRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Posting path for {@code ledger.posting.mode=event-sourced}.
+ * <p>
+ * A posting is validated against an in-memory {@link BalanceProjection}, appended to a
+ * memory-mapped {@link AppendOnlyLog} and applied to the projection, all under one lock;
+ * with {@link Durability#SYNC} the caller then waits for the group fsync, which is the only
+ * I/O on the request path. A background thread feeds durable postings to the
+ * {@link PostingProjector}, so the relational tables trail the log by at most the unprojected
+ * batch. Accounts the projection has not seen are read from the database before the lock
+ * is taken.
+ * <p>
+ * Every idempotency key is kept in memory with its posting id, so duplicates are found
+ * without a query; the keys are loaded from the database at startup, which costs memory
+ * and startup time in proportion to the number of postings.
+ * <p>
+ * Account statuses are not taken from the projection, which keeps an account's row as it
+ * was when first loaded: frozen and closed accounts are re-read every
+ * {@code ledger.posting.status-refresh-interval-ms}, so a status change applies to postings
+ * within that interval.
+ * <p>
+ * On startup the projection is rebuilt from the database (which holds every posting up to
+ * the projector's checkpoint) plus the log records after the checkpoint, and those records
+ * are queued for projection again. Posting ids returned in this mode are log sequence
+ * numbers, kept on the projected journal entry as {@code log_sequence}.
+ */
+@Service
+@ConditionalOnProperty(name = "ledger.posting.mode", havingValue = "event-sourced")
+@Slf4j
+public class EventSourcedLedger implements InMemoryLedger {
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final PostingProjector projector;
+    private final AccountRepository accountRepository;
+    private final Path directory;
+    private final Durability durability;
+    private final int segmentSize;
+    private final Duration flushInterval;
+    private final int projectionBatchSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final BalanceProjection projection = new BalanceProjection();
+    /** Idempotency keys of every posting, projected or not, with their posting id. */
+    private final Map<String, Long> postedKeys = new HashMap<>();
+    /** Frozen and closed accounts as of the last {@link #refreshAccountStatuses()}. */
+    private volatile Map<Long, AccountStatus> restrictedAccounts = Map.of();
+
+    private AppendOnlyLog postingLog;
+    private ProjectionPump pump;
+    private long nextSequence;
+
+    public EventSourcedLedger(PostingProjector projector,
+                              AccountRepository accountRepository,
+                              @Value("${ledger.event-log.directory}") Path directory,
+                              @Value("${ledger.event-log.durability:SYNC}") Durability durability,
+                              @Value("${ledger.event-log.segment-size:16MB}") DataSize segmentSize,
+                              @Value("${ledger.event-log.flush-interval:PT0.002S}") Duration flushInterval,
+                              @Value("${ledger.event-log.projection-batch-size:500}") int projectionBatchSize) {
+        this.projector = projector;
+        this.accountRepository = accountRepository;
+        this.directory = directory;
+        this.durability = durability;
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+        this.flushInterval = flushInterval;
+        this.projectionBatchSize = projectionBatchSize;
+    }
+
+    @PostConstruct
+    void start() {
+        refreshAccountStatuses();
+        long checkpoint = projector.checkpoint();
+        postingLog = AppendOnlyLog.open(directory, segmentSize, flushInterval);
+        pump = new ProjectionPump("posting-projector", projector, postingLog, segmentSize, projectionBatchSize);
+        projector.forEachProjectedKey(postedKeys::put);
+        long[] lastSequence = {checkpoint};
+        postingLog.replay((position, payload) -> {
+            long endPosition = position + AppendOnlyLog.HEADER_SIZE + payload.remaining();
+            PostingEvent event = PostingEvent.decode(payload);
+            if (event.sequence() <= checkpoint) {
+                return;
+            }
+            for (PostingEvent.Leg leg : event.legs()) {
+                loadAccount(leg.accountId());
+            }
+            projection.apply(event);
+            postedKeys.put(event.idempotencyKey(), event.sequence());
+            pump.add(event, endPosition);
+            lastSequence[0] = event.sequence();
+        });
+        nextSequence = lastSequence[0] + 1;
+        log.info("Posting log opened in {}: checkpoint {}, {} postings to project, {} idempotency keys, "
+                + "next sequence {}", directory, checkpoint, pump.backlog(), postedKeys.size(), nextSequence);
+        pump.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        pump.stop(SHUTDOWN_TIMEOUT);
+        postingLog.close();
+    }
+
+    @Override
+    public long post(String idempotencyKey, String description, List<TransactionEngine.LegRequest> legs,
+                     FixedMoney[] amounts) {
+        List<PostingEvent.Leg> eventLegs = PostingBackend.balancedLegs(legs, amounts);
+        InMemoryLedger.checkProjectorRunning(pump.isRunning());
+        InMemoryLedger.checkStatuses(restrictedAccounts, legs);
+        loadMissingAccounts(legs);
+
+        long endPosition;
+        PostingEvent event;
+        lock.lock();
+        try {
+            Long posted = postedKeys.get(idempotencyKey);
+            if (posted != null) {
+                throw new DuplicateTransactionException(idempotencyKey, posted);
+            }
+            TransactionEngine.preFlightCheck(legs, amounts, projection::get);
+
+            event = new PostingEvent(nextSequence, Instant.now(), idempotencyKey, description, eventLegs);
+            endPosition = postingLog.append(event.encode());
+            nextSequence++;
+            projection.apply(event);
+            postedKeys.put(idempotencyKey, event.sequence());
+            pump.add(event, endPosition);
+        } finally {
+            lock.unlock();
+        }
+
+        if (durability == Durability.SYNC) {
+            postingLog.awaitDurable(endPosition);
+        }
+        return event.sequence();
+    }
+
+    /**
+     * Balance including postings not yet projected to the database, or {@code null} if the
+     * account has not been posted to since startup.
+     */
+    public BigDecimal projectedBalance(Long accountId) {
+        lock.lock();
+        try {
+            return projection.balance(accountId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int unprojectedCount() {
+        return pump.backlog();
+    }
+
+    @Override
+    public ProjectionStatus projectionStatus() {
+        return new ProjectionStatus(pump.isRunning(), pump.backlog(), pump.lastFailure());
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.posting.status-refresh-interval-ms:1000}")
+    public void refreshAccountStatuses() {
+        restrictedAccounts = accountRepository.findRestrictedStatuses();
+    }
+
+    /**
+     * Reads the accounts the projection has not seen yet without holding the lock. A row
+     * is only used if no other posting loaded the account meanwhile, so it is still
+     * current; an account that does not exist fails the pre-flight check.
+     */
+    private void loadMissingAccounts(List<TransactionEngine.LegRequest> legs) {
+        List<Long> missing = null;
+        for (TransactionEngine.LegRequest leg : legs) {
+            if (!projection.contains(leg.accountId())) {
+                if (missing == null) {
+                    missing = new ArrayList<>(legs.size());
+                }
+                missing.add(leg.accountId());
+            }
+        }
+        if (missing == null) {
+            return;
+        }
+        List<Account> rows = accountRepository.findAllById(missing);
+        lock.lock();
+        try {
+            for (Account row : rows) {
+                if (!projection.contains(row.getId())) {
+                    projection.load(row);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Accounts enter the projection on first use. While an account has postings in the log
+     * that are not yet projected it is already loaded, so the database row read here is
+     * always current.
+     */
+    private Account loadAccount(Long accountId) {
+        Account account = projection.get(accountId);
+        if (account == null) {
+            account = projection.load(accountRepository.findById(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException(accountId)));
+        }
+        return account;
+    }
+}
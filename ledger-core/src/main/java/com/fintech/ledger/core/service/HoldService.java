@@ -0,0 +1,232 @@
+package com.fintech.ledger.core.service;
+
+import com.fintech.common.audit.Auditable;
+import com.fintech.common.domain.CurrencyRegistry;
+import com.fintech.common.domain.IdempotencyKey;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.AccountClosedException;
+import com.fintech.common.exception.AccountFrozenException;
+import com.fintech.common.exception.AccountNotFoundException;
+import com.fintech.common.exception.CurrencyMismatchException;
+import com.fintech.common.exception.HoldNotFoundException;
+import com.fintech.common.exception.InsufficientFundsException;
+import com.fintech.common.exception.InvalidTransactionException;
+import com.fintech.common.validation.TransactionValidator;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.Account.AccountStatus;
+import com.fintech.ledger.core.domain.AccountHold;
+import com.fintech.ledger.core.domain.TransactionLine;
+import com.fintech.ledger.core.logging.SuccessLogSampler;
+import com.fintech.ledger.core.metrics.AccountContentionTracker;
+import com.fintech.ledger.core.repository.AccountHoldRepository;
+import com.fintech.ledger.core.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Authorize / capture / void lifecycle for account holds.
+ * <p>
+ * Every open hold is also counted in {@link Account#getReservedAmount()}, so
+ * {@link TransactionEngine} sees the available balance on the account row it already loads.
+ * Locks are always taken hold first, then account, matching the expiry sweep.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HoldService {
+
+    private final AccountHoldRepository holdRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionEngine transactionEngine;
+    private final EntityManager entityManager;
+    private final AccountContentionTracker contentionTracker;
+    private final SuccessLogSampler successLogSampler;
+
+    @Value("${ledger.holds.default-ttl:PT15M}")
+    private Duration defaultTtl;
+
+    @Value("${ledger.posting.mode:jpa}")
+    private String postingMode;
+
+    /**
+     * Reserves {@code amount} on the account. Repeating the call with the same reference
+     * returns the existing hold.
+     *
+     * @param ttl how long the hold stays open; {@code null} uses the configured default
+     */
+    @Auditable(action = "AUTHORIZE_HOLD")
+    @Transactional(timeout = 30)
+    public AccountHold authorize(String reference, Long accountId, Money amount, Duration ttl) {
+        if (!"jpa".equals(postingMode)) {
+            // Reservations live on the account row, which the posting log does not own
+            throw new IllegalStateException("Holds are not supported with ledger.posting.mode=" + postingMode);
+        }
+        TransactionValidator.validateAmount(amount);
+        AccountHold existing = holdRepository.findByReference(reference).orElse(null);
+        if (existing != null) {
+            if (!existing.getAccountId().equals(accountId)
+                    || existing.getAmountValue().compareTo(amount.getAmount()) != 0) {
+                throw new IllegalStateException("Hold reference " + reference + " already used for another hold");
+            }
+            return existing;
+        }
+
+        Account account = lockActiveAccount(accountId);
+        String currency = amount.getCurrency().getCurrencyCode();
+        if (account.getCurrencyId() != CurrencyRegistry.idOf(amount.getCurrency())) {
+            throw new CurrencyMismatchException(account.getBalanceCurrency(), currency);
+        }
+        if (account.getAvailableAmount().compareTo(amount.getAmount()) < 0) {
+            throw new InsufficientFundsException(accountId,
+                    String.format("Available balance %s is below hold amount %s",
+                            account.getAvailableAmount(), amount.getAmount()));
+        }
+        account.setReservedAmount(account.getReservedAmount().add(amount.getAmount()));
+
+        Instant expiresAt = Instant.now().plus(ttl != null ? ttl : defaultTtl);
+        AccountHold hold = holdRepository.save(new AccountHold(reference, accountId, amount, expiresAt));
+        if (successLogSampler.sample(log)) {
+            log.info("Hold {} authorized: {} {} on account {} until {}",
+                    hold.getId(), amount.getAmount(), currency, accountId, expiresAt);
+        }
+        return hold;
+    }
+
+    /**
+     * Releases the hold and posts {@code amount} (the full hold if {@code null}) from the held
+     * account to {@code destinationAccountId} in the same transaction. Any remainder of a
+     * partial capture becomes available again.
+     */
+    @Auditable(action = "CAPTURE_HOLD")
+    @Transactional(timeout = 30)
+    public AccountHold capture(Long holdId, Long destinationAccountId, BigDecimal amount) {
+        AccountHold hold = lockOpenHold(holdId);
+        if (hold.getExpiresAt().isBefore(Instant.now())) {
+            throw new IllegalStateException("Hold " + holdId + " has expired");
+        }
+        Money captured = amount != null ? Money.of(amount, hold.getCurrencyCode()) : hold.getAmount();
+        if (captured.getAmount().compareTo(hold.getAmountValue()) > 0) {
+            throw new InvalidTransactionException(String.format(
+                    "Capture amount %s exceeds hold amount %s", captured.getAmount(), hold.getAmountValue()));
+        }
+
+        release(hold, AccountHold.Status.CAPTURED);
+        Long journalEntryId = transactionEngine.postTransaction(
+                IdempotencyKey.of("hold:" + hold.getReference() + ":capture"),
+                "Capture of hold " + hold.getReference(),
+                List.of(
+                        new TransactionEngine.LegRequest(hold.getAccountId(), TransactionLine.Type.DEBIT, captured),
+                        new TransactionEngine.LegRequest(destinationAccountId, TransactionLine.Type.CREDIT, captured)));
+        hold.setJournalEntryId(journalEntryId);
+        if (successLogSampler.sample(log)) {
+            log.info("Hold {} captured: {} {} to account {} (Journal Entry: {})",
+                    holdId, captured.getAmount(), hold.getCurrencyCode(), destinationAccountId, journalEntryId);
+        }
+        return hold;
+    }
+
+    /**
+     * Cancels the hold and makes its amount available again. Voiding a voided hold is a no-op.
+     */
+    @Auditable(action = "VOID_HOLD")
+    @Transactional(timeout = 30)
+    public AccountHold voidHold(Long holdId) {
+        AccountHold hold = holdRepository.findByIdForUpdate(holdId)
+                .orElseThrow(() -> new HoldNotFoundException(holdId));
+        if (hold.getStatus() == AccountHold.Status.VOIDED) {
+            return hold;
+        }
+        requireOpen(hold);
+        release(hold, AccountHold.Status.VOIDED);
+        if (successLogSampler.sample(log)) {
+            log.info("Hold {} voided", holdId);
+        }
+        return hold;
+    }
+
+    @Transactional(readOnly = true)
+    public AccountHold getHold(Long holdId) {
+        return holdRepository.findById(holdId).orElseThrow(() -> new HoldNotFoundException(holdId));
+    }
+
+    /**
+     * Expires up to {@code batchSize} open holds whose deadline passed, using one bulk status
+     * update and one reserved-total update per affected account.
+     *
+     * @return number of holds expired
+     */
+    @Transactional(timeout = 30)
+    public int releaseExpired(Instant now, int batchSize) {
+        List<AccountHold> expired = holdRepository.findByStatusExpiredForUpdate(
+                AccountHold.Status.AUTHORIZED, now, PageRequest.of(0, batchSize));
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(expired.size());
+        // Sorted by account id so concurrent sweeps lock accounts in the same order
+        Map<Long, BigDecimal> releasedByAccount = new TreeMap<>();
+        for (AccountHold hold : expired) {
+            ids.add(hold.getId());
+            releasedByAccount.merge(hold.getAccountId(), hold.getAmountValue(), BigDecimal::add);
+        }
+        holdRepository.updateStatus(ids, AccountHold.Status.EXPIRED, now);
+        releasedByAccount.forEach(accountRepository::releaseReserved);
+        log.debug("Expired {} holds across {} accounts", ids.size(), releasedByAccount.size());
+        return ids.size();
+    }
+
+    private void release(AccountHold hold, AccountHold.Status status) {
+        Account account = lockAccount(hold.getAccountId());
+        account.setReservedAmount(account.getReservedAmount().subtract(hold.getAmountValue()));
+        hold.setStatus(status);
+        hold.setSettledAt(Instant.now());
+    }
+
+    private AccountHold lockOpenHold(Long holdId) {
+        AccountHold hold = holdRepository.findByIdForUpdate(holdId)
+                .orElseThrow(() -> new HoldNotFoundException(holdId));
+        requireOpen(hold);
+        return hold;
+    }
+
+    private static void requireOpen(AccountHold hold) {
+        if (!hold.isOpen()) {
+            throw new IllegalStateException("Hold " + hold.getId() + " is " + hold.getStatus());
+        }
+    }
+
+    private Account lockAccount(Long accountId) {
+        long start = System.nanoTime();
+        Account account = entityManager.find(Account.class, accountId, LockModeType.PESSIMISTIC_WRITE);
+        contentionTracker.record(accountId, System.nanoTime() - start);
+        return account;
+    }
+
+    private Account lockActiveAccount(Long accountId) {
+        Account account = lockAccount(accountId);
+        if (account == null) {
+            throw new AccountNotFoundException(accountId);
+        }
+        if (account.getStatus() == AccountStatus.FROZEN) {
+            throw new AccountFrozenException(accountId);
+        }
+        if (account.getStatus() == AccountStatus.CLOSED) {
+            throw new AccountClosedException(accountId);
+        }
+        return account;
+    }
+}
@@ -0,0 +1,61 @@
+package com.fintech.ledger.core.service;
+
+import com.fintech.common.exception.AccountClosedException;
+import com.fintech.common.exception.AccountFrozenException;
+import com.fintech.common.exception.LedgerException;
+import com.fintech.ledger.core.domain.Account.AccountStatus;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Posting path that validates against balances held in memory and records postings in a
+ * local log, leaving the database writes to a {@link PostingProjector}. Posting ids are log
+ * sequence numbers.
+ */
+public interface InMemoryLedger extends PostingBackend {
+
+    enum Durability {
+        /** Return once the posting is in the page cache; flushed within the flush interval. */
+        ASYNC,
+        /** Return once the posting has been forced to disk. */
+        SYNC
+    }
+
+    /**
+     * @param running     whether the projector thread is alive; postings are refused once
+     *                    it is not
+     * @param unprojected postings logged but not yet in the database
+     * @param lastFailure error of the projector's last failed attempt, or {@code null} once
+     *                    a batch has gone through since
+     */
+    record ProjectionStatus(boolean running, int unprojected, Throwable lastFailure) {
+    }
+
+    ProjectionStatus projectionStatus();
+
+    /**
+     * Refuses postings once the projector has stopped: they could only be projected after a
+     * restart, and its log would grow without bound meanwhile.
+     */
+    static void checkProjectorRunning(boolean running) {
+        if (!running) {
+            throw new LedgerException("PROJECTOR_STOPPED", "Posting projector is not running; restart the ledger");
+        }
+    }
+
+    /**
+     * @param restricted statuses of the accounts that may not be posted to
+     */
+    static void checkStatuses(Map<Long, AccountStatus> restricted, List<TransactionEngine.LegRequest> legs) {
+        for (TransactionEngine.LegRequest leg : legs) {
+            AccountStatus status = restricted.get(leg.accountId());
+            if (status == AccountStatus.FROZEN) {
+                throw new AccountFrozenException(leg.accountId());
+            }
+            if (status == AccountStatus.CLOSED) {
+                throw new AccountClosedException(leg.accountId());
+            }
+        }
+    }
+}
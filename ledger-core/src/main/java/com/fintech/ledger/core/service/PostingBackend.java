@@ -0,0 +1,49 @@
+package com.fintech.ledger.core.service;
+
+import com.fintech.common.domain.FixedMoney;
+import com.fintech.common.exception.DuplicateTransactionException;
+import com.fintech.ledger.core.domain.JournalEntry;
+import com.fintech.ledger.core.domain.TransactionLine;
+import com.fintech.ledger.core.eventlog.PostingEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Posting path that replaces the single-database JPA one. When one is configured through
+ * {@code ledger.posting.mode}, {@link TransactionEngine} delegates to it after its input
+ * checks and transaction limits.
+ */
+public interface PostingBackend {
+
+    /**
+     * Validates and records one posting; {@code legs} have passed the engine's input checks.
+     *
+     * @return the posting id, as defined by the backend
+     * @throws DuplicateTransactionException if {@code idempotencyKey} was already posted
+     */
+    long post(String idempotencyKey, String description, List<TransactionEngine.LegRequest> legs,
+              FixedMoney[] amounts);
+
+    /**
+     * Converts the legs to posting events. Unbalanced postings are rejected here rather than
+     * when a projector or shard persists them, since by then the posting has been accepted.
+     *
+     * @throws IllegalStateException as {@link JournalEntry#validate()} does
+     */
+    static List<PostingEvent.Leg> balancedLegs(List<TransactionEngine.LegRequest> legs, FixedMoney[] amounts) {
+        JournalEntry balanceCheck = new JournalEntry();
+        List<PostingEvent.Leg> eventLegs = new ArrayList<>(legs.size());
+        for (int i = 0; i < legs.size(); i++) {
+            TransactionEngine.LegRequest leg = legs.get(i);
+            TransactionLine line = new TransactionLine();
+            line.setType(leg.type());
+            line.setAmount(leg.amount());
+            balanceCheck.addLine(line);
+            eventLegs.add(new PostingEvent.Leg(leg.accountId(), leg.type(), amounts[i].getCurrencyId(),
+                    leg.amount().getAmount()));
+        }
+        balanceCheck.validate();
+        return eventLegs;
+    }
+}
@@ -0,0 +1,48 @@
+package com.fintech.ledger.core.service;
+
+import com.fintech.common.domain.CurrencyRegistry;
+import com.fintech.ledger.core.domain.JournalEntry;
+import com.fintech.ledger.core.domain.OutboxRecord;
+import com.fintech.ledger.core.domain.TransactionLine;
+import com.fintech.ledger.core.eventlog.PostingEvent;
+import com.fintech.ledger.core.repository.OutboxRecordRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records postings for the read model (see {@link ReadModelProjector}) in the transaction
+ * that writes their journal entry, so the read model receives exactly the committed postings.
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.read-model.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class PostingOutbox {
+
+    private final OutboxRecordRepository outboxRepository;
+
+    /**
+     * @param entry a saved journal entry; its posting id is the log sequence for entries
+     *              projected from the posting log and the entry id otherwise
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(JournalEntry entry, String idempotencyKey) {
+        long postingId = entry.getLogSequence() != null ? entry.getLogSequence() : entry.getId();
+        List<PostingEvent.Leg> legs = new ArrayList<>(entry.getLines().size());
+        for (TransactionLine line : entry.getLines()) {
+            legs.add(new PostingEvent.Leg(line.getAccount().getId(), line.getType(),
+                    CurrencyRegistry.idOf(line.getCurrencyCode()), line.getAmountValue()));
+        }
+        ByteBuffer encoded = new PostingEvent(postingId, entry.getTimestamp(), idempotencyKey,
+                entry.getDescription(), legs).encode();
+        byte[] payload = new byte[encoded.remaining()];
+        encoded.get(payload);
+        outboxRepository.save(new OutboxRecord(postingId, payload));
+    }
+}
@@ -0,0 +1,122 @@
+package com.fintech.ledger.core.service;
+
+import com.fintech.common.domain.CurrencyRegistry;
+import com.fintech.common.domain.Money;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.JournalEntry;
+import com.fintech.ledger.core.domain.ProjectionCheckpoint;
+import com.fintech.ledger.core.domain.TransactionIdempotency;
+import com.fintech.ledger.core.domain.TransactionLine;
+import com.fintech.ledger.core.eventlog.PostingEvent;
+import com.fintech.ledger.core.repository.AccountRepository;
+import com.fintech.ledger.core.repository.JournalEntryRepository;
+import com.fintech.ledger.core.repository.ProjectionCheckpointRepository;
+import com.fintech.ledger.core.repository.TransactionIdempotencyRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Writes postings from the posting log into the relational tables.
+ * <p>
+ * A batch of events becomes its journal entries, lines and idempotency records, one in-place
+ * balance update per affected account, and the new checkpoint, all in one transaction. The
+ * tables therefore always match a prefix of the log, and a batch that fails is simply
+ * retried from the same point.
+ */
+@Component
+@ConditionalOnExpression("'${ledger.posting.mode:jpa}' matches 'event-sourced|single-writer'")
+@RequiredArgsConstructor
+@Slf4j
+public class PostingProjector {
+
+    static final String CHECKPOINT = "posting-log";
+    private static final int KEY_PAGE_SIZE = 10_000;
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final TransactionIdempotencyRepository idempotencyRepository;
+    private final AccountRepository accountRepository;
+    private final ProjectionCheckpointRepository checkpointRepository;
+    private final EntityManager entityManager;
+    /** Present only with {@code ledger.read-model.enabled}. */
+    private final ObjectProvider<PostingOutbox> postingOutbox;
+
+    /**
+     * @return the last sequence already projected, or 0 if nothing has been
+     */
+    @Transactional(readOnly = true)
+    public long checkpoint() {
+        return checkpointRepository.findById(CHECKPOINT).map(ProjectionCheckpoint::getLastSequence).orElse(0L);
+    }
+
+    /**
+     * Passes every projected idempotency key to {@code action} with its posting id: the log
+     * sequence, or the journal entry id if it was posted before the log was enabled. Read in
+     * pages, for loading all keys at startup.
+     */
+    public void forEachProjectedKey(BiConsumer<String, Long> action) {
+        long afterId = 0;
+        List<Object[]> page;
+        do {
+            page = idempotencyRepository.findPostingIdsAfter(afterId, PageRequest.of(0, KEY_PAGE_SIZE));
+            for (Object[] row : page) {
+                afterId = (Long) row[0];
+                action.accept((String) row[1], (Long) row[2]);
+            }
+        } while (page.size() == KEY_PAGE_SIZE);
+    }
+
+    /**
+     * Projects {@code events}, which must directly follow the current checkpoint in sequence
+     * order.
+     */
+    @Transactional(timeout = 30)
+    public void project(List<PostingEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        // Sorted by account id so the balance updates lock rows in a fixed order
+        Map<Long, BigDecimal> deltas = new TreeMap<>();
+        PostingOutbox outbox = postingOutbox.getIfAvailable();
+        for (PostingEvent event : events) {
+            JournalEntry entry = new JournalEntry();
+            entry.setDescription(event.description());
+            entry.setTimestamp(event.timestamp());
+            entry.setLogSequence(event.sequence());
+            for (PostingEvent.Leg leg : event.legs()) {
+                TransactionLine line = new TransactionLine();
+                line.setAccount(entityManager.getReference(Account.class, leg.accountId()));
+                line.setType(leg.type());
+                line.setAmount(new Money(leg.amount(), CurrencyRegistry.currency(leg.currencyId())));
+                entry.addLine(line);
+                deltas.merge(leg.accountId(),
+                        leg.type() == TransactionLine.Type.CREDIT ? leg.amount() : leg.amount().negate(),
+                        BigDecimal::add);
+            }
+            journalEntryRepository.save(entry);
+            idempotencyRepository.save(new TransactionIdempotency(event.idempotencyKey(), entry.getId()));
+            if (outbox != null) {
+                outbox.record(entry, event.idempotencyKey());
+            }
+        }
+        deltas.forEach(accountRepository::applyBalanceDelta);
+
+        long last = events.get(events.size() - 1).sequence();
+        ProjectionCheckpoint checkpoint = checkpointRepository.findById(CHECKPOINT)
+                .orElseGet(() -> new ProjectionCheckpoint(CHECKPOINT, 0));
+        checkpoint.setLastSequence(last);
+        checkpointRepository.save(checkpoint);
+        log.debug("Projected {} postings up to sequence {}", events.size(), last);
+    }
+}
@@ -0,0 +1,135 @@
+package com.fintech.ledger.core.service;
+
+import com.fintech.common.journal.AppendOnlyLog;
+import com.fintech.ledger.core.eventlog.PostingEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background thread that feeds logged postings to the {@link PostingProjector} in batches.
+ * <p>
+ * A batch is projected only once it is durable in the log, so the database never holds a
+ * posting a crash could lose; a failed batch is retried as is. Log segments that hold only
+ * projected postings are deleted as the log grows.
+ * <p>
+ * A failing step is logged and retried, so the thread only ends on shutdown or an
+ * {@link Error}; {@link #isRunning()} and {@link #lastFailure()} report its state.
+ */
+@Slf4j
+final class ProjectionPump {
+
+    private record Pending(PostingEvent event, long endPosition) {
+    }
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final PostingProjector projector;
+    private final AppendOnlyLog postingLog;
+    private final int segmentSize;
+    private final int batchSize;
+    private final BlockingQueue<Pending> unprojected = new LinkedBlockingQueue<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+    /** Error of the last failed step, cleared once a batch goes through. */
+    private volatile Throwable lastFailure;
+    private long lastCompaction;
+
+    ProjectionPump(String name, PostingProjector projector, AppendOnlyLog postingLog, int segmentSize, int batchSize) {
+        this.projector = projector;
+        this.postingLog = postingLog;
+        this.segmentSize = segmentSize;
+        this.batchSize = batchSize;
+        this.lastCompaction = postingLog.writePosition();
+        this.thread = Thread.ofPlatform().name(name).daemon().unstarted(this::run);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Queues a posting that ends at {@code endPosition} in the log.
+     */
+    void add(PostingEvent event, long endPosition) {
+        unprojected.add(new Pending(event, endPosition));
+    }
+
+    int backlog() {
+        return unprojected.size();
+    }
+
+    boolean isRunning() {
+        return thread.isAlive();
+    }
+
+    Throwable lastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Projects what is queued, giving up after {@code timeout}; anything left is replayed
+     * from the log on the next start.
+     */
+    void stop(Duration timeout) throws InterruptedException {
+        running = false;
+        thread.join(timeout);
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !unprojected.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    Pending first = unprojected.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    unprojected.drainTo(batch, batchSize - 1);
+                }
+                long end = batch.get(batch.size() - 1).endPosition();
+                postingLog.awaitDurable(end);
+                projector.project(batch.stream().map(Pending::event).toList());
+                batch.clear();
+                lastFailure = null;
+                compactIfGrown(end);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                lastFailure = e;
+                if (!running) {
+                    log.error("Posting projector stopped with postings left; they are replayed on restart", e);
+                    return;
+                }
+                if (batch.isEmpty()) {
+                    log.warn("Compacting the posting log failed, retrying after the next batch", e);
+                    continue;
+                }
+                log.warn("Projecting postings {}..{} failed, retrying in {}", batch.get(0).event().sequence(),
+                        batch.get(batch.size() - 1).event().sequence(), RETRY_DELAY, e);
+                try {
+                    Thread.sleep(RETRY_DELAY);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void compactIfGrown(long projectedEnd) {
+        if (projectedEnd - lastCompaction < segmentSize) {
+            return;
+        }
+        int deleted = postingLog.deleteSegmentsBefore(projectedEnd);
+        lastCompaction = projectedEnd;
+        log.debug("Deleted {} projected posting log segments", deleted);
+    }
+}
@@ -0,0 +1,221 @@
+package com.fintech.ledger.core.service;
+
+import com.fintech.common.domain.CurrencyRegistry;
+import com.fintech.ledger.core.domain.AccountBalanceView;
+import com.fintech.ledger.core.domain.AccountHistoryEntry;
+import com.fintech.ledger.core.domain.OutboxRecord;
+import com.fintech.ledger.core.domain.ProjectionCheckpoint;
+import com.fintech.ledger.core.domain.TransactionLine;
+import com.fintech.ledger.core.eventlog.PostingEvent;
+import com.fintech.ledger.core.repository.AccountBalanceViewRepository;
+import com.fintech.ledger.core.repository.AccountHistoryEntryRepository;
+import com.fintech.ledger.core.repository.AccountRepository;
+import com.fintech.ledger.core.repository.JournalEntryRepository;
+import com.fintech.ledger.core.repository.OutboxRecordRepository;
+import com.fintech.ledger.core.repository.ProjectionCheckpointRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Applies outbox records to the read model: one history row per leg, and the net change per
+ * account added to its balance row.
+ * <p>
+ * A batch is applied and removed from the outbox in one transaction, so each posting reaches
+ * the read model exactly once. Balance rows are updated by deltas, which makes the order of
+ * postings within and across batches irrelevant. An account's balance row is created when
+ * its first posting is relayed, starting from the part of its balance that no journal line
+ * explains; the relayed postings then add up to the rest.
+ * <p>
+ * Postings made while the read model is disabled write no outbox record. {@link #catchUp()}
+ * notices them, because the checkpoint counts the postings applied, and rebuilds the read
+ * model from the journal.
+ */
+@Service
+@ConditionalOnProperty(name = "ledger.read-model.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ReadModelProjector {
+
+    /** Its sequence is the number of postings applied to the read model. */
+    static final String CHECKPOINT = "read-model";
+
+    private static final int REBUILD_PAGE_SIZE = 1_000;
+
+    /** Outbox backlog at one point in time. */
+    public record Backlog(long records, Instant oldest) {
+    }
+
+    private static final class AccountDelta {
+        BigDecimal amount = BigDecimal.ZERO;
+        int postings;
+        long lastPosting = -1;
+        Instant lastPostedAt = Instant.EPOCH;
+        String currency;
+    }
+
+    private final OutboxRecordRepository outboxRepository;
+    private final AccountBalanceViewRepository balanceViewRepository;
+    private final AccountHistoryEntryRepository historyRepository;
+    private final AccountRepository accountRepository;
+    private final ProjectionCheckpointRepository checkpointRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * Relays up to {@code limit} of the oldest outbox records.
+     *
+     * @return the number relayed; fewer than {@code limit} once the outbox is drained
+     */
+    @Transactional(timeout = 30)
+    public int relayBatch(int limit) {
+        // Serializes relays across ledger nodes on the checkpoint row
+        ProjectionCheckpoint checkpoint = checkpointRepository.findByNameForUpdate(CHECKPOINT)
+                .orElseGet(() -> checkpointRepository.save(new ProjectionCheckpoint(CHECKPOINT, 0)));
+        List<OutboxRecord> batch = outboxRepository.findByOrderByIdAsc(PageRequest.of(0, limit));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Sorted by account id so balance rows are locked in a fixed order
+        Map<Long, AccountDelta> deltas = new TreeMap<>();
+        List<AccountHistoryEntry> history = new ArrayList<>();
+        for (OutboxRecord record : batch) {
+            PostingEvent posting = PostingEvent.decode(ByteBuffer.wrap(record.getPayload()));
+            for (PostingEvent.Leg leg : posting.legs()) {
+                String currency = CurrencyRegistry.code(leg.currencyId());
+                history.add(historyEntry(posting, leg, currency));
+
+                AccountDelta delta = deltas.computeIfAbsent(leg.accountId(), id -> new AccountDelta());
+                delta.amount = delta.amount.add(
+                        leg.type() == TransactionLine.Type.CREDIT ? leg.amount() : leg.amount().negate());
+                delta.currency = currency;
+                if (delta.lastPosting != posting.sequence()) {
+                    delta.lastPosting = posting.sequence();
+                    delta.postings++;
+                }
+                if (posting.timestamp().isAfter(delta.lastPostedAt)) {
+                    delta.lastPostedAt = posting.timestamp();
+                }
+            }
+        }
+
+        historyRepository.saveAll(history);
+        deltas.forEach((accountId, delta) -> {
+            Optional<AccountBalanceView> existing = balanceViewRepository.findById(accountId);
+            AccountBalanceView view = existing.orElseGet(() -> new AccountBalanceView(accountId,
+                    accountRepository.findBalanceOutsideLines(accountId, TransactionLine.Type.CREDIT)
+                            .orElse(BigDecimal.ZERO),
+                    delta.currency));
+            view.apply(delta.amount, delta.postings, delta.lastPostedAt);
+            if (existing.isEmpty()) {
+                balanceViewRepository.save(view);
+            }
+        });
+        outboxRepository.deleteAllInBatch(batch);
+
+        checkpoint.setLastSequence(checkpoint.getLastSequence() + batch.size());
+        checkpointRepository.save(checkpoint);
+        log.debug("Relayed {} postings to the read model", batch.size());
+        return batch.size();
+    }
+
+    /**
+     * Rebuilds the read model from the journal if it and the outbox do not cover every posting,
+     * as after running with the read model disabled. All reads share one snapshot, so outbox
+     * records committed during the rebuild are neither deleted nor counted twice; other nodes'
+     * relays wait on the checkpoint row.
+     *
+     * @return whether the read model was rebuilt
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public boolean catchUp() {
+        ProjectionCheckpoint checkpoint = checkpointRepository.findByNameForUpdate(CHECKPOINT)
+                .orElseGet(() -> checkpointRepository.save(new ProjectionCheckpoint(CHECKPOINT, 0)));
+        long postings = journalEntryRepository.count();
+        long covered = checkpoint.getLastSequence() + outboxRepository.count();
+        if (covered == postings) {
+            return false;
+        }
+        log.warn("Read model covers {} of {} postings; rebuilding it from the journal", covered, postings);
+        outboxRepository.deleteAllInBatch();
+        historyRepository.deleteAllInBatch();
+        balanceViewRepository.deleteAllInBatch();
+
+        long lastAccount = 0;
+        List<Object[]> accounts;
+        do {
+            accounts = accountRepository.findPostingSummariesAfter(lastAccount, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            List<AccountBalanceView> views = new ArrayList<>(accounts.size());
+            for (Object[] row : accounts) {
+                AccountBalanceView view = new AccountBalanceView((Long) row[0], (BigDecimal) row[1], (String) row[2]);
+                if (row[4] != null) {
+                    view.apply(BigDecimal.ZERO, ((Number) row[3]).intValue(), (Instant) row[4]);
+                }
+                views.add(view);
+                lastAccount = (Long) row[0];
+            }
+            balanceViewRepository.saveAll(views);
+            entityManager.flush();
+            entityManager.clear();
+        } while (accounts.size() == REBUILD_PAGE_SIZE);
+
+        long lastLine = 0;
+        List<Object[]> lines;
+        do {
+            lines = journalEntryRepository.findLinesAfter(lastLine, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            List<AccountHistoryEntry> history = new ArrayList<>(lines.size());
+            for (Object[] row : lines) {
+                AccountHistoryEntry entry = new AccountHistoryEntry();
+                entry.setAccountId((Long) row[1]);
+                entry.setPostingId((Long) row[2]);
+                entry.setPostedAt((Instant) row[3]);
+                entry.setDescription((String) row[4]);
+                entry.setType((TransactionLine.Type) row[5]);
+                entry.setAmount((BigDecimal) row[6]);
+                entry.setCurrency((String) row[7]);
+                history.add(entry);
+                lastLine = (Long) row[0];
+            }
+            historyRepository.saveAll(history);
+            entityManager.flush();
+            entityManager.clear();
+        } while (lines.size() == REBUILD_PAGE_SIZE);
+
+        checkpoint.setLastSequence(postings);
+        checkpointRepository.save(checkpoint);
+        log.info("Rebuilt the read model from {} postings", postings);
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    public Backlog backlog() {
+        return new Backlog(outboxRepository.count(), outboxRepository.findOldestCreatedAt());
+    }
+
+    private static AccountHistoryEntry historyEntry(PostingEvent posting, PostingEvent.Leg leg, String currency) {
+        AccountHistoryEntry entry = new AccountHistoryEntry();
+        entry.setAccountId(leg.accountId());
+        entry.setPostingId(posting.sequence());
+        entry.setPostedAt(posting.timestamp());
+        entry.setDescription(posting.description());
+        entry.setType(leg.type());
+        entry.setAmount(leg.amount());
+        entry.setCurrency(currency);
+        return entry;
+    }
+}
@@ -0,0 +1,262 @@
+package com.fintech.ledger.core.service;
+
+import com.fintech.common.domain.CurrencyRegistry;
+import com.fintech.common.domain.FixedMoney;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.AccountClosedException;
+import com.fintech.common.exception.AccountFrozenException;
+import com.fintech.common.exception.AccountNotFoundException;
+import com.fintech.common.exception.DuplicateTransactionException;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.Account.AccountStatus;
+import com.fintech.ledger.core.domain.JournalEntry;
+import com.fintech.ledger.core.domain.PreparedPosting;
+import com.fintech.ledger.core.domain.TransactionIdempotency;
+import com.fintech.ledger.core.domain.TransactionLine;
+import com.fintech.ledger.core.eventlog.PostingEvent;
+import com.fintech.ledger.core.sharding.LedgerShard;
+import com.fintech.ledger.core.sharding.ShardParticipant;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Postings on one {@link LedgerShard}: local postings in a single shard transaction, and
+ * this shard's part of cross-shard postings.
+ * <p>
+ * Accounts are always locked in id order. A prepared branch reserves each account's net
+ * debit through {@link Account#getReservedAmount()}, the same column holds use, so local
+ * postings and other prepares see only what is left; commit turns the reservation into the
+ * balance change and the shard's partial journal entry.
+ */
+@Slf4j
+final class ShardPostingOperations implements ShardParticipant {
+
+    private final LedgerShard shard;
+
+    ShardPostingOperations(LedgerShard shard) {
+        this.shard = shard;
+    }
+
+    @Override
+    public String name() {
+        return shard.name();
+    }
+
+    /**
+     * Inserts the account with an id chosen by the caller, which decided the shard.
+     */
+    Account createAccount(long accountId, String name, Money initialBalance) {
+        return shard.inTransaction(em -> {
+            // Native insert: the entity's generated id cannot be assigned through persist
+            em.createNativeQuery("INSERT INTO accounts (id, name, balance_amount, balance_currency, "
+                            + "reserved_amount, version, status, created_at) VALUES (?1, ?2, ?3, ?4, 0, 0, ?5, ?6)")
+                    .setParameter(1, accountId)
+                    .setParameter(2, name)
+                    .setParameter(3, initialBalance.getAmount())
+                    .setParameter(4, initialBalance.getCurrency().getCurrencyCode())
+                    .setParameter(5, AccountStatus.ACTIVE.name())
+                    .setParameter(6, Instant.now())
+                    .executeUpdate();
+            return em.find(Account.class, accountId);
+        });
+    }
+
+    /**
+     * @return the account, or {@code null} if it is not on this shard
+     */
+    Account findAccount(long accountId) {
+        return shard.readOnly(em -> em.find(Account.class, accountId));
+    }
+
+    /**
+     * Posts a posting whose legs are all on this shard.
+     *
+     * @return the posting id
+     */
+    long postLocal(PostingEvent posting) {
+        return shard.inTransaction(em -> {
+            checkNotPosted(em, posting.idempotencyKey());
+            Map<Long, Account> accounts = lockActiveAccounts(em, posting);
+            preFlightCheck(posting, accounts);
+
+            JournalEntry entry = journalEntry(posting, accounts, false);
+            em.persist(entry);
+            em.persist(new TransactionIdempotency(posting.idempotencyKey(), entry.getId()));
+            return posting.sequence();
+        });
+    }
+
+    @Override
+    public void prepare(PostingEvent branch, boolean ownsKey) {
+        shard.inTransaction(em -> {
+            if (ownsKey) {
+                checkNotPosted(em, branch.idempotencyKey());
+            }
+            Map<Long, Account> accounts = lockActiveAccounts(em, branch);
+            preFlightCheck(branch, accounts);
+
+            netDebits(branch).forEach((accountId, debit) -> {
+                Account account = accounts.get(accountId);
+                account.setReservedAmount(account.getReservedAmount().add(debit));
+            });
+            ByteBuffer encoded = branch.encode();
+            byte[] payload = new byte[encoded.remaining()];
+            encoded.get(payload);
+            em.persist(new PreparedPosting(branch.sequence(), ownsKey ? branch.idempotencyKey() : null, payload));
+            return null;
+        });
+    }
+
+    @Override
+    public void commit(long postingId) {
+        shard.inTransaction(em -> {
+            PreparedPosting prepared = em.find(PreparedPosting.class, postingId, LockModeType.PESSIMISTIC_WRITE);
+            if (prepared == null) {
+                return null;
+            }
+            PostingEvent branch = PostingEvent.decode(ByteBuffer.wrap(prepared.getPayload()));
+            // Status is not checked again: the prepared legs were accepted and must apply
+            Map<Long, Account> accounts = lockAccounts(em, branch);
+            releaseReservations(branch, accounts);
+
+            JournalEntry entry = journalEntry(branch, accounts, true);
+            em.persist(entry);
+            if (prepared.getIdempotencyKey() != null) {
+                em.persist(new TransactionIdempotency(prepared.getIdempotencyKey(), entry.getId()));
+            }
+            em.remove(prepared);
+            return null;
+        });
+        log.debug("Posting {} committed on shard {}", postingId, name());
+    }
+
+    @Override
+    public void abort(long postingId) {
+        shard.inTransaction(em -> {
+            PreparedPosting prepared = em.find(PreparedPosting.class, postingId, LockModeType.PESSIMISTIC_WRITE);
+            if (prepared == null) {
+                return null;
+            }
+            PostingEvent branch = PostingEvent.decode(ByteBuffer.wrap(prepared.getPayload()));
+            releaseReservations(branch, lockAccounts(em, branch));
+            em.remove(prepared);
+            return null;
+        });
+        log.debug("Posting {} aborted on shard {}", postingId, name());
+    }
+
+    /**
+     * @throws DuplicateTransactionException with the posting id of the earlier posting, if
+     *                                       the key was posted or is being prepared
+     */
+    private static void checkNotPosted(EntityManager em, String idempotencyKey) {
+        List<Long> posted = em.createQuery(
+                        "SELECT je.postingId FROM TransactionIdempotency ti, JournalEntry je "
+                                + "WHERE ti.idempotencyKey = :key AND je.id = ti.journalEntryId", Long.class)
+                .setParameter("key", idempotencyKey)
+                .getResultList();
+        if (!posted.isEmpty()) {
+            throw new DuplicateTransactionException(idempotencyKey, posted.get(0));
+        }
+        List<Long> preparing = em.createQuery(
+                        "SELECT pp.postingId FROM PreparedPosting pp WHERE pp.idempotencyKey = :key", Long.class)
+                .setParameter("key", idempotencyKey)
+                .getResultList();
+        if (!preparing.isEmpty()) {
+            throw new DuplicateTransactionException(idempotencyKey, preparing.get(0));
+        }
+    }
+
+    private static Map<Long, Account> lockActiveAccounts(EntityManager em, PostingEvent posting) {
+        Map<Long, Account> accounts = lockAccounts(em, posting);
+        accounts.forEach((accountId, account) -> {
+            if (account.getStatus() == AccountStatus.FROZEN) {
+                throw new AccountFrozenException(accountId);
+            }
+            if (account.getStatus() == AccountStatus.CLOSED) {
+                throw new AccountClosedException(accountId);
+            }
+        });
+        return accounts;
+    }
+
+    private static Map<Long, Account> lockAccounts(EntityManager em, PostingEvent posting) {
+        // TreeMap: locks are taken in id order, so concurrent postings cannot deadlock
+        Map<Long, Account> accounts = new TreeMap<>();
+        for (PostingEvent.Leg leg : posting.legs()) {
+            accounts.put(leg.accountId(), null);
+        }
+        for (Map.Entry<Long, Account> entry : accounts.entrySet()) {
+            Account account = em.find(Account.class, entry.getKey(), LockModeType.PESSIMISTIC_WRITE);
+            if (account == null) {
+                throw new AccountNotFoundException(entry.getKey());
+            }
+            entry.setValue(account);
+        }
+        return accounts;
+    }
+
+    private static void preFlightCheck(PostingEvent posting, Map<Long, Account> accounts) {
+        List<TransactionEngine.LegRequest> legs = new ArrayList<>(posting.legs().size());
+        FixedMoney[] amounts = new FixedMoney[posting.legs().size()];
+        for (int i = 0; i < amounts.length; i++) {
+            PostingEvent.Leg leg = posting.legs().get(i);
+            Money amount = new Money(leg.amount(), CurrencyRegistry.currency(leg.currencyId()));
+            legs.add(new TransactionEngine.LegRequest(leg.accountId(), leg.type(), amount));
+            amounts[i] = FixedMoney.of(amount);
+        }
+        TransactionEngine.preFlightCheck(legs, amounts, accounts::get);
+    }
+
+    /**
+     * Debits minus credits per account, for accounts where that is positive.
+     */
+    private static Map<Long, BigDecimal> netDebits(PostingEvent branch) {
+        Map<Long, BigDecimal> net = new TreeMap<>();
+        for (PostingEvent.Leg leg : branch.legs()) {
+            BigDecimal amount = leg.type() == TransactionLine.Type.DEBIT ? leg.amount() : leg.amount().negate();
+            net.merge(leg.accountId(), amount, BigDecimal::add);
+        }
+        net.values().removeIf(amount -> amount.signum() <= 0);
+        return net;
+    }
+
+    private static void releaseReservations(PostingEvent branch, Map<Long, Account> accounts) {
+        netDebits(branch).forEach((accountId, debit) -> {
+            Account account = accounts.get(accountId);
+            account.setReservedAmount(account.getReservedAmount().subtract(debit));
+        });
+    }
+
+    /**
+     * Builds the entry and applies its legs to the locked accounts.
+     */
+    private static JournalEntry journalEntry(PostingEvent posting, Map<Long, Account> accounts, boolean crossShard) {
+        JournalEntry entry = new JournalEntry();
+        entry.setDescription(posting.description());
+        entry.setTimestamp(posting.timestamp());
+        entry.setPostingId(posting.sequence());
+        entry.setCrossShard(crossShard);
+        for (PostingEvent.Leg leg : posting.legs()) {
+            Account account = accounts.get(leg.accountId());
+            TransactionLine line = new TransactionLine();
+            line.setAccount(account);
+            line.setType(leg.type());
+            line.setAmount(new Money(leg.amount(), CurrencyRegistry.currency(leg.currencyId())));
+            entry.addLine(line);
+            account.setBalanceAmount(leg.type() == TransactionLine.Type.CREDIT
+                    ? account.getBalanceAmount().add(leg.amount())
+                    : account.getBalanceAmount().subtract(leg.amount()));
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,148 @@
+package com.fintech.ledger.core.service;
+
+import com.fintech.common.domain.FixedMoney;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.AccountNotFoundException;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.eventlog.PostingEvent;
+import com.fintech.ledger.core.sharding.GlobalIdGenerator;
+import com.fintech.ledger.core.sharding.LedgerShard;
+import com.fintech.ledger.core.sharding.ShardRouter;
+import com.fintech.ledger.core.sharding.TwoPhaseCommitCoordinator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Posting path for {@code ledger.posting.mode=sharded}.
+ * <p>
+ * Accounts are placed on shards by consistent hashing of their id, which is assigned here
+ * before the row is written. A posting whose accounts share a shard commits in one local
+ * transaction on it; any other posting goes through the {@link TwoPhaseCommitCoordinator},
+ * with the shard of the first leg recording the idempotency key. Posting ids are
+ * {@link GlobalIdGenerator} ids, kept on every shard's journal entry as {@code posting_id}.
+ */
+@Service
+@ConditionalOnProperty(name = "ledger.posting.mode", havingValue = "sharded")
+@Slf4j
+public class ShardedLedger implements PostingBackend {
+
+    private final ShardRouter router;
+    private final GlobalIdGenerator ids;
+    private final Path coordinatorDirectory;
+    private final int segmentSize;
+    private final Duration flushInterval;
+
+    private final Map<String, ShardPostingOperations> operations = new HashMap<>();
+    private TwoPhaseCommitCoordinator coordinator;
+
+    public ShardedLedger(ShardRouter router,
+                         GlobalIdGenerator ids,
+                         @Value("${ledger.sharding.coordinator-log.directory}") Path coordinatorDirectory,
+                         @Value("${ledger.sharding.coordinator-log.segment-size:4MB}") DataSize segmentSize,
+                         @Value("${ledger.sharding.coordinator-log.flush-interval:PT0.002S}") Duration flushInterval) {
+        this.router = router;
+        this.ids = ids;
+        this.coordinatorDirectory = coordinatorDirectory;
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Opens the coordinator log and finishes the cross-shard postings it left unresolved.
+     */
+    @PostConstruct
+    public void start() {
+        for (LedgerShard shard : router.shards()) {
+            operations.put(shard.name(), new ShardPostingOperations(shard));
+        }
+        coordinator = TwoPhaseCommitCoordinator.open(coordinatorDirectory, segmentSize, flushInterval,
+                operations::get);
+        int unresolved = coordinator.recover();
+        log.info("Sharded ledger started on {} shards; {} cross-shard postings unresolved",
+                operations.size(), unresolved);
+    }
+
+    @PreDestroy
+    public void stop() {
+        coordinator.close();
+    }
+
+    /**
+     * Finishes cross-shard postings whose commit or abort failed on some shard.
+     */
+    @Scheduled(fixedDelayString = "${ledger.sharding.retry-interval-ms:5000}")
+    public void retryUnresolved() {
+        if (coordinator.unresolvedCount() > 0) {
+            int left = coordinator.retryUnresolved();
+            if (left > 0) {
+                log.warn("{} cross-shard postings still unresolved", left);
+            }
+        }
+    }
+
+    public Account createAccount(String name, Money initialBalance) {
+        long accountId = ids.nextId();
+        LedgerShard shard = router.shardFor(accountId);
+        Account account = operations(shard).createAccount(accountId, name, initialBalance);
+        log.info("Account {} created on shard {}", accountId, shard.name());
+        return account;
+    }
+
+    /**
+     * @throws AccountNotFoundException if the account's shard does not hold it
+     */
+    public Account getAccount(Long accountId) {
+        Account account = operations(router.shardFor(accountId)).findAccount(accountId);
+        if (account == null) {
+            throw new AccountNotFoundException(accountId);
+        }
+        return account;
+    }
+
+    @Override
+    public long post(String idempotencyKey, String description, List<TransactionEngine.LegRequest> legs,
+                     FixedMoney[] amounts) {
+        List<PostingEvent.Leg> eventLegs = PostingBackend.balancedLegs(legs, amounts);
+        long postingId = ids.nextId();
+        Instant now = Instant.now();
+
+        // Insertion order puts the key-owning shard (first leg's) first
+        Map<LedgerShard, List<PostingEvent.Leg>> byShard = new LinkedHashMap<>();
+        for (PostingEvent.Leg leg : eventLegs) {
+            byShard.computeIfAbsent(router.shardFor(leg.accountId()), shard -> new ArrayList<>()).add(leg);
+        }
+        if (byShard.size() == 1) {
+            LedgerShard shard = byShard.keySet().iterator().next();
+            return operations(shard).postLocal(new PostingEvent(postingId, now, idempotencyKey, description,
+                    eventLegs));
+        }
+
+        List<TwoPhaseCommitCoordinator.Branch> branches = new ArrayList<>(byShard.size());
+        byShard.forEach((shard, shardLegs) -> branches.add(new TwoPhaseCommitCoordinator.Branch(
+                operations(shard),
+                new PostingEvent(postingId, now, idempotencyKey, description, List.copyOf(shardLegs)),
+                branches.isEmpty())));
+        coordinator.execute(postingId, branches);
+        log.debug("Posting {} committed across shards {}", postingId, byShard.keySet());
+        return postingId;
+    }
+
+    private ShardPostingOperations operations(LedgerShard shard) {
+        return operations.get(shard.name());
+    }
+}
@@ -0,0 +1,345 @@
+package com.fintech.ledger.core.service;
+
+import com.fintech.common.domain.CurrencyRegistry;
+import com.fintech.common.domain.FixedMoney;
+import com.fintech.common.exception.AccountNotFoundException;
+import com.fintech.common.exception.DuplicateTransactionException;
+import com.fintech.common.exception.LedgerException;
+import com.fintech.common.journal.AppendOnlyLog;
+import com.fintech.ledger.core.concurrency.RingBuffer;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.Account.AccountStatus;
+import com.fintech.ledger.core.eventlog.AccountBook;
+import com.fintech.ledger.core.eventlog.PostingEvent;
+import com.fintech.ledger.core.repository.AccountRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Posting path for {@code ledger.posting.mode=single-writer}.
+ * <p>
+ * One business-logic thread owns every balance, in the primitive arrays of an
+ * {@link AccountBook}, so no posting ever waits for a lock on an account. Request threads
+ * publish postings into a lock-free {@link RingBuffer}; the business thread takes them in
+ * order, journals each one to the memory-mapped {@link AppendOnlyLog} (a copy into the page
+ * cache) and only then runs the currency and balance checks and applies it, all in memory.
+ * The request thread then waits for the group fsync with {@link Durability#SYNC}.
+ * Accepted postings go to the {@link PostingProjector} asynchronously, as in
+ * {@link EventSourcedLedger}.
+ * <p>
+ * The log holds inputs, including postings the checks rejected. Because the checks only
+ * depend on the book, replaying the inputs after the projector's checkpoint on top of the
+ * database state reaches the same decisions and the same balances. Account statuses can
+ * change between the two, so they are checked by the request thread before publishing,
+ * against the frozen and closed accounts re-read every
+ * {@code ledger.posting.status-refresh-interval-ms}.
+ * <p>
+ * The business thread never touches the database: request threads load unknown accounts
+ * and publish them ahead of their posting. Idempotency keys are checked by the business
+ * thread against every key posted, which it loads from the database at startup, so a
+ * posting makes no query unless it names an account the book has not seen. A request
+ * thread waits at most {@code ledger.single-writer.reply-timeout} for its posting to be
+ * handled.
+ */
+@Service
+@ConditionalOnProperty(name = "ledger.posting.mode", havingValue = "single-writer")
+@Slf4j
+public class SingleWriterLedger implements InMemoryLedger {
+
+    /** Error code of a posting the business thread did not answer in time. */
+    public static final String WRITER_TIMEOUT = "WRITER_TIMEOUT";
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    private enum Kind {
+        POSTING, ACCOUNT
+    }
+
+    private record Outcome(long sequence, long endPosition) {
+    }
+
+    /** Ring slot; reused, so the business thread clears it once handled. */
+    private static final class Message {
+        Kind kind;
+        String idempotencyKey;
+        String description;
+        List<PostingEvent.Leg> legs;
+        FixedMoney[] amounts;
+        Account account;
+        CompletableFuture<Outcome> reply;
+
+        void clear() {
+            idempotencyKey = null;
+            description = null;
+            legs = null;
+            amounts = null;
+            account = null;
+            reply = null;
+        }
+    }
+
+    private final PostingProjector projector;
+    private final AccountRepository accountRepository;
+    private final Path directory;
+    private final Durability durability;
+    private final int segmentSize;
+    private final Duration flushInterval;
+    private final int projectionBatchSize;
+    private final Duration replyTimeout;
+    private final RingBuffer<Message> ring;
+
+    /** Accounts published to the book; written by request threads, before their posting. */
+    private final Set<Long> knownAccounts = ConcurrentHashMap.newKeySet();
+    /** Frozen and closed accounts as of the last {@link #refreshAccountStatuses()}. */
+    private volatile Map<Long, AccountStatus> restrictedAccounts = Map.of();
+
+    // Owned by the business thread (by the starting thread before it runs)
+    private final AccountBook book = new AccountBook(1024);
+    /** Idempotency keys of every posting, projected or not, with their posting id. */
+    private final Map<String, Long> postedKeys = new HashMap<>();
+    private long nextSequence;
+
+    private volatile boolean running;
+    private AppendOnlyLog postingLog;
+    private ProjectionPump pump;
+    private Thread businessThread;
+
+    public SingleWriterLedger(PostingProjector projector,
+                              AccountRepository accountRepository,
+                              @Value("${ledger.event-log.directory}") Path directory,
+                              @Value("${ledger.event-log.durability:SYNC}") Durability durability,
+                              @Value("${ledger.event-log.segment-size:16MB}") DataSize segmentSize,
+                              @Value("${ledger.event-log.flush-interval:PT0.002S}") Duration flushInterval,
+                              @Value("${ledger.event-log.projection-batch-size:500}") int projectionBatchSize,
+                              @Value("${ledger.single-writer.ring-size:4096}") int ringSize,
+                              @Value("${ledger.single-writer.reply-timeout:PT5S}") Duration replyTimeout) {
+        this.projector = projector;
+        this.accountRepository = accountRepository;
+        this.directory = directory;
+        this.durability = durability;
+        this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+        this.flushInterval = flushInterval;
+        this.projectionBatchSize = projectionBatchSize;
+        this.replyTimeout = replyTimeout;
+        this.ring = new RingBuffer<>(ringSize, Message::new);
+    }
+
+    @PostConstruct
+    void start() {
+        refreshAccountStatuses();
+        long checkpoint = projector.checkpoint();
+        postingLog = AppendOnlyLog.open(directory, segmentSize, flushInterval);
+        pump = new ProjectionPump("posting-projector", projector, postingLog, segmentSize, projectionBatchSize);
+        projector.forEachProjectedKey(postedKeys::put);
+        long[] lastSequence = {checkpoint};
+        int[] rejected = {0};
+        postingLog.replay((position, payload) -> {
+            long endPosition = position + AppendOnlyLog.HEADER_SIZE + payload.remaining();
+            PostingEvent event = PostingEvent.decode(payload);
+            lastSequence[0] = Math.max(lastSequence[0], event.sequence());
+            if (event.sequence() <= checkpoint) {
+                return;
+            }
+            for (PostingEvent.Leg leg : event.legs()) {
+                if (knownAccounts.add(leg.accountId())) {
+                    book.loadIfAbsent(accountRepository.findById(leg.accountId())
+                            .orElseThrow(() -> new AccountNotFoundException(leg.accountId())));
+                }
+            }
+            try {
+                book.post(event.legs(), amountsOf(event));
+            } catch (RuntimeException e) {
+                rejected[0]++;
+                return;
+            }
+            postedKeys.put(event.idempotencyKey(), event.sequence());
+            pump.add(event, endPosition);
+        });
+        nextSequence = lastSequence[0] + 1;
+        log.info("Posting log opened in {}: checkpoint {}, {} postings to project ({} rejected on replay), "
+                + "{} idempotency keys, next sequence {}", directory, checkpoint, pump.backlog(), rejected[0],
+                postedKeys.size(), nextSequence);
+
+        running = true;
+        businessThread = Thread.ofPlatform().name("single-writer").daemon().start(this::runBusinessLogic);
+        pump.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // The business thread stops first, so the pump gets to project all it logged
+        running = false;
+        businessThread.join(SHUTDOWN_TIMEOUT);
+        pump.stop(SHUTDOWN_TIMEOUT);
+        postingLog.close();
+    }
+
+    @Override
+    public long post(String idempotencyKey, String description, List<TransactionEngine.LegRequest> legs,
+                     FixedMoney[] amounts) {
+        List<PostingEvent.Leg> eventLegs = PostingBackend.balancedLegs(legs, amounts);
+        InMemoryLedger.checkProjectorRunning(pump.isRunning());
+        InMemoryLedger.checkStatuses(restrictedAccounts, legs);
+        for (PostingEvent.Leg leg : eventLegs) {
+            if (!knownAccounts.contains(leg.accountId())) {
+                publishAccount(leg.accountId());
+            }
+        }
+
+        Outcome outcome = submit(idempotencyKey, description, eventLegs, amounts);
+        if (durability == Durability.SYNC) {
+            postingLog.awaitDurable(outcome.endPosition());
+        }
+        return outcome.sequence();
+    }
+
+    /**
+     * Postings published but not yet handled by the business thread.
+     */
+    public long queuedCount() {
+        return ring.backlog();
+    }
+
+    public int unprojectedCount() {
+        return pump.backlog();
+    }
+
+    @Override
+    public ProjectionStatus projectionStatus() {
+        return new ProjectionStatus(pump.isRunning(), pump.backlog(), pump.lastFailure());
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.posting.status-refresh-interval-ms:1000}")
+    public void refreshAccountStatuses() {
+        restrictedAccounts = accountRepository.findRestrictedStatuses();
+    }
+
+    /**
+     * @throws LedgerException {@code WRITER_TIMEOUT} if the business thread has not handled
+     *         the posting within the reply timeout; it may still be applied later, so the
+     *         client should retry with the same idempotency key
+     */
+    private Outcome submit(String idempotencyKey, String description, List<PostingEvent.Leg> legs,
+                           FixedMoney[] amounts) {
+        CompletableFuture<Outcome> reply = new CompletableFuture<>();
+        long sequence = ring.claim();
+        try {
+            Message message = ring.get(sequence);
+            message.kind = Kind.POSTING;
+            message.idempotencyKey = idempotencyKey;
+            message.description = description;
+            message.legs = legs;
+            message.amounts = amounts;
+            message.reply = reply;
+        } finally {
+            ring.publish(sequence);
+        }
+        try {
+            return reply.get(replyTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new LedgerException("Single writer failed to handle the posting", e.getCause());
+        } catch (TimeoutException e) {
+            throw new LedgerException(WRITER_TIMEOUT, "Posting " + idempotencyKey + " was not handled within "
+                    + replyTimeout + "; retry with the same idempotency key");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LedgerException(WRITER_TIMEOUT, "Interrupted while waiting for posting " + idempotencyKey);
+        }
+    }
+
+    /**
+     * The database row of an account the book has not seen is current, since only postings
+     * through the book change balances in this mode. Two threads may both publish the same
+     * account; the book keeps the first.
+     */
+    private void publishAccount(Long accountId) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+        long sequence = ring.claim();
+        try {
+            Message message = ring.get(sequence);
+            message.kind = Kind.ACCOUNT;
+            message.account = account;
+        } finally {
+            ring.publish(sequence);
+        }
+        // Only after publishing: a posting that skips the load must be behind it in the ring
+        knownAccounts.add(accountId);
+    }
+
+    private void runBusinessLogic() {
+        RingBuffer.Handler<Message> handler = (message, sequence, endOfBatch) -> {
+            try {
+                switch (message.kind) {
+                    case POSTING -> process(message);
+                    case ACCOUNT -> book.loadIfAbsent(message.account);
+                }
+            } catch (RuntimeException e) {
+                log.error("Business thread failed to handle a {} message", message.kind, e);
+                if (message.reply != null) {
+                    message.reply.completeExceptionally(e);
+                }
+            } finally {
+                message.clear();
+            }
+        };
+        while (running) {
+            ring.awaitAndDrain(handler, () -> running);
+        }
+        ring.drain(handler);
+    }
+
+    private void process(Message message) {
+        Long duplicate = postedKeys.get(message.idempotencyKey);
+        if (duplicate != null) {
+            message.reply.completeExceptionally(
+                    new DuplicateTransactionException(message.idempotencyKey, duplicate));
+            return;
+        }
+
+        PostingEvent event = new PostingEvent(nextSequence, Instant.now(), message.idempotencyKey,
+                message.description, message.legs);
+        long endPosition = postingLog.append(event.encode());
+        nextSequence++;
+        try {
+            book.post(event.legs(), message.amounts);
+        } catch (RuntimeException e) {
+            message.reply.completeExceptionally(e);
+            return;
+        }
+        postedKeys.put(event.idempotencyKey(), event.sequence());
+        pump.add(event, endPosition);
+        message.reply.complete(new Outcome(event.sequence(), endPosition));
+    }
+
+    private static FixedMoney[] amountsOf(PostingEvent event) {
+        FixedMoney[] amounts = new FixedMoney[event.legs().size()];
+        for (int i = 0; i < amounts.length; i++) {
+            PostingEvent.Leg leg = event.legs().get(i);
+            amounts[i] = FixedMoney.of(leg.amount(), CurrencyRegistry.currency(leg.currencyId()));
+        }
+        return amounts;
+    }
+}
@@ -1,6 +1,7 @@
 package com.fintech.ledger.core.service;
 
 import com.fintech.common.audit.Auditable;
+import com.fintech.common.domain.FixedMoney;
 import com.fintech.common.domain.IdempotencyKey;
 import com.fintech.common.domain.Money;
 import com.fintech.common.exception.AccountClosedException;
@@ -16,31 +17,56 @@ import com.fintech.ledger.core.domain.JournalEntry;
 import com.fintech.ledger.core.domain.TransactionIdempotency;
 import com.fintech.ledger.core.domain.Account.AccountStatus;
 import com.fintech.ledger.core.domain.TransactionLine;
+import com.fintech.ledger.core.logging.SuccessLogSampler;
+import com.fintech.ledger.core.metrics.AccountContentionTracker;
 import com.fintech.ledger.core.metrics.LedgerMetrics;
 import com.fintech.ledger.core.repository.JournalEntryRepository;
 import com.fintech.ledger.core.repository.TransactionIdempotencyRepository;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.LockModeType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TransactionEngine {
 
+    private static final int POSTING_TIMEOUT_SECONDS = 30;
+
     private final JournalEntryRepository journalEntryRepository;
     private final TransactionIdempotencyRepository idempotencyRepository;
     private final EntityManager entityManager;
     private final LedgerMetrics metrics;
+    private final AccountContentionTracker contentionTracker;
     private final TransactionLimitService limitService;
+    private final SuccessLogSampler successLogSampler;
+    /** Present only when {@code ledger.posting.mode} is not {@code jpa}. */
+    private final ObjectProvider<PostingBackend> postingBackend;
+    /** Present only with {@code ledger.read-model.enabled}. */
+    private final ObjectProvider<PostingOutbox> postingOutbox;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate postingTransaction;
+
+    @PostConstruct
+    void createPostingTransaction() {
+        postingTransaction = new TransactionTemplate(transactionManager);
+        postingTransaction.setTimeout(POSTING_TIMEOUT_SECONDS);
+    }
 
     public record LegRequest(Long accountId, TransactionLine.Type type, Money amount) {
     }
@@ -48,48 +74,97 @@ public class TransactionEngine {
     /**
      * Executes an Atomic Multi-Leg Transaction with idempotency support.
      * Enforces Pre-flight checks before saving.
+     * <p>
+     * Not transactional itself: a database posting runs in a transaction together with the
+     * limit check, while a {@link PostingBackend} is called outside one, so the in-memory
+     * posting paths hold no pooled connection.
      * 
      * @param idempotencyKey Unique key to prevent duplicate processing
      * @param description Transaction description
      * @param legs Transaction legs
      * @param userId User ID for transaction limits (optional, can be null)
-     * @return The created JournalEntry ID
+     * @return The created JournalEntry ID, or the backend's posting id when a
+     *         {@link PostingBackend} is configured
      */
     @Auditable(action = "POST_TRANSACTION")
-    @Transactional(timeout = 30) // 30 second timeout
     public Long postTransaction(IdempotencyKey idempotencyKey, String description, List<LegRequest> legs, String userId) {
-        long startTime = System.currentTimeMillis();
-        
+        Timer.Sample sample = metrics.startTimer();
+        String currency = currencyTag(legs);
+
         try {
             // 0. Validate inputs
+            long phaseStart = System.nanoTime();
             TransactionValidator.validateDescription(description);
             TransactionValidator.validateLegCount(legs.size());
-            legs.forEach(leg -> TransactionValidator.validateAmount(leg.amount()));
-
-            // 0.5. Check transaction limits (if user is provided)
-            if (userId != null && !legs.isEmpty()) {
-                // Use first leg's amount for limit checking (assuming all legs same currency)
-                limitService.checkAndUpdateLimits(userId, legs.get(0).amount());
+            // Converted once; validation and the pre-flight run on FixedMoney from here on
+            FixedMoney[] amounts = new FixedMoney[legs.size()];
+            for (int i = 0; i < amounts.length; i++) {
+                amounts[i] = FixedMoney.of(legs.get(i).amount());
+                TransactionValidator.validateAmount(amounts[i]);
             }
+            long validationNanos = System.nanoTime() - phaseStart;
 
-            // 1. Check idempotency - prevent duplicate processing
             String keyValue = idempotencyKey.getValue();
-            idempotencyRepository.findByIdempotencyKey(keyValue)
-                .ifPresent(existing -> {
-                    metrics.recordDuplicateTransaction();
-                    throw new DuplicateTransactionException(keyValue, existing.getJournalEntryId());
-                });
+            PostingBackend backend = postingBackend.getIfAvailable();
+            if (backend != null) {
+                checkLimits(userId, legs);
+                metrics.recordPhase(LedgerMetrics.Phase.VALIDATION, validationNanos);
+                return postToBackend(backend, keyValue, description, legs, amounts, sample, currency);
+            }
+
+            return postingTransaction.execute(status -> {
+                checkLimits(userId, legs);
+                return postToDatabase(keyValue, description, legs, amounts, validationNanos, sample, currency);
+            });
+        } catch (Exception e) {
+            metrics.recordTransactionError(sample, legs == null ? 0 : legs.size(), currency);
+            throw e;
+        }
+    }
+
+    /**
+     * Checks and updates the user's daily limits, when a user is given.
+     */
+    private void checkLimits(String userId, List<LegRequest> legs) {
+        if (userId != null && !legs.isEmpty()) {
+            long phaseStart = System.nanoTime();
+            // Use first leg's amount for limit checking (assuming all legs same currency)
+            limitService.checkAndUpdateLimits(userId, legs.get(0).amount());
+            metrics.recordPhase(LedgerMetrics.Phase.LIMIT_CHECK, System.nanoTime() - phaseStart);
+        }
+    }
+
+    /**
+     * The {@code jpa} posting path, in one transaction (joining the caller's, if any).
+     */
+    private Long postToDatabase(String keyValue, String description, List<LegRequest> legs, FixedMoney[] amounts,
+                                long validationNanos, Timer.Sample sample, String currency) {
+        // 1. Check idempotency - prevent duplicate processing
+        long phaseStart = System.nanoTime();
+        Optional<TransactionIdempotency> existingPosting = idempotencyRepository.findByIdempotencyKey(keyValue);
+        metrics.recordPhase(LedgerMetrics.Phase.IDEMPOTENCY_LOOKUP, System.nanoTime() - phaseStart);
+        existingPosting.ifPresent(existing -> {
+            metrics.recordDuplicateTransaction(legs.size(), currency);
+            throw new DuplicateTransactionException(keyValue, existing.getJournalEntryId());
+        });
 
         // 2. Pre-flight Check (Simulation)
-        preFlightCheck(legs);
+        phaseStart = System.nanoTime();
+        preFlightCheck(legs, amounts);
+        metrics.recordPhase(LedgerMetrics.Phase.VALIDATION, validationNanos + System.nanoTime() - phaseStart);
 
         // 3. Build Entities with optimistic locking
         JournalEntry entry = new JournalEntry();
         entry.setDescription(description);
 
+        long lockNanos = 0;
         for (LegRequest leg : legs) {
             // Use pessimistic lock to prevent concurrent balance updates
+            phaseStart = System.nanoTime();
             Account account = entityManager.find(Account.class, leg.accountId(), LockModeType.PESSIMISTIC_WRITE);
+            long lockWait = System.nanoTime() - phaseStart;
+            lockNanos += lockWait;
+            contentionTracker.record(leg.accountId(), lockWait);
             if (account == null) {
                 throw new AccountNotFoundException(leg.accountId());
             }
@@ -116,43 +191,72 @@ public class TransactionEngine {
             // If Account is Liability (Wallet): Credit +, Debit -
             // If Account is Asset: Debit +, Credit -
             // Assuming Wallet/Liability model for "User Accounts"
+            // Currency already matched in the pre-flight; both sides have scale 18
             if (leg.type() == TransactionLine.Type.CREDIT) {
-                account.setBalance(new Money(currentBalance.add(change), leg.amount().getCurrency()));
+                account.setBalanceAmount(currentBalance.add(change));
             } else {
-                account.setBalance(new Money(currentBalance.subtract(change), leg.amount().getCurrency()));
+                account.setBalanceAmount(currentBalance.subtract(change));
             }
 
             entry.addLine(line);
         }
+        metrics.recordPhase(LedgerMetrics.Phase.LOCK_ACQUISITION, lockNanos);
 
         // 4. Commit (Cascades to Lines)
         // JournalEntry.validate() will be called by @PrePersist / @PreUpdate ensuring
         // Double Entry
+        phaseStart = System.nanoTime();
         journalEntryRepository.save(entry);
         
         // 5. Record idempotency to prevent duplicates
         TransactionIdempotency idempotency = new TransactionIdempotency(keyValue, entry.getId());
         idempotencyRepository.save(idempotency);
 
-            log.info("Transaction Committed: {} (Journal Entry: {}, Idempotency Key: {})", 
+        // 6. Hand the posting to the read model, committed or rolled back with it
+        postingOutbox.ifAvailable(outbox -> outbox.record(entry, keyValue));
+        metrics.recordPhase(LedgerMetrics.Phase.PERSIST, System.nanoTime() - phaseStart);
+
+        if (successLogSampler.sample(log)) {
+            log.info("Transaction Committed: {} (Journal Entry: {}, Idempotency Key: {})",
                 entry.getDescription(), entry.getId(), keyValue);
-            
-            // Record metrics
-            metrics.recordTransaction();
-            metrics.recordTransactionTime(System.currentTimeMillis() - startTime);
-            
-            return entry.getId();
-        } catch (Exception e) {
-            metrics.recordTransactionError();
+        }
+
+        // Record metrics
+        metrics.recordTransaction(sample, legs.size(), currency);
+
+        return entry.getId();
+    }
+
+    private Long postToBackend(PostingBackend backend, String keyValue, String description, List<LegRequest> legs,
+                               FixedMoney[] amounts, Timer.Sample sample, String currency) {
+        long postingId;
+        try {
+            postingId = backend.post(keyValue, description, legs, amounts);
+        } catch (DuplicateTransactionException e) {
+            metrics.recordDuplicateTransaction(legs.size(), currency);
             throw e;
         }
+        if (successLogSampler.sample(log)) {
+            log.info("Transaction Posted: {} (Posting: {}, Idempotency Key: {})", description, postingId, keyValue);
+        }
+        metrics.recordTransaction(sample, legs.size(), currency);
+        return postingId;
+    }
+
+    /**
+     * The first leg's currency, as for the limit check; a posting's legs normally share it.
+     */
+    private static String currencyTag(List<LegRequest> legs) {
+        if (legs == null || legs.isEmpty() || legs.get(0).amount() == null) {
+            return "none";
+        }
+        return legs.get(0).amount().getCurrency().getCurrencyCode();
     }
 
     /**
      * Convenience method without user ID (no transaction limits applied).
      */
     @Auditable(action = "POST_TRANSACTION")
-    @Transactional(timeout = 30)
     public Long postTransaction(IdempotencyKey idempotencyKey, String description, List<LegRequest> legs) {
         return postTransaction(idempotencyKey, description, legs, null);
     }
@@ -163,7 +267,6 @@ public class TransactionEngine {
      */
     @Deprecated
     @Auditable(action = "POST_TRANSACTION")
-    @Transactional(timeout = 30)
     public void postTransaction(String description, List<LegRequest> legs) {
         IdempotencyKey key = IdempotencyKey.generate();
         postTransaction(key, description, legs);
@@ -172,46 +275,54 @@ public class TransactionEngine {
     /**
      * Simulates the transaction in memory to check for violations (e.g. Negative
      * Balance, Currency Mismatch).
+     * Runs against the available balance (balance minus open holds), which is carried on the
+     * account row, so holds add no queries here.
      * Does NOT persist changes.
      */
-    private void preFlightCheck(List<LegRequest> legs) {
+    private void preFlightCheck(List<LegRequest> legs, FixedMoney[] amounts) {
         log.debug("Running Pre-flight simulation...");
-        Map<Long, BigDecimal> simulatedBalances = new HashMap<>();
+        preFlightCheck(legs, amounts, accountId -> entityManager.find(Account.class, accountId));
+        log.debug("Pre-flight Check Passed.");
+    }
 
-        for (LegRequest leg : legs) {
-            Account account = entityManager.find(Account.class, leg.accountId());
+    /**
+     * The simulation itself, with account loading left to the caller so it can be
+     * benchmarked without a database.
+     */
+    static void preFlightCheck(List<LegRequest> legs, FixedMoney[] amounts, Function<Long, Account> accounts) {
+        Map<Long, FixedMoney.Accumulator> simulatedBalances = new HashMap<>();
+
+        for (int i = 0; i < legs.size(); i++) {
+            LegRequest leg = legs.get(i);
+            Account account = accounts.apply(leg.accountId());
             if (account == null) {
                 throw new AccountNotFoundException(leg.accountId());
             }
 
-            // Currency validation: Ensure transaction currency matches account currency
-            String accountCurrency = account.getBalanceCurrency();
-            String transactionCurrency = leg.amount().getCurrency().getCurrencyCode();
-            if (!accountCurrency.equals(transactionCurrency)) {
-                throw new CurrencyMismatchException(accountCurrency, transactionCurrency);
+            // Currency validation: Ensure transaction currency matches account currency (registry ids)
+            if (account.getCurrencyId() != amounts[i].getCurrencyId()) {
+                throw new CurrencyMismatchException(account.getBalanceCurrency(),
+                        leg.amount().getCurrency().getCurrencyCode());
             }
 
-            BigDecimal current = simulatedBalances.getOrDefault(
-                    leg.accountId(),
-                    account.getBalanceAmount());
-
-            BigDecimal change = leg.amount().getAmount(); // Magnitude
+            FixedMoney.Accumulator current = simulatedBalances.get(leg.accountId());
+            if (current == null) {
+                current = new FixedMoney.Accumulator().add(account.getAvailableAmount());
+                simulatedBalances.put(leg.accountId(), current);
+            }
 
-            // Apply logic
+            // Apply logic (amounts are positive magnitudes)
             if (leg.type() == TransactionLine.Type.CREDIT) {
-                current = current.add(change);
+                current.add(amounts[i]);
             } else {
-                current = current.subtract(change);
+                current.subtract(amounts[i]);
             }
 
             // Constraint: No Negative Balances allowed for Wallets
-            if (current.compareTo(BigDecimal.ZERO) < 0) {
+            if (current.signum() < 0) {
                 throw new InsufficientFundsException(leg.accountId(),
-                        String.format("Current balance would be %s after transaction", current));
+                        String.format("Available balance would be %s after transaction", current.toBigDecimal()));
             }
-
-            simulatedBalances.put(leg.accountId(), current);
         }
-        log.debug("Pre-flight Check Passed.");
     }
 }
@@ -0,0 +1,83 @@
+package com.fintech.ledger.core.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable consistent-hash ring mapping {@code long} keys to named nodes.
+ * <p>
+ * Each node is placed at {@code virtualNodes} points derived from its name, so the mapping
+ * depends only on the set of node names and not on the order they are listed in. Adding or
+ * removing a node moves only the keys in the arcs it gains or loses, about {@code 1/N} of
+ * them.
+ *
+ * @param <T> node type
+ */
+public final class ConsistentHashRing<T> {
+
+    private final long[] points;
+    private final Object[] owners;
+    private final int nodeCount;
+
+    public ConsistentHashRing(Map<String, T> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+        }
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("Virtual nodes must be positive: " + virtualNodes);
+        }
+        TreeMap<Long, T> ring = new TreeMap<>();
+        nodes.forEach((name, node) -> {
+            for (int i = 0; i < virtualNodes; i++) {
+                // On the rare collision the first node placed keeps the point
+                ring.putIfAbsent(hash(name + "#" + i), node);
+            }
+        });
+        this.points = new long[ring.size()];
+        this.owners = new Object[ring.size()];
+        int i = 0;
+        for (Map.Entry<Long, T> point : ring.entrySet()) {
+            points[i] = point.getKey();
+            owners[i++] = point.getValue();
+        }
+        this.nodeCount = nodes.size();
+    }
+
+    /**
+     * @return the node owning the first point at or after the key's hash, wrapping around
+     */
+    @SuppressWarnings("unchecked")
+    public T nodeFor(long key) {
+        int i = Arrays.binarySearch(points, mix(key));
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return (T) owners[i == points.length ? 0 : i];
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    private static long hash(String name) {
+        // FNV-1a, then mixed so that similar names land far apart
+        long h = 0xcbf29ce484222325L;
+        for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    /** MurmurHash3 finalizer: sequential ids spread evenly over the ring. */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
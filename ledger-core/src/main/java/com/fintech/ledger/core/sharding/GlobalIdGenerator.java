@@ -0,0 +1,57 @@
+package com.fintech.ledger.core.sharding;
+
+import java.time.Instant;
+import java.util.function.LongSupplier;
+
+/**
+ * Ids unique across shards and ledger nodes without a shared sequence.
+ * <p>
+ * Layout: 41 bits of milliseconds since 2024-01-01, 10 bits of node id, 12 bits of a
+ * per-millisecond counter. Ids from one node increase; ids from different nodes only
+ * roughly follow time. Account ids have to be known before the row is written, since they
+ * decide which shard the row goes to.
+ */
+public final class GlobalIdGenerator {
+
+    public static final int MAX_NODE_ID = (1 << 10) - 1;
+
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int SEQUENCE_BITS = 12;
+    private static final int NODE_BITS = 10;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    private final LongSupplier clock;
+    private long lastMillis = -1;
+    private long sequence;
+
+    public GlobalIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    GlobalIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.node = nodeId;
+        this.clock = clock;
+    }
+
+    public synchronized long nextId() {
+        long millis = clock.getAsLong();
+        if (millis < lastMillis) {
+            // Clock stepped back: keep issuing from the last millisecond rather than repeat ids
+            millis = lastMillis;
+        }
+        if (millis == lastMillis) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                millis = ++lastMillis;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastMillis = millis;
+        return ((millis - EPOCH_MILLIS) << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence;
+    }
+}
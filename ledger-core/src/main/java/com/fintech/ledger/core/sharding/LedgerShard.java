@@ -0,0 +1,93 @@
+package com.fintech.ledger.core.sharding;
+
+import com.fintech.ledger.core.domain.Account;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * One shard's database: its own persistence unit over the ledger entities and its own
+ * transaction manager, independent of the application's primary data source.
+ */
+public final class LedgerShard implements Closeable {
+
+    private static final int TRANSACTION_TIMEOUT_SECONDS = 30;
+
+    private final String name;
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    /** Bound to the shard transaction running on the calling thread. */
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactions;
+    private final TransactionTemplate readOnlyTransactions;
+
+    private LedgerShard(String name, DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.transactions.setTimeout(TRANSACTION_TIMEOUT_SECONDS);
+        this.readOnlyTransactions = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactions.setReadOnly(true);
+    }
+
+    /**
+     * @param jpaProperties Hibernate settings for the shard's persistence unit, such as
+     *                      {@code hibernate.hbm2ddl.auto}
+     */
+    public static LedgerShard open(String name, DataSource dataSource, Map<String, ?> jpaProperties) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setPersistenceUnitName("shard-" + name);
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan(Account.class.getPackageName());
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setJpaPropertyMap(jpaProperties);
+        factory.afterPropertiesSet();
+        return new LedgerShard(name, dataSource, factory.getObject());
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Runs {@code work} in a new transaction on this shard, committed when it returns.
+     */
+    public <T> T inTransaction(Function<EntityManager, T> work) {
+        return transactions.execute(status -> work.apply(entityManager));
+    }
+
+    public <T> T readOnly(Function<EntityManager, T> work) {
+        return readOnlyTransactions.execute(status -> work.apply(entityManager));
+    }
+
+    @Override
+    public void close() {
+        entityManagerFactory.close();
+        if (dataSource instanceof Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to close data source of shard " + name, e);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,32 @@
+package com.fintech.ledger.core.sharding;
+
+import com.fintech.ledger.core.eventlog.PostingEvent;
+
+/**
+ * One shard's side of a cross-shard posting, driven by a {@link TwoPhaseCommitCoordinator}.
+ * Every call runs in its own local transaction, and {@link #commit} and {@link #abort} may be
+ * repeated after a crash, so both must be no-ops for a posting the shard no longer holds.
+ */
+public interface ShardParticipant {
+
+    String name();
+
+    /**
+     * Validates the shard's legs and makes them certain to apply: debited funds are reserved
+     * and the branch is stored, all committed before returning. Throwing is a "no" vote.
+     *
+     * @param branch  the legs on this shard; its sequence is the posting id
+     * @param ownsKey whether this shard records the posting's idempotency key
+     */
+    void prepare(PostingEvent branch, boolean ownsKey);
+
+    /**
+     * Releases the reservations and applies the prepared legs.
+     */
+    void commit(long postingId);
+
+    /**
+     * Releases the reservations and drops the prepared legs.
+     */
+    void abort(long postingId);
+}
@@ -0,0 +1,45 @@
+package com.fintech.ledger.core.sharding;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The shards of this ledger and the ring that places accounts on them.
+ */
+public final class ShardRouter implements Closeable {
+
+    private final Map<String, LedgerShard> shards = new LinkedHashMap<>();
+    private final ConsistentHashRing<LedgerShard> ring;
+
+    public ShardRouter(List<LedgerShard> shards, int virtualNodes) {
+        for (LedgerShard shard : shards) {
+            if (this.shards.putIfAbsent(shard.name(), shard) != null) {
+                throw new IllegalArgumentException("Duplicate shard name " + shard.name());
+            }
+        }
+        this.ring = new ConsistentHashRing<>(this.shards, virtualNodes);
+    }
+
+    public LedgerShard shardFor(long accountId) {
+        return ring.nodeFor(accountId);
+    }
+
+    /**
+     * @return the shard, or {@code null} if there is none by that name
+     */
+    public LedgerShard shard(String name) {
+        return shards.get(name);
+    }
+
+    public Collection<LedgerShard> shards() {
+        return shards.values();
+    }
+
+    @Override
+    public void close() {
+        shards.values().forEach(LedgerShard::close);
+    }
+}
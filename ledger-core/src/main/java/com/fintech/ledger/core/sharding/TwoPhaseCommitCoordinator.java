@@ -0,0 +1,280 @@
+package com.fintech.ledger.core.sharding;
+
+import com.fintech.common.journal.AppendOnlyLog;
+import com.fintech.ledger.core.eventlog.PostingEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Two-phase commit of postings that span shards, with a durable coordinator log.
+ * <p>
+ * Per posting the log holds {@code BEGIN} (forced before any shard is asked to prepare, so
+ * a crash can never leave a prepared shard the coordinator does not know about), the
+ * decision and {@code END}. {@code COMMIT} is forced before phase two starts; {@code ABORT}
+ * and {@code END} are not, since a posting without a decision is aborted on recovery
+ * (presumed abort) and repeating phase two is harmless.
+ * <p>
+ * A posting whose phase two fails after the decision stays unresolved and is finished by
+ * {@link #retryUnresolved()}; the caller is told it committed, because it will.
+ */
+@Slf4j
+public final class TwoPhaseCommitCoordinator implements Closeable {
+
+    /**
+     * @param ownsKey whether this shard records the posting's idempotency key
+     */
+    public record Branch(ShardParticipant participant, PostingEvent legs, boolean ownsKey) {
+    }
+
+    private static final byte BEGIN = 1;
+    private static final byte COMMIT = 2;
+    private static final byte ABORT = 3;
+    private static final byte END = 4;
+
+    private final AppendOnlyLog coordinatorLog;
+    private final Function<String, ShardParticipant> participants;
+    /** Postings begun but not ended. */
+    private final Map<Long, InFlight> unresolved = new ConcurrentHashMap<>();
+
+    private static final class InFlight {
+        final long beginPosition;
+        final List<String> shards;
+        final ReentrantLock lock = new ReentrantLock();
+        /** {@code null} until decided. */
+        Boolean commit;
+        boolean decisionLogged;
+
+        InFlight(long beginPosition, List<String> shards) {
+            this.beginPosition = beginPosition;
+            this.shards = shards;
+        }
+    }
+
+    private TwoPhaseCommitCoordinator(AppendOnlyLog coordinatorLog, Function<String, ShardParticipant> participants) {
+        this.coordinatorLog = coordinatorLog;
+        this.participants = participants;
+    }
+
+    /**
+     * Opens the log and loads the postings it left unresolved; {@link #recover()} finishes
+     * them once the participants are ready.
+     *
+     * @param participants looks shards up by the names recorded in the log
+     */
+    public static TwoPhaseCommitCoordinator open(Path directory, int segmentSize, Duration flushInterval,
+                                                 Function<String, ShardParticipant> participants) {
+        TwoPhaseCommitCoordinator coordinator = new TwoPhaseCommitCoordinator(
+                AppendOnlyLog.open(directory, segmentSize, flushInterval), participants);
+        coordinator.coordinatorLog.replay(coordinator::load);
+        return coordinator;
+    }
+
+    /**
+     * Prepares every branch, in order, and commits them all if every shard voted yes.
+     *
+     * @throws RuntimeException the first shard's rejection, after every branch was aborted
+     */
+    public void execute(long postingId, List<Branch> branches) {
+        List<String> shards = new ArrayList<>(branches.size());
+        for (Branch branch : branches) {
+            shards.add(branch.participant().name());
+        }
+        ByteBuffer begin = beginRecord(postingId, shards);
+        long beginPosition;
+        long beginEnd;
+        InFlight posting;
+        synchronized (coordinatorLog) {
+            // BEGIN must be registered before compaction can see a later write position
+            beginPosition = coordinatorLog.writePosition();
+            posting = new InFlight(beginPosition, shards);
+            unresolved.put(postingId, posting);
+            beginEnd = coordinatorLog.append(begin);
+        }
+        posting.lock.lock();
+        try {
+            try {
+                coordinatorLog.awaitDurable(beginEnd);
+            } catch (RuntimeException e) {
+                // Nothing prepared yet; if BEGIN reaches the disk anyway, recovery aborts it
+                unresolved.remove(postingId);
+                throw e;
+            }
+
+            RuntimeException rejection = null;
+            for (Branch branch : branches) {
+                try {
+                    branch.participant().prepare(branch.legs(), branch.ownsKey());
+                } catch (RuntimeException e) {
+                    rejection = e;
+                    break;
+                }
+            }
+            posting.commit = rejection == null;
+            finish(postingId, posting);
+            if (rejection != null) {
+                throw rejection;
+            }
+        } finally {
+            posting.lock.unlock();
+        }
+    }
+
+    /**
+     * Finishes every posting left by a previous run: decided ones as decided, undecided ones
+     * by aborting. Call once, before new postings start.
+     *
+     * @return number of postings still unresolved because a shard failed again
+     */
+    public int recover() {
+        int recovered = unresolved.size();
+        unresolved.forEach((postingId, posting) -> {
+            if (posting.commit == null) {
+                posting.commit = false;
+            }
+            finish(postingId, posting);
+        });
+        if (recovered > 0) {
+            log.info("Coordinator recovery finished {} postings, {} still unresolved", recovered, unresolved.size());
+        }
+        compact();
+        return unresolved.size();
+    }
+
+    /**
+     * Runs phase two again for decided postings whose shards failed the first time. Postings
+     * still preparing are left to their caller.
+     *
+     * @return number of postings still unresolved
+     */
+    public int retryUnresolved() {
+        unresolved.forEach((postingId, posting) -> {
+            if (posting.lock.tryLock()) {
+                try {
+                    if (posting.commit != null && unresolved.containsKey(postingId)) {
+                        finish(postingId, posting);
+                    }
+                } finally {
+                    posting.lock.unlock();
+                }
+            }
+        });
+        return unresolved.size();
+    }
+
+    public int unresolvedCount() {
+        return unresolved.size();
+    }
+
+    @Override
+    public void close() {
+        coordinatorLog.close();
+    }
+
+    /**
+     * Logs the decision if not done yet, then commits or aborts every branch and logs
+     * {@code END}. A failing shard leaves the posting unresolved.
+     */
+    private void finish(long postingId, InFlight posting) {
+        try {
+            if (!posting.decisionLogged) {
+                long end = coordinatorLog.append(record(posting.commit ? COMMIT : ABORT, postingId));
+                if (posting.commit) {
+                    coordinatorLog.awaitDurable(end);
+                }
+                posting.decisionLogged = true;
+            }
+            for (String shard : posting.shards) {
+                ShardParticipant participant = participant(shard);
+                if (posting.commit) {
+                    participant.commit(postingId);
+                } else {
+                    participant.abort(postingId);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Posting {} ({}) unresolved on shards {}: {}", postingId,
+                    Boolean.TRUE.equals(posting.commit) ? "COMMIT" : "ABORT", posting.shards, e.toString());
+            return;
+        }
+        coordinatorLog.append(record(END, postingId));
+        unresolved.remove(postingId);
+        compact();
+    }
+
+    /**
+     * Drops segments that hold only ended postings.
+     */
+    private void compact() {
+        synchronized (coordinatorLog) {
+            long oldest = coordinatorLog.writePosition();
+            for (InFlight posting : unresolved.values()) {
+                oldest = Math.min(oldest, posting.beginPosition);
+            }
+            coordinatorLog.deleteSegmentsBefore(oldest);
+        }
+    }
+
+    private ShardParticipant participant(String shard) {
+        ShardParticipant participant = participants.apply(shard);
+        if (participant == null) {
+            throw new IllegalStateException("Coordinator log refers to unknown shard " + shard);
+        }
+        return participant;
+    }
+
+    private void load(long position, ByteBuffer payload) {
+        byte type = payload.get();
+        long postingId = payload.getLong();
+        switch (type) {
+            case BEGIN -> {
+                int count = payload.getShort();
+                List<String> shards = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    byte[] name = new byte[payload.getShort()];
+                    payload.get(name);
+                    shards.add(new String(name, StandardCharsets.UTF_8));
+                }
+                unresolved.put(postingId, new InFlight(position, List.copyOf(shards)));
+            }
+            case COMMIT, ABORT -> {
+                InFlight posting = unresolved.get(postingId);
+                if (posting != null) {
+                    posting.commit = type == COMMIT;
+                    posting.decisionLogged = true;
+                }
+            }
+            case END -> unresolved.remove(postingId);
+            default -> throw new IllegalStateException("Unknown coordinator record type " + type);
+        }
+    }
+
+    private static ByteBuffer beginRecord(long postingId, List<String> shards) {
+        List<byte[]> names = new ArrayList<>(shards.size());
+        int size = 1 + 8 + 2;
+        for (String shard : shards) {
+            byte[] name = shard.getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            size += 2 + name.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size).put(BEGIN).putLong(postingId).putShort((short) names.size());
+        for (byte[] name : names) {
+            buffer.putShort((short) name.length).put(name);
+        }
+        return buffer.flip();
+    }
+
+    private static ByteBuffer record(byte type, long postingId) {
+        return ByteBuffer.allocate(1 + 8).put(type).putLong(postingId).flip();
+    }
+}
@@ -0,0 +1,28 @@
+-- Authorization holds: reserved funds stay on the ledger balance but are not available for debits
+
+ALTER TABLE accounts ADD COLUMN reserved_amount NUMERIC(30, 18) NOT NULL DEFAULT 0;
+ALTER TABLE accounts ADD CONSTRAINT chk_reserved_non_negative CHECK (reserved_amount >= 0);
+
+COMMENT ON COLUMN accounts.reserved_amount IS 'Sum of AUTHORIZED holds; available balance = balance_amount - reserved_amount';
+
+CREATE TABLE IF NOT EXISTS holds (
+    id BIGSERIAL PRIMARY KEY,
+    reference VARCHAR(255) NOT NULL UNIQUE,
+    account_id BIGINT NOT NULL,
+    amount_value NUMERIC(30, 18) NOT NULL,
+    currency_code VARCHAR(3) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'AUTHORIZED',
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    settled_at TIMESTAMP,
+    journal_entry_id BIGINT,
+    CONSTRAINT chk_hold_amount_positive CHECK (amount_value > 0),
+    CONSTRAINT chk_hold_status_valid CHECK (status IN ('AUTHORIZED', 'CAPTURED', 'VOIDED', 'EXPIRED')),
+    CONSTRAINT fk_hold_account FOREIGN KEY (account_id) REFERENCES accounts(id),
+    CONSTRAINT fk_hold_journal_entry FOREIGN KEY (journal_entry_id) REFERENCES journal_entries(id)
+);
+
+CREATE INDEX idx_holds_account ON holds(account_id);
+
+-- Expiry sweep only ever scans open holds
+CREATE INDEX IF NOT EXISTS idx_holds_open_expiry ON holds(expires_at, id) WHERE status = 'AUTHORIZED';
@@ -0,0 +1,9 @@
+-- Pooled id allocation for the high-volume tables: Hibernate reserves 50 ids per sequence call
+-- instead of reading each id back after its INSERT, which lets inserts go out as JDBC batches.
+-- The increments must match allocationSize on the entities (checked at startup).
+
+ALTER SEQUENCE accounts_id_seq INCREMENT BY 50;
+ALTER SEQUENCE journal_entries_id_seq INCREMENT BY 50;
+ALTER SEQUENCE transaction_lines_id_seq INCREMENT BY 50;
+ALTER SEQUENCE transaction_idempotency_id_seq INCREMENT BY 50;
+ALTER SEQUENCE audit_logs_id_seq INCREMENT BY 50;
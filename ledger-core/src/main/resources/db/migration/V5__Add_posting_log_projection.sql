@@ -0,0 +1,11 @@
+-- Event-sourced posting mode: journal entries projected from the posting log keep their log
+-- sequence, and the projector records how far it got in the same transaction as its rows
+
+ALTER TABLE journal_entries ADD COLUMN log_sequence BIGINT;
+ALTER TABLE journal_entries ADD CONSTRAINT uk_journal_entries_log_sequence UNIQUE (log_sequence);
+
+CREATE TABLE IF NOT EXISTS projection_checkpoints (
+    name VARCHAR(100) PRIMARY KEY,
+    last_sequence BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
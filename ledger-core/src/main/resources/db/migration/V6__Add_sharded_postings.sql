@@ -0,0 +1,13 @@
+-- Sharded posting mode: journal entries carry the posting id shared by all shards of a
+-- cross-shard posting, and each shard keeps the legs it has prepared but not yet resolved
+
+ALTER TABLE journal_entries ADD COLUMN posting_id BIGINT;
+ALTER TABLE journal_entries ADD CONSTRAINT uk_journal_entries_posting_id UNIQUE (posting_id);
+ALTER TABLE journal_entries ADD COLUMN cross_shard BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE TABLE IF NOT EXISTS prepared_postings (
+    posting_id BIGINT PRIMARY KEY,
+    idempotency_key VARCHAR(255) UNIQUE,
+    payload BYTEA NOT NULL,
+    prepared_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
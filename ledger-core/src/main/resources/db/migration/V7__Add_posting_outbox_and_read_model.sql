@@ -0,0 +1,56 @@
+-- Read model for balance and history queries: each posting writes an outbox record in the
+-- transaction that writes its journal entry, and a relay moves them in batches into
+-- denormalized per-account tables
+
+CREATE SEQUENCE IF NOT EXISTS posting_outbox_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS posting_outbox (
+    id BIGINT PRIMARY KEY,
+    posting_id BIGINT NOT NULL,
+    payload BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS account_balance_view (
+    account_id BIGINT PRIMARY KEY,
+    balance_amount NUMERIC(30, 18) NOT NULL,
+    balance_currency VARCHAR(3) NOT NULL,
+    posting_count BIGINT NOT NULL DEFAULT 0,
+    last_posted_at TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE SEQUENCE IF NOT EXISTS account_history_view_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS account_history_view (
+    id BIGINT PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    posting_id BIGINT NOT NULL,
+    posted_at TIMESTAMP NOT NULL,
+    description VARCHAR(500) NOT NULL,
+    type VARCHAR(10) NOT NULL,
+    amount NUMERIC(30, 18) NOT NULL,
+    currency VARCHAR(3) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_account_history_view_account
+    ON account_history_view(account_id, posted_at DESC, posting_id DESC);
+
+-- Existing postings go straight into the read model; only new ones pass through the outbox
+INSERT INTO account_balance_view (account_id, balance_amount, balance_currency, posting_count, last_posted_at)
+SELECT a.id, a.balance_amount, a.balance_currency, COUNT(DISTINCT tl.journal_entry_id), MAX(je.timestamp)
+FROM accounts a
+LEFT JOIN transaction_lines tl ON tl.account_id = a.id
+LEFT JOIN journal_entries je ON je.id = tl.journal_entry_id
+GROUP BY a.id, a.balance_amount, a.balance_currency;
+
+INSERT INTO account_history_view (id, account_id, posting_id, posted_at, description, type, amount, currency)
+SELECT nextval('account_history_view_id_seq'), tl.account_id, COALESCE(je.log_sequence, je.id), je.timestamp,
+       je.description, tl.type, tl.amount_value, tl.currency_code
+FROM transaction_lines tl
+JOIN journal_entries je ON je.id = tl.journal_entry_id;
+
+-- The read-model checkpoint counts the postings applied, so a later start can tell whether
+-- postings were made while the read model was disabled
+INSERT INTO projection_checkpoints (name, last_sequence)
+SELECT 'read-model', COUNT(*) FROM journal_entries ON CONFLICT DO NOTHING;
@@ -0,0 +1,15 @@
+-- V4 moved the id sequences to INCREMENT BY 50 for Hibernate's pooled allocation, but the
+-- BIGSERIAL columns still defaulted to nextval(). Any INSERT relying on that default consumed
+-- a whole block of 50 that Hibernate may already have handed out, so two rows could get the
+-- same id. Ids are now always supplied by the writer: an INSERT without one fails instead.
+-- The sequences stay, owned by their columns, for the entities' pooled generators.
+
+ALTER TABLE accounts ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE journal_entries ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE transaction_lines ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE transaction_idempotency ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE audit_logs ALTER COLUMN id DROP DEFAULT;
+
+-- Holds (V3) move from IDENTITY to the same pooled allocation
+ALTER SEQUENCE holds_id_seq INCREMENT BY 50;
+ALTER TABLE holds ALTER COLUMN id DROP DEFAULT;
@@ -0,0 +1,106 @@
+package com.fintech.ledger.core.concurrency;
+
+import com.fintech.ledger.core.concurrency.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final int WINDOW = 20;
+    private static final long FAST = 1_000_000;
+    private static final long SLOW = 8_000_000;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 10, WINDOW, 0.2, registry);
+
+    @Test
+    void testNormalRequestsLeaveReserveForCritical() {
+        for (int i = 0; i < 8; i++) {
+            assertTrue(limiter.tryAcquire(Priority.NORMAL));
+        }
+        assertFalse(limiter.tryAcquire(Priority.NORMAL));
+
+        assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+        assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+        assertFalse(limiter.tryAcquire(Priority.CRITICAL));
+
+        assertEquals(1.0, registry.get("ledger.admission.rejected").tag("priority", "normal").counter().count());
+        assertEquals(1.0, registry.get("ledger.admission.rejected").tag("priority", "critical").counter().count());
+        assertEquals(10.0, registry.get("ledger.admission.in-flight").gauge().value());
+    }
+
+    @Test
+    void testRisingLatencyLowersLimitAndRecoveryRaisesIt() {
+        runWindows(5, FAST);
+        assertEquals(10, limiter.getLimit());
+
+        runWindows(20, SLOW);
+        int lowered = limiter.getLimit();
+        assertTrue(lowered < 5, "limit " + lowered);
+        assertTrue(registry.get("ledger.admission.limit.changes").tag("direction", "down").counter().count() > 0);
+
+        runWindows(40, FAST);
+        assertEquals(10, limiter.getLimit());
+        assertEquals(10.0, registry.get("ledger.admission.limit").gauge().value());
+    }
+
+    @Test
+    void testLimitStaysWithinBounds() {
+        runWindows(100, FAST);
+        assertEquals(10, limiter.getLimit());
+
+        runWindows(10, SLOW * 100);
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void testUnusedLimitIsNotRaised() {
+        runWindows(5, FAST);
+        runWindows(20, SLOW);
+        int lowered = limiter.getLimit();
+
+        // One request at a time: fast, but says nothing about more concurrency
+        for (int i = 0; i < 10 * WINDOW; i++) {
+            assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+            limiter.release(FAST);
+        }
+
+        assertEquals(lowered, limiter.getLimit());
+    }
+
+    @Test
+    void testUnmeasuredReleaseFreesSlotWithoutSample() {
+        assertTrue(limiter.tryAcquire(Priority.NORMAL));
+        limiter.releaseUnmeasured();
+
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(0, 10, WINDOW, 0.2, registry));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(11, 10, WINDOW, 0.2, registry));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(2, 10, WINDOW, 1.0, registry));
+    }
+
+    /**
+     * Runs {@code windows} full sample windows, each request overlapping as many others as the
+     * limit allows.
+     */
+    private void runWindows(int windows, long latencyNanos) {
+        int total = windows * WINDOW;
+        for (int samples = 0; samples < total; ) {
+            int concurrent = Math.min(limiter.getLimit(), total - samples);
+            for (int i = 0; i < concurrent; i++) {
+                assertTrue(limiter.tryAcquire(Priority.CRITICAL));
+            }
+            for (int i = 0; i < concurrent; i++) {
+                limiter.release(latencyNanos);
+            }
+            samples += concurrent;
+        }
+    }
+}
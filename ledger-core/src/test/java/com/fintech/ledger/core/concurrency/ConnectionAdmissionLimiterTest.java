@@ -0,0 +1,54 @@
+package com.fintech.ledger.core.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionAdmissionLimiterTest {
+
+    @Test
+    void testRejectsBeyondCapacityAfterTimeout() throws Exception {
+        ConnectionAdmissionLimiter limiter = new ConnectionAdmissionLimiter(2, Duration.ofMillis(20));
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void testWaiterIsAdmittedWhenSlotFreesUp() throws Exception {
+        ConnectionAdmissionLimiter limiter = new ConnectionAdmissionLimiter(1, Duration.ofSeconds(5));
+        assertTrue(limiter.tryAcquire());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CountDownLatch started = new CountDownLatch(1);
+            Future<Boolean> waiter = executor.submit(() -> {
+                started.countDown();
+                return limiter.tryAcquire();
+            });
+            started.await();
+            while (limiter.getQueued() == 0) {
+                Thread.onSpinWait();
+            }
+
+            limiter.release();
+
+            assertTrue(waiter.get());
+        }
+    }
+
+    @Test
+    void testRejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionAdmissionLimiter(0, Duration.ofSeconds(1)));
+    }
+}
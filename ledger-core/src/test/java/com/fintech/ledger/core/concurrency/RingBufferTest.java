@@ -0,0 +1,115 @@
+package com.fintech.ledger.core.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+
+    private static final class Slot {
+        int producer;
+        int value;
+    }
+
+    @Test
+    void testSlotsAreDeliveredInPublishOrder() {
+        RingBuffer<Slot> ring = new RingBuffer<>(4, Slot::new);
+        for (int i = 0; i < 3; i++) {
+            long sequence = ring.claim();
+            ring.get(sequence).value = i;
+            ring.publish(sequence);
+        }
+
+        List<Integer> values = new ArrayList<>();
+        List<Boolean> batchEnds = new ArrayList<>();
+        int drained = ring.drain((slot, sequence, endOfBatch) -> {
+            values.add(slot.value);
+            batchEnds.add(endOfBatch);
+        });
+
+        assertEquals(3, drained);
+        assertEquals(List.of(0, 1, 2), values);
+        assertEquals(List.of(false, false, true), batchEnds);
+        assertEquals(0, ring.drain((slot, sequence, endOfBatch) -> fail("ring should be empty")));
+    }
+
+    @Test
+    void testUnpublishedSlotHoldsBackLaterOnes() {
+        RingBuffer<Slot> ring = new RingBuffer<>(4, Slot::new);
+        long first = ring.claim();
+        long second = ring.claim();
+        ring.publish(second);
+
+        assertEquals(0, ring.drain((slot, sequence, endOfBatch) -> { }));
+
+        ring.publish(first);
+        assertEquals(2, ring.drain((slot, sequence, endOfBatch) -> { }));
+    }
+
+    @Test
+    void testConcurrentProducersThroughASmallRing() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        RingBuffer<Slot> ring = new RingBuffer<>(64, Slot::new);
+        int[] lastSeen = new int[producers];
+        Arrays.fill(lastSeen, -1);
+        long[] received = {0};
+        AtomicBoolean outOfOrder = new AtomicBoolean();
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        RingBuffer.Handler<Slot> handler = (slot, sequence, endOfBatch) -> {
+            if (slot.value != lastSeen[slot.producer] + 1) {
+                outOfOrder.set(true);
+            }
+            lastSeen[slot.producer] = slot.value;
+            received[0]++;
+        };
+        Thread consumer = new Thread(() -> {
+            while (running.get()) {
+                ring.awaitAndDrain(handler, running::get);
+            }
+            ring.drain(handler);
+        });
+        consumer.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        long sequence = ring.claim();
+                        Slot slot = ring.get(sequence);
+                        slot.producer = producer;
+                        slot.value = i;
+                        ring.publish(sequence);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        running.set(false);
+        consumer.join(10_000);
+
+        assertFalse(outOfOrder.get());
+        assertEquals((long) producers * perProducer, received[0]);
+    }
+
+    @Test
+    void testCapacityMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(100, Slot::new));
+    }
+}
@@ -0,0 +1,109 @@
+package com.fintech.ledger.core.eventlog;
+
+import com.fintech.common.domain.CurrencyRegistry;
+import com.fintech.common.domain.FixedMoney;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.CurrencyMismatchException;
+import com.fintech.common.exception.InsufficientFundsException;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.TransactionLine;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.fintech.ledger.core.eventlog.PostingEventTest.leg;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountBookTest {
+
+    @Test
+    void testPostMovesAvailableBalances() {
+        AccountBook book = new AccountBook(4);
+        book.loadIfAbsent(account(1, "100.00", "USD"));
+        book.loadIfAbsent(account(2, "5.00", "USD"));
+
+        post(book, transfer(1, 2, "40.00", "USD"));
+
+        assertEquals(0, new BigDecimal("60.00").compareTo(book.available(1).toBigDecimal()));
+        assertEquals(0, new BigDecimal("45.00").compareTo(book.available(2).toBigDecimal()));
+    }
+
+    @Test
+    void testRejectedPostingLeavesEveryBalanceUnchanged() {
+        AccountBook book = new AccountBook(4);
+        book.loadIfAbsent(account(1, "100.00", "USD"));
+        book.loadIfAbsent(account(2, "0.00", "USD"));
+        book.loadIfAbsent(account(3, "10.00", "USD"));
+        List<PostingEvent.Leg> legs = List.of(
+                leg(1, TransactionLine.Type.DEBIT, "USD", "50.00"),
+                leg(2, TransactionLine.Type.CREDIT, "USD", "70.00"),
+                leg(3, TransactionLine.Type.DEBIT, "USD", "20.00"));
+
+        assertThrows(InsufficientFundsException.class, () -> post(book, legs));
+
+        assertEquals(0, new BigDecimal("100.00").compareTo(book.available(1).toBigDecimal()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(book.available(2).toBigDecimal()));
+        assertEquals(0, new BigDecimal("10.00").compareTo(book.available(3).toBigDecimal()));
+    }
+
+    @Test
+    void testReservedFundsAreNotAvailable() {
+        AccountBook book = new AccountBook(4);
+        Account held = account(1, "100.00", "USD");
+        held.setReservedAmount(new BigDecimal("80.00"));
+        book.loadIfAbsent(held);
+        book.loadIfAbsent(account(2, "0.00", "USD"));
+
+        assertThrows(InsufficientFundsException.class, () -> post(book, transfer(1, 2, "30.00", "USD")));
+    }
+
+    @Test
+    void testCurrencyIsCheckedButNotStatus() {
+        AccountBook book = new AccountBook(4);
+        Account frozen = account(1, "100.00", "USD");
+        frozen.setStatus(Account.AccountStatus.FROZEN);
+        book.loadIfAbsent(frozen);
+        book.loadIfAbsent(account(2, "100.00", "USD"));
+        book.loadIfAbsent(account(3, "100.00", "EUR"));
+
+        // Statuses are the owner's to check, against their current value
+        post(book, transfer(1, 2, "1.00", "USD"));
+        assertThrows(CurrencyMismatchException.class, () -> post(book, transfer(2, 3, "1.00", "USD")));
+        assertEquals(0, new BigDecimal("101.00").compareTo(book.available(2).toBigDecimal()));
+    }
+
+    @Test
+    void testLoadKeepsTheFirstSnapshotAndGrows() {
+        AccountBook book = new AccountBook(1);
+        for (long id = 1; id <= 100; id++) {
+            assertTrue(book.loadIfAbsent(account(id, id + ".00", "USD")));
+        }
+        assertFalse(book.loadIfAbsent(account(7, "999.00", "USD")));
+
+        assertEquals(100, book.size());
+        assertEquals(0, new BigDecimal("7.00").compareTo(book.available(7).toBigDecimal()));
+        assertNull(book.available(101));
+    }
+
+    private static void post(AccountBook book, List<PostingEvent.Leg> legs) {
+        FixedMoney[] amounts = legs.stream()
+                .map(leg -> FixedMoney.of(leg.amount(), CurrencyRegistry.currency(leg.currencyId())))
+                .toArray(FixedMoney[]::new);
+        book.post(legs, amounts);
+    }
+
+    private static List<PostingEvent.Leg> transfer(long from, long to, String amount, String currency) {
+        return List.of(
+                leg(from, TransactionLine.Type.DEBIT, currency, amount),
+                leg(to, TransactionLine.Type.CREDIT, currency, amount));
+    }
+
+    private static Account account(long id, String balance, String currency) {
+        Account account = new Account();
+        account.setId(id);
+        account.setName("Account " + id);
+        account.setBalance(Money.of(new BigDecimal(balance), currency));
+        return account;
+    }
+}
@@ -0,0 +1,102 @@
+package com.fintech.ledger.core.eventlog;
+
+import com.fintech.common.domain.Money;
+import com.fintech.common.journal.AppendOnlyLog;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.TransactionLine;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static com.fintech.ledger.core.eventlog.PostingEventTest.leg;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceProjectionTest {
+
+    private static final int ACCOUNTS = 10;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testApplyMovesBalancesAndLeavesBaseUntouched() {
+        Account base = account(1, "100.00");
+        BalanceProjection projection = new BalanceProjection();
+        projection.load(base);
+        projection.load(account(2, "0.00"));
+
+        projection.apply(transfer(1, 1, 2, "40.00"));
+
+        assertEquals(0, new BigDecimal("60.00").compareTo(projection.balance(1L)));
+        assertEquals(0, new BigDecimal("40.00").compareTo(projection.balance(2L)));
+        assertEquals(0, new BigDecimal("100.00").compareTo(base.getBalanceAmount()));
+    }
+
+    @Test
+    void testUnknownAccountIsRejected() {
+        BalanceProjection projection = new BalanceProjection();
+        projection.load(account(1, "100.00"));
+
+        assertThrows(IllegalStateException.class, () -> projection.apply(transfer(1, 1, 99, "1.00")));
+    }
+
+    @Test
+    void testReplayingTheLogRebuildsTheSameBalances() {
+        BalanceProjection live = seeded();
+        SplittableRandom random = new SplittableRandom(7);
+        try (AppendOnlyLog log = AppendOnlyLog.open(directory, 4096, Duration.ofMillis(1))) {
+            for (int sequence = 1; sequence <= 500; sequence++) {
+                long from = random.nextInt(ACCOUNTS) + 1;
+                long to = (from % ACCOUNTS) + 1;
+                PostingEvent event = transfer(sequence, from, to, random.nextInt(1, 10_000) + ".25");
+                log.append(event.encode());
+                live.apply(event);
+            }
+            assertTrue(log.segmentCount() > 1);
+        }
+
+        BalanceProjection replayed = seeded();
+        long[] lastSequence = {0};
+        try (AppendOnlyLog log = AppendOnlyLog.open(directory, 4096, Duration.ofMillis(1))) {
+            log.replay((position, payload) -> {
+                PostingEvent event = PostingEvent.decode(payload);
+                assertEquals(lastSequence[0] + 1, event.sequence());
+                lastSequence[0] = event.sequence();
+                replayed.apply(event);
+            });
+        }
+
+        assertEquals(500, lastSequence[0]);
+        for (long id = 1; id <= ACCOUNTS; id++) {
+            assertEquals(live.balance(id), replayed.balance(id), "account " + id);
+        }
+    }
+
+    private static BalanceProjection seeded() {
+        BalanceProjection projection = new BalanceProjection();
+        for (long id = 1; id <= ACCOUNTS; id++) {
+            projection.load(account(id, "1000000.00"));
+        }
+        return projection;
+    }
+
+    private static PostingEvent transfer(long sequence, long from, long to, String amount) {
+        return new PostingEvent(sequence, Instant.EPOCH, "key-" + sequence, "Transfer", List.of(
+                leg(from, TransactionLine.Type.DEBIT, "USD", amount),
+                leg(to, TransactionLine.Type.CREDIT, "USD", amount)));
+    }
+
+    private static Account account(long id, String balance) {
+        Account account = new Account();
+        account.setId(id);
+        account.setName("Account " + id);
+        account.setBalance(Money.of(new BigDecimal(balance), "USD"));
+        return account;
+    }
+}
@@ -0,0 +1,81 @@
+package com.fintech.ledger.core.eventlog;
+
+import com.fintech.common.domain.CurrencyRegistry;
+import com.fintech.ledger.core.domain.TransactionLine;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingEventTest {
+
+    @Test
+    void testEncodeDecodeRoundTrip() {
+        PostingEvent event = new PostingEvent(42, Instant.ofEpochMilli(1_700_000_000_123L), "key-é",
+                "Transfer €", List.of(
+                        leg(1, TransactionLine.Type.DEBIT, "EUR", "100.50"),
+                        leg(2, TransactionLine.Type.CREDIT, "EUR", "100.50")));
+
+        PostingEvent decoded = PostingEvent.decode(event.encode());
+
+        assertEquals(event.sequence(), decoded.sequence());
+        assertEquals(event.timestamp(), decoded.timestamp());
+        assertEquals(event.idempotencyKey(), decoded.idempotencyKey());
+        assertEquals(event.description(), decoded.description());
+        assertEquals(2, decoded.legs().size());
+        PostingEvent.Leg debit = decoded.legs().get(0);
+        assertEquals(1, debit.accountId());
+        assertEquals(TransactionLine.Type.DEBIT, debit.type());
+        assertEquals(CurrencyRegistry.idOf("EUR"), debit.currencyId());
+        assertEquals(0, new BigDecimal("100.50").compareTo(debit.amount()));
+    }
+
+    @Test
+    void testLargeAndTinyAmountsKeepFullPrecision() {
+        String large = "999999999999.999999999999999999";
+        String tiny = "0.000000000000000001";
+        PostingEvent event = new PostingEvent(1, Instant.EPOCH, "k", "d", List.of(
+                leg(1, TransactionLine.Type.DEBIT, "USD", large),
+                leg(2, TransactionLine.Type.CREDIT, "USD", tiny)));
+
+        PostingEvent decoded = PostingEvent.decode(event.encode());
+
+        assertEquals(new BigDecimal(large), decoded.legs().get(0).amount());
+        assertEquals(new BigDecimal(tiny), decoded.legs().get(1).amount());
+    }
+
+    @Test
+    void testUnknownVersionIsRejected() {
+        ByteBuffer encoded = new PostingEvent(1, Instant.EPOCH, "k", "d", List.of(
+                leg(1, TransactionLine.Type.DEBIT, "USD", "1"),
+                leg(2, TransactionLine.Type.CREDIT, "USD", "1"))).encode();
+        encoded.put(0, (byte) 99);
+
+        assertThrows(IllegalStateException.class, () -> PostingEvent.decode(encoded));
+    }
+
+    @Test
+    void testFieldsTooLongForTheLayoutAreRejected() {
+        List<PostingEvent.Leg> legs = List.of(
+                leg(1, TransactionLine.Type.DEBIT, "USD", "1"),
+                leg(2, TransactionLine.Type.CREDIT, "USD", "1"));
+        String text = "é".repeat(Short.MAX_VALUE / 2 + 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new PostingEvent(1, Instant.EPOCH, "k", text, legs).encode());
+        assertThrows(IllegalArgumentException.class,
+                () -> new PostingEvent(1, Instant.EPOCH, text, "d", legs).encode());
+        assertThrows(IllegalArgumentException.class, () -> new PostingEvent(1, Instant.EPOCH, "k", "d",
+                Collections.nCopies(Short.MAX_VALUE + 1, legs.get(0))).encode());
+    }
+
+    static PostingEvent.Leg leg(long accountId, TransactionLine.Type type, String currency, String amount) {
+        return new PostingEvent.Leg(accountId, type, CurrencyRegistry.idOf(currency),
+                new BigDecimal(amount).setScale(18));
+    }
+}
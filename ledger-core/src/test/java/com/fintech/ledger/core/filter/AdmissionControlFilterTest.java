@@ -0,0 +1,87 @@
+package com.fintech.ledger.core.filter;
+
+import com.fintech.ledger.core.concurrency.AdaptiveConcurrencyLimiter;
+import com.fintech.ledger.core.concurrency.ConnectionAdmissionLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    @Test
+    void testOnlySinglePostingsAreSampled() {
+        assertTrue(AdmissionControlFilter.isPosting(new MockHttpServletRequest("POST", "/api/v1/transactions")));
+        assertTrue(AdmissionControlFilter.isPosting(new MockHttpServletRequest("POST", "/api/v1/holds/7/capture")));
+        assertTrue(AdmissionControlFilter.isPosting(
+                new MockHttpServletRequest("POST", "/api/v1/cross-border/transfer")));
+
+        assertFalse(AdmissionControlFilter.isPosting(
+                new MockHttpServletRequest("POST", "/api/v1/transactions/batch")));
+        assertFalse(AdmissionControlFilter.isPosting(new MockHttpServletRequest("GET", "/api/v1/transactions")));
+        assertFalse(AdmissionControlFilter.isPosting(new MockHttpServletRequest("POST", "/api/v1/accounts")));
+    }
+
+    @Test
+    void testRequestsQueueForAConnectionUpToTheAdaptiveLimit() throws Exception {
+        // One connection slot and one queued request: the adaptive limit is 2
+        ConnectionAdmissionLimiter connections = new ConnectionAdmissionLimiter(1, Duration.ofSeconds(5));
+        AdaptiveConcurrencyLimiter adaptive = new AdaptiveConcurrencyLimiter(connections, 1, 1, 20, 0.0,
+                new SimpleMeterRegistry());
+        AdmissionControlFilter filter = new AdmissionControlFilter(adaptive, connections);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        FilterChain blocking = (request, response) -> {
+            running.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockHttpServletResponse queued = new MockHttpServletResponse();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> firstDone = executor.submit(() -> {
+                filter.doFilter(posting(), first, blocking);
+                return null;
+            });
+            running.await();
+            Future<?> queuedDone = executor.submit(() -> {
+                filter.doFilter(posting(), queued, (request, response) -> {
+                });
+                return null;
+            });
+            while (connections.getQueued() == 0) {
+                Thread.sleep(1);
+            }
+
+            MockHttpServletResponse shed = new MockHttpServletResponse();
+            filter.doFilter(posting(), shed, (request, response) -> fail("Admitted over the adaptive limit"));
+            assertEquals(503, shed.getStatus());
+
+            finish.countDown();
+            firstDone.get();
+            queuedDone.get();
+        }
+
+        assertEquals(200, first.getStatus());
+        assertEquals(200, queued.getStatus());
+        assertEquals(0, adaptive.getInFlight());
+        assertEquals(0, connections.getInFlight());
+    }
+
+    private static MockHttpServletRequest posting() {
+        return new MockHttpServletRequest("POST", "/api/v1/transactions");
+    }
+}
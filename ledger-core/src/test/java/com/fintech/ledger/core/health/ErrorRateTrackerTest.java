@@ -0,0 +1,60 @@
+package com.fintech.ledger.core.health;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ErrorRateTrackerTest {
+
+    private static final long MINUTE = 60_000;
+
+    private final AtomicLong now = new AtomicLong(1_000 * MINUTE);
+    private final ErrorRateTracker tracker = new ErrorRateTracker(now::get);
+
+    @Test
+    void testErrorsLeaveTheWindowAfterAnHour() {
+        tracker.recordError();
+        now.addAndGet(30 * MINUTE);
+        tracker.recordError();
+        tracker.recordError();
+        assertEquals(3, tracker.errorsInLastHour());
+
+        now.addAndGet(30 * MINUTE);
+        assertEquals(2, tracker.errorsInLastHour());
+
+        now.addAndGet(30 * MINUTE);
+        assertEquals(0, tracker.errorsInLastHour());
+    }
+
+    @Test
+    void testReusedBucketStartsFromZero() {
+        tracker.recordError();
+        tracker.recordError();
+        now.addAndGet(60 * MINUTE);
+
+        tracker.recordError();
+
+        assertEquals(1, tracker.errorsInLastHour());
+    }
+
+    @Test
+    void testConcurrentErrorsAreAllCounted() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    tracker.recordError();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000, tracker.errorsInLastHour());
+    }
+}
@@ -0,0 +1,134 @@
+package com.fintech.ledger.core.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.InvalidTransactionException;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.repository.AccountRepository;
+import com.fintech.ledger.core.service.BatchPostingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not {@code @Transactional}: the service commits chunk by chunk, so accounts get unique
+ * names instead of relying on a test rollback.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "ledger.batch.chunk-size=2")
+class BatchPostingIntegrationTest {
+
+    @Autowired
+    private BatchPostingService batchPostingService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Account payer;
+    private Account payee;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        payer = new Account();
+        payer.setName("Batch Payer " + suffix);
+        payer.setBalance(Money.of(new BigDecimal("100.00"), "USD"));
+        payer = accountRepository.save(payer);
+
+        payee = new Account();
+        payee.setName("Batch Payee " + suffix);
+        payee.setBalance(Money.of(new BigDecimal("0.00"), "USD"));
+        payee = accountRepository.save(payee);
+    }
+
+    @Test
+    void testBatchPostsEveryItemAcrossChunks() throws Exception {
+        JsonNode results = process("[" + item("a", "10.00") + "," + item("b", "20.00") + ","
+                + item("c", "30.00") + "]");
+
+        assertEquals(3, results.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(i, results.get(i).get("index").asInt());
+            assertEquals("POSTED", results.get(i).get("status").asText());
+            assertTrue(results.get(i).hasNonNull("journalEntryId"));
+        }
+        assertBalances("40.00", "60.00");
+    }
+
+    @Test
+    void testFailingItemOnlyRejectsItself() throws Exception {
+        JsonNode results = process("[" + item("a", "10.00") + "," + item("b", "500.00") + ","
+                + item("c", "30.00") + "]");
+
+        assertEquals("POSTED", results.get(0).get("status").asText());
+        assertEquals("REJECTED", results.get(1).get("status").asText());
+        assertTrue(results.get(1).get("error").asText().contains("balance"));
+        assertEquals("POSTED", results.get(2).get("status").asText());
+        assertBalances("60.00", "40.00");
+    }
+
+    @Test
+    void testRepeatedKeyIsReportedAsDuplicateOfOriginal() throws Exception {
+        JsonNode results = process("[" + item("a", "10.00") + "," + item("a", "10.00") + "]");
+
+        assertEquals("POSTED", results.get(0).get("status").asText());
+        assertEquals("DUPLICATE", results.get(1).get("status").asText());
+        assertEquals(results.get(0).get("journalEntryId").asLong(), results.get(1).get("journalEntryId").asLong());
+        assertBalances("90.00", "10.00");
+    }
+
+    @Test
+    void testInvalidItemIsRejectedWithoutStoppingBatch() throws Exception {
+        String missingDescription = item("a", "10.00").replace("\"description\":\"Payout a\",", "");
+
+        JsonNode results = process("[" + missingDescription + "," + item("b", "5.00") + "]");
+
+        assertEquals("REJECTED", results.get(0).get("status").asText());
+        assertTrue(results.get(0).get("error").asText().contains("description"));
+        assertEquals("POSTED", results.get(1).get("status").asText());
+        assertBalances("95.00", "5.00");
+    }
+
+    @Test
+    void testBodyMustBeAnArray() {
+        assertThrows(InvalidTransactionException.class, () -> process(item("a", "10.00")));
+    }
+
+    private JsonNode process(String body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        batchPostingService.process(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out, null);
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    private String item(String key, String amount) {
+        String uniqueKey = key + "-" + payer.getId();
+        return """
+            {"idempotencyKey":"%s","description":"Payout %s","legs":[
+              {"accountId":%d,"type":"DEBIT","amount":%s,"currencyCode":"USD"},
+              {"accountId":%d,"type":"CREDIT","amount":%s,"currencyCode":"USD"}]}"""
+            .formatted(uniqueKey, key, payer.getId(), amount, payee.getId(), amount);
+    }
+
+    private void assertBalances(String payerBalance, String payeeBalance) {
+        Account payerAfter = accountRepository.findById(payer.getId()).orElseThrow();
+        Account payeeAfter = accountRepository.findById(payee.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal(payerBalance).compareTo(payerAfter.getBalanceAmount()));
+        assertEquals(0, new BigDecimal(payeeBalance).compareTo(payeeAfter.getBalanceAmount()));
+    }
+}
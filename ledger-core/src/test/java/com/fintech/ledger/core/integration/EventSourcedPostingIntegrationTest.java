@@ -0,0 +1,194 @@
+package com.fintech.ledger.core.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fintech.common.domain.IdempotencyKey;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.AccountFrozenException;
+import com.fintech.common.exception.DuplicateTransactionException;
+import com.fintech.common.exception.InsufficientFundsException;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.JournalEntry;
+import com.fintech.ledger.core.domain.TransactionLine;
+import com.fintech.ledger.core.repository.AccountRepository;
+import com.fintech.ledger.core.repository.JournalEntryRepository;
+import com.fintech.ledger.core.service.BatchPostingService;
+import com.fintech.ledger.core.service.EventSourcedLedger;
+import com.fintech.ledger.core.service.HoldService;
+import com.fintech.ledger.core.service.TransactionEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not {@code @Transactional}: postings reach the database from the projector thread.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "ledger.posting.mode=event-sourced",
+        "ledger.event-log.directory=${java.io.tmpdir}/ledger-posting-log-${random.uuid}"
+})
+class EventSourcedPostingIntegrationTest {
+
+    @Autowired
+    private TransactionEngine transactionEngine;
+
+    @Autowired
+    private EventSourcedLedger eventSourcedLedger;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private BatchPostingService batchPostingService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    private Account payer;
+    private Account payee;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        payer = new Account();
+        payer.setName("Log Payer " + suffix);
+        payer.setBalance(Money.of(new BigDecimal("100.00"), "USD"));
+        payer = accountRepository.save(payer);
+
+        payee = new Account();
+        payee.setName("Log Payee " + suffix);
+        payee.setBalance(Money.of(new BigDecimal("0.00"), "USD"));
+        payee = accountRepository.save(payee);
+    }
+
+    @Test
+    void testPostingIsProjectedToTheDatabase() throws InterruptedException {
+        Long sequence = transactionEngine.postTransaction(IdempotencyKey.generate(), "Logged transfer",
+                transfer("30.00"));
+
+        assertEquals(0, new BigDecimal("70.00").compareTo(eventSourcedLedger.projectedBalance(payer.getId())));
+        JournalEntry entry = awaitProjection(sequence);
+        assertEquals("Logged transfer", entry.getDescription());
+        assertEquals(0, new BigDecimal("70.00").compareTo(balanceOf(payer)));
+        assertEquals(0, new BigDecimal("30.00").compareTo(balanceOf(payee)));
+    }
+
+    @Test
+    void testDuplicateReportsTheOriginalSequenceBeforeAndAfterProjection() throws InterruptedException {
+        IdempotencyKey key = IdempotencyKey.generate();
+        Long sequence = transactionEngine.postTransaction(key, "Once", transfer("10.00"));
+
+        DuplicateTransactionException pending = assertThrows(DuplicateTransactionException.class, () ->
+                transactionEngine.postTransaction(key, "Once", transfer("10.00")));
+        assertEquals(sequence, pending.getJournalEntryId());
+
+        awaitProjection(sequence);
+        DuplicateTransactionException projected = assertThrows(DuplicateTransactionException.class, () ->
+                transactionEngine.postTransaction(key, "Once", transfer("10.00")));
+        assertEquals(sequence, projected.getJournalEntryId());
+    }
+
+    @Test
+    void testOverdraftIsRejectedAgainstUnprojectedPostings() {
+        transactionEngine.postTransaction(IdempotencyKey.generate(), "First", transfer("80.00"));
+
+        assertThrows(InsufficientFundsException.class, () ->
+                transactionEngine.postTransaction(IdempotencyKey.generate(), "Second", transfer("30.00")));
+    }
+
+    @Test
+    void testStatusChangeAppliesAfterRefresh() throws InterruptedException {
+        // Projected first, so saving the row below cannot race the projector
+        awaitProjection(transactionEngine.postTransaction(IdempotencyKey.generate(), "Loads the payer",
+                transfer("10.00")));
+
+        setStatus(payer, Account.AccountStatus.FROZEN);
+        eventSourcedLedger.refreshAccountStatuses();
+        assertThrows(AccountFrozenException.class, () ->
+                transactionEngine.postTransaction(IdempotencyKey.generate(), "Frozen", transfer("10.00")));
+
+        setStatus(payer, Account.AccountStatus.ACTIVE);
+        eventSourcedLedger.refreshAccountStatuses();
+        transactionEngine.postTransaction(IdempotencyKey.generate(), "Unfrozen", transfer("10.00"));
+        assertEquals(0, new BigDecimal("80.00").compareTo(eventSourcedLedger.projectedBalance(payer.getId())));
+    }
+
+    @Test
+    void testBatchWithFailingItemReportsTheOthersAsPosted() throws Exception {
+        String body = "[" + batchItem("a", "10.00") + "," + batchItem("b", "500.00") + ","
+                + batchItem("c", "30.00") + "]";
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        batchPostingService.process(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out, null);
+        JsonNode results = objectMapper.readTree(out.toByteArray());
+
+        assertEquals("POSTED", results.get(0).get("status").asText());
+        assertEquals("REJECTED", results.get(1).get("status").asText());
+        assertEquals("POSTED", results.get(2).get("status").asText());
+        assertEquals(0, new BigDecimal("60.00").compareTo(eventSourcedLedger.projectedBalance(payer.getId())));
+    }
+
+    @Test
+    void testHoldsAreRejected() {
+        Money amount = Money.of(new BigDecimal("10.00"), "USD");
+
+        assertThrows(IllegalStateException.class, () ->
+                holdService.authorize("hold-" + UUID.randomUUID(), payer.getId(), amount, null));
+    }
+
+    private JournalEntry awaitProjection(Long sequence) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            Optional<JournalEntry> entry = journalEntryRepository.findByLogSequence(sequence);
+            if (entry.isPresent()) {
+                return entry.get();
+            }
+            Thread.sleep(50);
+        }
+        return fail("Posting " + sequence + " was not projected");
+    }
+
+    private void setStatus(Account account, Account.AccountStatus status) {
+        Account row = accountRepository.findById(account.getId()).orElseThrow();
+        row.setStatus(status);
+        accountRepository.save(row);
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalanceAmount();
+    }
+
+    private String batchItem(String key, String amount) {
+        return """
+                {"idempotencyKey":"%s-%d","description":"Payout %s","legs":[
+                  {"accountId":%d,"type":"DEBIT","amount":%s,"currencyCode":"USD"},
+                  {"accountId":%d,"type":"CREDIT","amount":%s,"currencyCode":"USD"}]}"""
+                .formatted(key, payer.getId(), key, payer.getId(), amount, payee.getId(), amount);
+    }
+
+    private List<TransactionEngine.LegRequest> transfer(String amount) {
+        Money money = Money.of(new BigDecimal(amount), "USD");
+        return List.of(
+                new TransactionEngine.LegRequest(payer.getId(), TransactionLine.Type.DEBIT, money),
+                new TransactionEngine.LegRequest(payee.getId(), TransactionLine.Type.CREDIT, money));
+    }
+}
@@ -0,0 +1,150 @@
+package com.fintech.ledger.core.integration;
+
+import com.fintech.common.domain.IdempotencyKey;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.InsufficientFundsException;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.AccountHold;
+import com.fintech.ledger.core.domain.TransactionLine;
+import com.fintech.ledger.core.repository.AccountHoldRepository;
+import com.fintech.ledger.core.repository.AccountRepository;
+import com.fintech.ledger.core.service.HoldService;
+import com.fintech.ledger.core.service.TransactionEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class HoldIntegrationTest {
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private TransactionEngine transactionEngine;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountHoldRepository holdRepository;
+
+    private Account payer;
+    private Account merchant;
+
+    @BeforeEach
+    void setUp() {
+        payer = new Account();
+        payer.setName("Hold Payer");
+        payer.setBalance(Money.of(new BigDecimal("1000.00"), "USD"));
+        payer = accountRepository.save(payer);
+
+        merchant = new Account();
+        merchant.setName("Hold Merchant");
+        merchant.setBalance(Money.of(new BigDecimal("0.00"), "USD"));
+        merchant = accountRepository.save(merchant);
+    }
+
+    @Test
+    void testHoldReducesAvailableBalanceForTransactions() {
+        holdService.authorize("hold-1", payer.getId(), usd("800.00"), null);
+
+        Account reloaded = accountRepository.findById(payer.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("1000.00").compareTo(reloaded.getBalanceAmount()));
+        assertEquals(0, new BigDecimal("200.00").compareTo(reloaded.getAvailableAmount()));
+
+        List<TransactionEngine.LegRequest> legs = transfer(payer, merchant, "300.00");
+        assertThrows(InsufficientFundsException.class, () ->
+            transactionEngine.postTransaction(IdempotencyKey.generate(), "Spend held funds", legs));
+    }
+
+    @Test
+    void testAuthorizeBeyondAvailableIsRejected() {
+        holdService.authorize("hold-1", payer.getId(), usd("600.00"), null);
+
+        assertThrows(InsufficientFundsException.class, () ->
+            holdService.authorize("hold-2", payer.getId(), usd("600.00"), null));
+    }
+
+    @Test
+    void testAuthorizeIsIdempotentByReference() {
+        AccountHold first = holdService.authorize("hold-1", payer.getId(), usd("100.00"), null);
+        AccountHold second = holdService.authorize("hold-1", payer.getId(), usd("100.00"), null);
+
+        assertEquals(first.getId(), second.getId());
+        Account reloaded = accountRepository.findById(payer.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("100.00").compareTo(reloaded.getReservedAmount()));
+    }
+
+    @Test
+    void testPartialCaptureMovesFundsAndReleasesRemainder() {
+        AccountHold hold = holdService.authorize("hold-1", payer.getId(), usd("400.00"), null);
+
+        AccountHold captured = holdService.capture(hold.getId(), merchant.getId(), new BigDecimal("250.00"));
+
+        assertEquals(AccountHold.Status.CAPTURED, captured.getStatus());
+        assertNotNull(captured.getJournalEntryId());
+        Account payerAfter = accountRepository.findById(payer.getId()).orElseThrow();
+        Account merchantAfter = accountRepository.findById(merchant.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("750.00").compareTo(payerAfter.getBalanceAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(payerAfter.getReservedAmount()));
+        assertEquals(0, new BigDecimal("250.00").compareTo(merchantAfter.getBalanceAmount()));
+    }
+
+    @Test
+    void testVoidReleasesHoldAndCannotBeCapturedAfterwards() {
+        AccountHold hold = holdService.authorize("hold-1", payer.getId(), usd("400.00"), null);
+
+        holdService.voidHold(hold.getId());
+        holdService.voidHold(hold.getId());
+
+        Account reloaded = accountRepository.findById(payer.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("1000.00").compareTo(reloaded.getAvailableAmount()));
+        assertThrows(IllegalStateException.class, () ->
+            holdService.capture(hold.getId(), merchant.getId(), null));
+    }
+
+    @Test
+    void testReleaseExpiredReleasesOnlyExpiredHolds() {
+        Duration minute = Duration.ofMinutes(1);
+        AccountHold shortHold = holdService.authorize("hold-short", payer.getId(), usd("100.00"), minute);
+        AccountHold otherShort = holdService.authorize("hold-short-2", payer.getId(), usd("50.00"), minute);
+        AccountHold longHold = holdService.authorize("hold-long", payer.getId(), usd("200.00"), Duration.ofHours(1));
+
+        int released = holdService.releaseExpired(Instant.now().plus(Duration.ofMinutes(5)), 100);
+
+        assertEquals(2, released);
+        assertEquals(AccountHold.Status.EXPIRED, statusOf(shortHold));
+        assertEquals(AccountHold.Status.EXPIRED, statusOf(otherShort));
+        assertEquals(AccountHold.Status.AUTHORIZED, statusOf(longHold));
+        Account reloaded = accountRepository.findById(payer.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("200.00").compareTo(reloaded.getReservedAmount()));
+    }
+
+    private AccountHold.Status statusOf(AccountHold hold) {
+        return holdRepository.findById(hold.getId()).orElseThrow().getStatus();
+    }
+
+    private static Money usd(String amount) {
+        return Money.of(new BigDecimal(amount), "USD");
+    }
+
+    private static List<TransactionEngine.LegRequest> transfer(Account from, Account to, String amount) {
+        return List.of(
+            new TransactionEngine.LegRequest(from.getId(), TransactionLine.Type.DEBIT, usd(amount)),
+            new TransactionEngine.LegRequest(to.getId(), TransactionLine.Type.CREDIT, usd(amount))
+        );
+    }
+}
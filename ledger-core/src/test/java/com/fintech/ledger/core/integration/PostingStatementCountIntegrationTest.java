@@ -0,0 +1,112 @@
+package com.fintech.ledger.core.integration;
+
+import com.fintech.common.domain.IdempotencyKey;
+import com.fintech.common.domain.Money;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.TransactionLine;
+import com.fintech.ledger.core.repository.AccountRepository;
+import com.fintech.ledger.core.service.TransactionEngine;
+import jakarta.persistence.EntityManager;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that a posting's inserts and updates go out as one JDBC batch per table. Hibernate
+ * prepares a statement once per batch, so counting prepared SQL counts round trips.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.fintech.ledger.core.integration.PostingStatementCountIntegrationTest$RecordingStatementInspector")
+class PostingStatementCountIntegrationTest {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.toLowerCase(Locale.ROOT));
+            return sql;
+        }
+    }
+
+    @Autowired
+    private TransactionEngine transactionEngine;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private List<Account> accounts;
+
+    @BeforeEach
+    void setUp() {
+        accounts = List.of(account("Batch A"), account("Batch B"), account("Batch C"), account("Batch D"));
+        // Warm-up posting so every id pool is already allocated
+        transactionEngine.postTransaction(IdempotencyKey.generate(), "Warm-up", fourLegs());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testFourLegPostingInsertsLinesInOneBatch() {
+        transactionEngine.postTransaction(IdempotencyKey.generate(), "Four-leg posting", fourLegs());
+        STATEMENTS.clear();
+
+        entityManager.flush();
+
+        assertEquals(1, count("insert into transaction_lines"));
+        assertEquals(1, count("insert into journal_entries"));
+        assertEquals(1, count("update accounts"));
+        // Entry, lines, idempotency record, audit log, account balances
+        assertEquals(5, STATEMENTS.size(), () -> "Statements: " + STATEMENTS);
+    }
+
+    @Test
+    void testIdsComeFromSequencePools() {
+        STATEMENTS.clear();
+
+        transactionEngine.postTransaction(IdempotencyKey.generate(), "Four-leg posting", fourLegs());
+        entityManager.flush();
+
+        assertEquals(0, STATEMENTS.stream().filter(sql -> sql.contains("next value for")
+                || sql.contains("nextval")).count(), () -> "Statements: " + STATEMENTS);
+    }
+
+    private long count(String prefix) {
+        return STATEMENTS.stream().filter(sql -> sql.startsWith(prefix)).count();
+    }
+
+    private Account account(String name) {
+        Account account = new Account();
+        account.setName(name);
+        account.setBalance(Money.of(new BigDecimal("1000.00"), "USD"));
+        return accountRepository.save(account);
+    }
+
+    private List<TransactionEngine.LegRequest> fourLegs() {
+        Money amount = Money.of(new BigDecimal("10.00"), "USD");
+        return List.of(
+            new TransactionEngine.LegRequest(accounts.get(0).getId(), TransactionLine.Type.DEBIT, amount),
+            new TransactionEngine.LegRequest(accounts.get(1).getId(), TransactionLine.Type.DEBIT, amount),
+            new TransactionEngine.LegRequest(accounts.get(2).getId(), TransactionLine.Type.CREDIT, amount),
+            new TransactionEngine.LegRequest(accounts.get(3).getId(), TransactionLine.Type.CREDIT, amount)
+        );
+    }
+}
@@ -0,0 +1,145 @@
+package com.fintech.ledger.core.integration;
+
+import com.fintech.common.domain.IdempotencyKey;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.InsufficientFundsException;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.AccountBalanceView;
+import com.fintech.ledger.core.domain.AccountHistoryEntry;
+import com.fintech.ledger.core.domain.TransactionLine;
+import com.fintech.ledger.core.repository.AccountRepository;
+import com.fintech.ledger.core.repository.OutboxRecordRepository;
+import com.fintech.ledger.core.service.AccountReadModel;
+import com.fintech.ledger.core.service.ReadModelProjector;
+import com.fintech.ledger.core.service.TransactionEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not {@code @Transactional}: the relay only sees committed outbox records.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "ledger.read-model.enabled=true")
+class ReadModelIntegrationTest {
+
+    @Autowired
+    private TransactionEngine transactionEngine;
+
+    @Autowired
+    private ReadModelProjector readModelProjector;
+
+    @Autowired
+    private AccountReadModel accountReadModel;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private OutboxRecordRepository outboxRepository;
+
+    private Account payer;
+    private Account payee;
+
+    @BeforeEach
+    void setUp() {
+        payer = createAccount("Read Payer", "100.00");
+        payee = createAccount("Read Payee", "0.00");
+    }
+
+    @Test
+    void testRelayedPostingsAppearInBalanceAndHistory() {
+        Long first = transactionEngine.postTransaction(IdempotencyKey.generate(), "First", transfer("30.00"));
+        Long second = transactionEngine.postTransaction(IdempotencyKey.generate(), "Second", transfer("20.00"));
+
+        relayAll();
+
+        AccountBalanceView balance = accountReadModel.getBalance(payer.getId());
+        assertEquals(0, new BigDecimal("50.00").compareTo(balance.getBalanceAmount()));
+        assertEquals("USD", balance.getBalanceCurrency());
+        assertEquals(2, balance.getPostingCount());
+        assertNotNull(balance.getUpdatedAt());
+        assertEquals(0, new BigDecimal("50.00").compareTo(accountReadModel.getBalance(payee.getId())
+                .getBalanceAmount()));
+
+        List<AccountHistoryEntry> history = accountReadModel.getHistory(payee.getId(), PageRequest.of(0, 10))
+                .getContent();
+        assertEquals(List.of(second, first), history.stream().map(AccountHistoryEntry::getPostingId).toList());
+        assertEquals("Second", history.get(0).getDescription());
+        assertEquals(TransactionLine.Type.CREDIT, history.get(0).getType());
+        assertEquals(0, new BigDecimal("20.00").compareTo(history.get(0).getAmount()));
+    }
+
+    @Test
+    void testRejectedPostingNeverReachesReadModel() {
+        transactionEngine.postTransaction(IdempotencyKey.generate(), "Accepted", transfer("60.00"));
+        assertThrows(InsufficientFundsException.class, () ->
+                transactionEngine.postTransaction(IdempotencyKey.generate(), "Rejected", transfer("60.00")));
+
+        relayAll();
+
+        assertEquals(1, accountReadModel.getBalance(payer.getId()).getPostingCount());
+        assertEquals(0, new BigDecimal("40.00").compareTo(accountReadModel.getBalance(payer.getId())
+                .getBalanceAmount()));
+        assertEquals(1, accountReadModel.getHistory(payer.getId(), PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void testAccountWithoutRelayedPostingsFallsBackToAccountRow() {
+        AccountBalanceView balance = accountReadModel.getBalance(payer.getId());
+
+        assertEquals(0, new BigDecimal("100.00").compareTo(balance.getBalanceAmount()));
+        assertEquals(0, balance.getPostingCount());
+        assertNull(balance.getUpdatedAt());
+        assertTrue(accountReadModel.getHistory(payer.getId(), PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void testCatchUpRebuildsPostingsMadeWithoutOutbox() {
+        Long posting = transactionEngine.postTransaction(IdempotencyKey.generate(), "Unrelayed", transfer("30.00"));
+        // As if posted while the read model was disabled
+        outboxRepository.deleteAll();
+
+        assertTrue(readModelProjector.catchUp());
+        assertFalse(readModelProjector.catchUp());
+
+        AccountBalanceView balance = accountReadModel.getBalance(payer.getId());
+        assertEquals(0, new BigDecimal("70.00").compareTo(balance.getBalanceAmount()));
+        assertEquals(1, balance.getPostingCount());
+        List<AccountHistoryEntry> history = accountReadModel.getHistory(payee.getId(), PageRequest.of(0, 10))
+                .getContent();
+        assertEquals(List.of(posting), history.stream().map(AccountHistoryEntry::getPostingId).toList());
+    }
+
+    private void relayAll() {
+        while (readModelProjector.relayBatch(100) == 100) {
+            // drain
+        }
+        assertEquals(0, readModelProjector.backlog().records());
+    }
+
+    private Account createAccount(String name, String balance) {
+        Account account = new Account();
+        account.setName(name + " " + UUID.randomUUID());
+        account.setBalance(Money.of(new BigDecimal(balance), "USD"));
+        return accountRepository.save(account);
+    }
+
+    private List<TransactionEngine.LegRequest> transfer(String amount) {
+        Money money = Money.of(new BigDecimal(amount), "USD");
+        return List.of(
+                new TransactionEngine.LegRequest(payer.getId(), TransactionLine.Type.DEBIT, money),
+                new TransactionEngine.LegRequest(payee.getId(), TransactionLine.Type.CREDIT, money));
+    }
+}
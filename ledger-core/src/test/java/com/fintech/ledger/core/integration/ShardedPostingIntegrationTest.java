@@ -0,0 +1,188 @@
+package com.fintech.ledger.core.integration;
+
+import com.fintech.common.domain.IdempotencyKey;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.DuplicateTransactionException;
+import com.fintech.common.exception.InsufficientFundsException;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.JournalEntry;
+import com.fintech.ledger.core.domain.TransactionLine;
+import com.fintech.ledger.core.service.ShardedLedger;
+import com.fintech.ledger.core.service.TransactionEngine;
+import com.fintech.ledger.core.sharding.LedgerShard;
+import com.fintech.ledger.core.sharding.ShardRouter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Three shards as separate in-memory H2 databases in this JVM. Not {@code @Transactional}:
+ * shard transactions are independent of the test's.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "ledger.posting.mode=sharded",
+        "ledger.sharding.flyway-enabled=false",
+        "ledger.sharding.ddl-auto=create-drop",
+        "ledger.sharding.shards[0].name=shard-a",
+        "ledger.sharding.shards[0].url=jdbc:h2:mem:shard-a;DB_CLOSE_DELAY=-1",
+        "ledger.sharding.shards[0].username=sa",
+        "ledger.sharding.shards[1].name=shard-b",
+        "ledger.sharding.shards[1].url=jdbc:h2:mem:shard-b;DB_CLOSE_DELAY=-1",
+        "ledger.sharding.shards[1].username=sa",
+        "ledger.sharding.shards[2].name=shard-c",
+        "ledger.sharding.shards[2].url=jdbc:h2:mem:shard-c;DB_CLOSE_DELAY=-1",
+        "ledger.sharding.shards[2].username=sa",
+        "ledger.sharding.coordinator-log.directory=${java.io.tmpdir}/ledger-coordinator-log-${random.uuid}"
+})
+class ShardedPostingIntegrationTest {
+
+    @Autowired
+    private TransactionEngine transactionEngine;
+
+    @Autowired
+    private ShardedLedger shardedLedger;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Test
+    void testAccountsAreSpreadOverShards() {
+        for (int i = 0; i < 30; i++) {
+            Account account = createAccount("0.00");
+            LedgerShard shard = shardRouter.shardFor(account.getId());
+
+            Account stored = shard.readOnly(em -> em.find(Account.class, account.getId()));
+            assertNotNull(stored, "account should live on " + shard.name());
+            assertEquals(account.getId(), shardedLedger.getAccount(account.getId()).getId());
+        }
+        for (LedgerShard shard : shardRouter.shards()) {
+            long count = shard.readOnly(em -> em.createQuery("SELECT COUNT(a) FROM Account a", Long.class)
+                    .getSingleResult());
+            assertTrue(count > 0, shard.name() + " holds no accounts");
+        }
+    }
+
+    @Test
+    void testSingleShardPostingCommitsLocally() {
+        Account payer = createAccount("100.00");
+        Account payee = createAccountOn(shardRouter.shardFor(payer.getId()), true);
+
+        Long postingId = transactionEngine.postTransaction(IdempotencyKey.generate(), "Local transfer",
+                transfer(payer, payee, "30.00"));
+
+        assertBalance(payer, "70.00", "0.00");
+        assertBalance(payee, "30.00", "0.00");
+        List<JournalEntry> entries = entriesOf(postingId);
+        assertEquals(1, entries.size());
+        assertFalse(entries.get(0).isCrossShard());
+    }
+
+    @Test
+    void testCrossShardPostingCommitsOnEveryShard() {
+        Account payer = createAccount("100.00");
+        Account payee = createAccountOn(shardRouter.shardFor(payer.getId()), false);
+
+        Long postingId = transactionEngine.postTransaction(IdempotencyKey.generate(), "Cross-shard transfer",
+                transfer(payer, payee, "40.00"));
+
+        assertBalance(payer, "60.00", "0.00");
+        assertBalance(payee, "40.00", "0.00");
+        List<JournalEntry> entries = entriesOf(postingId);
+        assertEquals(2, entries.size());
+        assertTrue(entries.stream().allMatch(JournalEntry::isCrossShard));
+        assertNoPreparedPostings();
+    }
+
+    @Test
+    void testRejectedCrossShardPostingReleasesPreparedShards() {
+        Account payer = createAccount("10.00");
+        Account payee = createAccountOn(shardRouter.shardFor(payer.getId()), false);
+        // Credit first: the payee's shard prepares before the payer's shard votes no
+        List<TransactionEngine.LegRequest> legs = List.of(
+                new TransactionEngine.LegRequest(payee.getId(), TransactionLine.Type.CREDIT, usd("50.00")),
+                new TransactionEngine.LegRequest(payer.getId(), TransactionLine.Type.DEBIT, usd("50.00")));
+
+        assertThrows(InsufficientFundsException.class, () ->
+                transactionEngine.postTransaction(IdempotencyKey.generate(), "Too large", legs));
+
+        assertBalance(payer, "10.00", "0.00");
+        assertBalance(payee, "0.00", "0.00");
+        assertNoPreparedPostings();
+    }
+
+    @Test
+    void testDuplicateCrossShardPostingReturnsOriginalId() {
+        Account payer = createAccount("100.00");
+        Account payee = createAccountOn(shardRouter.shardFor(payer.getId()), false);
+        IdempotencyKey key = IdempotencyKey.generate();
+
+        Long postingId = transactionEngine.postTransaction(key, "Cross-shard transfer", transfer(payer, payee, "5.00"));
+        DuplicateTransactionException duplicate = assertThrows(DuplicateTransactionException.class,
+                () -> transactionEngine.postTransaction(key, "Cross-shard transfer", transfer(payer, payee, "5.00")));
+
+        assertEquals(postingId, duplicate.getJournalEntryId());
+        assertBalance(payer, "95.00", "0.00");
+        assertNoPreparedPostings();
+    }
+
+    private Account createAccount(String balance) {
+        return shardedLedger.createAccount("Sharded " + UUID.randomUUID(), usd(balance));
+    }
+
+    /**
+     * Creates zero-balance accounts until one lands on (or off) {@code shard}.
+     */
+    private Account createAccountOn(LedgerShard shard, boolean sameShard) {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            Account account = createAccount("0.00");
+            if ((shardRouter.shardFor(account.getId()) == shard) == sameShard) {
+                return account;
+            }
+        }
+        return fail("no account placed " + (sameShard ? "on " : "off ") + shard.name());
+    }
+
+    private void assertBalance(Account account, String balance, String reserved) {
+        Account stored = shardedLedger.getAccount(account.getId());
+        assertEquals(0, new BigDecimal(balance).compareTo(stored.getBalanceAmount()));
+        assertEquals(0, new BigDecimal(reserved).compareTo(stored.getReservedAmount()));
+    }
+
+    private List<JournalEntry> entriesOf(Long postingId) {
+        return shardRouter.shards().stream()
+                .flatMap(shard -> shard.readOnly(em -> em.createQuery(
+                                "SELECT je FROM JournalEntry je WHERE je.postingId = :id", JournalEntry.class)
+                        .setParameter("id", postingId)
+                        .getResultList()).stream())
+                .toList();
+    }
+
+    private void assertNoPreparedPostings() {
+        for (LedgerShard shard : shardRouter.shards()) {
+            long prepared = shard.readOnly(em -> em.createQuery(
+                    "SELECT COUNT(pp) FROM PreparedPosting pp", Long.class)
+                    .getSingleResult());
+            assertEquals(0, prepared, shard.name() + " still holds prepared postings");
+        }
+    }
+
+    private static List<TransactionEngine.LegRequest> transfer(Account payer, Account payee, String amount) {
+        return List.of(
+                new TransactionEngine.LegRequest(payer.getId(), TransactionLine.Type.DEBIT, usd(amount)),
+                new TransactionEngine.LegRequest(payee.getId(), TransactionLine.Type.CREDIT, usd(amount)));
+    }
+
+    private static Money usd(String amount) {
+        return Money.of(new BigDecimal(amount), "USD");
+    }
+}
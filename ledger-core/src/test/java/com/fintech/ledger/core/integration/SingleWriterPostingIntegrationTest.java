@@ -0,0 +1,205 @@
+package com.fintech.ledger.core.integration;
+
+import com.fintech.common.domain.IdempotencyKey;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.AccountFrozenException;
+import com.fintech.common.exception.DuplicateTransactionException;
+import com.fintech.common.exception.InsufficientFundsException;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.domain.JournalEntry;
+import com.fintech.ledger.core.domain.TransactionLine;
+import com.fintech.ledger.core.repository.AccountRepository;
+import com.fintech.ledger.core.repository.JournalEntryRepository;
+import com.fintech.ledger.core.service.HoldService;
+import com.fintech.ledger.core.service.InMemoryLedger;
+import com.fintech.ledger.core.service.SingleWriterLedger;
+import com.fintech.ledger.core.service.TransactionEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not {@code @Transactional}: postings reach the database from the projector thread.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "ledger.posting.mode=single-writer",
+        "ledger.event-log.directory=${java.io.tmpdir}/ledger-single-writer-log-${random.uuid}"
+})
+class SingleWriterPostingIntegrationTest {
+
+    @Autowired
+    private TransactionEngine transactionEngine;
+
+    @Autowired
+    private SingleWriterLedger singleWriterLedger;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    private Account payer;
+    private Account payee;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        payer = new Account();
+        payer.setName("Writer Payer " + suffix);
+        payer.setBalance(Money.of(new BigDecimal("100.00"), "USD"));
+        payer = accountRepository.save(payer);
+
+        payee = new Account();
+        payee.setName("Writer Payee " + suffix);
+        payee.setBalance(Money.of(new BigDecimal("0.00"), "USD"));
+        payee = accountRepository.save(payee);
+    }
+
+    @Test
+    void testPostingIsProjectedToTheDatabase() throws InterruptedException {
+        Long sequence = transactionEngine.postTransaction(IdempotencyKey.generate(), "Logged transfer",
+                transfer("30.00"));
+
+        JournalEntry entry = awaitProjection(sequence);
+        assertEquals("Logged transfer", entry.getDescription());
+        assertEquals(0, new BigDecimal("70.00").compareTo(balanceOf(payer)));
+        assertEquals(0, new BigDecimal("30.00").compareTo(balanceOf(payee)));
+    }
+
+    @Test
+    void testDuplicateReportsTheOriginalSequenceBeforeAndAfterProjection() throws InterruptedException {
+        IdempotencyKey key = IdempotencyKey.generate();
+        Long sequence = transactionEngine.postTransaction(key, "Once", transfer("10.00"));
+
+        DuplicateTransactionException pending = assertThrows(DuplicateTransactionException.class, () ->
+                transactionEngine.postTransaction(key, "Once", transfer("10.00")));
+        assertEquals(sequence, pending.getJournalEntryId());
+
+        awaitProjection(sequence);
+        DuplicateTransactionException projected = assertThrows(DuplicateTransactionException.class, () ->
+                transactionEngine.postTransaction(key, "Once", transfer("10.00")));
+        assertEquals(sequence, projected.getJournalEntryId());
+    }
+
+    @Test
+    void testOverdraftIsRejectedAgainstUnprojectedPostings() {
+        transactionEngine.postTransaction(IdempotencyKey.generate(), "First", transfer("80.00"));
+
+        assertThrows(InsufficientFundsException.class, () ->
+                transactionEngine.postTransaction(IdempotencyKey.generate(), "Second", transfer("30.00")));
+    }
+
+    @Test
+    void testConcurrentPostingsNeverOverdraw() throws Exception {
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tasks.add(() -> {
+                try {
+                    transactionEngine.postTransaction(IdempotencyKey.generate(), "Race", transfer("10.00"));
+                    return true;
+                } catch (InsufficientFundsException e) {
+                    return false;
+                }
+            });
+        }
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        long posted;
+        try {
+            posted = executor.invokeAll(tasks).stream().filter(this::succeeded).count();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(10, posted);
+    }
+
+    @Test
+    void testStatusChangeAppliesAfterRefresh() throws InterruptedException {
+        // Projected first, so saving the row below cannot race the projector
+        awaitProjection(transactionEngine.postTransaction(IdempotencyKey.generate(), "Loads the payer",
+                transfer("10.00")));
+
+        setStatus(payer, Account.AccountStatus.FROZEN);
+        singleWriterLedger.refreshAccountStatuses();
+        assertThrows(AccountFrozenException.class, () ->
+                transactionEngine.postTransaction(IdempotencyKey.generate(), "Frozen", transfer("10.00")));
+
+        setStatus(payer, Account.AccountStatus.ACTIVE);
+        singleWriterLedger.refreshAccountStatuses();
+        awaitProjection(transactionEngine.postTransaction(IdempotencyKey.generate(), "Unfrozen", transfer("10.00")));
+        assertEquals(0, new BigDecimal("80.00").compareTo(balanceOf(payer)));
+    }
+
+    @Test
+    void testProjectorIsReportedRunning() {
+        InMemoryLedger.ProjectionStatus status = singleWriterLedger.projectionStatus();
+
+        assertTrue(status.running());
+        assertNull(status.lastFailure());
+    }
+
+    @Test
+    void testHoldsAreRejected() {
+        Money amount = Money.of(new BigDecimal("10.00"), "USD");
+
+        assertThrows(IllegalStateException.class, () ->
+                holdService.authorize("hold-" + UUID.randomUUID(), payer.getId(), amount, null));
+    }
+
+    private JournalEntry awaitProjection(Long sequence) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            Optional<JournalEntry> entry = journalEntryRepository.findByLogSequence(sequence);
+            if (entry.isPresent()) {
+                return entry.get();
+            }
+            Thread.sleep(50);
+        }
+        return fail("Posting " + sequence + " was not projected");
+    }
+
+    private boolean succeeded(Future<Boolean> result) {
+        try {
+            return result.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void setStatus(Account account, Account.AccountStatus status) {
+        Account row = accountRepository.findById(account.getId()).orElseThrow();
+        row.setStatus(status);
+        accountRepository.save(row);
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return accountRepository.findById(account.getId()).orElseThrow().getBalanceAmount();
+    }
+
+    private List<TransactionEngine.LegRequest> transfer(String amount) {
+        Money money = Money.of(new BigDecimal(amount), "USD");
+        return List.of(
+                new TransactionEngine.LegRequest(payer.getId(), TransactionLine.Type.DEBIT, money),
+                new TransactionEngine.LegRequest(payee.getId(), TransactionLine.Type.CREDIT, money));
+    }
+}
@@ -0,0 +1,96 @@
+package com.fintech.ledger.core.logging;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Marker;
+import org.slf4j.event.Level;
+import org.slf4j.helpers.LegacyAbstractLogger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuccessLogSamplerTest {
+
+    /** Logs nothing; enabled from {@code threshold} up. */
+    private static final class LevelLogger extends LegacyAbstractLogger {
+        private final Level threshold;
+
+        LevelLogger(Level threshold) {
+            this.threshold = threshold;
+        }
+
+        private boolean enabled(Level level) {
+            return threshold != null && level.toInt() >= threshold.toInt();
+        }
+
+        @Override
+        public boolean isTraceEnabled() {
+            return enabled(Level.TRACE);
+        }
+
+        @Override
+        public boolean isDebugEnabled() {
+            return enabled(Level.DEBUG);
+        }
+
+        @Override
+        public boolean isInfoEnabled() {
+            return enabled(Level.INFO);
+        }
+
+        @Override
+        public boolean isWarnEnabled() {
+            return enabled(Level.WARN);
+        }
+
+        @Override
+        public boolean isErrorEnabled() {
+            return enabled(Level.ERROR);
+        }
+
+        @Override
+        protected String getFullyQualifiedCallerName() {
+            return null;
+        }
+
+        @Override
+        protected void handleNormalizedLoggingCall(Level level, Marker marker, String messagePattern,
+                                                   Object[] arguments, Throwable throwable) {
+        }
+    }
+
+    @Test
+    void testOneInRateIsSampledAtInfo() {
+        SuccessLogSampler sampler = new SuccessLogSampler(100);
+        LevelLogger log = new LevelLogger(Level.INFO);
+
+        int sampled = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (sampler.sample(log)) {
+                sampled++;
+            }
+        }
+        assertTrue(sampled > 700 && sampled < 1_300, "sampled " + sampled);
+    }
+
+    @Test
+    void testEverySuccessIsLoggedAtDebug() {
+        SuccessLogSampler sampler = new SuccessLogSampler(100);
+        LevelLogger log = new LevelLogger(Level.DEBUG);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(sampler.sample(log));
+        }
+    }
+
+    @Test
+    void testNothingIsSampledWhenInfoIsOff() {
+        SuccessLogSampler sampler = new SuccessLogSampler(1);
+
+        assertFalse(sampler.sample(new LevelLogger(Level.WARN)));
+        assertTrue(sampler.sample(new LevelLogger(Level.INFO)));
+    }
+
+    @Test
+    void testRateMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new SuccessLogSampler(0));
+    }
+}
@@ -0,0 +1,72 @@
+package com.fintech.ledger.core.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountContentionTrackerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AccountContentionTracker tracker = new AccountContentionTracker(registry, 5, 4);
+
+    @Test
+    void testHotAccountsRiseAboveBackgroundWaits() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            tracker.record(1_000 + random.nextInt(50_000), 1_000);
+            if (i % 10 == 0) {
+                tracker.record(7, 50_000);
+                tracker.record(8, 20_000);
+            }
+        }
+
+        List<AccountContentionTracker.ContendedAccount> top = tracker.topAccounts();
+        assertEquals(5, top.size());
+        assertEquals(7, top.get(0).accountId());
+        assertEquals(8, top.get(1).accountId());
+        assertEquals(10_000, top.get(0).acquisitions());
+        assertTrue(top.get(0).totalWaitNanos() >= 500_000_000L);
+    }
+
+    @Test
+    void testWaitIsExactWhileAccountsFit() {
+        tracker.record(1, 300);
+        tracker.record(2, 100);
+        tracker.record(1, 200);
+
+        List<AccountContentionTracker.ContendedAccount> top = tracker.topAccounts();
+        assertEquals(List.of(
+                new AccountContentionTracker.ContendedAccount(1, 2, 500, 0),
+                new AccountContentionTracker.ContendedAccount(2, 1, 100, 0)), top);
+    }
+
+    @Test
+    void testDecayLetsNewHotAccountOvertakeOldOne() {
+        for (int i = 0; i < 100; i++) {
+            tracker.record(1, 1_000);
+        }
+        for (int i = 0; i < 4; i++) {
+            tracker.decay();
+        }
+        for (int i = 0; i < 10; i++) {
+            tracker.record(2, 1_000);
+        }
+
+        List<AccountContentionTracker.ContendedAccount> top = tracker.topAccounts();
+        assertEquals(2, top.get(0).accountId());
+        assertEquals(6_250, top.get(1).totalWaitNanos());
+    }
+
+    @Test
+    void testPublishExportsGaugePerAccount() {
+        tracker.record(7, 2_000_000_000L);
+        tracker.publish();
+
+        assertEquals(2.0, registry.get("ledger.accounts.contention.wait").tag("account", "7").gauge().value());
+        assertEquals(1.0, registry.get("ledger.accounts.contention.acquisitions").tag("account", "7").gauge().value());
+    }
+}
@@ -0,0 +1,59 @@
+package com.fintech.ledger.core.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LedgerMetrics metrics = new LedgerMetrics(registry);
+
+    @Test
+    void testMetersAreRegisteredBeforeAnyTraffic() {
+        assertNotNull(registry.find("ledger.reconciliation.total").counter());
+        assertNotNull(registry.find("ledger.reconciliation.failures").counter());
+        assertEquals(LedgerMetrics.Phase.values().length,
+                registry.find("ledger.transactions.phase.time").timers().size());
+    }
+
+    @Test
+    void testPostingsAreTaggedByLegCountAndCurrency() {
+        metrics.recordTransaction(metrics.startTimer(), 2, "USD");
+        metrics.recordTransaction(metrics.startTimer(), 7, "EUR");
+        metrics.recordTransactionError(metrics.startTimer(), 2, "USD");
+
+        assertEquals(1, registry.get("ledger.transactions.processing.time")
+                .tags("legs", "2", "currency", "USD", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("ledger.transactions.processing.time")
+                .tags("legs", "2", "currency", "USD", "outcome", "error").timer().count());
+        assertEquals(1.0, registry.get("ledger.transactions.total")
+                .tags("legs", "5+", "currency", "EUR").counter().count());
+    }
+
+    @Test
+    void testPhaseTimeIsRecordedUnderItsPhase() {
+        metrics.recordPhase(LedgerMetrics.Phase.LOCK_ACQUISITION, 2_000_000);
+
+        Timer lockTime = registry.get("ledger.transactions.phase.time").tag("phase", "lock_acquisition").timer();
+        assertEquals(1, lockTime.count());
+        assertEquals(2.0, lockTime.totalTime(TimeUnit.MILLISECONDS), 1e-9);
+        assertEquals(0, registry.get("ledger.transactions.phase.time").tag("phase", "persist").timer().count());
+    }
+
+    @Test
+    void testPostingTimeHistogramHasSloBuckets() {
+        metrics.recordTransaction(metrics.startTimer(), 2, "USD");
+
+        CountAtBucket[] buckets = registry.get("ledger.transactions.processing.time").timer()
+                .takeSnapshot().histogramCounts();
+        assertTrue(Arrays.stream(buckets).anyMatch(bucket -> bucket.bucket(TimeUnit.MILLISECONDS) == 250.0));
+        assertTrue(Arrays.stream(buckets).anyMatch(bucket -> bucket.bucket(TimeUnit.MILLISECONDS) == 1000.0));
+    }
+}
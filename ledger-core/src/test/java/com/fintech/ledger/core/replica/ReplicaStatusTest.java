@@ -0,0 +1,76 @@
+package com.fintech.ledger.core.replica;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaStatusTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+    private static final Duration MAX_AGE = Duration.ofSeconds(3);
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    @Test
+    void testLsnRoundTrip() {
+        assertEquals(0x16_B374D848L, Lsn.parse("16/B374D848"));
+        assertEquals("16/B374D848", Lsn.format(Lsn.parse("16/b374d848")));
+        assertEquals("0/0", Lsn.format(0));
+        assertEquals(0xFFFFFFFF_FFFFFFFFL, Lsn.parse("FFFFFFFF/FFFFFFFF"));
+        assertTrue(Lsn.reached(Lsn.parse("FFFFFFFF/0"), Lsn.parse("1/0")));
+    }
+
+    @Test
+    void testMalformedLsnIsRejected() {
+        for (String text : new String[]{"", "16", "/1", "1/", "1/G", "100000000/0"}) {
+            assertThrows(IllegalArgumentException.class, () -> Lsn.parse(text), text);
+        }
+    }
+
+    @Test
+    void testCaughtUpReplicaHasNoLag() {
+        ReplicaStatus status = ReplicaStatus.sampled(100, 100, Duration.ofMinutes(10), NOW);
+
+        assertEquals(Duration.ZERO, status.lag());
+        assertEquals(0, status.lagBytes());
+        assertEquals(ReadRoute.REPLICA, route(status, 0));
+    }
+
+    @Test
+    void testOnlyEligibleReadOnlyWorkGoesToReplica() {
+        ReplicaStatus status = ReplicaStatus.sampled(100, 100, Duration.ZERO, NOW);
+
+        assertEquals(ReadRoute.PRIMARY_READ_WRITE, status.route(false, true, 0, MAX_LAG, MAX_AGE, NOW));
+        assertEquals(ReadRoute.PRIMARY_PINNED, status.route(true, false, 0, MAX_LAG, MAX_AGE, NOW));
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToPrimary() {
+        ReplicaStatus status = ReplicaStatus.sampled(500, 100, Duration.ofSeconds(6), NOW);
+
+        assertEquals(400, status.lagBytes());
+        assertEquals(ReadRoute.PRIMARY_LAGGING, route(status, 0));
+        assertEquals(ReadRoute.REPLICA, route(ReplicaStatus.sampled(500, 100, Duration.ofSeconds(5), NOW), 0));
+    }
+
+    @Test
+    void testUnavailableOrStaleSampleFallsBackToPrimary() {
+        assertEquals(ReadRoute.PRIMARY_UNAVAILABLE, route(ReplicaStatus.UNAVAILABLE, 0));
+        ReplicaStatus old = ReplicaStatus.sampled(100, 100, Duration.ZERO, NOW.minusSeconds(4));
+        assertEquals(ReadRoute.PRIMARY_UNAVAILABLE, route(old, 0));
+    }
+
+    @Test
+    void testSessionReadsFromReplicaOnceItReplayedTheCommit() {
+        ReplicaStatus status = ReplicaStatus.sampled(500, 300, Duration.ofMillis(20), NOW);
+
+        assertEquals(ReadRoute.PRIMARY_READ_YOUR_WRITES, route(status, 400));
+        assertEquals(ReadRoute.REPLICA, route(status, 300));
+    }
+
+    private static ReadRoute route(ReplicaStatus status, long requiredLsn) {
+        return status.route(true, true, requiredLsn, MAX_LAG, MAX_AGE, NOW);
+    }
+}
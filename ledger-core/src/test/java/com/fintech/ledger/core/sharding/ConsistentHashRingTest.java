@@ -0,0 +1,73 @@
+package com.fintech.ledger.core.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void testSequentialKeysSpreadEvenly() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(nodes(4), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (long key = 1; key <= KEYS; key++) {
+            counts.merge(ring.nodeFor(key), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            assertTrue(count > KEYS / 4 * 0.8 && count < KEYS / 4 * 1.2, "uneven share: " + counts);
+        }
+    }
+
+    @Test
+    void testPlacementIgnoresNodeOrder() {
+        Map<String, String> reversed = new TreeMap<>(Comparator.reverseOrder());
+        reversed.putAll(nodes(3));
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(nodes(3), 64);
+        ConsistentHashRing<String> other = new ConsistentHashRing<>(reversed, 64);
+
+        for (long key = 0; key < 1_000; key++) {
+            assertEquals(ring.nodeFor(key), other.nodeFor(key));
+        }
+    }
+
+    @Test
+    void testAddingANodeOnlyMovesKeysToIt() {
+        ConsistentHashRing<String> before = new ConsistentHashRing<>(nodes(4), 128);
+        ConsistentHashRing<String> after = new ConsistentHashRing<>(nodes(5), 128);
+
+        int moved = 0;
+        for (long key = 1; key <= KEYS; key++) {
+            String from = before.nodeFor(key);
+            String to = after.nodeFor(key);
+            if (!from.equals(to)) {
+                assertEquals("shard-4", to);
+                moved++;
+            }
+        }
+        assertTrue(moved > KEYS / 5 * 0.8 && moved < KEYS / 5 * 1.2, "moved " + moved);
+    }
+
+    @Test
+    void testRejectsEmptyRing() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing<>(Map.of(), 16));
+    }
+
+    private static Map<String, String> nodes(int count) {
+        Map<String, String> nodes = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            nodes.put("shard-" + i, "shard-" + i);
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,47 @@
+package com.fintech.ledger.core.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalIdGeneratorTest {
+
+    private final AtomicLong clock = new AtomicLong(Instant.parse("2026-01-01T00:00:00Z").toEpochMilli());
+
+    @Test
+    void testIdsIncreaseWithinAndAcrossMilliseconds() {
+        GlobalIdGenerator ids = new GlobalIdGenerator(3, clock::get);
+        Set<Long> seen = new HashSet<>();
+        long previous = 0;
+        // More ids than one millisecond holds: the generator moves on to the next one
+        for (int i = 0; i < 10_000; i++) {
+            long id = ids.nextId();
+            assertTrue(id > previous);
+            assertTrue(seen.add(id));
+            previous = id;
+        }
+    }
+
+    @Test
+    void testClockSteppingBackDoesNotRepeatIds() {
+        GlobalIdGenerator ids = new GlobalIdGenerator(3, clock::get);
+        long before = ids.nextId();
+        clock.addAndGet(-5_000);
+
+        assertTrue(ids.nextId() > before);
+    }
+
+    @Test
+    void testNodesNeverCollide() {
+        GlobalIdGenerator first = new GlobalIdGenerator(1, clock::get);
+        GlobalIdGenerator second = new GlobalIdGenerator(2, clock::get);
+
+        assertNotEquals(first.nextId(), second.nextId());
+        assertThrows(IllegalArgumentException.class, () -> new GlobalIdGenerator(GlobalIdGenerator.MAX_NODE_ID + 1));
+    }
+}
@@ -0,0 +1,166 @@
+package com.fintech.ledger.core.sharding;
+
+import com.fintech.common.exception.InsufficientFundsException;
+import com.fintech.ledger.core.eventlog.PostingEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TwoPhaseCommitCoordinatorTest {
+
+    @TempDir
+    Path directory;
+
+    /** Stands in for a process dying in the middle of a posting. */
+    private static final class Crash extends Error {
+    }
+
+    private static final class FakeShard implements ShardParticipant {
+        final String name;
+        final Set<Long> prepared = new HashSet<>();
+        final List<String> calls = new ArrayList<>();
+        RuntimeException prepareFailure;
+        Error prepareCrash;
+        int commitFailures;
+
+        FakeShard(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void prepare(PostingEvent branch, boolean ownsKey) {
+            calls.add("prepare " + branch.sequence() + (ownsKey ? " key" : ""));
+            if (prepareCrash != null) {
+                throw prepareCrash;
+            }
+            if (prepareFailure != null) {
+                throw prepareFailure;
+            }
+            prepared.add(branch.sequence());
+        }
+
+        @Override
+        public void commit(long postingId) {
+            if (commitFailures > 0) {
+                commitFailures--;
+                throw new IllegalStateException("shard " + name + " unavailable");
+            }
+            calls.add("commit " + postingId + (prepared.remove(postingId) ? "" : " (no-op)"));
+        }
+
+        @Override
+        public void abort(long postingId) {
+            calls.add("abort " + postingId + (prepared.remove(postingId) ? "" : " (no-op)"));
+        }
+    }
+
+    private final FakeShard a = new FakeShard("a");
+    private final FakeShard b = new FakeShard("b");
+    private final Map<String, ShardParticipant> shards = Map.of("a", a, "b", b);
+
+    @Test
+    void testAllYesVotesCommitEveryShard() {
+        try (TwoPhaseCommitCoordinator coordinator = open()) {
+            coordinator.execute(7, branches(7));
+
+            assertEquals(List.of("prepare 7 key", "commit 7"), a.calls);
+            assertEquals(List.of("prepare 7", "commit 7"), b.calls);
+            assertEquals(0, coordinator.unresolvedCount());
+        }
+    }
+
+    @Test
+    void testRejectionAbortsEveryShardAndIsRethrown() {
+        b.prepareFailure = new InsufficientFundsException(2L, "no funds");
+        try (TwoPhaseCommitCoordinator coordinator = open()) {
+            InsufficientFundsException thrown = assertThrows(InsufficientFundsException.class,
+                    () -> coordinator.execute(8, branches(8)));
+
+            assertSame(b.prepareFailure, thrown);
+            assertEquals(List.of("prepare 8 key", "abort 8"), a.calls);
+            assertEquals(List.of("prepare 8", "abort 8 (no-op)"), b.calls);
+            assertEquals(0, coordinator.unresolvedCount());
+        }
+    }
+
+    @Test
+    void testFailedCommitIsRetriedAndSurvivesRestart() {
+        b.commitFailures = 2;
+        try (TwoPhaseCommitCoordinator coordinator = open()) {
+            coordinator.execute(9, branches(9));
+            assertEquals(1, coordinator.unresolvedCount());
+
+            assertEquals(1, coordinator.retryUnresolved());
+        }
+        assertEquals(Set.of(9L), b.prepared);
+
+        try (TwoPhaseCommitCoordinator coordinator = open()) {
+            assertEquals(0, coordinator.recover());
+        }
+        assertEquals(List.of("prepare 9", "commit 9"), b.calls);
+        assertEquals(List.of("prepare 9 key", "commit 9", "commit 9 (no-op)", "commit 9 (no-op)"), a.calls);
+    }
+
+    @Test
+    void testPostingWithoutDecisionIsAbortedOnRecovery() {
+        b.prepareCrash = new Crash();
+        try (TwoPhaseCommitCoordinator coordinator = open()) {
+            assertThrows(Crash.class, () -> coordinator.execute(10, branches(10)));
+        }
+        b.prepareCrash = null;
+
+        try (TwoPhaseCommitCoordinator coordinator = open()) {
+            assertEquals(0, coordinator.recover());
+            assertEquals(0, coordinator.unresolvedCount());
+        }
+        assertTrue(a.prepared.isEmpty());
+        assertEquals(List.of("prepare 10 key", "abort 10"), a.calls);
+
+        // Recovery is finished for good: a second restart has nothing to do
+        try (TwoPhaseCommitCoordinator coordinator = open()) {
+            assertEquals(0, coordinator.unresolvedCount());
+        }
+    }
+
+    @Test
+    void testPostingOnUnknownShardStaysUnresolved() {
+        b.commitFailures = 1;
+        try (TwoPhaseCommitCoordinator coordinator = open()) {
+            coordinator.execute(11, branches(11));
+        }
+
+        try (TwoPhaseCommitCoordinator coordinator = TwoPhaseCommitCoordinator.open(directory, 4096,
+                Duration.ofMillis(1), Map.of("a", a)::get)) {
+            assertEquals(1, coordinator.recover());
+        }
+    }
+
+    private TwoPhaseCommitCoordinator open() {
+        return TwoPhaseCommitCoordinator.open(directory, 4096, Duration.ofMillis(1), shards::get);
+    }
+
+    private List<TwoPhaseCommitCoordinator.Branch> branches(long postingId) {
+        return List.of(
+                new TwoPhaseCommitCoordinator.Branch(a, branch(postingId), true),
+                new TwoPhaseCommitCoordinator.Branch(b, branch(postingId), false));
+    }
+
+    private static PostingEvent branch(long postingId) {
+        return new PostingEvent(postingId, Instant.now(), "key-" + postingId, "Transfer", List.of());
+    }
+}
@@ -0,0 +1,29 @@
+plugins {
+    id("org.springframework.boot") version "3.2.1"
+    id("io.spring.dependency-management") version "1.1.4"
+}
+
+// Boots ledger-core against in-memory H2 with security left out and drives postings from
+// virtual-thread clients: ./gradlew :load-test:bootRun --args='--loadtest.clients=64'
+
+// ledger-core logs through Log4j2; Logback's bridge next to it would fail at startup
+configurations.all {
+    exclude(group = "org.springframework.boot", module = "spring-boot-starter-logging")
+}
+
+dependencies {
+    implementation(project(":common-lib"))
+    implementation(project(":ledger-core"))
+
+    implementation(platform("org.springframework.boot:spring-boot-dependencies:3.2.1"))
+    implementation("org.springframework.boot:spring-boot-starter-aop")
+    implementation("org.springframework.boot:spring-boot-starter-data-jpa")
+    implementation("org.springframework.boot:spring-boot-starter-security")
+    implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.hdrhistogram:HdrHistogram:2.1.12")
+    runtimeOnly("com.h2database:h2")
+}
+
+springBoot {
+    mainClass.set("com.fintech.ledger.loadtest.LoadTestApplication")
+}
@@ -0,0 +1,103 @@
+package com.fintech.ledger.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Wraps the {@link DataSource} to measure lock waits and to simulate a slower database.
+ * <p>
+ * The engine takes its account locks with {@code SELECT ... FOR UPDATE}; the row read itself
+ * is trivial, so the execution time of those statements is essentially time spent waiting
+ * for other transactions to release the row. {@code loadtest.db-latency} is added to every
+ * statement execution, holding the connection the way a remote database round trip would;
+ * it is not counted as lock wait.
+ */
+@Component
+public class JdbcInstrumentation implements BeanPostProcessor {
+
+    private final Recorder lockWaits = new Recorder(3);
+
+    @Value("${loadtest.db-latency:PT0S}")
+    private Duration dbLatency;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                return result instanceof Connection connection ? wrap(connection) : result;
+            });
+        }
+        return bean;
+    }
+
+    /**
+     * Lock waits in microseconds since the previous call.
+     */
+    public Histogram lockWaitHistogram() {
+        return lockWaits.getIntervalHistogram();
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                boolean locking = ((String) args[0]).toLowerCase(Locale.ROOT).contains(" for update");
+                return instrument(statement, locking);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement instrument(PreparedStatement statement, boolean locking) {
+        return proxy(PreparedStatement.class, statement, (target, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(target, method, args);
+            }
+            if (!dbLatency.isZero()) {
+                Thread.sleep(dbLatency);
+            }
+            if (!locking) {
+                return invoke(target, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return invoke(target, method, args);
+            } finally {
+                lockWaits.recordValue((System.nanoTime() - start) / 1_000);
+            }
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, TargetInvocationHandler handler) {
+        InvocationHandler delegate = (proxy, method, args) -> handler.invoke(target, method, args);
+        return (T) Proxy.newProxyInstance(JdbcInstrumentation.class.getClassLoader(), new Class<?>[] {type}, delegate);
+    }
+
+    @FunctionalInterface
+    private interface TargetInvocationHandler {
+        Object invoke(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,233 @@
+package com.fintech.ledger.loadtest;
+
+import com.fintech.common.domain.IdempotencyKey;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.LedgerException;
+import com.fintech.ledger.core.concurrency.AdaptiveConcurrencyLimiter;
+import com.fintech.ledger.core.concurrency.ConnectionAdmissionLimiter;
+import com.fintech.ledger.core.domain.TransactionLine;
+import com.fintech.ledger.core.service.TransactionEngine;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PessimisticLockException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DeadlockLoserDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives two-leg transfers through {@link TransactionEngine} from virtual-thread clients.
+ * <p>
+ * Each client loops until the run ends, picking both accounts from the scenario's Zipfian
+ * distribution and handing every posting to the request executor, as a servlet container
+ * would. Latency is measured from hand-off, so time queued for a platform thread counts.
+ * Lock failures are retried with the same idempotency key, as a well-behaved API client
+ * would; business rejections (e.g. insufficient funds) are counted and not retried. Only
+ * postings that start after the warm-up are recorded.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoadGenerator {
+
+    private static final Money AMOUNT = Money.of(new BigDecimal("1.00"), "USD");
+
+    private final TransactionEngine transactionEngine;
+    private final AdaptiveConcurrencyLimiter adaptiveLimiter;
+    private final ConnectionAdmissionLimiter admissionLimiter;
+    private final JdbcInstrumentation jdbcInstrumentation;
+
+    public record Scenario(String name, double skew) {
+    }
+
+    public LoadReport run(Scenario scenario, RequestExecution execution, List<Long> accountIds,
+                          LoadSettings settings) {
+        ZipfianDistribution distribution = new ZipfianDistribution(accountIds.size(), scenario.skew());
+        log.info("Scenario {} on {} threads: {} clients, busiest account takes {}% of draws", scenario.name(),
+                execution, settings.clients(), String.format("%.2f", distribution.probability(0) * 100));
+
+        Counters counters = new Counters();
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+        SplittableRandom seeds = new SplittableRandom(42);
+
+        try (ExecutorService requests = execution.newExecutor(settings);
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.clients(); i++) {
+                SplittableRandom random = seeds.split();
+                clients.submit(() -> client(distribution, accountIds, random, requests, measureFrom, end,
+                        settings, counters));
+            }
+            sleepUntil(measureFrom);
+            counters.latency.getIntervalHistogram();
+            jdbcInstrumentation.lockWaitHistogram();
+            // Closing waits for the clients first, then for their last requests
+        }
+        Histogram lockWaits = jdbcInstrumentation.lockWaitHistogram();
+
+        return new LoadReport(scenario.name(), scenario.skew(), execution, settings.clients(),
+                Duration.ofNanos(end - measureFrom), counters.committed.sum(), counters.rejected.sum(),
+                counters.shed.sum(), counters.failed.sum(), counters.retries.sum(), counters.deadlocks.sum(),
+                counters.lockConflicts.sum(), counters.latency.getIntervalHistogram(), lockWaits);
+    }
+
+    private void client(ZipfianDistribution distribution, List<Long> accountIds, SplittableRandom random,
+                        ExecutorService requests, long measureFrom, long end, LoadSettings settings,
+                        Counters counters) {
+        long now;
+        while ((now = System.nanoTime()) < end) {
+            boolean measured = now >= measureFrom;
+            int from = distribution.sample(random);
+            int to = distribution.sample(random);
+            while (to == from) {
+                to = distribution.sample(random);
+            }
+            List<TransactionEngine.LegRequest> legs = List.of(
+                    new TransactionEngine.LegRequest(accountIds.get(from), TransactionLine.Type.DEBIT, AMOUNT),
+                    new TransactionEngine.LegRequest(accountIds.get(to), TransactionLine.Type.CREDIT, AMOUNT));
+            IdempotencyKey key = IdempotencyKey.generate();
+            try {
+                requests.submit(() -> handle(key, legs, settings, counters, measured)).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.warn("Request failed unexpectedly", e.getCause());
+            }
+            if (measured) {
+                counters.latency.recordValue((System.nanoTime() - now) / 1_000);
+            }
+        }
+    }
+
+    /**
+     * What the servlet filter chain does for a posting: admission, then the engine call.
+     */
+    private void handle(IdempotencyKey key, List<TransactionEngine.LegRequest> legs, LoadSettings settings,
+                        Counters counters, boolean measured) {
+        if (!settings.admissionControl()) {
+            post(key, legs, settings.maxRetries(), counters, measured);
+            return;
+        }
+        if (!adaptiveLimiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.NORMAL)) {
+            if (measured) {
+                counters.shed.increment();
+            }
+            return;
+        }
+        if (!admit()) {
+            adaptiveLimiter.releaseUnmeasured();
+            if (measured) {
+                counters.shed.increment();
+            }
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            post(key, legs, settings.maxRetries(), counters, measured);
+        } finally {
+            admissionLimiter.release();
+            adaptiveLimiter.release(System.nanoTime() - start);
+        }
+    }
+
+    private boolean admit() {
+        try {
+            return admissionLimiter.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void post(IdempotencyKey key, List<TransactionEngine.LegRequest> legs, int maxRetries,
+                      Counters counters, boolean measured) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                transactionEngine.postTransaction(key, "Load test transfer", legs);
+                if (measured) {
+                    counters.committed.increment();
+                }
+                return;
+            } catch (LedgerException e) {
+                if (measured) {
+                    counters.rejected.increment();
+                }
+                return;
+            } catch (RuntimeException e) {
+                Failure failure = classify(e);
+                if (failure == Failure.OTHER || attempt == maxRetries) {
+                    log.debug("Posting failed after {} attempts", attempt + 1, e);
+                    if (measured) {
+                        counters.failed.increment();
+                    }
+                    return;
+                }
+                if (measured) {
+                    counters.retries.increment();
+                    (failure == Failure.DEADLOCK ? counters.deadlocks : counters.lockConflicts).increment();
+                }
+            }
+        }
+    }
+
+    enum Failure { DEADLOCK, LOCK_CONFLICT, OTHER }
+
+    /**
+     * Exceptions reach the caller untranslated from the entity manager or translated at commit,
+     * so both JPA and Spring types are checked, plus the SQL state for databases that report
+     * deadlocks only that way.
+     */
+    static Failure classify(Throwable failure) {
+        Failure result = Failure.OTHER;
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof DeadlockLoserDataAccessException
+                    || t instanceof SQLException sql && ("40001".equals(sql.getSQLState())
+                            || "40P01".equals(sql.getSQLState()))) {
+                return Failure.DEADLOCK;
+            }
+            if (t instanceof ConcurrencyFailureException || t instanceof PessimisticLockException
+                    || t instanceof LockTimeoutException || t instanceof OptimisticLockException) {
+                result = Failure.LOCK_CONFLICT;
+            }
+        }
+        return result;
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            try {
+                Thread.sleep(Duration.ofNanos(remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder committed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder shed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder deadlocks = new LongAdder();
+        final LongAdder lockConflicts = new LongAdder();
+        final Recorder latency = new Recorder(3);
+    }
+}
@@ -0,0 +1,51 @@
+package com.fintech.ledger.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+
+/**
+ * Results of one scenario. Latencies are per logical posting, including any retries, in
+ * microseconds; lock waits are per {@code SELECT ... FOR UPDATE}. Shed postings are the
+ * ones the admission limiter turned away (a 503 over HTTP).
+ */
+public record LoadReport(
+        String scenario,
+        double skew,
+        RequestExecution execution,
+        int clients,
+        Duration measured,
+        long committed,
+        long rejected,
+        long shed,
+        long failed,
+        long retries,
+        long deadlocks,
+        long lockConflicts,
+        Histogram latency,
+        Histogram lockWaits) {
+
+    public double throughput() {
+        return committed / (measured.toNanos() / 1e9);
+    }
+
+    public String format() {
+        return String.format("""
+                Scenario %s (skew %.2f, %s threads, %d clients, %ds)
+                  throughput      %.1f postings/s (%d committed, %d rejected, %d shed, %d failed)
+                  latency ms      p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f
+                  retries         %d (%d deadlocks, %d lock timeouts / version conflicts)
+                  lock wait ms    %d waits, total %.0f, p50 %.2f  p99 %.2f  max %.2f""",
+                scenario, skew, execution, clients, measured.toSeconds(),
+                throughput(), committed, rejected, shed, failed,
+                millis(latency, 50), millis(latency, 90), millis(latency, 99), millis(latency, 99.9),
+                latency.getMaxValue() / 1_000.0,
+                retries, deadlocks, lockConflicts,
+                lockWaits.getTotalCount(), lockWaits.getMean() * lockWaits.getTotalCount() / 1_000.0,
+                millis(lockWaits, 50), millis(lockWaits, 99), lockWaits.getMaxValue() / 1_000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000.0;
+    }
+}
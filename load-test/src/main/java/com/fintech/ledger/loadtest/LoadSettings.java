@@ -0,0 +1,18 @@
+package com.fintech.ledger.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Settings shared by every scenario of a run.
+ *
+ * @param platformThreads size of the request pool in {@link RequestExecution#PLATFORM} mode
+ * @param admissionControl whether requests go through the ledger's connection admission limiter
+ */
+public record LoadSettings(
+        int clients,
+        Duration warmup,
+        Duration duration,
+        int maxRetries,
+        int platformThreads,
+        boolean admissionControl) {
+}
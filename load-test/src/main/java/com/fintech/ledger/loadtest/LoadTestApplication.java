@@ -0,0 +1,34 @@
+package com.fintech.ledger.loadtest;
+
+import com.fintech.ledger.core.security.SecurityConfiguration;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Ledger-core wired against in-memory H2 for measuring postings per second.
+ * <p>
+ * Scans the same components as the ledger application except the OAuth2 filter chain, and
+ * runs without a web server: clients call {@link com.fintech.ledger.core.service.TransactionEngine}
+ * directly, through its transactional proxy. Scheduling is not enabled, so the reconciliation
+ * and hold-expiry jobs stay out of the measurements.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan(basePackages = {"com.fintech.ledger.core", "com.fintech.ledger.loadtest"},
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.ASSIGNABLE_TYPE, classes = SecurityConfiguration.class))
+@EntityScan("com.fintech.ledger.core")
+@EnableJpaRepositories("com.fintech.ledger.core.repository")
+public class LoadTestApplication {
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(LoadTestApplication.class);
+        application.setAdditionalProfiles("loadtest");
+        System.exit(SpringApplication.exit(application.run(args)));
+    }
+}
@@ -0,0 +1,100 @@
+package com.fintech.ledger.loadtest;
+
+import com.fintech.common.domain.Money;
+import com.fintech.ledger.core.domain.Account;
+import com.fintech.ledger.core.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Seeds the accounts, then runs each configured scenario, once per request execution mode,
+ * against the same ledger.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoadTestRunner implements ApplicationRunner {
+
+    private static final int SEED_BATCH = 1_000;
+
+    private final AccountRepository accountRepository;
+    private final LoadGenerator loadGenerator;
+
+    @Value("${loadtest.accounts:10000}")
+    private int accounts;
+
+    @Value("${loadtest.clients:64}")
+    private int clients;
+
+    @Value("${loadtest.duration:PT30S}")
+    private Duration duration;
+
+    @Value("${loadtest.warmup:PT5S}")
+    private Duration warmup;
+
+    @Value("${loadtest.max-retries:5}")
+    private int maxRetries;
+
+    @Value("${loadtest.scenarios:uniform:0,hot-account:1.2}")
+    private List<String> scenarios;
+
+    @Value("${loadtest.executions:VIRTUAL}")
+    private List<RequestExecution> executions;
+
+    @Value("${loadtest.platform-threads:200}")
+    private int platformThreads;
+
+    @Value("${loadtest.admission-control:true}")
+    private boolean admissionControl;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<Long> accountIds = seedAccounts();
+        LoadSettings settings = new LoadSettings(clients, warmup, duration, maxRetries, platformThreads,
+                admissionControl);
+        List<LoadReport> reports = new ArrayList<>();
+        for (String scenario : scenarios) {
+            for (RequestExecution execution : executions) {
+                reports.add(loadGenerator.run(parse(scenario), execution, accountIds, settings));
+            }
+        }
+        reports.forEach(report -> log.info("\n{}", report.format()));
+    }
+
+    private List<Long> seedAccounts() {
+        // Large enough that random 1.00 transfers never run an account dry
+        Money opening = Money.of(new BigDecimal("1000000.00"), "USD");
+        List<Long> ids = new ArrayList<>(accounts);
+        List<Account> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < accounts; i++) {
+            Account account = new Account();
+            account.setName("loadtest-" + i);
+            account.setBalance(opening);
+            batch.add(account);
+            if (batch.size() == SEED_BATCH || i == accounts - 1) {
+                accountRepository.saveAll(batch).forEach(saved -> ids.add(saved.getId()));
+                batch.clear();
+            }
+        }
+        log.info("Seeded {} accounts", ids.size());
+        return ids;
+    }
+
+    private static LoadGenerator.Scenario parse(String scenario) {
+        int colon = scenario.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Scenario must be name:skew, got " + scenario);
+        }
+        return new LoadGenerator.Scenario(scenario.substring(0, colon).trim(),
+                Double.parseDouble(scenario.substring(colon + 1).trim()));
+    }
+}
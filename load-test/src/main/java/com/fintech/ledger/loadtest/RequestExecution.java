@@ -0,0 +1,19 @@
+package com.fintech.ledger.loadtest;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Where the ledger work of a request runs, mirroring the two Tomcat modes: a bounded pool of
+ * platform threads, or one virtual thread per request.
+ */
+public enum RequestExecution {
+
+    PLATFORM, VIRTUAL;
+
+    ExecutorService newExecutor(LoadSettings settings) {
+        return this == VIRTUAL
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(settings.platformThreads());
+    }
+}
@@ -0,0 +1,50 @@
+package com.fintech.ledger.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfianDistributionTest {
+
+    @Test
+    void testZeroSkewIsUniform() {
+        ZipfianDistribution distribution = new ZipfianDistribution(4, 0);
+
+        for (int rank = 0; rank < 4; rank++) {
+            assertEquals(0.25, distribution.probability(rank), 1e-12);
+        }
+    }
+
+    @Test
+    void testSkewFavoursLowRanks() {
+        ZipfianDistribution distribution = new ZipfianDistribution(1_000, 1.2);
+        SplittableRandom random = new SplittableRandom(7);
+        int[] hits = new int[1_000];
+
+        for (int i = 0; i < 200_000; i++) {
+            hits[distribution.sample(random)]++;
+        }
+
+        assertEquals(distribution.probability(0), hits[0] / 200_000.0, 0.01);
+        assertTrue(hits[0] > hits[1] && hits[1] > hits[10] && hits[10] > hits[500]);
+    }
+
+    @Test
+    void testSamplesStayInRange() {
+        ZipfianDistribution distribution = new ZipfianDistribution(3, 2.0);
+        SplittableRandom random = new SplittableRandom(1);
+
+        for (int i = 0; i < 10_000; i++) {
+            int rank = distribution.sample(random);
+            assertTrue(rank >= 0 && rank < 3);
+        }
+    }
+
+    @Test
+    void testRejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ZipfianDistribution(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfianDistribution(10, -0.5));
+    }
+}
@@ -5,3 +5,5 @@ include("ledger-core")
 include("wallet-service")
 include("clearing-house")
 include("anti-fraud-engine")
+include("benchmarks")
+include("load-test")
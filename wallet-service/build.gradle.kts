@@ -1,3 +1,18 @@
+plugins {
+    id("me.champeau.jmh")
+}
+
 dependencies {
     implementation(project(":common-lib"))
+    implementation(project(":clearing-house"))
+    implementation(platform("io.projectreactor:reactor-bom:2023.0.0"))
+    implementation("io.projectreactor:reactor-core")
+    implementation("io.lettuce:lettuce-core:6.3.0.RELEASE")
+
+    // In-process Redis protocol server with Lua support
+    testImplementation("com.github.fppt:jedis-mock:1.0.13")
+}
+
+jmh {
+    jmhVersion.set("1.37")
 }
@@ -0,0 +1,104 @@
+package com.fintech.wallet;
+
+import com.fintech.common.domain.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Reservations per second through {@link LocalReservationEngine}. Each operation reserves
+ * and captures one hold so balances stay bounded; {@code accounts=1} puts every thread on
+ * the same CAS target. SYNC waits for the group-committed fsync and is bounded by the disk.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LocalReservationBenchmark {
+
+    private static final Money AMOUNT = Money.of(new BigDecimal("1.00"), "USD");
+
+    @Param({"NONE", "ASYNC", "SYNC"})
+    public String journal;
+
+    @Param({"1", "10000"})
+    public int accounts;
+
+    private Path directory;
+    private LocalReservationEngine engine;
+    private String[] accountIds;
+
+    @State(Scope.Thread)
+    public static class ThreadIds {
+        private static final AtomicInteger THREADS = new AtomicInteger();
+        private final String prefix = "t" + THREADS.incrementAndGet() + "-";
+        private long next;
+        private int account;
+
+        String nextId() {
+            return prefix + next++;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Duration ttl = Duration.ofMinutes(5);
+        if ("NONE".equals(journal)) {
+            engine = LocalReservationEngine.inMemory(ttl, Clock.systemUTC());
+        } else {
+            directory = Files.createTempDirectory("wallet-journal");
+            engine = LocalReservationEngine.open(directory, LocalReservationEngine.Durability.valueOf(journal), ttl,
+                    Clock.systemUTC());
+        }
+        accountIds = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountIds[i] = "bench-" + i;
+            engine.deposit(accountIds[i], Money.of(new BigDecimal("1000000000"), "USD"));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        engine.close();
+        if (directory != null) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean reserveAndCapture(ThreadIds ids) {
+        String reservationId = ids.nextId();
+        String accountId = accountIds[ids.account++ % accountIds.length];
+        boolean reserved = engine.reserve(reservationId, accountId, AMOUNT);
+        return engine.capture(reservationId) & reserved;
+    }
+}
@@ -0,0 +1,85 @@
+package com.fintech.wallet;
+
+import com.fintech.common.domain.Money;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reservations per second against a real Redis ({@code -Dwallet.redis.uri}, default the
+ * docker-compose instance on localhost). Each operation reserves and then releases one
+ * hold so balances and memory stay flat; {@code accounts=1} measures a single hot wallet.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ReservationThroughputBenchmark {
+
+    private static final int IN_FLIGHT = 256;
+    private static final Money AMOUNT = Money.of(new BigDecimal("1.00"), "USD");
+
+    @Param({"1", "1000"})
+    public int accounts;
+
+    private RedisClient client;
+    private StatefulRedisConnection<String, String> connection;
+    private ReactiveWalletService wallet;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        client = RedisClient.create(System.getProperty("wallet.redis.uri", "redis://localhost:6379"));
+        connection = client.connect();
+        wallet = new ReactiveWalletService(connection.async());
+        Flux.range(0, accounts)
+                .flatMap(i -> wallet.deposit(account(i), Money.of(new BigDecimal("1000000000"), "USD")))
+                .blockLast();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connection.close();
+        client.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IN_FLIGHT)
+    public long reserveAndRelease() {
+        return Flux.range(0, IN_FLIGHT)
+                .flatMap(i -> {
+                    String reservationId = UUID.randomUUID().toString();
+                    String account = account(ThreadLocalRandom.current().nextInt(accounts));
+                    return wallet.reserve(reservationId, account, AMOUNT)
+                            .then(wallet.release(reservationId, account));
+                }, IN_FLIGHT)
+                .count()
+                .block();
+    }
+
+    private static String account(int index) {
+        return "bench-" + index;
+    }
+}
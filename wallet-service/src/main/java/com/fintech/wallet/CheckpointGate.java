@@ -0,0 +1,56 @@
+package com.fintech.wallet;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lets many threads run operations concurrently while a checkpoint briefly waits for them
+ * to drain. Each thread counts itself in on its own padded stripe, so entering costs one
+ * uncontended atomic increment instead of a shared read lock.
+ */
+final class CheckpointGate {
+
+    private static final int STRIPES = 64;
+    // 16 longs = 128 bytes: keeps adjacent stripes off the same cache line pair
+    private static final int PADDING = 16;
+
+    private final AtomicLongArray active = new AtomicLongArray(STRIPES * PADDING);
+    private volatile boolean closed;
+
+    /**
+     * @return the stripe to pass to {@link #exit(int)}
+     */
+    int enter() {
+        int index = (int) (Thread.currentThread().threadId() & (STRIPES - 1)) * PADDING;
+        while (true) {
+            active.getAndIncrement(index);
+            if (!closed) {
+                return index;
+            }
+            active.getAndDecrement(index);
+            while (closed) {
+                LockSupport.parkNanos(50_000);
+            }
+        }
+    }
+
+    void exit(int stripe) {
+        active.getAndDecrement(stripe);
+    }
+
+    /**
+     * Stops new operations and waits until those in progress have left.
+     */
+    void close() {
+        closed = true;
+        for (int i = 0; i < STRIPES; i++) {
+            while (active.get(i * PADDING) != 0) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    void open() {
+        closed = false;
+    }
+}
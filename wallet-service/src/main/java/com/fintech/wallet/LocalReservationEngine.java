@@ -0,0 +1,588 @@
+package com.fintech.wallet;
+
+import com.fintech.clearing.interfaces.WalletClient;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.CurrencyMismatchException;
+import com.fintech.common.journal.AppendOnlyLog;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Currency;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * In-process {@link WalletClient} for single-node deployments that do not run Redis.
+ * <p>
+ * Balances are integer minor units in chunked {@link AtomicLongArray}s, one 64-byte slot
+ * per account so neighbouring accounts never share a cache line. A reservation is a CAS
+ * loop on the account's available balance plus an entry in a concurrent hold map; no
+ * locks are taken on the hot path. Reserve, release and capture are idempotent per
+ * reservation id, but one id must not be reserved from two threads at once.
+ * <p>
+ * Every change is applied and then appended to a write-ahead journal
+ * ({@link AppendOnlyLog}); replay applies records unconditionally, in log order, on top
+ * of the last checkpoint. {@link Durability#ASYNC} survives a process crash (the mapping
+ * lives in the page cache); {@link Durability#SYNC} also waits for the batched fsync.
+ * {@link #checkpoint()} snapshots the state and drops journal segments it covers. If an
+ * append fails, the change is undone before the exception propagates.
+ * <p>
+ * The id-less {@link WalletClient} methods reserve under a generated id; the matching
+ * release scans the open holds for one of the same account and amount.
+ */
+public class LocalReservationEngine implements WalletClient, Closeable {
+
+    public enum Durability {
+        /** Return once the record is in the page cache; flushed within the flush interval. */
+        ASYNC,
+        /** Return once the record has been forced to disk. */
+        SYNC
+    }
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    /** Longest reservation or account id, in UTF-8 bytes; a record must fit the record buffer. */
+    public static final int MAX_ID_LENGTH = 512;
+
+    private static final String SNAPSHOT_FILE = "wallet.snapshot";
+    private static final int SNAPSHOT_MAGIC = 0x57534E50; // "WSNP"
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private static final byte REGISTER = 1;
+    private static final byte DEPOSIT = 2;
+    private static final byte RESERVE = 3;
+    private static final byte RELEASE = 4;
+    private static final byte CAPTURE = 5;
+    private static final byte UNDO = 6;
+
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int MAX_CHUNKS = 4096;
+    private static final int STRIDE = 8;
+    private static final int AVAILABLE = 0;
+    private static final int RESERVED = 1;
+    private static final int RECORD_BUFFER_SIZE = 1024;
+
+    private final Map<String, AccountSlot> accounts = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<AtomicLongArray> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    private final AtomicInteger nextSlot = new AtomicInteger();
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+    private final CheckpointGate gate = new CheckpointGate();
+    private final ThreadLocal<ByteBuffer> recordBuffer = ThreadLocal.withInitial(() -> ByteBuffer.allocate(RECORD_BUFFER_SIZE));
+    private final Path directory;
+    private final AppendOnlyLog journal;
+    private final Durability durability;
+    private final Duration reservationTtl;
+    private final Clock clock;
+
+    private LocalReservationEngine(Path directory, AppendOnlyLog journal, Durability durability,
+            Duration reservationTtl, Clock clock) {
+        this.directory = directory;
+        this.journal = journal;
+        this.durability = durability;
+        this.reservationTtl = reservationTtl;
+        this.clock = clock;
+    }
+
+    /**
+     * Opens the engine on {@code directory}, restoring the last checkpoint and replaying the
+     * journal written since, then checkpoints so the replayed segments can be dropped.
+     */
+    public static LocalReservationEngine open(Path directory, Durability durability, Duration reservationTtl,
+            Clock clock) {
+        AppendOnlyLog journal = AppendOnlyLog.open(directory.resolve("journal"), DEFAULT_SEGMENT_SIZE,
+                Duration.ofMillis(1));
+        LocalReservationEngine engine = new LocalReservationEngine(directory, journal, durability, reservationTtl,
+                clock);
+        try {
+            long position = engine.restoreSnapshot();
+            journal.replay((recordPosition, record) -> {
+                if (recordPosition >= position) {
+                    engine.apply(record);
+                }
+            });
+            engine.checkpoint();
+        } catch (RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+        return engine;
+    }
+
+    /**
+     * Engine without a journal; state is lost on restart.
+     */
+    public static LocalReservationEngine inMemory(Duration reservationTtl, Clock clock) {
+        return new LocalReservationEngine(null, null, Durability.ASYNC, reservationTtl, clock);
+    }
+
+    /**
+     * Credits the available balance. The first deposit registers the account and fixes its currency.
+     */
+    public void deposit(String accountId, Money amount) {
+        long minor = MinorUnits.of(amount);
+        long position;
+        int stripe = gate.enter();
+        try {
+            AccountSlot account = accounts.get(accountId);
+            if (account == null) {
+                checkId("account", accountId);
+                account = accounts.computeIfAbsent(accountId, id -> register(id, amount.getCurrency()));
+            }
+            checkCurrency(account, amount);
+            AtomicLongArray chunk = chunk(account.index);
+            int available = offset(account.index, AVAILABLE);
+            chunk.getAndAdd(available, minor);
+            try {
+                position = append(record(DEPOSIT).putInt(account.index).putLong(minor));
+            } catch (RuntimeException e) {
+                chunk.getAndAdd(available, -minor);
+                throw e;
+            }
+        } finally {
+            gate.exit(stripe);
+        }
+        awaitDurable(position);
+    }
+
+    /**
+     * Moves {@code amount} from available to reserved.
+     *
+     * @return {@code false} if the account is unknown or its available balance is insufficient;
+     *         repeating a reservation id that is still open returns {@code true}
+     * @throws IllegalArgumentException if the reservation id is blank or longer than
+     *         {@link #MAX_ID_LENGTH} bytes
+     */
+    public boolean reserve(String reservationId, String accountId, Money amount) {
+        checkId("reservation", reservationId);
+        AccountSlot account = accounts.get(accountId);
+        if (account == null) {
+            return false;
+        }
+        checkCurrency(account, amount);
+        long minor = MinorUnits.of(amount);
+        long position;
+        int stripe = gate.enter();
+        try {
+            if (holds.containsKey(reservationId)) {
+                return true;
+            }
+            AtomicLongArray chunk = chunk(account.index);
+            int available = offset(account.index, AVAILABLE);
+            long current;
+            do {
+                current = chunk.get(available);
+                if (current < minor) {
+                    return false;
+                }
+            } while (!chunk.compareAndSet(available, current, current - minor));
+            chunk.getAndAdd(offset(account.index, RESERVED), minor);
+
+            long expiresAt = clock.millis() + reservationTtl.toMillis();
+            try {
+                position = append(putString(record(RESERVE).putInt(account.index).putLong(minor).putLong(expiresAt),
+                        reservationId));
+            } catch (RuntimeException e) {
+                refund(account.index, minor);
+                throw e;
+            }
+            if (holds.putIfAbsent(reservationId, new Hold(account.index, minor, expiresAt)) != null) {
+                // Lost a race with a concurrent reserve of the same id
+                refund(account.index, minor);
+                position = append(record(UNDO).putInt(account.index).putLong(minor));
+            }
+        } finally {
+            gate.exit(stripe);
+        }
+        awaitDurable(position);
+        return true;
+    }
+
+    /**
+     * Returns the reserved amount to the available balance.
+     *
+     * @return {@code false} if the reservation is unknown, already settled or expired
+     */
+    public boolean release(String reservationId) {
+        return settle(reservationId, RELEASE);
+    }
+
+    /**
+     * Removes the reserved amount from the wallet once the transfer has been committed.
+     *
+     * @return {@code false} if the reservation is unknown, already settled or expired
+     */
+    public boolean capture(String reservationId) {
+        return settle(reservationId, CAPTURE);
+    }
+
+    /**
+     * Releases every reservation whose TTL has elapsed.
+     *
+     * @return the number of reservations expired
+     */
+    public int expireReservations() {
+        long now = clock.millis();
+        int expired = 0;
+        for (Map.Entry<String, Hold> entry : holds.entrySet()) {
+            if (entry.getValue().expiresAt <= now && release(entry.getKey())) {
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * @return the balance, or {@code null} if the account never received a deposit
+     */
+    public WalletBalance balance(String accountId) {
+        AccountSlot account = accounts.get(accountId);
+        if (account == null) {
+            return null;
+        }
+        AtomicLongArray chunk = chunk(account.index);
+        return new WalletBalance(accountId,
+                MinorUnits.toMoney(chunk.get(offset(account.index, AVAILABLE)), account.currency),
+                MinorUnits.toMoney(chunk.get(offset(account.index, RESERVED)), account.currency));
+    }
+
+    public int openReservations() {
+        return holds.size();
+    }
+
+    /**
+     * Writes a snapshot of all balances and open reservations, then deletes the journal
+     * segments it supersedes. Operations pause only while the snapshot is written.
+     */
+    public synchronized void checkpoint() {
+        if (journal == null) {
+            return;
+        }
+        long position;
+        gate.close();
+        try {
+            position = journal.writePosition();
+            writeSnapshot(position);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write wallet checkpoint", e);
+        } finally {
+            gate.open();
+        }
+        journal.deleteSegmentsBefore(position);
+    }
+
+    @Override
+    public void close() {
+        if (journal != null) {
+            checkpoint();
+            journal.close();
+        }
+    }
+
+    @Override
+    public boolean reserveFunds(String accountId, Money amount) {
+        return reserve(UnnamedReservations.newId(), accountId, amount);
+    }
+
+    /**
+     * Releases one id-less reservation of {@code amount} on the account, if there is one.
+     * Scans the open holds.
+     */
+    @Override
+    public void releaseFunds(String accountId, Money amount) {
+        AccountSlot account = accounts.get(accountId);
+        if (account == null) {
+            return;
+        }
+        long minor = MinorUnits.of(amount);
+        for (Map.Entry<String, Hold> entry : holds.entrySet()) {
+            Hold hold = entry.getValue();
+            if (hold.slot == account.index && hold.amount == minor && UnnamedReservations.isUnnamed(entry.getKey())
+                    && release(entry.getKey())) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean reserveFunds(String reservationId, String accountId, Money amount) {
+        return reserve(reservationId, accountId, amount);
+    }
+
+    @Override
+    public boolean releaseFunds(String reservationId, String accountId, Money amount) {
+        return release(reservationId);
+    }
+
+    @Override
+    public boolean captureFunds(String reservationId, String accountId, Money amount) {
+        return capture(reservationId);
+    }
+
+    /**
+     * Completes on the calling thread: an operation takes microseconds, less than a hand-off.
+     */
+    @Override
+    public CompletableFuture<Boolean> reserveFundsAsync(String reservationId, String accountId, Money amount,
+            Executor executor) {
+        try {
+            return CompletableFuture.completedFuture(reserve(reservationId, accountId, amount));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> releaseFundsAsync(String reservationId, String accountId, Money amount,
+            Executor executor) {
+        try {
+            return CompletableFuture.completedFuture(release(reservationId));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Boolean> captureFundsAsync(String reservationId, String accountId, Money amount,
+            Executor executor) {
+        try {
+            return CompletableFuture.completedFuture(capture(reservationId));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private boolean settle(String reservationId, byte type) {
+        long position;
+        int stripe = gate.enter();
+        try {
+            Hold hold = holds.remove(reservationId);
+            if (hold == null) {
+                return false;
+            }
+            AtomicLongArray chunk = chunk(hold.slot);
+            chunk.getAndAdd(offset(hold.slot, RESERVED), -hold.amount);
+            if (type == RELEASE) {
+                chunk.getAndAdd(offset(hold.slot, AVAILABLE), hold.amount);
+            }
+            try {
+                position = append(putString(record(type), reservationId));
+            } catch (RuntimeException e) {
+                if (type == RELEASE) {
+                    chunk.getAndAdd(offset(hold.slot, AVAILABLE), -hold.amount);
+                }
+                chunk.getAndAdd(offset(hold.slot, RESERVED), hold.amount);
+                holds.put(reservationId, hold);
+                throw e;
+            }
+        } finally {
+            gate.exit(stripe);
+        }
+        awaitDurable(position);
+        return true;
+    }
+
+    private void refund(int slot, long minor) {
+        AtomicLongArray chunk = chunk(slot);
+        chunk.getAndAdd(offset(slot, RESERVED), -minor);
+        chunk.getAndAdd(offset(slot, AVAILABLE), minor);
+    }
+
+    private AccountSlot register(String accountId, Currency currency) {
+        int index = nextSlot.getAndIncrement();
+        AccountSlot account = new AccountSlot(index, currency);
+        ensureChunk(index);
+        append(putString(putString(record(REGISTER).putInt(index), accountId), currency.getCurrencyCode()));
+        return account;
+    }
+
+    /**
+     * Replays one journal record. Records are applied unconditionally: a reserve that
+     * succeeded before the crash must succeed again regardless of replay order.
+     */
+    private void apply(ByteBuffer record) {
+        byte type = record.get();
+        switch (type) {
+            case REGISTER -> {
+                int index = record.getInt();
+                String accountId = getString(record);
+                Currency currency = Currency.getInstance(getString(record));
+                ensureChunk(index);
+                accounts.put(accountId, new AccountSlot(index, currency));
+                nextSlot.accumulateAndGet(index + 1, Math::max);
+            }
+            case DEPOSIT -> {
+                int index = record.getInt();
+                chunk(index).getAndAdd(offset(index, AVAILABLE), record.getLong());
+            }
+            case RESERVE -> {
+                int index = record.getInt();
+                long minor = record.getLong();
+                long expiresAt = record.getLong();
+                chunk(index).getAndAdd(offset(index, AVAILABLE), -minor);
+                chunk(index).getAndAdd(offset(index, RESERVED), minor);
+                holds.put(getString(record), new Hold(index, minor, expiresAt));
+            }
+            case RELEASE, CAPTURE -> {
+                Hold hold = holds.remove(getString(record));
+                if (hold != null) {
+                    chunk(hold.slot).getAndAdd(offset(hold.slot, RESERVED), -hold.amount);
+                    if (type == RELEASE) {
+                        chunk(hold.slot).getAndAdd(offset(hold.slot, AVAILABLE), hold.amount);
+                    }
+                }
+            }
+            case UNDO -> refund(record.getInt(), record.getLong());
+            default -> throw new IllegalStateException("Unknown wallet journal record type " + type);
+        }
+    }
+
+    private ByteBuffer record(byte type) {
+        return recordBuffer.get().clear().put(type);
+    }
+
+    private long append(ByteBuffer record) {
+        return journal == null ? 0 : journal.append(record.flip());
+    }
+
+    private void awaitDurable(long position) {
+        if (journal != null && durability == Durability.SYNC) {
+            journal.awaitDurable(position);
+        }
+    }
+
+    private void writeSnapshot(long position) throws IOException {
+        Path file = directory.resolve(SNAPSHOT_FILE);
+        Path temp = file.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try (FileOutputStream stream = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(position);
+            out.writeInt(accounts.size());
+            for (Map.Entry<String, AccountSlot> entry : accounts.entrySet()) {
+                AccountSlot account = entry.getValue();
+                out.writeInt(account.index);
+                out.writeUTF(entry.getKey());
+                out.writeUTF(account.currency.getCurrencyCode());
+                out.writeLong(chunk(account.index).get(offset(account.index, AVAILABLE)));
+                out.writeLong(chunk(account.index).get(offset(account.index, RESERVED)));
+            }
+            out.writeInt(holds.size());
+            for (Map.Entry<String, Hold> entry : holds.entrySet()) {
+                Hold hold = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeInt(hold.slot);
+                out.writeLong(hold.amount);
+                out.writeLong(hold.expiresAt);
+            }
+            out.flush();
+            stream.getFD().sync();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return the journal position the snapshot covers, or 0 without a snapshot
+     */
+    private long restoreSnapshot() {
+        Path file = directory.resolve(SNAPSHOT_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not a wallet snapshot: " + file);
+            }
+            int version = in.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException("Unsupported wallet snapshot version " + version);
+            }
+            long position = in.readLong();
+            int accountCount = in.readInt();
+            for (int i = 0; i < accountCount; i++) {
+                int index = in.readInt();
+                String accountId = in.readUTF();
+                Currency currency = Currency.getInstance(in.readUTF());
+                ensureChunk(index);
+                accounts.put(accountId, new AccountSlot(index, currency));
+                nextSlot.accumulateAndGet(index + 1, Math::max);
+                chunk(index).set(offset(index, AVAILABLE), in.readLong());
+                chunk(index).set(offset(index, RESERVED), in.readLong());
+            }
+            int holdCount = in.readInt();
+            for (int i = 0; i < holdCount; i++) {
+                String reservationId = in.readUTF();
+                holds.put(reservationId, new Hold(in.readInt(), in.readLong(), in.readLong()));
+            }
+            return position;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to restore wallet snapshot " + file, e);
+        }
+    }
+
+    private void ensureChunk(int index) {
+        int chunkIndex = index >>> CHUNK_BITS;
+        if (chunkIndex >= MAX_CHUNKS) {
+            throw new IllegalStateException("Wallet account capacity exceeded");
+        }
+        if (chunks.get(chunkIndex) == null) {
+            chunks.compareAndSet(chunkIndex, null, new AtomicLongArray(CHUNK_SIZE * STRIDE));
+        }
+    }
+
+    private AtomicLongArray chunk(int index) {
+        return chunks.get(index >>> CHUNK_BITS);
+    }
+
+    private static int offset(int index, int field) {
+        return (index & (CHUNK_SIZE - 1)) * STRIDE + field;
+    }
+
+    private static void checkId(String kind, String id) {
+        if (id == null || id.isBlank() || id.getBytes(StandardCharsets.UTF_8).length > MAX_ID_LENGTH) {
+            throw new IllegalArgumentException("Invalid " + kind + " id: " + id);
+        }
+    }
+
+    private static void checkCurrency(AccountSlot account, Money amount) {
+        if (!account.currency.equals(amount.getCurrency())) {
+            throw new CurrencyMismatchException(account.currency.getCurrencyCode(),
+                    amount.getCurrency().getCurrencyCode());
+        }
+    }
+
+    private static ByteBuffer putString(ByteBuffer buffer, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record AccountSlot(int index, Currency currency) {
+    }
+
+    private record Hold(int slot, long amount, long expiresAt) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.fintech.wallet;
+
+import com.fintech.common.domain.CurrencyRegistry;
+import com.fintech.common.domain.Money;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Converts between {@link Money} and the integer minor units stored in Redis. Lua numbers
+ * are doubles, so balances are kept as integers well inside the exactly representable range.
+ */
+final class MinorUnits {
+
+    private static final long MAX_MINOR_UNITS = 1L << 53;
+
+    private MinorUnits() {
+    }
+
+    static long of(Money money) {
+        BigDecimal minor = money.getAmount().movePointRight(fractionDigits(money.getCurrency()));
+        long value;
+        try {
+            value = minor.stripTrailingZeros().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + money.getAmount().stripTrailingZeros().toPlainString()
+                    + " is not a whole number of " + money.getCurrency() + " minor units", e);
+        }
+        if (value <= 0 || value >= MAX_MINOR_UNITS) {
+            throw new IllegalArgumentException("Amount out of range: " + money.getAmount().toPlainString());
+        }
+        return value;
+    }
+
+    static Money toMoney(long minorUnits, Currency currency) {
+        return new Money(BigDecimal.valueOf(minorUnits, fractionDigits(currency)), currency);
+    }
+
+    private static int fractionDigits(Currency currency) {
+        return CurrencyRegistry.minorUnits(CurrencyRegistry.idOf(currency));
+    }
+}
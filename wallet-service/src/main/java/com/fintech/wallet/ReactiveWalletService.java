@@ -0,0 +1,200 @@
+package com.fintech.wallet;
+
+import com.fintech.common.domain.CurrencyRegistry;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.CurrencyMismatchException;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Currency;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wallet balances and fund reservations held in Redis.
+ * <p>
+ * Each account is a hash {@code wallet:{accountId}} with {@code available}, {@code reserved}
+ * (integer minor units) and {@code currency}; open reservations live in
+ * {@code wallet:{accountId}:holds}. Every state change is a single Lua script, so a
+ * reservation can never overdraw the available balance regardless of concurrency.
+ * Reserve, release and capture are idempotent per reservation id.
+ * <p>
+ * Reservations expire after {@code reservationTtl} unless released or captured; expired
+ * holds are returned to the available balance by {@link #expireReservations(int)}, usually
+ * driven by {@link #startExpirySweeper(Duration, int)}. The TTL must comfortably exceed
+ * the time a saga needs to commit, including saga recovery after a restart.
+ * <p>
+ * The global expiry index is a single key, so the scripts assume a non-clustered Redis.
+ */
+public class ReactiveWalletService {
+
+    public static final Duration DEFAULT_RESERVATION_TTL = Duration.ofMinutes(15);
+
+    private static final String KEY_PREFIX = "wallet:";
+    private static final String EXPIRY_INDEX = KEY_PREFIX + "reservations:expiry";
+    private static final String OK = "OK";
+    private static final String INSUFFICIENT = "INSUFFICIENT";
+    private static final String MISMATCH = "MISMATCH:";
+
+    private final RedisAsyncCommands<String, String> redis;
+    private final Duration reservationTtl;
+    private final Clock clock;
+
+    public ReactiveWalletService(RedisAsyncCommands<String, String> redis) {
+        this(redis, DEFAULT_RESERVATION_TTL, Clock.systemUTC());
+    }
+
+    public ReactiveWalletService(RedisAsyncCommands<String, String> redis, Duration reservationTtl, Clock clock) {
+        this.redis = redis;
+        this.reservationTtl = reservationTtl;
+        this.clock = clock;
+    }
+
+    /**
+     * Credits the available balance. The first deposit fixes the wallet currency.
+     */
+    public Mono<Void> deposit(String accountId, Money amount) {
+        String currency = amount.getCurrency().getCurrencyCode();
+        return this.<String>run(WalletScript.DEPOSIT, ScriptOutputType.VALUE,
+                        new String[] {balanceKey(accountId)}, Long.toString(MinorUnits.of(amount)), currency)
+                .flatMap(result -> checkCurrency(result, currency))
+                .then();
+    }
+
+    /**
+     * Moves {@code amount} from available to reserved.
+     *
+     * @return {@code false} if the available balance is insufficient; repeating a reservation
+     *         id that is still open returns {@code true} without reserving again
+     */
+    public Mono<Boolean> reserve(String reservationId, String accountId, Money amount) {
+        checkReservationId(reservationId);
+        String currency = amount.getCurrency().getCurrencyCode();
+        long expiresAt = clock.millis() + reservationTtl.toMillis();
+        return this.<String>run(WalletScript.RESERVE, ScriptOutputType.VALUE, holdKeys(accountId),
+                        reservationId, Long.toString(MinorUnits.of(amount)), currency, Long.toString(expiresAt),
+                        indexMember(reservationId, accountId))
+                .flatMap(result -> checkCurrency(result, currency))
+                .map(OK::equals);
+    }
+
+    /**
+     * Returns the reserved amount to the available balance.
+     *
+     * @return {@code false} if the reservation is unknown, already settled or expired
+     */
+    public Mono<Boolean> release(String reservationId, String accountId) {
+        return settle(WalletScript.RELEASE, reservationId, accountId);
+    }
+
+    /**
+     * Removes the reserved amount from the wallet once the transfer has been committed.
+     *
+     * @return {@code false} if the reservation is unknown, already settled or expired
+     */
+    public Mono<Boolean> capture(String reservationId, String accountId) {
+        return settle(WalletScript.CAPTURE, reservationId, accountId);
+    }
+
+    /**
+     * @return the open reservations on the account, by id, with their amounts in minor units
+     */
+    public Mono<Map<String, String>> openReservations(String accountId) {
+        return Mono.fromCompletionStage(() -> redis.hgetall(balanceKey(accountId) + ":holds"));
+    }
+
+    /**
+     * @return the balance, or empty if the account never received a deposit
+     */
+    public Mono<WalletBalance> balance(String accountId) {
+        return Mono.fromCompletionStage(() -> redis.hmget(balanceKey(accountId), "available", "reserved", "currency"))
+                .flatMap(values -> toBalance(accountId, values));
+    }
+
+    /**
+     * Releases up to {@code batchSize} reservations whose TTL has elapsed.
+     *
+     * @return the number of reservations expired
+     */
+    public Mono<Long> expireReservations(int batchSize) {
+        return run(WalletScript.EXPIRE, ScriptOutputType.INTEGER, new String[] {EXPIRY_INDEX},
+                Long.toString(clock.millis()), Integer.toString(batchSize), KEY_PREFIX);
+    }
+
+    /**
+     * Runs {@link #expireReservations(int)} every {@code interval}. A failed sweep is skipped
+     * and retried on the next tick.
+     */
+    public Disposable startExpirySweeper(Duration interval, int batchSize) {
+        return Flux.interval(interval)
+                .concatMap(tick -> expireReservations(batchSize).onErrorResume(e -> Mono.just(0L)))
+                .subscribe();
+    }
+
+    private Mono<Boolean> settle(WalletScript script, String reservationId, String accountId) {
+        checkReservationId(reservationId);
+        return this.<Long>run(script, ScriptOutputType.INTEGER, holdKeys(accountId),
+                        reservationId, indexMember(reservationId, accountId))
+                .map(result -> result == 1L);
+    }
+
+    /**
+     * Runs a script by digest, loading it with {@code EVAL} the first time the server
+     * has not seen it.
+     */
+    private <T> Mono<T> run(WalletScript script, ScriptOutputType type, String[] keys, String... args) {
+        return Mono.fromCompletionStage(() -> redis.<T>evalsha(script.sha(), type, keys, args))
+                .onErrorResume(ReactiveWalletService::isNoScript,
+                        e -> Mono.fromCompletionStage(() -> redis.<T>eval(script.source(), type, keys, args)));
+    }
+
+    private static boolean isNoScript(Throwable error) {
+        return error instanceof RedisCommandExecutionException
+                && error.getMessage() != null
+                && error.getMessage().startsWith("NOSCRIPT");
+    }
+
+    private static Mono<String> checkCurrency(String result, String requested) {
+        if (result.startsWith(MISMATCH)) {
+            return Mono.error(new CurrencyMismatchException(result.substring(MISMATCH.length()), requested));
+        }
+        return Mono.just(result);
+    }
+
+    private static Mono<WalletBalance> toBalance(String accountId, List<KeyValue<String, String>> values) {
+        String currencyCode = values.get(2).getValueOrElse(null);
+        if (currencyCode == null) {
+            return Mono.empty();
+        }
+        Currency currency = CurrencyRegistry.currency(currencyCode);
+        return Mono.just(new WalletBalance(accountId,
+                MinorUnits.toMoney(Long.parseLong(values.get(0).getValueOrElse("0")), currency),
+                MinorUnits.toMoney(Long.parseLong(values.get(1).getValueOrElse("0")), currency)));
+    }
+
+    private static void checkReservationId(String reservationId) {
+        if (reservationId == null || reservationId.isBlank() || reservationId.indexOf('|') >= 0) {
+            throw new IllegalArgumentException("Invalid reservation id: " + reservationId);
+        }
+    }
+
+    private static String balanceKey(String accountId) {
+        return KEY_PREFIX + "{" + accountId + "}";
+    }
+
+    private static String[] holdKeys(String accountId) {
+        String balanceKey = balanceKey(accountId);
+        return new String[] {balanceKey, balanceKey + ":holds", EXPIRY_INDEX};
+    }
+
+    private static String indexMember(String reservationId, String accountId) {
+        return reservationId + "|" + accountId;
+    }
+}
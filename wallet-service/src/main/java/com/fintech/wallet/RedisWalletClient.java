@@ -0,0 +1,74 @@
+package com.fintech.wallet;
+
+import com.fintech.clearing.interfaces.WalletClient;
+import com.fintech.common.domain.Money;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * {@link WalletClient} backed by {@link ReactiveWalletService}. The async methods never
+ * block: they complete on the Redis client's I/O threads and ignore the executor.
+ * <p>
+ * The id-less methods reserve under a generated id; the matching release reads the
+ * account's open holds and releases one of them with the same amount.
+ */
+@RequiredArgsConstructor
+public class RedisWalletClient implements WalletClient {
+
+    private final ReactiveWalletService walletService;
+
+    @Override
+    public boolean reserveFunds(String accountId, Money amount) {
+        return reserveFunds(UnnamedReservations.newId(), accountId, amount);
+    }
+
+    @Override
+    public void releaseFunds(String accountId, Money amount) {
+        String minor = Long.toString(MinorUnits.of(amount));
+        walletService.openReservations(accountId)
+                .flatMapMany(holds -> Flux.fromIterable(holds.entrySet()))
+                .filter(hold -> UnnamedReservations.isUnnamed(hold.getKey()) && minor.equals(hold.getValue()))
+                .map(Map.Entry::getKey)
+                // Another caller may release the same hold first; try the next one
+                .concatMap(reservationId -> walletService.release(reservationId, accountId))
+                .takeUntil(Boolean::booleanValue)
+                .blockLast();
+    }
+
+    @Override
+    public boolean reserveFunds(String reservationId, String accountId, Money amount) {
+        return walletService.reserve(reservationId, accountId, amount).block();
+    }
+
+    @Override
+    public boolean releaseFunds(String reservationId, String accountId, Money amount) {
+        return walletService.release(reservationId, accountId).block();
+    }
+
+    @Override
+    public boolean captureFunds(String reservationId, String accountId, Money amount) {
+        return walletService.capture(reservationId, accountId).block();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> reserveFundsAsync(String reservationId, String accountId, Money amount,
+            Executor executor) {
+        return walletService.reserve(reservationId, accountId, amount).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> releaseFundsAsync(String reservationId, String accountId, Money amount,
+            Executor executor) {
+        return walletService.release(reservationId, accountId).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> captureFundsAsync(String reservationId, String accountId, Money amount,
+            Executor executor) {
+        return walletService.capture(reservationId, accountId).toFuture();
+    }
+}
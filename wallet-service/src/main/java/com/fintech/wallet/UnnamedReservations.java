@@ -0,0 +1,24 @@
+package com.fintech.wallet;
+
+import java.util.UUID;
+
+/**
+ * Reservation ids for the id-less {@link com.fintech.clearing.interfaces.WalletClient}
+ * methods. The prefix lets the matching release tell these holds apart from the ones a
+ * saga made under its own id.
+ */
+final class UnnamedReservations {
+
+    private static final String PREFIX = "unnamed:";
+
+    private UnnamedReservations() {
+    }
+
+    static String newId() {
+        return PREFIX + UUID.randomUUID();
+    }
+
+    static boolean isUnnamed(String reservationId) {
+        return reservationId.startsWith(PREFIX);
+    }
+}
@@ -0,0 +1,10 @@
+package com.fintech.wallet;
+
+import com.fintech.common.domain.Money;
+
+/**
+ * Point-in-time view of a wallet. {@code available} can be reserved; {@code reserved} is
+ * held by open reservations until they are released, captured or expire.
+ */
+public record WalletBalance(String accountId, Money available, Money reserved) {
+}
@@ -0,0 +1,56 @@
+package com.fintech.wallet;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Lua scripts under {@code /lua}, with their SHA-1 digests for {@code EVALSHA}.
+ */
+enum WalletScript {
+    DEPOSIT("deposit.lua"),
+    RESERVE("reserve.lua"),
+    RELEASE("release.lua"),
+    CAPTURE("capture.lua"),
+    EXPIRE("expire.lua");
+
+    private final String source;
+    private final String sha;
+
+    WalletScript(String resource) {
+        this.source = load(resource);
+        this.sha = sha1(source);
+    }
+
+    String source() {
+        return source;
+    }
+
+    String sha() {
+        return sha;
+    }
+
+    private static String load(String resource) {
+        try (InputStream in = WalletScript.class.getResourceAsStream("/lua/" + resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing wallet script " + resource);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load wallet script " + resource, e);
+        }
+    }
+
+    private static String sha1(String source) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(source.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- KEYS[1] balance hash, KEYS[2] holds hash, KEYS[3] expiry index
+-- ARGV[1] reservation id, ARGV[2] expiry index member
+local amount = redis.call('HGET', KEYS[2], ARGV[1])
+if not amount then
+    return 0
+end
+redis.call('HDEL', KEYS[2], ARGV[1])
+redis.call('HINCRBY', KEYS[1], 'reserved', '-' .. amount)
+redis.call('ZREM', KEYS[3], ARGV[2])
+return 1
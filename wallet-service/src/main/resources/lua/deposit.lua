@@ -0,0 +1,11 @@
+-- KEYS[1] balance hash
+-- ARGV[1] amount (minor units), ARGV[2] currency code
+local currency = redis.call('HGET', KEYS[1], 'currency')
+if currency and currency ~= ARGV[2] then
+    return 'MISMATCH:' .. currency
+end
+if not currency then
+    redis.call('HSET', KEYS[1], 'currency', ARGV[2])
+end
+redis.call('HINCRBY', KEYS[1], 'available', ARGV[1])
+return 'OK'
@@ -0,0 +1,18 @@
+-- KEYS[1] expiry index
+-- ARGV[1] now (epoch millis), ARGV[2] batch size, ARGV[3] key prefix
+-- Index members are '<reservation id>|<account id>'
+local expired = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2])
+for _, member in ipairs(expired) do
+    local separator = string.find(member, '|', 1, true)
+    local reservation = string.sub(member, 1, separator - 1)
+    local balance = ARGV[3] .. '{' .. string.sub(member, separator + 1) .. '}'
+    local holds = balance .. ':holds'
+    local amount = redis.call('HGET', holds, reservation)
+    if amount then
+        redis.call('HDEL', holds, reservation)
+        redis.call('HINCRBY', balance, 'reserved', '-' .. amount)
+        redis.call('HINCRBY', balance, 'available', amount)
+    end
+    redis.call('ZREM', KEYS[1], member)
+end
+return #expired
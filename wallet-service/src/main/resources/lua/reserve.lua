@@ -0,0 +1,23 @@
+-- KEYS[1] balance hash, KEYS[2] holds hash, KEYS[3] expiry index
+-- ARGV[1] reservation id, ARGV[2] amount (minor units), ARGV[3] currency code,
+-- ARGV[4] expiry (epoch millis), ARGV[5] expiry index member
+if redis.call('HEXISTS', KEYS[2], ARGV[1]) == 1 then
+    return 'OK'
+end
+local currency = redis.call('HGET', KEYS[1], 'currency')
+if not currency then
+    return 'INSUFFICIENT'
+end
+if currency ~= ARGV[3] then
+    return 'MISMATCH:' .. currency
+end
+local available = tonumber(redis.call('HGET', KEYS[1], 'available') or '0')
+if available < tonumber(ARGV[2]) then
+    return 'INSUFFICIENT'
+end
+-- Amounts stay strings: Lua numbers are doubles and would format large values as 1e+15
+redis.call('HINCRBY', KEYS[1], 'available', '-' .. ARGV[2])
+redis.call('HINCRBY', KEYS[1], 'reserved', ARGV[2])
+redis.call('HSET', KEYS[2], ARGV[1], ARGV[2])
+redis.call('ZADD', KEYS[3], ARGV[4], ARGV[5])
+return 'OK'
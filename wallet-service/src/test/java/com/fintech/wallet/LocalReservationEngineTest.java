@@ -0,0 +1,219 @@
+package com.fintech.wallet;
+
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.CurrencyMismatchException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalReservationEngineTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReserveReleaseAndCapture() {
+        LocalReservationEngine engine = LocalReservationEngine.inMemory(TTL, Clock.systemUTC());
+        engine.deposit("alice", usd("100.00"));
+
+        assertTrue(engine.reserve("r1", "alice", usd("30.00")));
+        assertTrue(engine.reserve("r1", "alice", usd("30.00")));
+        assertTrue(engine.reserve("r2", "alice", usd("20.00")));
+        assertFalse(engine.reserve("r3", "alice", usd("50.01")));
+        assertFalse(engine.reserve("r4", "nobody", usd("1.00")));
+        assertBalance(engine, "alice", "50.00", "50.00");
+
+        assertTrue(engine.release("r1"));
+        assertFalse(engine.release("r1"));
+        assertTrue(engine.capture("r2"));
+        assertBalance(engine, "alice", "80.00", "0.00");
+        assertThrows(CurrencyMismatchException.class,
+                () -> engine.reserve("r5", "alice", Money.of(BigDecimal.ONE, "EUR")));
+    }
+
+    @Test
+    void testConcurrentReservationsNeverOverdraw() throws Exception {
+        LocalReservationEngine engine = LocalReservationEngine.inMemory(TTL, Clock.systemUTC());
+        engine.deposit("hot", usd("50000"));
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int thread = t;
+            results.add(pool.submit(() -> {
+                int granted = 0;
+                for (int i = 0; i < 10_000; i++) {
+                    if (engine.reserve(thread + "-" + i, "hot", usd("1"))) {
+                        granted++;
+                    }
+                }
+                return granted;
+            }));
+        }
+        int granted = 0;
+        for (Future<Integer> result : results) {
+            granted += result.get();
+        }
+        pool.shutdown();
+
+        assertEquals(50_000, granted);
+        assertBalance(engine, "hot", "0.00", "50000.00");
+    }
+
+    @Test
+    void testReservationsSurviveCrash() {
+        LocalReservationEngine crashed = LocalReservationEngine.open(directory,
+                LocalReservationEngine.Durability.ASYNC, TTL, Clock.fixed(NOW, ZoneOffset.UTC));
+        crashed.deposit("alice", usd("100"));
+        crashed.reserve("r1", "alice", usd("10"));
+        crashed.reserve("r2", "alice", usd("20"));
+        crashed.reserve("r3", "alice", usd("30"));
+        crashed.release("r1");
+        crashed.capture("r2");
+        // No close(): the journal is all that is left
+
+        try (LocalReservationEngine recovered = LocalReservationEngine.open(directory,
+                LocalReservationEngine.Durability.ASYNC, TTL, Clock.fixed(NOW, ZoneOffset.UTC))) {
+            assertBalance(recovered, "alice", "50.00", "30.00");
+            assertEquals(1, recovered.openReservations());
+            assertTrue(recovered.release("r3"));
+            assertBalance(recovered, "alice", "80.00", "0.00");
+        }
+    }
+
+    @Test
+    void testCheckpointPlusJournalTailRestoresState() {
+        try (LocalReservationEngine engine = LocalReservationEngine.open(directory,
+                LocalReservationEngine.Durability.SYNC, TTL, Clock.fixed(NOW, ZoneOffset.UTC))) {
+            engine.deposit("alice", usd("100"));
+            engine.reserve("r1", "alice", usd("10"));
+            engine.checkpoint();
+            engine.deposit("bob", usd("5"));
+            engine.reserve("r2", "alice", usd("15"));
+            engine.capture("r1");
+        }
+
+        try (LocalReservationEngine engine = LocalReservationEngine.open(directory,
+                LocalReservationEngine.Durability.SYNC, TTL, Clock.fixed(NOW, ZoneOffset.UTC))) {
+            assertBalance(engine, "alice", "75.00", "15.00");
+            assertBalance(engine, "bob", "5.00", "0.00");
+            assertTrue(engine.reserve("r3", "bob", usd("5")));
+        }
+    }
+
+    @Test
+    void testExpiredReservationsReturnToAvailable() {
+        MutableClock clock = new MutableClock(NOW);
+        LocalReservationEngine engine = LocalReservationEngine.inMemory(TTL, clock);
+        engine.deposit("alice", usd("100"));
+        engine.reserve("r1", "alice", usd("40"));
+        clock.advance(Duration.ofSeconds(10));
+        engine.reserve("r2", "alice", usd("25"));
+
+        clock.advance(Duration.ofSeconds(25));
+        assertEquals(1, engine.expireReservations());
+        assertBalance(engine, "alice", "75.00", "25.00");
+        assertFalse(engine.capture("r1"));
+    }
+
+    @Test
+    void testIdLessReservationIsReleasedByAccountAndAmount() {
+        LocalReservationEngine engine = LocalReservationEngine.inMemory(TTL, Clock.systemUTC());
+        engine.deposit("alice", usd("100"));
+        engine.reserve("saga-1", "alice", usd("10"));
+
+        assertTrue(engine.reserveFunds("alice", usd("10")));
+        assertTrue(engine.reserveFunds("alice", usd("25")));
+        assertBalance(engine, "alice", "55.00", "45.00");
+
+        engine.releaseFunds("alice", usd("10"));
+        assertBalance(engine, "alice", "65.00", "35.00");
+        assertEquals(2, engine.openReservations());
+        // The saga's own hold is not taken for an id-less one
+        engine.releaseFunds("alice", usd("10"));
+        assertBalance(engine, "alice", "65.00", "35.00");
+        assertTrue(engine.release("saga-1"));
+    }
+
+    @Test
+    void testOverlongReservationIdIsRejectedBeforeReserving() {
+        LocalReservationEngine engine = LocalReservationEngine.inMemory(TTL, Clock.systemUTC());
+        engine.deposit("alice", usd("100"));
+
+        String id = "r".repeat(LocalReservationEngine.MAX_ID_LENGTH + 1);
+        assertThrows(IllegalArgumentException.class, () -> engine.reserve(id, "alice", usd("10")));
+        assertThrows(IllegalArgumentException.class, () -> engine.deposit(id, usd("10")));
+        assertBalance(engine, "alice", "100.00", "0.00");
+        assertNull(engine.balance(id));
+    }
+
+    @Test
+    void testFailedAppendLeavesStateUnchanged() {
+        LocalReservationEngine engine = LocalReservationEngine.open(directory,
+                LocalReservationEngine.Durability.ASYNC, TTL, Clock.fixed(NOW, ZoneOffset.UTC));
+        engine.deposit("alice", usd("100"));
+        engine.reserve("r1", "alice", usd("30"));
+        engine.close();
+
+        assertThrows(IllegalStateException.class, () -> engine.reserve("r2", "alice", usd("10")));
+        assertThrows(IllegalStateException.class, () -> engine.release("r1"));
+        assertThrows(IllegalStateException.class, () -> engine.deposit("alice", usd("5")));
+        assertBalance(engine, "alice", "70.00", "30.00");
+        assertEquals(1, engine.openReservations());
+    }
+
+    private static void assertBalance(LocalReservationEngine engine, String accountId, String available,
+            String reserved) {
+        WalletBalance balance = engine.balance(accountId);
+        assertNotNull(balance);
+        assertEquals(usd(available), balance.available());
+        assertEquals(usd(reserved), balance.reserved());
+    }
+
+    private static Money usd(String amount) {
+        return Money.of(new BigDecimal(amount), "USD");
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
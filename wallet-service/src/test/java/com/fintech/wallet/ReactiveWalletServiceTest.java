@@ -0,0 +1,203 @@
+package com.fintech.wallet;
+
+import com.fintech.clearing.interfaces.LedgerClient;
+import com.fintech.clearing.saga.AsyncTransferSagaCoordinator;
+import com.fintech.common.domain.Money;
+import com.fintech.common.exception.CurrencyMismatchException;
+import com.github.fppt.jedismock.RedisServer;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.api.StatefulRedisConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveWalletServiceTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+    private RedisServer server;
+    private RedisClient client;
+    private StatefulRedisConnection<String, String> connection;
+    private ReactiveWalletService wallet;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = RedisServer.newRedisServer().start();
+        client = RedisClient.create(RedisURI.create(server.getHost(), server.getBindPort()));
+        connection = client.connect();
+        wallet = new ReactiveWalletService(connection.async(), TTL, clock);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connection.close();
+        client.shutdown();
+        server.stop();
+    }
+
+    @Test
+    void testReserveReleaseAndCapture() {
+        wallet.deposit("alice", usd("100.00")).block();
+
+        assertTrue(wallet.reserve("r1", "alice", usd("30.00")).block());
+        assertTrue(wallet.reserve("r2", "alice", usd("20.00")).block());
+        assertBalance("alice", "50.00", "50.00");
+
+        assertTrue(wallet.release("r1", "alice").block());
+        assertFalse(wallet.release("r1", "alice").block());
+        assertBalance("alice", "80.00", "20.00");
+
+        assertTrue(wallet.capture("r2", "alice").block());
+        assertBalance("alice", "80.00", "0.00");
+    }
+
+    @Test
+    void testReservationIsIdempotentAndCannotOverdraw() {
+        wallet.deposit("alice", usd("10.00")).block();
+
+        assertTrue(wallet.reserve("r1", "alice", usd("10.00")).block());
+        assertTrue(wallet.reserve("r1", "alice", usd("10.00")).block());
+        assertFalse(wallet.reserve("r2", "alice", usd("0.01")).block());
+        assertFalse(wallet.reserve("r3", "nobody", usd("0.01")).block());
+        assertBalance("alice", "0.00", "10.00");
+    }
+
+    @Test
+    void testConcurrentReservationsNeverOverdraw() {
+        wallet.deposit("alice", usd("100")).block();
+
+        long granted = Flux.range(0, 250)
+                .flatMap(i -> wallet.reserve("r" + i, "alice", usd("1")), 64)
+                .filter(Boolean::booleanValue)
+                .count()
+                .block();
+
+        assertEquals(100, granted);
+        assertBalance("alice", "0.00", "100.00");
+    }
+
+    @Test
+    void testExpiredReservationsReturnToAvailable() {
+        wallet.deposit("alice", usd("100")).block();
+        wallet.reserve("r1", "alice", usd("40")).block();
+        clock.advance(Duration.ofSeconds(10));
+        wallet.reserve("r2", "alice", usd("25")).block();
+
+        clock.advance(Duration.ofSeconds(25));
+        assertEquals(1L, wallet.expireReservations(100).block());
+        assertBalance("alice", "75.00", "25.00");
+        assertFalse(wallet.capture("r1", "alice").block());
+
+        clock.advance(Duration.ofMinutes(1));
+        assertEquals(1L, wallet.expireReservations(100).block());
+        assertBalance("alice", "100.00", "0.00");
+    }
+
+    @Test
+    void testRejectsForeignCurrencyAndSubMinorAmounts() {
+        wallet.deposit("alice", usd("100")).block();
+
+        assertThrows(CurrencyMismatchException.class,
+                () -> wallet.reserve("r1", "alice", Money.of(BigDecimal.ONE, "EUR")).block());
+        assertThrows(IllegalArgumentException.class, () -> wallet.reserve("r2", "alice", usd("0.001")).block());
+    }
+
+    @Test
+    void testSagaCapturesOnCommitAndReleasesOnFraud() {
+        wallet.deposit("alice", usd("100")).block();
+        RedisWalletClient walletClient = new RedisWalletClient(wallet);
+        LedgerClient ledger = new LedgerClient() {
+            @Override
+            public void commitTransaction(String fromAccount, String toAccount, Money amount) {
+            }
+
+            @Override
+            public void commitTransaction(String idempotencyKey, String fromAccount, String toAccount, Money amount) {
+            }
+
+            @Override
+            public void commitJournalEntry(String idempotencyKey, String description, List<Leg> legs) {
+            }
+        };
+
+        new AsyncTransferSagaCoordinator(walletClient, (user, amount, target) -> true, ledger)
+                .executeTransfer("alice", "bob", usd("40"), "user-1");
+        assertBalance("alice", "60.00", "0.00");
+
+        assertThrows(RuntimeException.class, () ->
+                new AsyncTransferSagaCoordinator(walletClient, (user, amount, target) -> false, ledger)
+                        .executeTransfer("alice", "bob", usd("10"), "user-1"));
+        assertBalance("alice", "60.00", "0.00");
+    }
+
+    @Test
+    void testIdLessReservationIsReleasedByAccountAndAmount() {
+        wallet.deposit("alice", usd("100")).block();
+        RedisWalletClient walletClient = new RedisWalletClient(wallet);
+        wallet.reserve("saga-1", "alice", usd("10")).block();
+
+        assertTrue(walletClient.reserveFunds("alice", usd("10")));
+        assertTrue(walletClient.reserveFunds("alice", usd("25")));
+        assertBalance("alice", "55.00", "45.00");
+
+        walletClient.releaseFunds("alice", usd("10"));
+        assertBalance("alice", "65.00", "35.00");
+        // The saga's own hold is not taken for an id-less one
+        walletClient.releaseFunds("alice", usd("10"));
+        assertBalance("alice", "65.00", "35.00");
+        assertTrue(walletClient.releaseFunds("saga-1", "alice", usd("10")));
+        assertFalse(walletClient.captureFunds("saga-1", "alice", usd("10")));
+    }
+
+    private void assertBalance(String accountId, String available, String reserved) {
+        WalletBalance balance = wallet.balance(accountId).block();
+        assertNotNull(balance);
+        assertEquals(usd(available), balance.available());
+        assertEquals(usd(reserved), balance.reserved());
+    }
+
+    private static Money usd(String amount) {
+        return Money.of(new BigDecimal(amount), "USD");
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}